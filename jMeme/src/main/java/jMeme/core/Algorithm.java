@@ -25,6 +25,9 @@
 
 package jMeme.core;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
 import jMeme.core.individuals.Individual;
 
 
@@ -71,4 +74,34 @@ public abstract class Algorithm {
 	
 	public abstract JConfiguration getConfiguration();
 	
+	
+	/**
+	 * Allows to create a new instance of the algorithm solving the same problem with the given configuration.
+	 * It is used to execute independent runs of the algorithm at the same time. By default, the instance is created by means
+	 * of a public constructor of the class of the algorithm taking the problem and the configuration; the algorithms without
+	 * such a constructor must override this method.
+	 * 
+	 * @param conf  the configuration of the new instance, of the same type of the configuration of this algorithm
+	 * @return  the new instance of the algorithm
+	 * @throws UnsupportedOperationException  if the class of the algorithm has no public constructor taking the problem and the configuration
+	 */
+	public Algorithm newInstance(JConfiguration conf){
+		for(Constructor<?> c : getClass().getConstructors()){
+			Class<?>[] types=c.getParameterTypes();
+			if(types.length!=2 || !types[0].isInstance(problem) || !types[1].isInstance(conf))
+				continue;
+			try {
+				return (Algorithm)c.newInstance(problem, conf);
+			} catch (InvocationTargetException e) {
+				if(e.getCause() instanceof RuntimeException)
+					throw (RuntimeException)e.getCause();
+				throw new IllegalStateException("A new instance of " + getClass().getName() + " cannot be created", e.getCause());
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException("A new instance of " + getClass().getName() + " cannot be created", e);
+			}
+		}
+		throw new UnsupportedOperationException(getClass().getName() + " has no public constructor taking a " + (problem==null ? "problem" : problem.getClass().getName())
+				+ " and a " + conf.getClass().getName() + ", so it must override newInstance to execute concurrent runs");
+	}
+	
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+/*
+ * CancellationToken.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.core;
+
+import java.io.Serializable;
+
+
+/**
+ * This class represents a request to stop the execution of an algorithm, which can be issued by any thread.
+ * The token is checked by the termination criteria, so that the generation loop and the local search procedures stop
+ * at their next check and the fitness evaluations requested after the cancellation are not performed.
+ * A cancelled token remains cancelled: a new token must be set in the configuration to execute the algorithm again.
+ * A token can be created as the child of another one, so that it is cancelled together with its parent while cancelling it
+ * does not cancel the parent, e.g. to stop the runs of a test without stopping the other executions of the tested configuration.
+ */
+public class CancellationToken implements Serializable {
+
+
+	private static final long serialVersionUID = 2954427603582946517L;
+
+	/**
+	 * Stores true if the execution has been cancelled, false otherwise
+	 */
+	private volatile boolean cancelled;
+	/**
+	 * Stores the token whose cancellation cancels also this token, null if it does not exist
+	 */
+	private final CancellationToken parent;
+
+
+	/**
+	 * Constructor
+	 */
+	public CancellationToken(){
+		this(null);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param parent  the token whose cancellation cancels also the new token, null if it does not exist
+	 */
+	public CancellationToken(CancellationToken parent){
+		this.parent=parent;
+	}
+
+
+
+	/**
+	 * Allows to request the stop of the execution
+	 */
+	public void cancel(){
+		cancelled=true;
+	}
+
+
+	public boolean isCancelled(){
+		return cancelled || parent!=null && parent.isCancelled();
+	}
+
+}
@@ -26,14 +26,19 @@
 
 package jMeme.core;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
+import java.util.Random;
 
 import org.jgap.InvalidConfigurationException;
+import org.jgap.RandomGenerator;
 
+import jMeme.core.checkpoint.Checkpointer;
+import jMeme.core.checkpoint.CheckpointableRandomGenerator;
+import jMeme.core.configurations.ConfigurationCodec;
 import jMeme.core.fitnessFunction.FitnessFeatures;
 import jMeme.core.individuals.Individual;
+import jMeme.core.listeners.AlgorithmListener;
+import jMeme.core.listeners.NoOpAlgorithmListener;
 import jMeme.design.finalConditions.AlgorithmFinalConditions;
 import jMeme.design.finalConditions.FinalConditions;
 import jMeme.performances.AlgorithmPerformance;
@@ -71,6 +76,27 @@ public abstract class JConfiguration extends org.jgap.impl.DefaultConfiguration
 	 */
 	protected boolean memeticConfig;
 	
+	/**
+	 * Stores the token allowing any thread to stop the execution of the algorithm
+	 */
+	protected CancellationToken cancellationToken=new CancellationToken();
+	
+	/**
+	 * Stores the listener notified of the events of the algorithm; it is not serialized with the configuration
+	 */
+	protected transient AlgorithmListener listener;
+	
+	/**
+	 * Stores the object saving the checkpoints of the algorithm, null if no checkpoint is saved; it is not serialized with the configuration
+	 */
+	protected transient Checkpointer checkpointer;
+	
+	/**
+	 * Stores the random generators which the threads improving individuals concurrently use in place of the one of the configuration;
+	 * it is not serialized with the configuration
+	 */
+	private transient ThreadLocal<RandomGenerator> localGenerator=new ThreadLocal<RandomGenerator>();
+	
 	
  /**
   * Constructor
@@ -79,6 +105,7 @@ public abstract class JConfiguration extends org.jgap.impl.DefaultConfiguration
   */
 	public JConfiguration( FitnessFeatures fitFeatures){
 		super("","");
+		initRandomGenerator();
 		
 		finalConditions=new AlgorithmFinalConditions();
 		finalConditions.setSignFitness(fitnessFeatures.getFitnessSign());
@@ -95,6 +122,7 @@ public abstract class JConfiguration extends org.jgap.impl.DefaultConfiguration
 	 */
 	public JConfiguration(FitnessFeatures fitFeatures, AlgorithmFinalConditions fc){
 		super("","");
+		initRandomGenerator();
 		
 		fitnessFeatures = fitFeatures;
 		
@@ -107,20 +135,42 @@ public abstract class JConfiguration extends org.jgap.impl.DefaultConfiguration
 	
 
 	/**
-	 * Allows to save the configuration to a file
+	 * Allows to check the setting of a property of the configuration.
+	 * JGAP records the properties in the system properties of the JVM, keyed by thread, and refuses to set them 
+	 * differently unless the static method <code>Configuration.reset()</code> is called, so two configurations 
+	 * built in the same thread or run in the same JVM interfere with each other. 
+	 * The properties of a configuration of jMeme are scoped to the configuration itself, since its objects 
+	 * (fitness function, sample individual, event manager and so on) are only referenced by its fields; 
+	 * therefore no global state is recorded and several algorithms can be built and executed concurrently.
+	 */
+	@Override
+	protected void checkProperty(String propname, Object obj, Object unused, String errmsg) {
+	}
+	
+	
+	/**
+	 * Allows to replace the random generator of JGAP with one whose state can be saved in the checkpoints
+	 */
+	private void initRandomGenerator(){
+		try {
+			setRandomGenerator(new CheckpointableRandomGenerator());
+		} catch (InvalidConfigurationException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	
+	/**
+	 * Allows to save the configuration to a file, in the text format if the name of the file ends with <code>ConfigurationCodec.TEXT_EXTENSION</code>
+	 * and in the compact binary format otherwise
 	 * 
 	 * @param fileName  name of the file that will store the configuration
 	 */
 	public void save(String fileName){
 		 try
 	      {
-	         FileOutputStream fileOut =
-	         new FileOutputStream(fileName);
-	         ObjectOutputStream out = new ObjectOutputStream(fileOut);
-	         out.writeObject(this);
-	         out.close();
-	         fileOut.close();
-	         System.out.printf("Configuration Serialized");
+	         ConfigurationCodec.save(this, fileName);
+	         getListener().message(this, "Configuration saved");
 	      }catch(IOException i)
 	      {
 	          i.printStackTrace();
@@ -188,5 +238,108 @@ public abstract class JConfiguration extends org.jgap.impl.DefaultConfiguration
 		this.performance = performance;
 	}
 	
+	public CancellationToken getCancellationToken() {
+		return cancellationToken;
+	}
+
+	public void setCancellationToken(CancellationToken cancellationToken) {
+		this.cancellationToken = cancellationToken;
+	}
+	
+	/**
+	 * @return  the listener of the algorithm, or the no-operation listener if no listener is set
+	 */
+	public AlgorithmListener getListener() {
+		if(listener==null)
+			return NoOpAlgorithmListener.INSTANCE;
+		return listener;
+	}
+
+	public void setListener(AlgorithmListener listener) {
+		this.listener = listener;
+	}
+	
+	public Checkpointer getCheckpointer() {
+		return checkpointer;
+	}
+
+	/**
+	 * Allows to save periodic checkpoints of the algorithm. If the file of the checkpoints exists when the algorithm is executed,
+	 * the execution is resumed from the latest checkpoint. The checkpoints are discarded when the execution is completed,
+	 * while they are kept when it is cancelled or interrupted.
+	 * 
+	 * @param checkpointer  the object saving the checkpoints, null to save no checkpoint
+	 */
+	public void setCheckpointer(Checkpointer checkpointer) {
+		this.checkpointer = checkpointer;
+	}
+	
+	/**
+	 * Allows to create an independent copy of the configuration, for instance to execute several runs of an algorithm concurrently.
+	 * The copy has its own elements, performance and random generator, while it shares the listener and the cancellation token
+	 * with this configuration; no checkpointer is set. The portfolio, the budget controller and the archive of the local search
+	 * are copied with the same settings in their initial state.
+	 * 
+	 * @return  the copy of the configuration
+	 * @throws IllegalArgumentException  if the configuration contains an element which cannot be copied
+	 * @throws IllegalStateException  if the copy cannot be read back
+	 */
+	public JConfiguration copy(){
+		JConfiguration copy;
+		try {
+			copy=ConfigurationCodec.copy(this);
+		} catch (IOException e) {
+			throw new IllegalStateException("The configuration cannot be copied", e);
+		}
+		copy.setListener(listener);
+		copy.setCancellationToken(cancellationToken);
+		return copy;
+	}
+	
+	/**
+	 * Allows to get the random generator of the configuration, or the one set for the current thread by <code>setLocalRandomGenerator</code>
+	 * 
+	 * @return  the random generator to be used by the current thread
+	 */
+	@Override
+	public RandomGenerator getRandomGenerator(){
+		if(localGenerator!=null){
+			RandomGenerator generator=localGenerator.get();
+			if(generator!=null)
+				return generator;
+		}
+		return super.getRandomGenerator();
+	}
+	
+	/**
+	 * Allows to set the random generator used by the current thread in place of the one of the configuration, so that the tasks
+	 * executed concurrently draw their own sequence of random numbers, independently of the scheduling of the threads
+	 * 
+	 * @param generator  the random generator of the current thread, null to use again the one of the configuration
+	 * @return  the random generator previously set for the current thread, null if none was set
+	 */
+	public RandomGenerator setLocalRandomGenerator(RandomGenerator generator){
+		if(localGenerator==null)
+			localGenerator=new ThreadLocal<RandomGenerator>();
+		RandomGenerator previous=localGenerator.get();
+		if(generator==null)
+			localGenerator.remove();
+		else
+			localGenerator.set(generator);
+		return previous;
+	}
+	
+	/**
+	 * Allows to set the seed of the random generator of the configuration, to make the executions repeatable
+	 * 
+	 * @param seed  the seed
+	 */
+	public void setSeed(long seed){
+		RandomGenerator generator=getRandomGenerator();
+		if(!(generator instanceof Random))
+			throw new IllegalStateException("The random generator of the configuration cannot be seeded");
+		((Random)generator).setSeed(seed);
+	}
+	
 
 }
@@ -28,6 +28,9 @@ package jMeme.core;
 import jMeme.core.fitnessFunction.FitnessEvaluationMethod;
 import jMeme.core.fitnessFunction.FitnessFeatures;
 import jMeme.core.individuals.Individual;
+import jMeme.performances.Incumbent;
+import jMeme.performances.jfr.FitnessEvaluationEvent;
+import jMeme.performances.metrics.AlgorithmMetrics;
 
 import org.jgap.IChromosome;
 
@@ -77,51 +80,188 @@ public class JFitnessFunction extends org.jgap.FitnessFunction {
 	 */
 	@Override
 	protected double evaluate(IChromosome individual) {
-		
-		configuration=(jMeme.core.JConfiguration)individual.getConfiguration();
-		
+
+		//a local reference is used since several threads can evaluate individuals at the same time
+		JConfiguration conf=(jMeme.core.JConfiguration)individual.getConfiguration();
+		configuration=conf;
+
 		//increment number of fitness evaluations
-	     configuration.getPerformance().incrementNumberOfFitnessEvaluations();
-	     
+	     conf.getPerformance().incrementNumberOfFitnessEvaluations();
+
 	     //set the number of fitness evaluation where the individual has been generated
-	     ((Individual)individual).setNumberOfEvaluationsToBeGenerated(configuration.getPerformance().getNumberOfFitnessEvaluations());
-		
+	     int evaluation=conf.getPerformance().getNumberOfFitnessEvaluations();
+	     ((Individual)individual).setNumberOfEvaluationsToBeGenerated(evaluation);
+
 		//check of number of fitness evaluations
-				if(initialCheck(individual))
-					return reset_fitness;
-				
+				if(initialCheck(conf))
+					return resetFitness(conf);
+
 			//fitness implemented by the user
-				
+
+			//a sample of the evaluations is recorded by JFR
+			FitnessEvaluationEvent event=null;
+			if(FitnessEvaluationEvent.isSampled(evaluation)){
+				event=new FitnessEvaluationEvent();
+				event.begin();
+			}
+
 			//useful to compute the fitness time
-			long startTime=System.currentTimeMillis();
-			
+			long startTime=System.nanoTime();
+
 			double fitness=evalMethod.evaluate((Individual)individual);
 			
-			//added in the version jMeme 1.0.1
-			//set the time occurred to execute the single fitness evaluation
-			configuration.getPerformance().setTimeFitnesses(System.currentTimeMillis()-startTime);
-			
+			if(event!=null)
+				event.emit(evaluation, fitness);
+
+			//record the time occurred to execute the single fitness evaluation
+			AlgorithmMetrics metrics=conf.getPerformance().getMetrics();
+			metrics.record(AlgorithmMetrics.EVALUATION, System.nanoTime()-startTime);
+
+			//publish the individual if it is the best one evaluated so far
+			Incumbent incumbent=conf.getPerformance().offerIncumbent((Individual)individual, fitness, conf.getFitnessFeatures().isMaximize());
+			if(incumbent!=null){
+				metrics.recordImprovement(incumbent);
+				conf.getListener().improvementFound(conf, incumbent);
+			}
+
 			return	fitness;
-				
+
 	}
-	
 
-	
-	private boolean initialCheck(IChromosome a) {
-		
-     			if(configuration.getFinalConditions().checkNumberEvaluations(configuration)){
-						configuration.getPerformance().decrementNumberOfFitnessEvaluations();
-						if(configuration.getFitnessFeatures().getFitnessSign()==FitnessFeatures.MIN)
-						   {reset_fitness=Double.MAX_VALUE;
-						   return true;}
-						else {
-							reset_fitness= Double.MIN_VALUE;
-							return true;
-						}
+
+
+	/**
+	 * Performs the evaluation of a solution obtained by changing some components of a solution whose fitness value is known.
+	 * When the fitness evaluation method supports it, the fitness value is updated incrementally; in any case, the computation
+	 * is counted as a fitness evaluation. The computed fitness value is also set in the solution.
+	 * 
+	 * @param individual solution to be evaluated, already containing the new values of the changed components.
+	 * @param previousFitness fitness value of the solution before the change.
+	 * @param indices indices of the changed components.
+	 * @param previousValues values of the changed components before the change.
+	 * @return the fitness value of the solution.
+	 */
+	public double evaluateIncrement(Individual individual, double previousFitness, int[] indices, double[] previousValues) {
+
+		JConfiguration conf=(jMeme.core.JConfiguration)individual.getConfiguration();
+
+		conf.getPerformance().incrementNumberOfFitnessEvaluations();
+
+		int evaluation=conf.getPerformance().getNumberOfFitnessEvaluations();
+		individual.setNumberOfEvaluationsToBeGenerated(evaluation);
+
+		if(initialCheck(conf)){
+			double value=resetFitness(conf);
+			individual.setFitness(value);
+			return value;
+		}
+
+		FitnessEvaluationEvent event=null;
+		if(FitnessEvaluationEvent.isSampled(evaluation)){
+			event=new FitnessEvaluationEvent();
+			event.begin();
+		}
+
+		long startTime=System.nanoTime();
+
+		double fitness;
+		if(evalMethod.isIncremental())
+			fitness=evalMethod.evaluateIncrement(individual, previousFitness, indices, previousValues);
+		else
+			fitness=evalMethod.evaluate(individual);
+
+		if(event!=null)
+			event.emit(evaluation, fitness);
+
+		AlgorithmMetrics metrics=conf.getPerformance().getMetrics();
+		metrics.record(AlgorithmMetrics.EVALUATION, System.nanoTime()-startTime);
+
+		individual.setFitness(fitness);
+
+		Incumbent incumbent=conf.getPerformance().offerIncumbent(individual, fitness, conf.getFitnessFeatures().isMaximize());
+		if(incumbent!=null){
+			metrics.recordImprovement(incumbent);
+			conf.getListener().improvementFound(conf, incumbent);
+		}
+
+		return fitness;
+	}
+
+
+	/**
+	 * Allows to know if the fitness value of a solution can be updated incrementally
+	 * 
+	 * @return true if the incremental evaluation is available, false otherwise
+	 */
+	public boolean isIncremental() {
+		return evalMethod.isIncremental();
+	}
+
+
+	/**
+	 * Performs the computation of the analytic gradient of the fitness function in a solution.
+	 * The computation is counted as a fitness evaluation.
+	 * 
+	 * @param individual solution in which the gradient must be computed.
+	 * @param gradient array where the partial derivatives must be stored.
+	 * @return true if the gradient has been computed, false if the budget of the algorithm is exhausted.
+	 * @throws UnsupportedOperationException if the analytic gradient is not available, that is <code>hasGradient</code> returns false
+	 */
+	public boolean gradient(Individual individual, double[] gradient) {
+
+		if(!evalMethod.hasGradient())
+			throw new UnsupportedOperationException("The analytic gradient is not available for " + evalMethod.getClass().getName());
+
+		JConfiguration conf=(jMeme.core.JConfiguration)individual.getConfiguration();
+
+		conf.getPerformance().incrementNumberOfFitnessEvaluations();
+
+		if(initialCheck(conf))
+			return false;
+
+		long startTime=System.nanoTime();
+
+		evalMethod.gradient(individual, gradient);
+
+		conf.getPerformance().getMetrics().record(AlgorithmMetrics.EVALUATION, System.nanoTime()-startTime);
+
+		return true;
+	}
+
+
+	/**
+	 * Allows to know if the analytic gradient of the fitness function is available
+	 * 
+	 * @return true if the analytic gradient is available, false otherwise
+	 */
+	public boolean hasGradient() {
+		return evalMethod.hasGradient();
+	}
+
+
+
+	private boolean initialCheck(JConfiguration conf) {
+
+     			if(conf.getFinalConditions().checkBudget(conf)){
+						conf.getPerformance().decrementNumberOfFitnessEvaluations();
+						return true;
 					}
-					
+
 					return false;
-		
+
+	}
+
+
+	private double resetFitness(JConfiguration conf) {
+
+		double value;
+		if(conf.getFitnessFeatures().getFitnessSign()==FitnessFeatures.MIN)
+			value=Double.MAX_VALUE;
+		else
+			value= Double.MIN_VALUE;
+
+		reset_fitness=value;
+		return value;
 	}
 
 
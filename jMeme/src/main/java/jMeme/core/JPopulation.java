@@ -28,10 +28,15 @@ package jMeme.core;
 import jMeme.core.configurations.GlobalSearchAlgorithmConfiguration;
 import jMeme.core.individuals.Individual;
 import jMeme.globalSearchAlgorithms.GlobalSearchOptimizer;
+import jMeme.utils.IndexedHeap;
+import jMeme.utils.SelectionUtil;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 
 import org.jgap.Configuration;
+import org.jgap.FitnessFunction;
 import org.jgap.Genotype;
 import org.jgap.IChromosome;
 import org.jgap.InvalidConfigurationException;
@@ -50,6 +55,31 @@ public class JPopulation extends org.jgap.Genotype{
 	
 	private static final long serialVersionUID = -3535068185028210817L;
 	
+	/**
+	 * Stores the individuals of the population at the time of the last ranking
+	 */
+	private transient IChromosome[] rankedIndividuals;
+	/**
+	 * Stores the fitness values of the individuals at the time of the last ranking
+	 */
+	private transient double[] rankedFitness;
+	/**
+	 * Stores the indices of the fittest individuals, from the fittest one, computed by the last ranking
+	 */
+	private transient int[] rankOrder;
+	/**
+	 * Stores the individuals of the population at the time the indices of the population were built
+	 */
+	private transient IChromosome[] indexedIndividuals;
+	/**
+	 * Stores the slot of each individual of the population, compared by identity
+	 */
+	private transient IdentityHashMap<IChromosome, Integer> slots;
+	/**
+	 * Stores the heap of the fitness values of the individuals whose top slot is the one of the worst individual
+	 */
+	private transient IndexedHeap worstHeap;
+	
 	
 	/**
 	 * 
@@ -101,6 +131,16 @@ public class JPopulation extends org.jgap.Genotype{
 		  }
 	
 	
+	/**
+	 * Sets the population of individuals and discards the indices of the previous one
+	 */
+	@Override
+	protected synchronized void setPopulation(Population a_pop) {
+		super.setPopulation(a_pop);
+		invalidateIndex();
+	}
+	
+	
 	/**
 	 * 
 	 * Convenience method that returns a newly constructed population
@@ -151,12 +191,83 @@ public class JPopulation extends org.jgap.Genotype{
 		return super.getPopulation().getChromosomes();
 	}
 	
-	public void setIndividuals(List individuals){
+	public synchronized void setIndividuals(List individuals){
 		super.getPopulation().setChromosomes(individuals);
+		invalidateIndex();
 	}
 	
-	public void setIndividual(Individual s, int index){
-		 super.getPopulation().setChromosome(index, s);
+	/**
+	 * Allows to put an individual in a slot of the population, updating the indices of the population in O(log n)
+	 * 
+	 * @param s  the individual
+	 * @param index  the slot
+	 */
+	public synchronized void setIndividual(Individual s, int index){
+		IChromosome old=super.getPopulation().getChromosome(index);
+		super.getPopulation().setChromosome(index, s);
+		
+		if(indexedIndividuals==null)
+			return;
+		indexedIndividuals[index]=s;
+		if(slots!=null){
+			Integer slot=slots.get(old);
+			if(slot!=null && slot.intValue()==index)
+				slots.remove(old);
+			slots.put(s, index);
+		}
+		if(worstHeap!=null){
+			//the fitness value is not computed here since it would count as a fitness evaluation
+			if(Double.compare(s.getFitnessValueDirectly(), FitnessFunction.NO_FITNESS_VALUE)==0)
+				worstHeap=null;
+			else
+				worstHeap.update(index, s.getFitnessValueDirectly());
+		}
+	}
+	
+	/**
+	 * Allows to get the slot of the worst individual of the population in O(1), or in O(n) when the indices must be rebuilt.
+	 * The indices are kept up to date by the methods of this class; if the individuals are changed by means of the population of JGAP,
+	 * the method <code>invalidateIndex</code> must be called.
+	 * 
+	 * @return  the slot of the worst individual; the last one in case of ties
+	 */
+	public synchronized int getIndexOfWorstIndividual(){
+		List<?> chromosomes=super.getPopulation().getChromosomes();
+		if(worstHeap!=null){
+			int slot=worstHeap.top();
+			//a change not performed by means of this class is detected if it affects the worst individual
+			if(worstHeap.size()!=chromosomes.size() || chromosomes.get(slot)!=indexedIndividuals[slot] 
+					|| Double.compare(indexedIndividuals[slot].getFitnessValueDirectly(), worstHeap.getKey(slot))!=0)
+				invalidateIndex();
+		}
+		if(worstHeap==null){
+			buildIndividuals(chromosomes);
+			double[] fitness=new double[chromosomes.size()];
+			for(int i=0;i<fitness.length;i++)
+				fitness[i]=indexedIndividuals[i].getFitnessValue();
+			worstHeap=new IndexedHeap(fitness, ((JConfiguration)getConfiguration()).getFitnessFeatures().isMaximize());
+		}
+		return worstHeap.top();
+	}
+	
+	/**
+	 * Allows to discard the indices of the population, e.g. after changing its individuals by means of the population of JGAP
+	 */
+	public synchronized void invalidateIndex(){
+		indexedIndividuals=null;
+		slots=null;
+		worstHeap=null;
+	}
+	
+	
+	private void buildIndividuals(List<?> chromosomes){
+		if(indexedIndividuals!=null && indexedIndividuals.length==chromosomes.size())
+			return;
+		indexedIndividuals=new IChromosome[chromosomes.size()];
+		for(int i=0;i<indexedIndividuals.length;i++)
+			indexedIndividuals[i]=(IChromosome)chromosomes.get(i);
+		slots=null;
+		worstHeap=null;
 	}
 
 	
@@ -168,8 +279,59 @@ public class JPopulation extends org.jgap.Genotype{
 		return (Individual)super.getFittestChromosome(a,b);
 	}
 
-	public List getFittestIndividuals(int numInd){
-		return super.getFittestChromosomes(numInd);
+	/**
+	 * Allows to get the fittest individuals of the population. Differently from the method of JGAP, the population is not sorted:
+	 * the fittest individuals are selected in O(n + k log k) and their order is kept until an individual or a fitness value changes.
+	 * 
+	 * @param numInd  the number of individuals to be selected
+	 * @return  a new list containing the fittest individuals, from the fittest one, or null if no individual must be selected
+	 */
+	public synchronized List getFittestIndividuals(int numInd){
+		List<?> chromosomes=super.getPopulation().getChromosomes();
+		int num=Math.min(numInd, chromosomes.size());
+		if(num<=0)
+			return null;
+		
+		int[] order=rank(chromosomes, num);
+		
+		List<IChromosome> fittest=new ArrayList<IChromosome>(num);
+		for(int i=0;i<num;i++)
+			fittest.add((IChromosome)chromosomes.get(order[i]));
+		return fittest;
+	}
+	
+	
+	/**
+	 * Allows to get the indices of the fittest individuals. The order computed by the last ranking is reused if the individuals
+	 * and their fitness values have not changed, so that only the fitness values are read.
+	 * 
+	 * @param chromosomes  the individuals of the population
+	 * @param num  the number of individuals to be selected
+	 * @return  the indices of at least num individuals, from the fittest one
+	 */
+	private int[] rank(List<?> chromosomes, int num){
+		int size=chromosomes.size();
+		boolean changed=rankOrder==null || rankOrder.length<num;
+		
+		if(rankedIndividuals==null || rankedIndividuals.length!=size){
+			rankedIndividuals=new IChromosome[size];
+			rankedFitness=new double[size];
+			changed=true;
+		}
+		
+		for(int i=0;i<size;i++){
+			IChromosome c=(IChromosome)chromosomes.get(i);
+			double fitness=c.getFitnessValue();
+			if(rankedIndividuals[i]!=c || Double.compare(rankedFitness[i], fitness)!=0){
+				rankedIndividuals[i]=c;
+				rankedFitness[i]=fitness;
+				changed=true;
+			}
+		}
+		
+		if(changed)
+			rankOrder=SelectionUtil.topK(rankedFitness, num, ((JConfiguration)getConfiguration()).getFitnessFeatures().isMaximize());
+		return rankOrder;
 	}
 	
 	public Population getPopulation(){
@@ -177,8 +339,9 @@ public class JPopulation extends org.jgap.Genotype{
 	}
 	
 	
-	public void addIndividual(Individual s){
+	public synchronized void addIndividual(Individual s){
 		super.getPopulation().addChromosome(s);
+		invalidateIndex();
 	}
 	
 	
@@ -187,8 +350,27 @@ public class JPopulation extends org.jgap.Genotype{
 	}
 	
 	
-	public int indexOfIndividual(Individual ind){
-		return super.getPopulation().getChromosomes().indexOf(ind);
+	/**
+	 * Allows to get the slot of an individual of the population in O(1), or in O(n) when the indices must be rebuilt
+	 * 
+	 * @param ind  the individual
+	 * @return  the slot of the individual, or of the first individual equal to it if it does not belong to the population, -1 if no such individual exists
+	 */
+	public synchronized int indexOfIndividual(Individual ind){
+		List<?> chromosomes=super.getPopulation().getChromosomes();
+		if(indexedIndividuals!=null && indexedIndividuals.length!=chromosomes.size())
+			invalidateIndex();
+		buildIndividuals(chromosomes);
+		if(slots==null){
+			slots=new IdentityHashMap<IChromosome, Integer>(2*chromosomes.size());
+			for(int i=indexedIndividuals.length-1;i>=0;i--)
+				slots.put(indexedIndividuals[i], i);
+		}
+		
+		Integer slot=slots.get(ind);
+		if(slot!=null && chromosomes.get(slot)==ind)
+			return slot;
+		return chromosomes.indexOf(ind);
 	}
 	
 	
@@ -0,0 +1,57 @@
+/*
+ * Checkpointable.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.core.checkpoint;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+
+/**
+ * This interface must be implemented by the objects whose state must be saved in the checkpoints of a running algorithm.
+ * The state is written in a compact binary format and must be read back in the same order.
+ */
+public interface Checkpointable {
+
+	
+	/**
+	 * Allows to write the state of the object
+	 * 
+	 * @param out  the output to write the state to
+	 * @throws IOException  if the state cannot be written
+	 */
+	public void writeState(DataOutput out) throws IOException;
+	
+	
+	/**
+	 * Allows to restore the state of the object
+	 * 
+	 * @param in  the input to read the state from
+	 * @throws IOException  if the state cannot be read
+	 */
+	public void readState(DataInput in) throws IOException;
+	
+}
@@ -0,0 +1,144 @@
+/*
+ * CheckpointableRandomGenerator.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.core.checkpoint;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jgap.RandomGenerator;
+
+
+/**
+ * This class implements the random generator of the configurations. It produces the same sequence of numbers as <code>java.util.Random</code>
+ * for the same seed, but its whole state, i.e. the seed and the cached gaussian value, can be saved and restored,
+ * so that an algorithm resumed from a checkpoint draws the same numbers it would have drawn without being interrupted.
+ * As <code>java.util.Random</code>, the generator can be shared by several threads without locks.
+ */
+public class CheckpointableRandomGenerator extends Random implements RandomGenerator, Checkpointable {
+
+	private static final long serialVersionUID = 1904331245627815536L;
+	
+	private static final long MULTIPLIER = 0x5DEECE66DL;
+	private static final long ADDEND = 0xBL;
+	private static final long MASK = (1L << 48) - 1;
+	
+	/**
+	 * Stores the number of generators created without a seed, used to make their seeds different
+	 */
+	private static final AtomicLong seedUniquifier=new AtomicLong(8682522807148012L);
+	
+	
+	/**
+	 * Stores the internal state of the generator
+	 */
+	private AtomicLong state;
+	/**
+	 * Stores the second gaussian value generated by the last invocation of <code>nextGaussian</code>
+	 */
+	private double nextNextGaussian;
+	/**
+	 * Stores true if <code>nextNextGaussian</code> has not been returned yet, false otherwise
+	 */
+	private boolean haveNextNextGaussian;
+	
+	
+	/**
+	 * Constructor
+	 * 
+	 * Creates a generator with a seed which is very likely to be different from the one of any other generator.
+	 */
+	public CheckpointableRandomGenerator(){
+		this(seedUniquifier.addAndGet(181783497276652981L) ^ System.nanoTime());
+	}
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param seed  the initial seed
+	 */
+	public CheckpointableRandomGenerator(long seed){
+		super(seed);
+	}
+	
+	
+	/**
+	 * Allows to set the seed of the generator, discarding the cached gaussian value
+	 * 
+	 * @param seed  the seed
+	 */
+	public synchronized void setSeed(long seed){
+		if(state==null)
+			state=new AtomicLong();
+		state.set((seed ^ MULTIPLIER) & MASK);
+		haveNextNextGaussian=false;
+	}
+	
+	
+	protected int next(int bits){
+		long oldState, nextState;
+		do {
+			oldState=state.get();
+			nextState=(oldState * MULTIPLIER + ADDEND) & MASK;
+		} while (!state.compareAndSet(oldState, nextState));
+		return (int)(nextState >>> (48 - bits));
+	}
+	
+	
+	public synchronized double nextGaussian(){
+		if(haveNextNextGaussian){
+			haveNextNextGaussian=false;
+			return nextNextGaussian;
+		}
+		double v1, v2, s;
+		do {
+			v1 = 2 * nextDouble() - 1;
+			v2 = 2 * nextDouble() - 1;
+			s = v1 * v1 + v2 * v2;
+		} while (s >= 1 || s == 0);
+		double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s)/s);
+		nextNextGaussian = v2 * multiplier;
+		haveNextNextGaussian = true;
+		return v1 * multiplier;
+	}
+	
+	
+	public synchronized void writeState(DataOutput out) throws IOException {
+		out.writeLong(state.get());
+		out.writeBoolean(haveNextNextGaussian);
+		out.writeDouble(nextNextGaussian);
+	}
+	
+	
+	public synchronized void readState(DataInput in) throws IOException {
+		state.set(in.readLong() & MASK);
+		haveNextNextGaussian=in.readBoolean();
+		nextNextGaussian=in.readDouble();
+	}
+	
+}
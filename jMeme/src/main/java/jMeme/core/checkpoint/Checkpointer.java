@@ -0,0 +1,555 @@
+/*
+ * Checkpointer.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.core.checkpoint;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jgap.Gene;
+import org.jgap.IChromosome;
+import org.jgap.InvalidConfigurationException;
+import org.jgap.RandomGenerator;
+import org.jgap.UnsupportedRepresentationException;
+
+import jMeme.core.JConfiguration;
+import jMeme.core.JPopulation;
+import jMeme.core.individuals.Individual;
+
+
+/**
+ * This class allows to save periodic checkpoints of a running algorithm to a file and to resume the algorithm from the latest one.
+ * A checkpoint is captured in memory by the thread executing the algorithm, which is cheap, and written to the file by a daemon thread,
+ * so the evolution is not stalled by the disk. When a checkpoint is captured before the previous one has been written, only the latest one is written.
+ * The file is replaced atomically, so a crash while writing leaves the previous checkpoint intact.
+ * 
+ * The execution resumed from a checkpoint is identical to the interrupted one when the fitness function is deterministic
+ * and the local searches are executed serially, since the order in which concurrent local searches draw random numbers is not fixed.
+ */
+public class Checkpointer {
+
+	
+	/**
+	 * Constant indicating the default number of iterations between two checkpoints
+	 */
+	public static final int PERIOD_DEFAULT=10;
+	
+	/**
+	 * Constant identifying the files of the checkpoints
+	 */
+	public static final int MAGIC=0x4A4D434B;
+	
+	/**
+	 * Constant indicating the version of the format of the checkpoints
+	 */
+	public static final short VERSION=1;
+	
+	private static final byte NULL='N';
+	private static final byte DOUBLE='D';
+	private static final byte INTEGER='I';
+	private static final byte LONG='L';
+	private static final byte BOOLEAN='Z';
+	private static final byte PERSISTENT='S';
+	
+	
+	/**
+	 * Stores the file of the checkpoints
+	 */
+	private final File file;
+	/**
+	 * Stores the number of iterations between two checkpoints
+	 */
+	private final int period;
+	/**
+	 * Stores the latest checkpoint which has not been written yet, null if there is none
+	 */
+	private final AtomicReference<byte[]> pending=new AtomicReference<byte[]>();
+	/**
+	 * Stores the executor writing the checkpoints
+	 */
+	private final ExecutorService writer;
+	/**
+	 * Stores the last error occurred while writing a checkpoint, null if there is none
+	 */
+	private final AtomicReference<IOException> lastError=new AtomicReference<IOException>();
+	
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param file  the file of the checkpoints
+	 */
+	public Checkpointer(File file){
+		this(file, PERIOD_DEFAULT);
+	}
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param file  the file of the checkpoints
+	 * @param period  the number of iterations between two checkpoints
+	 */
+	public Checkpointer(File file, int period){
+		if(period<1)
+			throw new IllegalArgumentException("The period of the checkpoints must be positive");
+		this.file=file;
+		this.period=period;
+		this.writer=Executors.newSingleThreadExecutor(new ThreadFactory(){
+			public Thread newThread(Runnable r) {
+				Thread t=new Thread(r, "jMeme-checkpoint-writer");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+	}
+	
+	
+	/**
+	 * Allows to know if a checkpoint must be captured at the end of an iteration
+	 * 
+	 * @param iteration  the number of completed iterations
+	 * @return  true if a checkpoint must be captured, false otherwise
+	 */
+	public boolean isDue(int iteration){
+		return iteration>0 && iteration%period==0;
+	}
+	
+	
+	/**
+	 * Allows to start a checkpoint
+	 * 
+	 * @param algorithm  the algorithm whose state is saved
+	 * @return  the output to write the state of the algorithm to
+	 * @throws IOException  if the header cannot be written
+	 */
+	public DataOutputStream begin(Object algorithm) throws IOException {
+		DataOutputStream out=new Capture();
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+		out.writeUTF(algorithm.getClass().getName());
+		return out;
+	}
+	
+	
+	/**
+	 * Allows to complete a checkpoint started by <code>begin</code> and to schedule its writing. Since the checkpoints are written
+	 * in the background, the failure of the previous writing is reported here, after the new checkpoint has been scheduled.
+	 * 
+	 * @param out  the output returned by <code>begin</code>
+	 * @throws IOException  if the checkpoint cannot be completed or the previous checkpoint could not be written
+	 */
+	public void commit(DataOutputStream out) throws IOException {
+		out.flush();
+		byte[] checkpoint=((Capture)out).toByteArray();
+		if(pending.getAndSet(checkpoint)==null)
+			writer.execute(new Runnable(){
+				public void run() {
+					write();
+				}
+			});
+		rethrow();
+	}
+	
+	
+	/**
+	 * Allows to write the latest captured checkpoint to the file
+	 */
+	private void write(){
+		byte[] checkpoint=pending.getAndSet(null);
+		if(checkpoint==null)
+			return;
+		File tmp=new File(file.getPath() + ".tmp");
+		try {
+			FileOutputStream out=new FileOutputStream(tmp);
+			try {
+				out.write(checkpoint);
+				out.getFD().sync();
+			} finally {
+				out.close();
+			}
+			try {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			lastError.set(e);
+		}
+	}
+	
+	/**
+	 * Allows to report the last error occurred while writing a checkpoint, which is then cleared
+	 */
+	private void rethrow() throws IOException {
+		IOException e=lastError.getAndSet(null);
+		if(e!=null)
+			throw e;
+	}
+	
+	
+	/**
+	 * Allows to wait until the captured checkpoints have been written
+	 * 
+	 * @throws IOException  if the last checkpoint could not be written
+	 */
+	public void flush() throws IOException {
+		try {
+			writer.submit(new Runnable(){
+				public void run() {
+					write();
+				}
+			}).get();
+		} catch (Exception e) {
+			throw new IOException("Checkpoint not written", e);
+		}
+		rethrow();
+	}
+	
+	
+	/**
+	 * @return  true if a checkpoint can be resumed, false otherwise
+	 */
+	public boolean exists(){
+		return pending.get()!=null || file.isFile();
+	}
+	
+	
+	/**
+	 * Allows to read the latest checkpoint
+	 * 
+	 * @param algorithm  the algorithm to resume
+	 * @return  the input to read the state of the algorithm from
+	 * @throws IOException  if the checkpoint cannot be read or it has not been saved by an algorithm of the same type
+	 */
+	public DataInputStream load(Object algorithm) throws IOException {
+		flush();
+		DataInputStream in=new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())));
+		if(in.readInt()!=MAGIC)
+			throw new IOException(file + " is not a checkpoint");
+		short version=in.readShort();
+		if(version!=VERSION)
+			throw new IOException("Unsupported checkpoint version " + version);
+		String type=in.readUTF();
+		if(!type.equals(algorithm.getClass().getName()))
+			throw new IOException("The checkpoint has been saved by " + type);
+		return in;
+	}
+	
+	
+	/**
+	 * Allows to discard the checkpoints, e.g. before a new run. The files are deleted even if an error is reported.
+	 * 
+	 * @throws IOException  if the last checkpoint could not be written
+	 */
+	public void delete() throws IOException {
+		pending.set(null);
+		try {
+			flush();
+		} finally {
+			file.delete();
+			new File(file.getPath() + ".tmp").delete();
+		}
+	}
+	
+	
+	/**
+	 * Allows to stop the thread writing the checkpoints, after the pending ones have been written
+	 */
+	public void close(){
+		writer.shutdown();
+		try {
+			writer.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	
+	/**
+	 * Allows to write an individual, i.e. its components, its fitness value and its counters
+	 * 
+	 * @param out  the output
+	 * @param ind  the individual, possibly null
+	 * @throws IOException  if the individual cannot be written
+	 */
+	public static void writeIndividual(DataOutput out, Individual ind) throws IOException {
+		out.writeBoolean(ind!=null);
+		if(ind!=null)
+			ind.writeState(out);
+	}
+	
+	/**
+	 * Allows to read an individual written by <code>writeIndividual</code>. The individual is built as a copy of the sample individual of the configuration.
+	 * 
+	 * @param in  the input
+	 * @param conf  the configuration of the algorithm
+	 * @return  the individual, possibly null
+	 * @throws IOException  if the individual cannot be read
+	 */
+	public static Individual readIndividual(DataInput in, JConfiguration conf) throws IOException {
+		if(!in.readBoolean())
+			return null;
+		Individual ind=((Individual)conf.getSampleChromosome()).clone();
+		ind.readState(in);
+		return ind;
+	}
+	
+	
+	/**
+	 * Allows to write the state of a configuration which changes during the execution, i.e. the state of its random generator and the generation number
+	 * 
+	 * @param out  the output
+	 * @param conf  the configuration of the algorithm
+	 * @throws IOException  if the state cannot be written
+	 */
+	public static void writeConfiguration(DataOutput out, JConfiguration conf) throws IOException {
+		RandomGenerator generator=conf.getRandomGenerator();
+		out.writeBoolean(generator instanceof Checkpointable);
+		if(generator instanceof Checkpointable)
+			((Checkpointable)generator).writeState(out);
+		out.writeInt(conf.getGenerationNr());
+	}
+	
+	/**
+	 * Allows to restore the state of a configuration written by <code>writeConfiguration</code>
+	 * 
+	 * @param in  the input
+	 * @param conf  the configuration of the algorithm
+	 * @throws IOException  if the state cannot be read or the random generator of the configuration cannot be restored
+	 */
+	public static void readConfiguration(DataInput in, JConfiguration conf) throws IOException {
+		RandomGenerator generator=conf.getRandomGenerator();
+		if(in.readBoolean()){
+			if(!(generator instanceof Checkpointable))
+				throw new IOException("The random generator of the configuration cannot be restored");
+			((Checkpointable)generator).readState(in);
+		}
+		int generation=in.readInt();
+		while(conf.getGenerationNr()<generation)
+			conf.incrementGenerationNr();
+	}
+	
+	
+	/**
+	 * Allows to write the individuals of a population
+	 * 
+	 * @param out  the output
+	 * @param population  the population
+	 * @throws IOException  if the population cannot be written
+	 */
+	public static void writePopulation(DataOutput out, JPopulation population) throws IOException {
+		IChromosome[] chromosomes=population.getPopulation().toChromosomes();
+		out.writeInt(chromosomes.length);
+		for(int i=0;i<chromosomes.length;i++)
+			writeIndividual(out, (Individual)chromosomes[i]);
+	}
+	
+	/**
+	 * Allows to read a population written by <code>writePopulation</code>
+	 * 
+	 * @param in  the input
+	 * @param conf  the configuration of the algorithm
+	 * @return  the population
+	 * @throws IOException  if the population cannot be read or built
+	 */
+	public static JPopulation readPopulation(DataInput in, JConfiguration conf) throws IOException {
+		Individual[] inds=new Individual[in.readInt()];
+		for(int i=0;i<inds.length;i++)
+			inds[i]=readIndividual(in, conf);
+		try {
+			return new JPopulation(conf, inds);
+		} catch (InvalidConfigurationException e) {
+			throw new IOException("The population cannot be built", e);
+		}
+	}
+	
+	
+	/**
+	 * Allows to write the state of an optional component of an algorithm
+	 * 
+	 * @param out  the output
+	 * @param component  the component, possibly null
+	 * @throws IOException  if the state cannot be written
+	 */
+	public static void writeOptional(DataOutput out, Checkpointable component) throws IOException {
+		out.writeBoolean(component!=null);
+		if(component!=null)
+			component.writeState(out);
+	}
+	
+	/**
+	 * Allows to restore the state of an optional component written by <code>writeOptional</code>
+	 * 
+	 * @param in  the input
+	 * @param component  the component, possibly null
+	 * @throws IOException  if the state cannot be read or the component does not match the checkpoint
+	 */
+	public static void readOptional(DataInput in, Checkpointable component) throws IOException {
+		boolean present=in.readBoolean();
+		if(present!=(component!=null))
+			throw new IOException("The checkpoint does not match the configuration of the algorithm");
+		if(present)
+			component.readState(in);
+	}
+	
+	
+	/**
+	 * Allows to write the value of a component of an individual. The values which are not numbers or booleans are written
+	 * by means of the persistent representation of the component.
+	 * 
+	 * @param out  the output
+	 * @param gene  the component
+	 * @throws IOException  if the value cannot be written
+	 */
+	public static void writeAllele(DataOutput out, Gene gene) throws IOException {
+		Object allele=gene.getAllele();
+		if(isValue(allele))
+			writeValue(out, allele);
+		else {
+			out.writeByte(PERSISTENT);
+			out.writeUTF(gene.getPersistentRepresentation());
+		}
+	}
+	
+	/**
+	 * Allows to read the value of a component of an individual written by <code>writeAllele</code>
+	 * 
+	 * @param in  the input
+	 * @param gene  the component whose value must be set
+	 * @throws IOException  if the value cannot be read
+	 */
+	public static void readAllele(DataInput in, Gene gene) throws IOException {
+		byte type=in.readByte();
+		if(type!=PERSISTENT)
+			gene.setAllele(readValue(in, type));
+		else {
+			try {
+				gene.setValueFromPersistentRepresentation(in.readUTF());
+			} catch (UnsupportedRepresentationException e) {
+				throw new IOException(e);
+			}
+		}
+	}
+	
+	
+	/**
+	 * @param value  a value
+	 * @return  true if the value can be written by <code>writeValue</code>, i.e. it is null, a number or a boolean, false otherwise
+	 */
+	public static boolean isValue(Object value){
+		return value==null || value instanceof Double || value instanceof Integer || value instanceof Long || value instanceof Boolean;
+	}
+	
+	/**
+	 * Allows to write a value
+	 * 
+	 * @param out  the output
+	 * @param value  the value, which must be null, a number or a boolean
+	 * @throws IOException  if the value cannot be written
+	 */
+	public static void writeValue(DataOutput out, Object value) throws IOException {
+		if(value==null)
+			out.writeByte(NULL);
+		else if(value instanceof Double){
+			out.writeByte(DOUBLE);
+			out.writeDouble(((Double)value).doubleValue());
+		}
+		else if(value instanceof Integer){
+			out.writeByte(INTEGER);
+			out.writeInt(((Integer)value).intValue());
+		}
+		else if(value instanceof Long){
+			out.writeByte(LONG);
+			out.writeLong(((Long)value).longValue());
+		}
+		else if(value instanceof Boolean){
+			out.writeByte(BOOLEAN);
+			out.writeBoolean(((Boolean)value).booleanValue());
+		}
+		else throw new IllegalArgumentException("Unsupported value type " + value.getClass().getName());
+	}
+	
+	/**
+	 * Allows to read a value written by <code>writeValue</code>
+	 * 
+	 * @param in  the input
+	 * @return  the value
+	 * @throws IOException  if the value cannot be read
+	 */
+	public static Object readValue(DataInput in) throws IOException {
+		return readValue(in, in.readByte());
+	}
+	
+	private static Object readValue(DataInput in, byte type) throws IOException {
+		switch(type){
+		case NULL: return null;
+		case DOUBLE: return Double.valueOf(in.readDouble());
+		case INTEGER: return Integer.valueOf(in.readInt());
+		case LONG: return Long.valueOf(in.readLong());
+		case BOOLEAN: return Boolean.valueOf(in.readBoolean());
+		default: throw new IOException("Unknown value type " + type);
+		}
+	}
+	
+	
+	public File getFile() {
+		return file;
+	}
+	
+	public int getPeriod() {
+		return period;
+	}
+	
+	
+	/**
+	 * This class stores a checkpoint in memory while it is captured
+	 */
+	private static class Capture extends DataOutputStream {
+		
+		Capture(){
+			super(new ByteArrayOutputStream(8192));
+		}
+		
+		byte[] toByteArray(){
+			return ((ByteArrayOutputStream)out).toByteArray();
+		}
+	}
+
+}
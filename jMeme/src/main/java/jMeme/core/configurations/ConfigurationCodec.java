@@ -0,0 +1,1034 @@
+/*
+ * ConfigurationCodec.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+
+package jMeme.core.configurations;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Serializable;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.concurrent.PriorityBlockingQueue;
+
+import jMeme.core.AlgorithmComponent;
+import jMeme.core.JConfiguration;
+import jMeme.core.Optimizer;
+import jMeme.core.fitnessFunction.FitnessEvaluationMethod;
+import jMeme.core.fitnessFunction.FitnessFeatures;
+import jMeme.core.registry.OptimizerRegistry;
+import jMeme.design.finalConditions.AlgorithmFinalConditions;
+import jMeme.design.generationExecutor.GenerationExecutor;
+import jMeme.design.localIntegration.LocalBudgetController;
+import jMeme.design.localIntegration.LocalFrequency;
+import jMeme.design.localIntegration.LocalIntensity;
+import jMeme.design.localIntegration.LocalOptimizerPortfolio;
+import jMeme.design.localIntegration.LocalOptimumArchive;
+import jMeme.design.optimizerParameters.OptimizerParameters;
+import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
+
+
+/**
+ * This class allows to save and read the configurations of the global search, local search and memetic algorithms without the Java serialization,
+ * which stores the whole object graph of the JGAP configuration. The stored elements are the fitness evaluation method and its sign, the termination criteria,
+ * the components of the algorithm, i.e. the names of the optimizers and all their parameters, the population generation strategy and, for the memetic algorithms,
+ * the local intensity, the local frequency, the individual selection scheme, the local parallelism and the settings of the portfolio, of the budget controller
+ * and of the archive of the local search. These adaptive components are rebuilt in their initial state, i.e. what they have learned while running is not stored.
+ *
+ * Two formats are available: a compact binary format and a human-readable text format in the syntax of the Java properties, where each parameter is a line
+ * named after its path, e.g. <code>globalParameters.crossover.rate=0.9</code>. The elements are stored field by field according to <code>ConfigurationSchema</code>,
+ * so a file remains readable when fields are added to the classes of the elements, and a text file may omit the parameters which keep their default value.
+ *
+ * Besides the elements described by their fields, the arrays and the collections and maps of <code>java.util</code> with a constructor without parameters
+ * are stored element by element, and an optimizer, e.g. the local search optimizer of a population generation strategy, is stored by means of the name
+ * of its class and its own configuration. Any other serializable value, e.g. a class of <code>java</code> other than the collections, is stored
+ * by means of the Java serialization. In the text format, the arrays of primitive values, strings and
+ * enumerations are written one line for each item, e.g. <code>globalParameters.weights.0=0.5</code> after the line with their length, while the values
+ * which cannot be read back from their text, like the collections, are written in the binary format encoded in Base64.
+ */
+public class ConfigurationCodec {
+
+	/**
+	 * Constant identifying the files in the binary format
+	 */
+	public static final int MAGIC=0x4A4D4346;
+
+	/**
+	 * Constant indicating the version of the binary format
+	 */
+	public static final short VERSION=1;
+
+	/**
+	 * Constant indicating the extension of the files saved in the text format
+	 */
+	public static final String TEXT_EXTENSION=".properties";
+
+	/**
+	 * Constant written in the text format to represent a missing element
+	 */
+	private static final String NULL="null";
+
+	/**
+	 * Constant identifying the files of the Java serialization, which are still read
+	 */
+	private static final int SERIALIZATION_MAGIC=0xACED;
+
+	private static final byte TAG_NULL=0;
+	private static final byte TAG_BOOLEAN=1;
+	private static final byte TAG_BYTE=2;
+	private static final byte TAG_SHORT=3;
+	private static final byte TAG_CHAR=4;
+	private static final byte TAG_INT=5;
+	private static final byte TAG_LONG=6;
+	private static final byte TAG_FLOAT=7;
+	private static final byte TAG_DOUBLE=8;
+	private static final byte TAG_STRING=9;
+	private static final byte TAG_ENUM=10;
+	private static final byte TAG_OBJECT=11;
+	private static final byte TAG_ARRAY=12;
+	private static final byte TAG_COLLECTION=13;
+	private static final byte TAG_MAP=14;
+	private static final byte TAG_SERIALIZED=15;
+	private static final byte TAG_OPTIMIZER=16;
+
+	/**
+	 * Constant preceding in the text format a value written in the binary format and encoded in Base64
+	 */
+	private static final String ENCODED="encoded:";
+
+
+
+	/**
+	 * Allows to save a configuration to a file, in the text format if the name of the file ends with TEXT_EXTENSION and in the binary format otherwise
+	 *
+	 * @param conf  the configuration
+	 * @param fileName  name of the file that will store the configuration
+	 * @throws IOException  if the configuration cannot be written
+	 * @throws IllegalArgumentException  if the configuration contains an element which cannot be stored
+	 */
+	public static void save(JConfiguration conf, String fileName) throws IOException {
+		OutputStream out=new BufferedOutputStream(new FileOutputStream(fileName));
+		try {
+			if(fileName.endsWith(TEXT_EXTENSION))
+				writeText(conf, new OutputStreamWriter(out, "ISO-8859-1"));
+			else
+				write(conf, out);
+		} finally {
+			out.close();
+		}
+	}
+
+
+	/**
+	 * Allows to read a configuration from a file. The format is recognized from the content of the file, which can also be a configuration
+	 * saved by the Java serialization.
+	 *
+	 * @param fileName  name of the file where the configuration is saved
+	 * @return  the configuration
+	 * @throws IOException  if the configuration cannot be read
+	 */
+	public static JConfiguration load(String fileName) throws IOException {
+		byte[] content=Files.readAllBytes(Paths.get(fileName));
+		InputStream in=new ByteArrayInputStream(content);
+		if(content.length>=4 && new DataInputStream(new ByteArrayInputStream(content)).readInt()==MAGIC)
+			return read(in);
+		if(content.length>=2 && ((content[0]&0xFF)<<8 | (content[1]&0xFF))==SERIALIZATION_MAGIC){
+			ObjectInputStream objectIn=new ObjectInputStream(in);
+			try {
+				return (JConfiguration)objectIn.readObject();
+			} catch (ClassNotFoundException e) {
+				throw new IOException("The class of the serialized configuration is not available", e);
+			} finally {
+				objectIn.close();
+			}
+		}
+		Properties p=new Properties();
+		p.load(in);
+		return fromDescription((Description)readText(p, "", Description.class));
+	}
+
+
+	/**
+	 * Allows to write a configuration in the binary format
+	 *
+	 * @param conf  the configuration
+	 * @param out  the output
+	 * @throws IOException  if the configuration cannot be written
+	 * @throws IllegalArgumentException  if the configuration contains an element which cannot be stored
+	 */
+	public static void write(JConfiguration conf, OutputStream out) throws IOException {
+		DataOutputStream data=new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeShort(VERSION);
+		writeValue(data, toDescription(conf));
+		data.flush();
+	}
+
+
+	/**
+	 * Allows to read a configuration written in the binary format
+	 *
+	 * @param in  the input
+	 * @return  the configuration
+	 * @throws IOException  if the configuration cannot be read
+	 */
+	public static JConfiguration read(InputStream in) throws IOException {
+		DataInputStream data=new DataInputStream(in instanceof BufferedInputStream || in instanceof ByteArrayInputStream ? in : new BufferedInputStream(in));
+		if(data.readInt()!=MAGIC)
+			throw new IOException("The input does not contain a configuration");
+		short version=data.readShort();
+		if(version!=VERSION)
+			throw new IOException("Unsupported configuration version " + version);
+		Object description=readValue(data);
+		if(!(description instanceof Description))
+			throw new IOException("The input does not contain a configuration");
+		return fromDescription((Description)description);
+	}
+
+
+	/**
+	 * Allows to write a configuration in the text format
+	 *
+	 * @param conf  the configuration
+	 * @param out  the output
+	 * @throws IOException  if the configuration cannot be written
+	 * @throws IllegalArgumentException  if the configuration contains an element which cannot be stored
+	 */
+	public static void writeText(JConfiguration conf, Writer out) throws IOException {
+		BufferedWriter writer=new BufferedWriter(out);
+		writer.write("#jMeme configuration");
+		writer.newLine();
+		writeFields(writer, "", toDescription(conf));
+		writer.flush();
+	}
+
+
+	/**
+	 * Allows to read a configuration written in the text format
+	 *
+	 * @param in  the input
+	 * @return  the configuration
+	 * @throws IOException  if the configuration cannot be read
+	 */
+	public static JConfiguration readText(Reader in) throws IOException {
+		Properties p=new Properties();
+		p.load(in);
+		return fromDescription((Description)readText(p, "", Description.class));
+	}
+
+
+
+	/**
+	 * Allows to copy a configuration by means of the binary format, so that the copy shares no stored element with the original one
+	 *
+	 * @param conf  the configuration
+	 * @return  the copy of the configuration
+	 * @throws IOException  if the copy cannot be read
+	 * @throws IllegalArgumentException  if the configuration contains an element which cannot be stored
+	 */
+	public static JConfiguration copy(JConfiguration conf) throws IOException {
+		ByteArrayOutputStream out=new ByteArrayOutputStream();
+		write(conf, out);
+		return read(new ByteArrayInputStream(out.toByteArray()));
+	}
+
+
+
+	/**
+	 * Allows to describe a configuration by means of the stored elements
+	 */
+	private static Description toDescription(JConfiguration conf){
+		Description d=new Description();
+		d.type=conf.getClass().getName();
+		FitnessFeatures ff=conf.getFitnessFeatures();
+		d.fitnessMethod=ff.getFitnessFunction().getEvalMethod();
+		d.fitnessSign=ff.getFitnessSign();
+		d.finalConditions=(AlgorithmFinalConditions)conf.getFinalConditions();
+
+		if(conf.getClass()==GlobalSearchAlgorithmConfiguration.class || conf.getClass()==MemeticAlgorithmConfiguration.class){
+			GlobalSearchAlgorithmConfiguration gc=(GlobalSearchAlgorithmConfiguration)conf;
+			d.globalId=gc.getGlobalComponent().getId();
+			d.globalOptimizer=gc.getGlobalComponent().getOptimizerName();
+			d.globalParameters=gc.getGlobalComponent().getParameters();
+			d.generator=gc.getGenerator();
+		}
+		if(conf.getClass()==MemeticAlgorithmConfiguration.class){
+			MemeticAlgorithmConfiguration mc=(MemeticAlgorithmConfiguration)conf;
+			d.localId=mc.getLocalComponent().getId();
+			d.localOptimizer=mc.getLocalComponent().getOptimizerName();
+			d.localParameters=mc.getLocalComponent().getParameters();
+			d.localIntensity=mc.getLocalIntensity();
+			d.localFrequency=mc.getFrequencyPercentage();
+			d.localSelectionScheme=mc.getLocalSelectionScheme();
+			d.localParallelism=mc.getLocalParallelism();
+			
+			LocalOptimizerPortfolio portfolio=mc.getLocalPortfolio();
+			if(portfolio!=null){
+				d.portfolioIds=new String[portfolio.size()];
+				d.portfolioOptimizers=new String[portfolio.size()];
+				d.portfolioParameters=new OptimizerParameters[portfolio.size()];
+				for(int i=0;i<portfolio.size();i++){
+					d.portfolioIds[i]=portfolio.getComponent(i).getId();
+					d.portfolioOptimizers[i]=portfolio.getComponent(i).getOptimizerName();
+					d.portfolioParameters[i]=portfolio.getComponent(i).getParameters();
+				}
+				d.portfolioStrategy=portfolio.getStrategy();
+				d.portfolioExploration=portfolio.getExploration();
+				d.portfolioAlpha=portfolio.getAlpha();
+				d.portfolioBeta=portfolio.getBeta();
+				d.portfolioMinimumProbability=portfolio.getMinimumProbability();
+			}
+			
+			LocalBudgetController controller=mc.getLocalBudgetController();
+			if(controller!=null){
+				d.budgetController=true;
+				d.budgetAdaptationFactor=controller.getAdaptationFactor();
+				d.budgetSmoothing=controller.getSmoothing();
+				d.budgetMinIntensityScale=controller.getMinIntensityScale();
+				d.budgetMaxIntensityScale=controller.getMaxIntensityScale();
+				d.budgetMinFrequency=controller.getMinFrequency();
+				d.budgetMaxFrequency=controller.getMaxFrequency();
+			}
+			
+			LocalOptimumArchive archive=mc.getLocalArchive();
+			if(archive!=null){
+				d.archiveMode=archive.getMode();
+				d.archiveRadius=archive.getRadius();
+				d.archiveReduction=archive.getReduction();
+			}
+		}
+		else if(conf.getClass()==LocalSearchAlgorithmConfiguration.class){
+			LocalSearchAlgorithmConfiguration lc=(LocalSearchAlgorithmConfiguration)conf;
+			d.localId=lc.getLocalComponent().getId();
+			d.localOptimizer=lc.getLocalComponent().getOptimizerName();
+			d.localParameters=lc.getLocalComponent().getParameters();
+		}
+		else if(conf.getClass()!=GlobalSearchAlgorithmConfiguration.class)
+			throw new IllegalArgumentException(conf.getClass().getName() + " cannot be stored");
+		return d;
+	}
+
+
+	/**
+	 * Allows to build a configuration from its description
+	 */
+	private static JConfiguration fromDescription(Description d) throws IOException {
+		FitnessFeatures ff=new FitnessFeatures(d.fitnessMethod, d.fitnessSign);
+
+		if(GlobalSearchAlgorithmConfiguration.class.getName().equals(d.type)){
+			AlgorithmComponent gc=new AlgorithmComponent(d.globalId, d.globalOptimizer, d.globalParameters);
+			if(d.generator==null)
+				return new GlobalSearchAlgorithmConfiguration(ff, d.finalConditions, gc);
+			return new GlobalSearchAlgorithmConfiguration(ff, d.finalConditions, gc, d.generator);
+		}
+		if(MemeticAlgorithmConfiguration.class.getName().equals(d.type)){
+			AlgorithmComponent gc=new AlgorithmComponent(d.globalId, d.globalOptimizer, d.globalParameters);
+			AlgorithmComponent lc=new AlgorithmComponent(d.localId, d.localOptimizer, d.localParameters);
+			MemeticAlgorithmConfiguration conf;
+			if(d.generator==null)
+				conf=new MemeticAlgorithmConfiguration(ff, d.finalConditions, gc, lc, d.localIntensity, d.localFrequency, d.localSelectionScheme);
+			else
+				conf=new MemeticAlgorithmConfiguration(ff, d.finalConditions, gc, lc, d.localIntensity, d.localFrequency, d.localSelectionScheme, d.generator);
+			conf.setLocalParallelism(d.localParallelism);
+			
+			if(d.portfolioIds!=null){
+				List<AlgorithmComponent> components=new ArrayList<AlgorithmComponent>(d.portfolioIds.length);
+				for(int i=0;i<d.portfolioIds.length;i++)
+					components.add(new AlgorithmComponent(d.portfolioIds[i], d.portfolioOptimizers[i], d.portfolioParameters[i]));
+				LocalOptimizerPortfolio portfolio=new LocalOptimizerPortfolio(components, d.portfolioStrategy);
+				portfolio.setExploration(d.portfolioExploration);
+				portfolio.setAlpha(d.portfolioAlpha);
+				portfolio.setBeta(d.portfolioBeta);
+				portfolio.setMinimumProbability(d.portfolioMinimumProbability);
+				conf.setLocalPortfolio(portfolio);
+			}
+			if(d.budgetController)
+				conf.setLocalBudgetController(new LocalBudgetController(d.budgetAdaptationFactor, d.budgetSmoothing,
+						d.budgetMinIntensityScale, d.budgetMaxIntensityScale, d.budgetMinFrequency, d.budgetMaxFrequency));
+			if(d.archiveMode!=null)
+				conf.setLocalArchive(new LocalOptimumArchive(d.archiveMode, d.archiveRadius, d.archiveReduction));
+			return conf;
+		}
+		if(LocalSearchAlgorithmConfiguration.class.getName().equals(d.type)){
+			AlgorithmComponent lc=new AlgorithmComponent(d.localId, d.localOptimizer, d.localParameters);
+			return new LocalSearchAlgorithmConfiguration(ff, d.finalConditions, lc);
+		}
+		throw new IOException("Unknown configuration type " + d.type);
+	}
+
+
+
+	/**
+	 * Allows to write a value in the binary format, preceded by a tag indicating its type
+	 */
+	private static void writeValue(DataOutput out, Object value) throws IOException {
+		if(value==null)
+			out.writeByte(TAG_NULL);
+		else if(value instanceof Boolean){
+			out.writeByte(TAG_BOOLEAN);
+			out.writeBoolean(((Boolean)value).booleanValue());
+		}
+		else if(value instanceof Byte){
+			out.writeByte(TAG_BYTE);
+			out.writeByte(((Byte)value).byteValue());
+		}
+		else if(value instanceof Short){
+			out.writeByte(TAG_SHORT);
+			out.writeShort(((Short)value).shortValue());
+		}
+		else if(value instanceof Character){
+			out.writeByte(TAG_CHAR);
+			out.writeChar(((Character)value).charValue());
+		}
+		else if(value instanceof Integer){
+			out.writeByte(TAG_INT);
+			out.writeInt(((Integer)value).intValue());
+		}
+		else if(value instanceof Long){
+			out.writeByte(TAG_LONG);
+			out.writeLong(((Long)value).longValue());
+		}
+		else if(value instanceof Float){
+			out.writeByte(TAG_FLOAT);
+			out.writeFloat(((Float)value).floatValue());
+		}
+		else if(value instanceof Double){
+			out.writeByte(TAG_DOUBLE);
+			out.writeDouble(((Double)value).doubleValue());
+		}
+		else if(value instanceof String){
+			out.writeByte(TAG_STRING);
+			out.writeUTF((String)value);
+		}
+		else if(value instanceof Enum){
+			out.writeByte(TAG_ENUM);
+			out.writeUTF(((Enum<?>)value).getDeclaringClass().getName());
+			out.writeUTF(((Enum<?>)value).name());
+		}
+		else if(value.getClass().isArray()){
+			int length=Array.getLength(value);
+			out.writeByte(TAG_ARRAY);
+			out.writeUTF(value.getClass().getName());
+			out.writeInt(length);
+			for(int i=0;i<length;i++)
+				writeValue(out, Array.get(value, i));
+		}
+		else if(value instanceof Collection && isStandard(value)){
+			Collection<?> c=(Collection<?>)value;
+			out.writeByte(TAG_COLLECTION);
+			out.writeUTF(value.getClass().getName());
+			out.writeInt(c.size());
+			for(Object item : c)
+				writeValue(out, item);
+		}
+		else if(value instanceof Map && isStandard(value)){
+			Map<?, ?> m=(Map<?, ?>)value;
+			out.writeByte(TAG_MAP);
+			out.writeUTF(value.getClass().getName());
+			out.writeInt(m.size());
+			for(Map.Entry<?, ?> entry : m.entrySet()){
+				writeValue(out, entry.getKey());
+				writeValue(out, entry.getValue());
+			}
+		}
+		else if(value instanceof Optimizer){
+			out.writeByte(TAG_OPTIMIZER);
+			out.writeUTF(value.getClass().getName());
+			writeValue(out, toDescription(((Optimizer)value).getConfiguration()));
+		}
+		else if(isElement(value.getClass())){
+			ConfigurationSchema schema=ConfigurationSchema.of(value.getClass());
+			out.writeByte(TAG_OBJECT);
+			out.writeUTF(value.getClass().getName());
+			out.writeShort(schema.size());
+			for(int i=0;i<schema.size();i++){
+				out.writeUTF(schema.name(i));
+				writeValue(out, schema.get(value, i));
+			}
+		}
+		else if(value instanceof Serializable){
+			ByteArrayOutputStream bytes=new ByteArrayOutputStream();
+			ObjectOutputStream objectOut=new ObjectOutputStream(bytes);
+			try {
+				objectOut.writeObject(value);
+			} catch (IOException e) {
+				throw new IllegalArgumentException(value.getClass().getName() + " cannot be serialized in a configuration", e);
+			} finally {
+				objectOut.close();
+			}
+			out.writeByte(TAG_SERIALIZED);
+			out.writeInt(bytes.size());
+			out.write(bytes.toByteArray());
+		}
+		else
+			throw new IllegalArgumentException(value.getClass().getName() + " has no constructor without parameters and it is not serializable, so it cannot be stored in a configuration");
+	}
+
+
+	/**
+	 * Allows to read a value written by <code>writeValue</code>. The fields of an element which do not exist anymore in its class are skipped.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object readValue(DataInput in) throws IOException {
+		byte tag=in.readByte();
+		switch(tag){
+		case TAG_NULL:
+			return null;
+		case TAG_BOOLEAN:
+			return Boolean.valueOf(in.readBoolean());
+		case TAG_BYTE:
+			return Byte.valueOf(in.readByte());
+		case TAG_SHORT:
+			return Short.valueOf(in.readShort());
+		case TAG_CHAR:
+			return Character.valueOf(in.readChar());
+		case TAG_INT:
+			return Integer.valueOf(in.readInt());
+		case TAG_LONG:
+			return Long.valueOf(in.readLong());
+		case TAG_FLOAT:
+			return Float.valueOf(in.readFloat());
+		case TAG_DOUBLE:
+			return Double.valueOf(in.readDouble());
+		case TAG_STRING:
+			return in.readUTF();
+		case TAG_ENUM:
+			return Enum.valueOf((Class)classForName(in.readUTF()), in.readUTF());
+		case TAG_OBJECT:
+			ConfigurationSchema schema=ConfigurationSchema.of(classForName(in.readUTF()));
+			Object element=newInstance(schema);
+			int size=in.readShort();
+			for(int k=0;k<size;k++){
+				String name=in.readUTF();
+				Object value=readValue(in);
+				int i=schema.indexOf(name);
+				if(i>=0)
+					set(schema, element, i, name, value);
+			}
+			return element;
+		case TAG_ARRAY:{
+			Class<?> component=classForName(in.readUTF()).getComponentType();
+			int length=in.readInt();
+			Object array=Array.newInstance(component, length);
+			for(int i=0;i<length;i++)
+				setItem(array, i, readValue(in));
+			return array;
+		}
+		case TAG_COLLECTION:{
+			Collection c=(Collection)newStandard(in.readUTF(), Collection.class);
+			int length=in.readInt();
+			for(int i=0;i<length;i++)
+				c.add(readValue(in));
+			return c;
+		}
+		case TAG_MAP:{
+			Map m=(Map)newStandard(in.readUTF(), Map.class);
+			int length=in.readInt();
+			for(int i=0;i<length;i++){
+				Object key=readValue(in);
+				m.put(key, readValue(in));
+			}
+			return m;
+		}
+		case TAG_SERIALIZED:{
+			byte[] bytes=new byte[in.readInt()];
+			in.readFully(bytes);
+			ObjectInputStream objectIn=new ObjectInputStream(new ByteArrayInputStream(bytes));
+			try {
+				return objectIn.readObject();
+			} catch (ClassNotFoundException e) {
+				throw new IOException("The class of a serialized value is not available", e);
+			} finally {
+				objectIn.close();
+			}
+		}
+		case TAG_OPTIMIZER:{
+			String name=in.readUTF();
+			Object description=readValue(in);
+			if(!(description instanceof Description))
+				throw new IOException("Missing configuration of the optimizer " + name);
+			return newOptimizer(name, fromDescription((Description)description));
+		}
+		default:
+			throw new IOException("Unknown value type " + tag);
+		}
+	}
+
+
+	/**
+	 * Allows to write the fields of an element in the text format, one line for each field
+	 */
+	private static void writeFields(BufferedWriter out, String prefix, Object element) throws IOException {
+		ConfigurationSchema schema=ConfigurationSchema.of(element.getClass());
+		for(int i=0;i<schema.size();i++)
+			writeText(out, prefix + schema.name(i), schema.get(element, i), schema.fieldType(i));
+	}
+
+
+	/**
+	 * Allows to write a value in the text format. The values whose type cannot be recognized from the declared type when they are read are written
+	 * in the binary format encoded in Base64.
+	 */
+	private static void writeText(BufferedWriter out, String key, Object value, Class<?> declaredType) throws IOException {
+		//a missing string keeps the default value when it is read
+		if(value==null && declaredType==String.class)
+			return;
+		out.write(escape(key, true));
+		out.write('=');
+		if(value==null)
+			out.write(NULL);
+		else if(value instanceof Enum && ((Enum<?>)value).getDeclaringClass()==declaredType)
+			out.write(escape(((Enum<?>)value).name(), false));
+		else if(isSimple(value.getClass()) && isDeclaredAs(declaredType, value.getClass()))
+			out.write(escape(String.valueOf(value), false));
+		else if(value.getClass().isArray() && isTextItem(value.getClass().getComponentType())){
+			int length=Array.getLength(value);
+			out.write(value.getClass().getName());
+			out.newLine();
+			out.write(escape(key + ".length", true));
+			out.write('=');
+			out.write(String.valueOf(length));
+			out.newLine();
+			for(int i=0;i<length;i++)
+				writeText(out, key + "." + i, Array.get(value, i), value.getClass().getComponentType());
+			return;
+		}
+		else if(value instanceof Optimizer){
+			out.write(value.getClass().getName());
+			out.newLine();
+			writeFields(out, key + ".configuration.", toDescription(((Optimizer)value).getConfiguration()));
+			return;
+		}
+		else if(isElement(value.getClass())){
+			out.write(value.getClass().getName());
+			out.newLine();
+			writeFields(out, key + ".", value);
+			return;
+		}
+		else {
+			ByteArrayOutputStream bytes=new ByteArrayOutputStream();
+			DataOutputStream data=new DataOutputStream(bytes);
+			writeValue(data, value);
+			data.flush();
+			out.write(ENCODED);
+			out.write(Base64.getEncoder().encodeToString(bytes.toByteArray()));
+		}
+		out.newLine();
+	}
+
+
+	/**
+	 * Allows to read an element written in the text format. The fields missing in the text keep their default value.
+	 */
+	private static Object readText(Properties p, String prefix, Class<?> type) throws IOException {
+		ConfigurationSchema schema=ConfigurationSchema.of(type);
+		Object element=newInstance(schema);
+		for(int i=0;i<schema.size();i++){
+			String key=prefix + schema.name(i);
+			String text=p.getProperty(key);
+			if(text!=null)
+				set(schema, element, i, key, readText(p, key, text.trim(), schema.fieldType(i)));
+		}
+		return element;
+	}
+
+
+	/**
+	 * Allows to read a value written in the text format by <code>writeText</code>
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object readText(Properties p, String key, String text, Class<?> declaredType) throws IOException {
+		try {
+			if(text.startsWith(ENCODED))
+				return readValue(new DataInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(text.substring(ENCODED.length())))));
+			if(declaredType==String.class)
+				return text;
+			if(declaredType==boolean.class || declaredType==Boolean.class)
+				return Boolean.valueOf(text);
+			if(declaredType==byte.class || declaredType==Byte.class)
+				return Byte.valueOf(text);
+			if(declaredType==short.class || declaredType==Short.class)
+				return Short.valueOf(text);
+			if(declaredType==char.class || declaredType==Character.class)
+				return Character.valueOf(text.charAt(0));
+			if(declaredType==int.class || declaredType==Integer.class)
+				return Integer.valueOf(text);
+			if(declaredType==long.class || declaredType==Long.class)
+				return Long.valueOf(text);
+			if(declaredType==float.class || declaredType==Float.class)
+				return Float.valueOf(text);
+			if(declaredType==double.class || declaredType==Double.class)
+				return Double.valueOf(text);
+			if(NULL.equals(text))
+				return null;
+			if(declaredType.isEnum())
+				return Enum.valueOf((Class)declaredType, text);
+			Class<?> type=classForName(text);
+			if(Optimizer.class.isAssignableFrom(type))
+				return newOptimizer(text, fromDescription((Description)readText(p, key + ".configuration.", Description.class)));
+			if(!type.isArray())
+				return readText(p, key + ".", type);
+			
+			String length=p.getProperty(key + ".length");
+			if(length==null)
+				throw new IOException("Missing value for " + key + ".length");
+			Object array=Array.newInstance(type.getComponentType(), Integer.parseInt(length.trim()));
+			for(int i=0;i<Array.getLength(array);i++){
+				String item=p.getProperty(key + "." + i);
+				if(item!=null)
+					setItem(array, i, readText(p, key + "." + i, item.trim(), type.getComponentType()));
+			}
+			return array;
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid value " + text + " for " + key, e);
+		} catch (StringIndexOutOfBoundsException e) {
+			throw new IOException("Missing value for " + key, e);
+		}
+	}
+
+
+
+	/**
+	 * Allows to know if the values of a class are stored field by field, i.e. the class is not a class of Java and it can be rebuilt
+	 * by means of its constructor without parameters
+	 */
+	private static boolean isElement(Class<?> type){
+		if(type.isArray() || type.getName().startsWith("java."))
+			return false;
+		return ConfigurationSchema.of(type).isInstantiable();
+	}
+
+	/**
+	 * Allows to know if a collection or a map is stored item by item, i.e. its class belongs to <code>java.util</code>, it has a public constructor
+	 * without parameters and it does not depend on a comparator
+	 */
+	private static boolean isStandard(Object value){
+		Class<?> type=value.getClass();
+		if(!type.getName().startsWith("java.util."))
+			return false;
+		if(value instanceof SortedSet && ((SortedSet<?>)value).comparator()!=null
+				|| value instanceof SortedMap && ((SortedMap<?, ?>)value).comparator()!=null
+				|| value instanceof PriorityQueue && ((PriorityQueue<?>)value).comparator()!=null
+				|| value instanceof PriorityBlockingQueue && ((PriorityBlockingQueue<?>)value).comparator()!=null)
+			return false;
+		try {
+			type.getConstructor();
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	private static Object newStandard(String name, Class<?> kind) throws IOException {
+		Class<?> type=classForName(name);
+		if(!name.startsWith("java.util.") || !kind.isAssignableFrom(type))
+			throw new IOException(name + " is not a collection of java.util");
+		try {
+			return type.getConstructor().newInstance();
+		} catch (Exception e) {
+			throw new IOException(name + " cannot be instantiated", e);
+		}
+	}
+
+	/**
+	 * Allows to build an optimizer by means of the factory registered with the name of its class
+	 */
+	private static Optimizer newOptimizer(String name, JConfiguration conf) throws IOException {
+		try {
+			boolean local=LocalSearchOptimizer.class.isAssignableFrom(classForName(name));
+			if(conf instanceof MemeticAlgorithmConfiguration){
+				if(local)
+					return OptimizerRegistry.getLocalFactory(name).create((MemeticAlgorithmConfiguration)conf);
+				return OptimizerRegistry.getGlobalFactory(name).create((MemeticAlgorithmConfiguration)conf);
+			}
+			if(conf instanceof LocalSearchAlgorithmConfiguration && local)
+				return OptimizerRegistry.getLocalFactory(name).create((LocalSearchAlgorithmConfiguration)conf);
+			if(conf instanceof GlobalSearchAlgorithmConfiguration && !local)
+				return OptimizerRegistry.getGlobalFactory(name).create((GlobalSearchAlgorithmConfiguration)conf);
+			throw new IOException("The configuration of the optimizer " + name + " is a " + conf.getClass().getSimpleName());
+		} catch (IllegalArgumentException e) {
+			throw new IOException("The optimizer " + name + " cannot be built", e);
+		}
+	}
+
+	private static void setItem(Object array, int i, Object value) throws IOException {
+		try {
+			Array.set(array, i, value);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid value " + value + " for the item " + i + " of a " + array.getClass().getSimpleName(), e);
+		}
+	}
+
+	private static boolean isSimple(Class<?> type){
+		return type==String.class || type==Boolean.class || type==Character.class || type==Byte.class || type==Short.class
+				|| type==Integer.class || type==Long.class || type==Float.class || type==Double.class;
+	}
+
+	/**
+	 * Allows to know if the items of an array with the given component type are written one line for each item in the text format
+	 */
+	private static boolean isTextItem(Class<?> component){
+		return component.isPrimitive() || isSimple(component) || component.isEnum();
+	}
+
+	/**
+	 * Allows to know if a value of a simple type is read back from its text when it is stored in a field of the declared type
+	 */
+	private static boolean isDeclaredAs(Class<?> declaredType, Class<?> type){
+		if(declaredType==type)
+			return true;
+		if(!declaredType.isPrimitive())
+			return false;
+		return declaredType==boolean.class && type==Boolean.class || declaredType==char.class && type==Character.class
+				|| declaredType==byte.class && type==Byte.class || declaredType==short.class && type==Short.class
+				|| declaredType==int.class && type==Integer.class || declaredType==long.class && type==Long.class
+				|| declaredType==float.class && type==Float.class || declaredType==double.class && type==Double.class;
+	}
+
+	private static Class<?> classForName(String name) throws IOException {
+		try {
+			return ConfigurationSchema.classForName(name);
+		} catch (ClassNotFoundException e) {
+			throw new IOException("Class " + name + " not found", e);
+		}
+	}
+
+	private static Object newInstance(ConfigurationSchema schema) throws IOException {
+		try {
+			return schema.newInstance();
+		} catch (IllegalArgumentException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	private static void set(ConfigurationSchema schema, Object element, int i, String name, Object value) throws IOException {
+		try {
+			schema.set(element, i, value);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid value " + value + " for " + name, e);
+		}
+	}
+
+
+	/**
+	 * Allows to escape a key or a value according to the syntax of the Java properties
+	 */
+	private static String escape(String s, boolean key){
+		StringBuilder b=new StringBuilder(s.length());
+		for(int i=0;i<s.length();i++){
+			char c=s.charAt(i);
+			switch(c){
+			case '\\': b.append("\\\\"); break;
+			case '\n': b.append("\\n"); break;
+			case '\r': b.append("\\r"); break;
+			case '\t': b.append("\\t"); break;
+			case '\f': b.append("\\f"); break;
+			case '=': case ':': case '#': case '!':
+				b.append('\\').append(c);
+				break;
+			case ' ':
+				if(key || i==0)
+					b.append('\\');
+				b.append(c);
+				break;
+			default:
+				if(c<0x20 || c>0x7e)
+					b.append(String.format("\\u%04x", (int)c));
+				else
+					b.append(c);
+			}
+		}
+		return b.toString();
+	}
+
+
+
+	/**
+	 * This class describes a configuration by means of the stored elements
+	 */
+	private static class Description {
+
+		/**
+		 * Stores the name of the class of the configuration
+		 */
+		private String type;
+		/**
+		 * Stores the implementation of the fitness function
+		 */
+		private FitnessEvaluationMethod fitnessMethod;
+		/**
+		 * Stores the sign of the fitness function
+		 */
+		private int fitnessSign;
+		/**
+		 * Stores the termination criteria
+		 */
+		private AlgorithmFinalConditions finalConditions;
+		/**
+		 * Stores the identifier of the global component
+		 */
+		private String globalId;
+		/**
+		 * Stores the name of the global search optimizer
+		 */
+		private String globalOptimizer;
+		/**
+		 * Stores the parameters of the global search optimizer
+		 */
+		private OptimizerParameters globalParameters;
+		/**
+		 * Stores the population generation strategy
+		 */
+		private GenerationExecutor generator;
+		/**
+		 * Stores the identifier of the local component
+		 */
+		private String localId;
+		/**
+		 * Stores the name of the local search optimizer
+		 */
+		private String localOptimizer;
+		/**
+		 * Stores the parameters of the local search optimizer
+		 */
+		private OptimizerParameters localParameters;
+		/**
+		 * Stores the local intensity
+		 */
+		private LocalIntensity localIntensity;
+		/**
+		 * Stores the local frequency
+		 */
+		private LocalFrequency localFrequency;
+		/**
+		 * Stores the individual selection scheme for the local search
+		 */
+		private String localSelectionScheme;
+		/**
+		 * Stores the number of threads improving concurrently the individuals
+		 */
+		private int localParallelism;
+		/**
+		 * Stores the identifiers of the local components of the portfolio, null if there is no portfolio
+		 */
+		private String[] portfolioIds;
+		/**
+		 * Stores the names of the local search optimizers of the portfolio
+		 */
+		private String[] portfolioOptimizers;
+		/**
+		 * Stores the parameters of the local search optimizers of the portfolio
+		 */
+		private OptimizerParameters[] portfolioParameters;
+		/**
+		 * Stores the strategy used by the portfolio to choose the local search algorithm
+		 */
+		private String portfolioStrategy;
+		/**
+		 * Stores the exploration factor of UCB1
+		 */
+		private double portfolioExploration;
+		/**
+		 * Stores the adaptation rate of the reward estimates of Adaptive Pursuit
+		 */
+		private double portfolioAlpha;
+		/**
+		 * Stores the learning rate of the probabilities of Adaptive Pursuit
+		 */
+		private double portfolioBeta;
+		/**
+		 * Stores the minimum probability of choosing an algorithm in Adaptive Pursuit, divided by the number of algorithms
+		 */
+		private double portfolioMinimumProbability;
+		/**
+		 * Stores true if the local budget is adapted by a budget controller, false otherwise
+		 */
+		private boolean budgetController;
+		/**
+		 * Stores the factor used by the budget controller to increase or decrease the local budget
+		 */
+		private double budgetAdaptationFactor;
+		/**
+		 * Stores the weight of the last generation in the moving average of the efficiencies
+		 */
+		private double budgetSmoothing;
+		/**
+		 * Stores the minimum scale of the local intensity
+		 */
+		private double budgetMinIntensityScale;
+		/**
+		 * Stores the maximum scale of the local intensity
+		 */
+		private double budgetMaxIntensityScale;
+		/**
+		 * Stores the minimum local frequency
+		 */
+		private double budgetMinFrequency;
+		/**
+		 * Stores the maximum local frequency
+		 */
+		private double budgetMaxFrequency;
+		/**
+		 * Stores the behavior of the archive of the refined points, null if there is no archive
+		 */
+		private String archiveMode;
+		/**
+		 * Stores the radius of the archive, as a fraction of the diagonal of the search space
+		 */
+		private double archiveRadius;
+		/**
+		 * Stores the factor applied to the local intensity in REDUCE mode
+		 */
+		private double archiveReduction;
+	}
+
+}
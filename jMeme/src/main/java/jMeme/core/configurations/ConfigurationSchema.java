@@ -0,0 +1,257 @@
+/*
+ * ConfigurationSchema.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+
+package jMeme.core.configurations;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * This class describes how an element of a configuration, e.g. the parameters of an optimizer or the termination criteria, is stored by
+ * <code>ConfigurationCodec</code>. The schema of a class is made of its fields and the ones of its superclasses, excluding the static and transient ones,
+ * and it is built once for each class. A field hidden by a field with the same name of a subclass is named by prefixing the name of the declaring class.
+ * The element is rebuilt by means of the constructor without parameters of its class, so the fields missing in the stored form keep their default value.
+ */
+final class ConfigurationSchema {
+
+	/**
+	 * Stores the schemas already built
+	 */
+	private static final Map<Class<?>, ConfigurationSchema> SCHEMAS=new ConcurrentHashMap<Class<?>, ConfigurationSchema>();
+	/**
+	 * Stores the classes already loaded by name, since loading a class by name is slower than reading a configuration
+	 */
+	private static final Map<String, Class<?>> CLASSES=new ConcurrentHashMap<String, Class<?>>();
+
+
+	/**
+	 * Stores the described class
+	 */
+	private final Class<?> type;
+	/**
+	 * Stores the constructor without parameters of the class, null if it does not exist
+	 */
+	private final Constructor<?> constructor;
+	/**
+	 * Stores the fields, the ones of the superclasses first
+	 */
+	private final Field[] fields;
+	/**
+	 * Stores the names of the fields
+	 */
+	private final String[] names;
+	/**
+	 * Stores the position of each field by name
+	 */
+	private final Map<String, Integer> indexes;
+
+
+
+	/**
+	 * Constructor
+	 *
+	 * @param type  the described class
+	 */
+	private ConfigurationSchema(Class<?> type){
+		this.type=type;
+
+		Constructor<?> c=null;
+		try {
+			c=type.getDeclaredConstructor();
+			c.setAccessible(true);
+		} catch (NoSuchMethodException e) {
+			//the class can be written but not read
+		}
+		constructor=c;
+
+		//the classes are visited from the described one, so a hidden field is found after the one hiding it
+		List<List<Field>> levels=new ArrayList<List<Field>>();
+		List<List<String>> levelNames=new ArrayList<List<String>>();
+		Set<String> used=new HashSet<String>();
+		for(Class<?> k=type; k!=null && k!=Object.class; k=k.getSuperclass()){
+			List<Field> level=new ArrayList<Field>();
+			List<String> levelName=new ArrayList<String>();
+			for(Field f: k.getDeclaredFields()){
+				int modifiers=f.getModifiers();
+				if(Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || f.isSynthetic())
+					continue;
+				f.setAccessible(true);
+				String name=f.getName();
+				if(!used.add(name)){
+					name=k.getSimpleName() + "." + name;
+					used.add(name);
+				}
+				level.add(f);
+				levelName.add(name);
+			}
+			levels.add(level);
+			levelNames.add(levelName);
+		}
+
+		List<Field> all=new ArrayList<Field>();
+		List<String> allNames=new ArrayList<String>();
+		for(int i=levels.size()-1;i>=0;i--){
+			all.addAll(levels.get(i));
+			allNames.addAll(levelNames.get(i));
+		}
+		fields=all.toArray(new Field[all.size()]);
+		names=allNames.toArray(new String[allNames.size()]);
+		indexes=new HashMap<String, Integer>();
+		for(int i=0;i<names.length;i++)
+			indexes.put(names[i], i);
+	}
+
+
+	/**
+	 * Allows to get the schema of a class
+	 *
+	 * @param type  the class
+	 * @return  the schema of the class
+	 */
+	static ConfigurationSchema of(Class<?> type){
+		ConfigurationSchema schema=SCHEMAS.get(type);
+		if(schema==null){
+			schema=new ConfigurationSchema(type);
+			SCHEMAS.put(type, schema);
+		}
+		return schema;
+	}
+
+
+	/**
+	 * Allows to get a class by name
+	 *
+	 * @param name  the name of the class
+	 * @return  the class
+	 * @throws ClassNotFoundException  if the class cannot be loaded
+	 */
+	static Class<?> classForName(String name) throws ClassNotFoundException {
+		Class<?> type=CLASSES.get(name);
+		if(type==null){
+			type=Class.forName(name);
+			CLASSES.put(name, type);
+		}
+		return type;
+	}
+
+
+	/**
+	 * Allows to build an element with the default values of its fields
+	 *
+	 * @return  the new element
+	 * @throws IllegalArgumentException  if the class has no constructor without parameters or it cannot be instantiated
+	 */
+	Object newInstance(){
+		if(constructor==null)
+			throw new IllegalArgumentException(type.getName() + " has no constructor without parameters");
+		try {
+			return constructor.newInstance();
+		} catch (Exception e) {
+			throw new IllegalArgumentException(type.getName() + " cannot be instantiated", e);
+		}
+	}
+
+
+	/**
+	 * @return  true if the class has a constructor without parameters, so the elements can be rebuilt
+	 */
+	boolean isInstantiable(){
+		return constructor!=null;
+	}
+
+	/**
+	 * @return  the number of fields
+	 */
+	int size(){
+		return fields.length;
+	}
+
+	/**
+	 * @param i  the position of a field
+	 * @return  the name of the field
+	 */
+	String name(int i){
+		return names[i];
+	}
+
+	/**
+	 * @param i  the position of a field
+	 * @return  the declared type of the field
+	 */
+	Class<?> fieldType(int i){
+		return fields[i].getType();
+	}
+
+	/**
+	 * @param name  the name of a field
+	 * @return  the position of the field, -1 if the class has no field with the given name
+	 */
+	int indexOf(String name){
+		Integer i=indexes.get(name);
+		return i==null ? -1 : i.intValue();
+	}
+
+	/**
+	 * Allows to get the value of a field of an element
+	 *
+	 * @param element  the element
+	 * @param i  the position of the field
+	 * @return  the value of the field, wrapped if primitive
+	 */
+	Object get(Object element, int i){
+		try {
+			return fields[i].get(element);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Allows to set the value of a field of an element
+	 *
+	 * @param element  the element
+	 * @param i  the position of the field
+	 * @param value  the value of the field, wrapped if primitive
+	 * @throws IllegalArgumentException  if the value is not compatible with the type of the field
+	 */
+	void set(Object element, int i, Object value){
+		try {
+			fields[i].set(element, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -26,9 +26,7 @@
 
 package jMeme.core.configurations;
 
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 
 import jMeme.core.AlgorithmComponent;
 import jMeme.core.JConfiguration;
@@ -160,22 +158,19 @@ public class GlobalSearchAlgorithmConfiguration extends JConfiguration {
 		GlobalSearchAlgorithmConfiguration conf=null;
 		try
 	      {
-	         FileInputStream fileIn = new FileInputStream(fileName);
-	         ObjectInputStream in = new ObjectInputStream(fileIn);
-	         conf = (GlobalSearchAlgorithmConfiguration) in.readObject();
-	         in.close();
-	         fileIn.close();
+	         JConfiguration read = ConfigurationCodec.load(fileName);
+	         if(!(read instanceof GlobalSearchAlgorithmConfiguration))
+	         {
+	        	 System.out.println(fileName + " does not contain a GlobalSearchAlgorithmConfiguration");
+	        	 return null;
+	         }
+	         conf = (GlobalSearchAlgorithmConfiguration) read;
 	      }catch(IOException i)
 	      {
 	         i.printStackTrace();
 	         return null;
-	      }catch(ClassNotFoundException c)
-	      {
-	         System.out.println("GlobalSearchAlgorithmConfiguration class not found");
-	         c.printStackTrace();
-	         return null;
 	      }
-	      System.out.println("Deserialized configuration...");
+	      conf.getListener().message(conf, "Configuration read...");
 	      
 	      return conf;
 	}
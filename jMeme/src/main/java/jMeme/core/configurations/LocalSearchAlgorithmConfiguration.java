@@ -25,9 +25,7 @@
 
 package jMeme.core.configurations;
 
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 
 import jMeme.core.AlgorithmComponent;
 import jMeme.core.JConfiguration;
@@ -119,22 +117,19 @@ public class LocalSearchAlgorithmConfiguration extends JConfiguration {
 		LocalSearchAlgorithmConfiguration conf=null;
 		try
 	      {
-	         FileInputStream fileIn = new FileInputStream(fileName);
-	         ObjectInputStream in = new ObjectInputStream(fileIn);
-	         conf = (LocalSearchAlgorithmConfiguration) in.readObject();
-	         in.close();
-	         fileIn.close();
+	         JConfiguration read = ConfigurationCodec.load(fileName);
+	         if(!(read instanceof LocalSearchAlgorithmConfiguration))
+	         {
+	        	 System.out.println(fileName + " does not contain a LocalSearchAlgorithmConfiguration");
+	        	 return null;
+	         }
+	         conf = (LocalSearchAlgorithmConfiguration) read;
 	      }catch(IOException i)
 	      {
 	         i.printStackTrace();
 	         return null;
-	      }catch(ClassNotFoundException c)
-	      {
-	         System.out.println("LocalSearchAlgorithmConfiguration class not found");
-	         c.printStackTrace();
-	         return null;
 	      }
-	      System.out.println("Deserialized configuration...");
+	      conf.getListener().message(conf, "Configuration read...");
 	      
 	      return conf;
 	}
@@ -25,25 +25,25 @@
 
 package jMeme.core.configurations;
 
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 
 import jMeme.core.JConfiguration;
 import jMeme.core.AlgorithmComponent;
 import jMeme.core.fitnessFunction.FitnessFeatures;
+import jMeme.core.registry.OptimizerRegistry;
 import jMeme.design.finalConditions.AlgorithmFinalConditions;
 import jMeme.design.finalConditions.FinalConditions;
 import jMeme.design.finalConditions.LocalOptimizerFinalConditions;
 import jMeme.design.generationExecutor.GenerationExecutor;
 import jMeme.design.generationExecutor.RandomGenerationExecutor;
+import jMeme.design.localIntegration.LocalBudgetController;
 import jMeme.design.localIntegration.LocalFrequency;
+
 import jMeme.design.localIntegration.LocalIntensity;
 import jMeme.design.localIntegration.LocalOptimizerExecutor;
+import jMeme.design.localIntegration.LocalOptimizerPortfolio;
+import jMeme.design.localIntegration.LocalOptimumArchive;
+
 import jMeme.design.optimizerParameters.GlobalSearchOptimizerParameters;
 import jMeme.design.optimizerParameters.OptimizerParameters;
 
@@ -51,6 +51,7 @@ import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
 import jMeme.performances.AlgorithmPerformance;
 import jMeme.performances.MemeticAlgorithmPerformance;
 
+
 import org.jgap.impl.DefaultConfiguration;
 
 public class MemeticAlgorithmConfiguration extends GlobalSearchAlgorithmConfiguration {
@@ -62,6 +63,12 @@ public class MemeticAlgorithmConfiguration extends GlobalSearchAlgorithmConfigur
 	 * Stores information about the local search algorithm to run such as name and parameters
 	 */
 	protected AlgorithmComponent localComponent;
+	
+	/**
+	 * Stores the local components which the threads building a local search optimizer different from the one of the local component
+	 * use in place of the local component; it is not serialized with the configuration
+	 */
+	private transient volatile ThreadLocal<AlgorithmComponent> buildingComponent;
 
 	/**
 	 * Stores information about the local intensity to apply during the local search algorithm  
@@ -81,6 +88,26 @@ public class MemeticAlgorithmConfiguration extends GlobalSearchAlgorithmConfigur
 	 * Stores information about the local frequency to apply during the local search algorithm
 	 */
 	protected LocalFrequency frequencyPercentage;
+	/**
+	 * Stores the number of threads used to improve concurrently the individuals selected for the local search algorithm;
+	 * 1, the default, indicates that they are improved sequentially
+	 */
+	protected int localParallelism=1;
+	/**
+	 * Stores the portfolio of local search algorithms among which the algorithm to apply is chosen for each refinement;
+	 * null indicates that the local search algorithm of the local component is always applied
+	 */
+	protected LocalOptimizerPortfolio localPortfolio;
+	/**
+	 * Stores the controller adapting the local intensity and the local frequency at each generation;
+	 * null indicates that they are constant for the whole run
+	 */
+	protected LocalBudgetController localBudgetController;
+	/**
+	 * Stores the archive of the points refined by the local search algorithm, used to avoid refining again the same basins;
+	 * null indicates that all the selected individuals are fully refined
+	 */
+	protected LocalOptimumArchive localArchive;
 	
 	
 	
@@ -256,51 +283,40 @@ public class MemeticAlgorithmConfiguration extends GlobalSearchAlgorithmConfigur
 	/**
 	 * Allows to instantiate the local search optimizer
 	 * @return the local search optimizer to run during the global search evolution
+	 * @throws IllegalArgumentException  if the optimizer of the local component is unknown
 	 */
 	public LocalSearchOptimizer getLocalMethod(){
-		Class c=null;
-		try {
-			c = Class.forName(this.localComponent.getOptimizerName());
-		} catch (ClassNotFoundException e1) {
-			// TODO Auto-generated catch block
-			e1.printStackTrace();
-		}
+		return OptimizerRegistry.createLocal(this);
+	}
 	
-		Constructor  costr=null;
-		try {
-			costr=c.getConstructor(MemeticAlgorithmConfiguration.class);
-		} catch (NoSuchMethodException e1) {
-			// TODO Auto-generated catch block
-			e1.printStackTrace();
-		} catch (SecurityException e1) {
-			// TODO Auto-generated catch block
-			e1.printStackTrace();
+	
+	/**
+	 * Allows to instantiate a local search optimizer different from the one of the local component, e.g. one of the local portfolio
+	 * 
+	 * @param component  object that contains information about the local search algorithm to instantiate such as name and parameters
+	 * @return the local search optimizer described by the given component
+	 */
+	public LocalSearchOptimizer getLocalMethod(AlgorithmComponent component){
+		//the constructors of the local search optimizers read their parameters from the local component, so the given component
+		//is seen only by the current thread while the optimizer is built
+		ThreadLocal<AlgorithmComponent> building=buildingComponent;
+		if(building==null){
+			synchronized (this) {
+				if(buildingComponent==null)
+					buildingComponent=new ThreadLocal<AlgorithmComponent>();
+				building=buildingComponent;
+			}
 		}
-		
-		
-		
-		LocalSearchOptimizer localMethod=null;
+		AlgorithmComponent previous=building.get();
+		building.set(component);
 		try {
-			 try {
-				localMethod= (LocalSearchOptimizer)costr.newInstance(this);
-			} catch (IllegalArgumentException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			} catch (InvocationTargetException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
-		} catch (InstantiationException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} catch (IllegalAccessException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+			return getLocalMethod();
+		} finally {
+			if(previous==null)
+				building.remove();
+			else
+				building.set(previous);
 		}
-		
-	
-		
-		return localMethod;
 	}
 	
 	/**
@@ -313,22 +329,19 @@ public class MemeticAlgorithmConfiguration extends GlobalSearchAlgorithmConfigur
 		MemeticAlgorithmConfiguration conf=null;
 		try
 	      {
-	         FileInputStream fileIn = new FileInputStream(fileName);
-	         ObjectInputStream in = new ObjectInputStream(fileIn);
-	         conf = (MemeticAlgorithmConfiguration) in.readObject();
-	         in.close();
-	         fileIn.close();
+	         JConfiguration read = ConfigurationCodec.load(fileName);
+	         if(!(read instanceof MemeticAlgorithmConfiguration))
+	         {
+	        	 System.out.println(fileName + " does not contain a MemeticAlgorithmConfiguration");
+	        	 return null;
+	         }
+	         conf = (MemeticAlgorithmConfiguration) read;
 	      }catch(IOException i)
 	      {
 	         i.printStackTrace();
 	         return null;
-	      }catch(ClassNotFoundException c)
-	      {
-	         System.out.println("MemeticAlgorithmConfiguration class not found");
-	         c.printStackTrace();
-	         return null;
 	      }
-	      System.out.println("Deserialized configuration...");
+	      conf.getListener().message(conf, "Configuration read...");
 	      
 	      return conf;
 	}
@@ -347,6 +360,12 @@ public class MemeticAlgorithmConfiguration extends GlobalSearchAlgorithmConfigur
 		s+="\n"+this.localIntensity;
 		s+="\n"+this.frequencyPercentage;
 		s+="\nSelection scheme: " + localSelectionScheme;
+		if(localPortfolio!=null)
+			s+="\n" + localPortfolio;
+		if(localBudgetController!=null)
+			s+="\nAdaptive local budget";
+		if(localArchive!=null)
+			s+="\n" + localArchive;
 		
 		s+="\nCommon features: \n";
 		s+="Population size: " + ((GlobalSearchOptimizerParameters)this.globalComponent.getParameters()).getPopulationSize();
@@ -391,6 +410,12 @@ public class MemeticAlgorithmConfiguration extends GlobalSearchAlgorithmConfigur
 
 
 	public AlgorithmComponent getLocalComponent() {
+		ThreadLocal<AlgorithmComponent> building=buildingComponent;
+		if(building!=null){
+			AlgorithmComponent component=building.get();
+			if(component!=null)
+				return component;
+		}
 		return localComponent;
 	}
 
@@ -409,6 +434,46 @@ public class MemeticAlgorithmConfiguration extends GlobalSearchAlgorithmConfigur
 		this.localIntensity = localIntensity;
 	}
 
+
+	public int getLocalParallelism() {
+		return localParallelism;
+	}
+
+	
+	public void setLocalParallelism(int localParallelism) {
+		this.localParallelism = localParallelism;
+	}
+
+
+	public LocalBudgetController getLocalBudgetController() {
+		return localBudgetController;
+	}
+
+	
+	public void setLocalBudgetController(LocalBudgetController localBudgetController) {
+		this.localBudgetController = localBudgetController;
+	}
+
+
+	public LocalOptimumArchive getLocalArchive() {
+		return localArchive;
+	}
+
+	
+	public void setLocalArchive(LocalOptimumArchive localArchive) {
+		this.localArchive = localArchive;
+	}
+
+
+	public LocalOptimizerPortfolio getLocalPortfolio() {
+		return localPortfolio;
+	}
+
+	
+	public void setLocalPortfolio(LocalOptimizerPortfolio localPortfolio) {
+		this.localPortfolio = localPortfolio;
+	}
+
 	
 	
 	
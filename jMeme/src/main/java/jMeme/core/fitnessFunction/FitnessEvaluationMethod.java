@@ -38,5 +38,56 @@ public abstract class FitnessEvaluationMethod implements java.io.Serializable{
 	 * @return double representing the fitness value
 	 */
 	public abstract double evaluate(Individual a_subject) ;
+
+
+	/**
+	 * Allows to know if the analytic gradient of the fitness function is available. By default, it is not available and
+	 * the optimizers needing the gradient approximate it by means of finite differences.
+	 * 
+	 * @return true if the method <code>gradient</code> is implemented, false otherwise
+	 */
+	public boolean hasGradient(){
+		return false;
+	}
+
+
+	/**
+	 * Allows to implement the analytic gradient of the fitness function specific for a problem. It must be overridden
+	 * together with <code>hasGradient</code>, and it must be called only when <code>hasGradient</code> returns true:
+	 * calling it otherwise is a violation of the contract and no approximation is computed.
+	 * 
+	 * @param a_subject object representing the individual in which the gradient must be computed
+	 * @param gradient array where the partial derivatives of the fitness function must be stored
+	 * @throws UnsupportedOperationException if the analytic gradient is not available
+	 */
+	public void gradient(Individual a_subject, double[] gradient){
+		throw new UnsupportedOperationException("The analytic gradient is not available for " + getClass().getName());
+	}
+
+
+	/**
+	 * Allows to know if the fitness value of an individual can be updated incrementally when only some of its components change.
+	 * By default, it cannot and the individuals are always evaluated from scratch.
+	 * 
+	 * @return true if the method <code>evaluateIncrement</code> is implemented, false otherwise
+	 */
+	public boolean isIncremental(){
+		return false;
+	}
+
+
+	/**
+	 * Allows to implement the incremental evaluation of an individual obtained by changing some components of an individual
+	 * whose fitness value is known. By default, the individual is evaluated from scratch.
+	 * 
+	 * @param a_subject object representing the individual to evaluate, already containing the new values of the changed components
+	 * @param previousFitness the fitness value of the individual before the change
+	 * @param indices the indices of the changed components
+	 * @param previousValues the values of the changed components before the change
+	 * @return double representing the fitness value
+	 */
+	public double evaluateIncrement(Individual a_subject, double previousFitness, int[] indices, double[] previousValues){
+		return evaluate(a_subject);
+	}
 	 
 }
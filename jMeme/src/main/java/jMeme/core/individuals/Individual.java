@@ -25,6 +25,9 @@
 
 package jMeme.core.individuals;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 import java.util.Vector;
 
@@ -38,13 +41,15 @@ import org.jgap.InvalidConfigurationException;
 import org.jgap.RandomGenerator;
 
 import jMeme.core.JConfiguration;
+import jMeme.core.checkpoint.Checkpointable;
+import jMeme.core.checkpoint.Checkpointer;
 
 
 
 /**
  * This class implements a generic individual representing a solution to the problem to solve.
  */
-public class Individual extends org.jgap.Chromosome {
+public class Individual extends org.jgap.Chromosome implements Checkpointable {
 
 	
 	private static final long serialVersionUID = 6960795654821165843L;
@@ -577,6 +582,45 @@ public class Individual extends org.jgap.Chromosome {
 	
 	
 	
+	/**
+	 * Allows to write the components, the fitness value and the counters of the individual; the application data are not written
+	 * 
+	 * @param out  the output to write the state to
+	 * @throws IOException  if the state cannot be written
+	 */
+	public void writeState(DataOutput out) throws IOException {
+		Gene[] genes=super.getGenes();
+		out.writeInt(genes.length);
+		for(int i=0;i<genes.length;i++)
+			Checkpointer.writeAllele(out, genes[i]);
+		out.writeDouble(getFitnessValueDirectly());
+		out.writeInt(numberOfEvaluationToBeGenerated);
+		out.writeInt(getAge());
+		out.writeInt(operatedOn());
+	}
+	
+	/**
+	 * Allows to restore the components, the fitness value and the counters of the individual
+	 * 
+	 * @param in  the input to read the state from
+	 * @throws IOException  if the state cannot be read or the number of components is different
+	 */
+	public void readState(DataInput in) throws IOException {
+		Gene[] genes=super.getGenes();
+		int size=in.readInt();
+		if(size!=genes.length)
+			throw new IOException("The checkpoint contains an individual with " + size + " components instead of " + genes.length);
+		for(int i=0;i<genes.length;i++)
+			Checkpointer.readAllele(in, genes[i]);
+		setFitnessValueDirectly(in.readDouble());
+		numberOfEvaluationToBeGenerated=in.readInt();
+		setAge(in.readInt());
+		resetOperatedOn();
+		for(int i=in.readInt(); i>0; i--)
+			increaseOperatedOn();
+	}
+	
+	
 	@Deprecated
 	public Gene getGene(int a){
 		return super.getGene(a);
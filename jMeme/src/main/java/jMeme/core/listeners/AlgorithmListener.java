@@ -0,0 +1,118 @@
+/*
+ * AlgorithmListener.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.core.listeners;
+
+import jMeme.core.JConfiguration;
+import jMeme.core.JPopulation;
+import jMeme.performances.AlgorithmPerformance;
+import jMeme.performances.Incumbent;
+
+
+/**
+ * This interface defines the events notified by the algorithms during their execution. The listener of an algorithm
+ * is the one set in its configuration, which is a no-operation listener by default.
+ * The events carry primitive values or immutable objects, so that a listener can process them later on another thread;
+ * the objects which can change after the notification, such as the population, must be read during the notification.
+ * The events can be notified by several threads at the same time, e.g. when the local refinements are executed concurrently.
+ */
+public interface AlgorithmListener {
+
+	
+	/**
+	 * Allows to be notified when the initial population (or solution) of an execution has been evaluated
+	 * 
+	 * @param conf  the configuration of the algorithm
+	 * @param population  the initial population, or null if the algorithm does not use a population
+	 * @param fitnessValue  the best fitness value of the initial population
+	 */
+	public void runStarted(JConfiguration conf, JPopulation population, double fitnessValue);
+	
+	/**
+	 * Allows to be notified when a generation has been completed
+	 * 
+	 * @param conf  the configuration of the algorithm
+	 * @param generation  the number of the completed generation, starting from 1
+	 * @param evolutionFitness  the best fitness value after the evolution of the population
+	 * @param fitnessValue  the best fitness value at the end of the generation, e.g. after the local search
+	 * @param evaluations  the number of fitness evaluations performed so far
+	 */
+	public void generationCompleted(JConfiguration conf, int generation, double evolutionFitness, double fitnessValue, int evaluations);
+	
+	/**
+	 * Allows to be notified when an individual better than all the ones evaluated so far has been found
+	 * 
+	 * @param conf  the configuration of the algorithm
+	 * @param incumbent  the snapshot of the new best individual
+	 */
+	public void improvementFound(JConfiguration conf, Incumbent incumbent);
+	
+	/**
+	 * Allows to be notified when an iteration of a local search procedure has been completed
+	 * 
+	 * @param conf  the configuration of the algorithm
+	 * @param iterations  the number of iterations performed by the local search procedure
+	 * @param evaluations  the number of fitness evaluations performed by the local search procedure
+	 */
+	public void localSearchIteration(JConfiguration conf, int iterations, int evaluations);
+	
+	/**
+	 * Allows to be notified when a local search procedure has refined an individual
+	 * 
+	 * @param conf  the configuration of the algorithm
+	 * @param initialFitness  the fitness value of the individual before the refinement
+	 * @param fitnessValue  the fitness value of the refined individual
+	 * @param iterations  the number of iterations performed by the local search procedure
+	 * @param evaluations  the number of fitness evaluations performed by the local search procedure
+	 */
+	public void localSearchFinished(JConfiguration conf, double initialFitness, double fitnessValue, int iterations, int evaluations);
+	
+	/**
+	 * Allows to be notified when the local intensity and the local frequency have been adapted at the end of a generation
+	 * 
+	 * @param conf  the configuration of the algorithm
+	 * @param intensityScale  the scale applied to the local intensity of the configuration
+	 * @param frequency  the local frequency
+	 */
+	public void localParametersAdapted(JConfiguration conf, double intensityScale, double frequency);
+	
+	/**
+	 * Allows to be notified when an execution has been completed
+	 * 
+	 * @param conf  the configuration of the algorithm
+	 * @param performance  the performance of the execution, which is reset by the next execution
+	 */
+	public void runFinished(JConfiguration conf, AlgorithmPerformance performance);
+	
+	/**
+	 * Allows to be notified of a message which is not represented by the other events. The message is converted into a string
+	 * only by the listeners which use it.
+	 * 
+	 * @param conf  the configuration of the algorithm, or null if the message does not concern a single configuration, e.g. the progress of a study
+	 * @param message  the message
+	 */
+	public void message(JConfiguration conf, Object message);
+	
+}
@@ -0,0 +1,467 @@
+/*
+ * ConsoleAlgorithmListener.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.core.listeners;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import jMeme.core.JConfiguration;
+import jMeme.core.JPopulation;
+import jMeme.performances.AlgorithmPerformance;
+import jMeme.performances.Incumbent;
+
+
+/**
+ * This class implements a listener which prints the events on a stream without slowing down the algorithm. The events are stored
+ * in a lock-free ring buffer of preallocated slots and are formatted and printed by a daemon thread, so that the notifying threads
+ * only claim a slot by means of an atomic counter and copy a few values into it. When the buffer is full, the new events are discarded 
+ * and their number is printed afterwards. The objects which can change after the notification, i.e. the population and the messages, 
+ * are converted into strings by the notifying thread. The remaining events are printed when the listener is closed or the JVM shuts down.
+ */
+public class ConsoleAlgorithmListener implements AlgorithmListener {
+
+	
+	/**
+	 * Constant indicating the default value for the number of events stored in the buffer
+	 */
+	public static final int CAPACITY_DEFAULT=4096;
+	
+	/**
+	 * Constant indicating the maximum time in ns the printing thread sleeps before looking for new events
+	 */
+	private static final long PARK_NANOS=10000000L;
+	
+	private static final int RUN_STARTED=0;
+	private static final int GENERATION_COMPLETED=1;
+	private static final int IMPROVEMENT_FOUND=2;
+	private static final int LOCAL_SEARCH_ITERATION=3;
+	private static final int LOCAL_SEARCH_FINISHED=4;
+	private static final int RUN_FINISHED=5;
+	private static final int MESSAGE=6;
+	
+	
+	/**
+	 * Stores the stream on which the events are printed
+	 */
+	private final PrintStream out;
+	/**
+	 * Stores the slots of the ring buffer
+	 */
+	private final Event[] buffer;
+	/**
+	 * Stores the number of slots claimed by the notifying threads
+	 */
+	private final AtomicLong tail=new AtomicLong();
+	/**
+	 * Stores the number of events discarded since the last printing
+	 */
+	private final AtomicLong dropped=new AtomicLong();
+	/**
+	 * Stores the number of events read from the buffer; it is only accessed by the printing thread
+	 */
+	private long head;
+	/**
+	 * Stores the number of events printed on the stream
+	 */
+	private volatile long printed;
+	/**
+	 * Stores true if the printing thread is sleeping because the buffer is empty, false otherwise
+	 */
+	private volatile boolean sleeping;
+	/**
+	 * Stores true if the listener has been closed, false otherwise
+	 */
+	private volatile boolean closed;
+	/**
+	 * Stores true if the whole initial population must be printed, false otherwise
+	 */
+	private volatile boolean printPopulation=true;
+	/**
+	 * Stores true if the iterations of the local search procedures must be printed, false otherwise
+	 */
+	private volatile boolean printLocalIterations=true;
+	/**
+	 * Stores the thread printing the events
+	 */
+	private final Thread writer;
+	/**
+	 * Stores the thread closing the listener when the JVM shuts down
+	 */
+	private final Thread shutdownHook;
+	
+	
+	
+	/**
+	 * Constructor
+	 * 
+	 * Creates a listener printing on the standard output.
+	 */
+	public ConsoleAlgorithmListener(){
+		this(System.out, CAPACITY_DEFAULT);
+	}
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param out  the stream on which the events are printed
+	 * @param capacity  the number of events stored in the buffer
+	 */
+	public ConsoleAlgorithmListener(PrintStream out, int capacity){
+		this.out=out;
+		buffer=new Event[Math.max(1, capacity)];
+		for(int i=0;i<buffer.length;i++)
+			buffer[i]=new Event(i);
+		
+		writer=new Thread(new Runnable(){
+			public void run(){
+				drain();
+			}
+		}, "jMeme-console-listener");
+		writer.setDaemon(true);
+		writer.start();
+		
+		shutdownHook=new Thread(new Runnable(){
+			public void run(){
+				stop();
+			}
+		}, "jMeme-console-listener-shutdown");
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+	}
+	
+	
+	/**
+	 * Allows to get the listener printing on the standard output which is shared by the studies
+	 * 
+	 * @return  the shared listener printing on the standard output
+	 */
+	public static ConsoleAlgorithmListener getDefault(){
+		return DefaultHolder.INSTANCE;
+	}
+	
+	
+	public void runStarted(JConfiguration conf, JPopulation population, double fitnessValue) {
+		String text=population!=null && printPopulation ? String.valueOf(population) : null;
+		Event e=claim(RUN_STARTED);
+		if(e==null)
+			return;
+		e.text=text;
+		e.value1=fitnessValue;
+		publish(e);
+	}
+
+	public void generationCompleted(JConfiguration conf, int generation, double evolutionFitness, double fitnessValue, int evaluations) {
+		Event e=claim(GENERATION_COMPLETED);
+		if(e==null)
+			return;
+		e.iterations=generation;
+		e.value1=evolutionFitness;
+		e.value2=fitnessValue;
+		e.evaluations=evaluations;
+		e.local=conf.isMemeticConfig();
+		publish(e);
+	}
+
+	public void improvementFound(JConfiguration conf, Incumbent incumbent) {
+		Event e=claim(IMPROVEMENT_FOUND);
+		if(e==null)
+			return;
+		e.value1=incumbent.getFitnessValue();
+		e.evaluations=incumbent.getNumberOfFitnessEvaluations();
+		e.time=incumbent.getElapsedNanoTime();
+		publish(e);
+	}
+
+	public void localSearchIteration(JConfiguration conf, int iterations, int evaluations) {
+		if(!printLocalIterations)
+			return;
+		Event e=claim(LOCAL_SEARCH_ITERATION);
+		if(e==null)
+			return;
+		e.iterations=iterations;
+		e.evaluations=evaluations;
+		publish(e);
+	}
+
+	public void localSearchFinished(JConfiguration conf, double initialFitness, double fitnessValue, int iterations, int evaluations) {
+		Event e=claim(LOCAL_SEARCH_FINISHED);
+		if(e==null)
+			return;
+		e.value1=initialFitness;
+		e.value2=fitnessValue;
+		e.iterations=iterations;
+		e.evaluations=evaluations;
+		publish(e);
+	}
+
+	/**
+	 * The adaptation of the local parameters is not printed, since it is notified at each generation
+	 */
+	public void localParametersAdapted(JConfiguration conf, double intensityScale, double frequency) {
+	}
+
+	public void runFinished(JConfiguration conf, AlgorithmPerformance performance) {
+		Event e=claim(RUN_FINISHED);
+		if(e==null)
+			return;
+		e.iterations=performance.getNumberOfIterations();
+		e.evaluations=performance.getNumberOfFitnessEvaluations();
+		e.time=performance.getTime();
+		e.value1=performance.getFitnessValue();
+		publish(e);
+	}
+
+	public void message(JConfiguration conf, Object message) {
+		if(closed)
+			return;
+		if(isFull()){
+			dropped.incrementAndGet();
+			return;
+		}
+		String text=String.valueOf(message);
+		Event e=claim(MESSAGE);
+		if(e==null)
+			return;
+		e.text=text;
+		publish(e);
+	}
+	
+	
+	/**
+	 * Allows to wait until the events notified so far are printed
+	 */
+	public void flush(){
+		long target=tail.get();
+		while(printed<target && writer.isAlive()){
+			LockSupport.unpark(writer);
+			LockSupport.parkNanos(this, PARK_NANOS/10);
+			if(Thread.currentThread().isInterrupted())
+				return;
+		}
+	}
+	
+	/**
+	 * Allows to print the remaining events and to stop the thread printing them. The events notified afterwards are discarded.
+	 */
+	public void close(){
+		try {
+			Runtime.getRuntime().removeShutdownHook(shutdownHook);
+		} catch (IllegalStateException ex) {
+			//the JVM is shutting down and the hook closes the listener
+		}
+		stop();
+	}
+	
+	
+	private void stop(){
+		closed=true;
+		LockSupport.unpark(writer);
+		try {
+			writer.join();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	
+	/**
+	 * Allows to claim the slot in which the next event is written. The slot is free when its sequence number equals 
+	 * the position claimed, so that the notifying threads never wait for each other nor for the printing thread.
+	 * 
+	 * @param type  the type of the event
+	 * @return  the slot of the event, or null if the buffer is full or the listener is closed
+	 */
+	private Event claim(int type){
+		if(closed)
+			return null;
+		long position=tail.get();
+		while(true){
+			Event e=buffer[(int)(position%buffer.length)];
+			long difference=e.sequence-position;
+			if(difference==0){
+				if(tail.compareAndSet(position, position+1)){
+					e.type=type;
+					return e;
+				}
+				position=tail.get();
+			}
+			else if(difference<0){
+				dropped.incrementAndGet();
+				return null;
+			}
+			else
+				position=tail.get();
+		}
+	}
+	
+	/**
+	 * Allows to know, without claiming a slot, if the next event would be discarded, so that its text is not built
+	 * 
+	 * @return  true if the buffer is full
+	 */
+	private boolean isFull(){
+		long position=tail.get();
+		return buffer[(int)(position%buffer.length)].sequence<position;
+	}
+	
+	/**
+	 * Allows to make the event written in a claimed slot available to the printing thread
+	 * 
+	 * @param e  the slot of the event
+	 */
+	private void publish(Event e){
+		e.sequence=e.sequence+1;
+		if(sleeping)
+			LockSupport.unpark(writer);
+	}
+	
+	
+	private void drain(){
+		StringBuilder sb=new StringBuilder();
+		while(true){
+			long discarded=dropped.getAndSet(0);
+			if(discarded>0)
+				sb.append(discarded).append(" events discarded\n");
+			
+			//the published events are formatted without blocking the notifying threads
+			while(true){
+				Event e=buffer[(int)(head%buffer.length)];
+				if(e.sequence!=head+1)
+					break;
+				format(e, sb);
+				e.text=null;
+				head++;
+				e.sequence=head+buffer.length-1;
+			}
+			
+			if(sb.length()>0){
+				out.print(sb);
+				out.flush();
+				sb.setLength(0);
+			}
+			printed=head;
+			
+			if(closed && !isPublished(head))
+				return;
+			
+			sleeping=true;
+			if(!isPublished(head) && dropped.get()==0 && !closed)
+				LockSupport.parkNanos(this, PARK_NANOS);
+			sleeping=false;
+		}
+	}
+	
+	
+	private boolean isPublished(long position){
+		return buffer[(int)(position%buffer.length)].sequence==position+1;
+	}
+	
+	
+	private void format(Event e, StringBuilder sb){
+		switch(e.type){
+		case RUN_STARTED:
+			if(e.text!=null)
+				sb.append("random population ").append(e.text).append('\n');
+			sb.append("initial best fitness value: ").append(e.value1).append('\n');
+			break;
+		case GENERATION_COMPLETED:
+			sb.append("Iteration number ").append(e.iterations).append('\n');
+			sb.append("best fitness value after evolution: ").append(e.value1).append('\n');
+			if(e.local)
+				sb.append("best fitness value after local search: ").append(e.value2).append('\n');
+			sb.append("number of evaluations: ").append(e.evaluations).append('\n');
+			sb.append("iteration ended\n");
+			break;
+		case IMPROVEMENT_FOUND:
+			sb.append("improvement found: fitness value ").append(e.value1).append(" after ").append(e.evaluations)
+			  .append(" evaluations and ").append(e.time/1000000L).append(" ms\n");
+			break;
+		case LOCAL_SEARCH_ITERATION:
+			sb.append("Iterations ").append(e.iterations).append(" Evaluations ").append(e.evaluations).append('\n');
+			break;
+		case LOCAL_SEARCH_FINISHED:
+			sb.append("local search from fitness value ").append(e.value1).append(" to ").append(e.value2)
+			  .append(": iterations ").append(e.iterations).append(" evaluations ").append(e.evaluations).append('\n');
+			break;
+		case RUN_FINISHED:
+			sb.append("best fitness value: ").append(e.value1).append('\n');
+			sb.append("number of iterations: ").append(e.iterations).append('\n');
+			sb.append("number of evaluations: ").append(e.evaluations).append('\n');
+			sb.append("time of executions: ").append(e.time).append('\n');
+			break;
+		default:
+			sb.append(e.text).append('\n');
+		}
+	}
+	
+	
+	public boolean isPrintPopulation() {
+		return printPopulation;
+	}
+
+	public void setPrintPopulation(boolean printPopulation) {
+		this.printPopulation = printPopulation;
+	}
+
+	public boolean isPrintLocalIterations() {
+		return printLocalIterations;
+	}
+
+	public void setPrintLocalIterations(boolean printLocalIterations) {
+		this.printLocalIterations = printLocalIterations;
+	}
+	
+	
+	
+	/**
+	 * This class represents a slot of the ring buffer, which is reused by the events. The sequence number of a slot equals
+	 * the position which can claim it when the slot is free, and that position plus one when its event has been published.
+	 */
+	private static class Event {
+		volatile long sequence;
+		int type;
+		String text;
+		double value1;
+		double value2;
+		int iterations;
+		int evaluations;
+		long time;
+		boolean local;
+		
+		Event(long sequence){
+			this.sequence=sequence;
+		}
+	}
+	
+	
+	/**
+	 * This class holds the shared listener printing on the standard output, which is created when it is first requested
+	 */
+	private static class DefaultHolder {
+		static final ConsoleAlgorithmListener INSTANCE=new ConsoleAlgorithmListener();
+	}
+
+}
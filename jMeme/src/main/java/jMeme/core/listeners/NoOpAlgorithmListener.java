@@ -0,0 +1,71 @@
+/*
+ * NoOpAlgorithmListener.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.core.listeners;
+
+import jMeme.core.JConfiguration;
+import jMeme.core.JPopulation;
+import jMeme.performances.AlgorithmPerformance;
+import jMeme.performances.Incumbent;
+
+
+/**
+ * This class implements a listener which ignores all the events. It is the default listener of the configurations, so that
+ * an execution without listeners does not build messages nor perform I/O. The class can be extended to handle only some events.
+ */
+public class NoOpAlgorithmListener implements AlgorithmListener {
+
+	
+	/**
+	 * Stores the instance shared by the configurations without a listener
+	 */
+	public static final NoOpAlgorithmListener INSTANCE=new NoOpAlgorithmListener();
+	
+	
+	public void runStarted(JConfiguration conf, JPopulation population, double fitnessValue) {
+	}
+
+	public void generationCompleted(JConfiguration conf, int generation, double evolutionFitness, double fitnessValue, int evaluations) {
+	}
+
+	public void improvementFound(JConfiguration conf, Incumbent incumbent) {
+	}
+
+	public void localSearchIteration(JConfiguration conf, int iterations, int evaluations) {
+	}
+
+	public void localSearchFinished(JConfiguration conf, double initialFitness, double fitnessValue, int iterations, int evaluations) {
+	}
+
+	public void localParametersAdapted(JConfiguration conf, double intensityScale, double frequency) {
+	}
+
+	public void runFinished(JConfiguration conf, AlgorithmPerformance performance) {
+	}
+
+	public void message(JConfiguration conf, Object message) {
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * GlobalOptimizerFactory.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+
+package jMeme.core.registry;
+
+import jMeme.core.configurations.GlobalSearchAlgorithmConfiguration;
+import jMeme.core.configurations.MemeticAlgorithmConfiguration;
+import jMeme.globalSearchAlgorithms.GlobalSearchOptimizer;
+
+
+/**
+ * This interface describes a factory of a global search optimizer, registered in <code>OptimizerRegistry</code> with its identifier.
+ * The identifier is the optimizer name used in the global components of the configurations.
+ * The factories of the optimizers provided by a separate jar are discovered by means of <code>java.util.ServiceLoader</code>,
+ * listing them in the file <code>META-INF/services/jMeme.core.registry.GlobalOptimizerFactory</code> of the jar.
+ */
+public interface GlobalOptimizerFactory {
+
+	/**
+	 * @return  the identifier of the optimizer
+	 */
+	public String getId();
+
+	/**
+	 * Allows to build the optimizer for a global search algorithm
+	 *
+	 * @param conf  the configuration of the global search algorithm
+	 * @return  the optimizer
+	 */
+	public GlobalSearchOptimizer create(GlobalSearchAlgorithmConfiguration conf);
+
+	/**
+	 * Allows to build the optimizer for a memetic algorithm
+	 *
+	 * @param conf  the configuration of the memetic algorithm
+	 * @return  the optimizer
+	 */
+	public GlobalSearchOptimizer create(MemeticAlgorithmConfiguration conf);
+
+}
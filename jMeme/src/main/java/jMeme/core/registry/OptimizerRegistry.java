@@ -0,0 +1,469 @@
+/*
+ * OptimizerRegistry.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+
+package jMeme.core.registry;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jMeme.core.configurations.GlobalSearchAlgorithmConfiguration;
+import jMeme.core.configurations.LocalSearchAlgorithmConfiguration;
+import jMeme.core.configurations.MemeticAlgorithmConfiguration;
+import jMeme.globalSearchAlgorithms.GlobalSearchOptimizer;
+import jMeme.globalSearchAlgorithms.abc.ABC_Optimizer;
+import jMeme.globalSearchAlgorithms.bb_bc.BBBC_Optimizer;
+import jMeme.globalSearchAlgorithms.de.DE_Optimizer;
+import jMeme.globalSearchAlgorithms.ga.GA_Optimizer;
+import jMeme.globalSearchAlgorithms.pso.PSO_Optimizer;
+import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
+import jMeme.localSearchAlgorithms.hillClimbing.ChaoticLocalSearch;
+import jMeme.localSearchAlgorithms.hillClimbing.HillClimbing;
+import jMeme.localSearchAlgorithms.hillClimbing.SteepestHillClimbing;
+import jMeme.localSearchAlgorithms.hillClimbing.StochasticHillClimbing;
+import jMeme.localSearchAlgorithms.hookeJeeves.HookeJeeves;
+import jMeme.localSearchAlgorithms.lbfgs.LBFGS;
+import jMeme.localSearchAlgorithms.mts.MTSLS1;
+import jMeme.localSearchAlgorithms.nelderMead.NelderMead;
+import jMeme.localSearchAlgorithms.sa.ParallelTemperingSimulatedAnnealing;
+import jMeme.localSearchAlgorithms.sa.SimulatedAnnealing;
+import jMeme.localSearchAlgorithms.solisWets.SolisWets;
+import jMeme.localSearchAlgorithms.tabuSearch.TabuSearch;
+
+
+/**
+ * This class keeps the factories of the global and local search optimizers, identified by the optimizer names used in the components of the configurations,
+ * so that the algorithms build their optimizers without reflection. The optimizers of jMeme are registered with the names of their classes;
+ * the ones provided by separate jars are discovered by means of <code>java.util.ServiceLoader</code> when the registry is loaded.
+ * A provider which cannot be loaded or whose identifier is already registered is skipped, so that it does not prevent the use of the other
+ * optimizers: the failure is kept and can be queried by means of <code>getSkippedProviders</code>.
+ *
+ * An optimizer name which is not registered but names a class with the usual constructors, i.e. the ones taking the configuration of the algorithm,
+ * is still accepted: the constructors are looked up once and the class is registered, so the following optimizers are built without looking it up again.
+ * A name which cannot be resolved makes the construction of the optimizer fail immediately.
+ */
+public class OptimizerRegistry {
+
+
+	/**
+	 * Stores the factories of the global search optimizers by identifier
+	 */
+	private static final ConcurrentMap<String, GlobalOptimizerFactory> globals=new ConcurrentHashMap<String, GlobalOptimizerFactory>();
+	/**
+	 * Stores the factories of the local search optimizers by identifier
+	 */
+	private static final ConcurrentMap<String, LocalOptimizerFactory> locals=new ConcurrentHashMap<String, LocalOptimizerFactory>();
+	/**
+	 * Stores the failures occurred while discovering the optimizers of the other jars
+	 */
+	private static final List<Throwable> discoveryErrors=new ArrayList<Throwable>();
+
+
+	static {
+		register(new BuiltInGlobal(GA_Optimizer.class){
+			public GlobalSearchOptimizer create(GlobalSearchAlgorithmConfiguration conf) { return new GA_Optimizer(conf); }
+			public GlobalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new GA_Optimizer(conf); }
+		});
+		register(new BuiltInGlobal(PSO_Optimizer.class){
+			public GlobalSearchOptimizer create(GlobalSearchAlgorithmConfiguration conf) { return new PSO_Optimizer(conf); }
+			public GlobalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new PSO_Optimizer(conf); }
+		});
+		register(new BuiltInGlobal(DE_Optimizer.class){
+			public GlobalSearchOptimizer create(GlobalSearchAlgorithmConfiguration conf) { return new DE_Optimizer(conf); }
+			public GlobalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new DE_Optimizer(conf); }
+		});
+		register(new BuiltInGlobal(ABC_Optimizer.class){
+			public GlobalSearchOptimizer create(GlobalSearchAlgorithmConfiguration conf) { return new ABC_Optimizer(conf); }
+			public GlobalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new ABC_Optimizer(conf); }
+		});
+		register(new BuiltInGlobal(BBBC_Optimizer.class){
+			public GlobalSearchOptimizer create(GlobalSearchAlgorithmConfiguration conf) { return new BBBC_Optimizer(conf); }
+			public GlobalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new BBBC_Optimizer(conf); }
+		});
+
+		register(new BuiltInLocal(HillClimbing.class){
+			public LocalSearchOptimizer create(LocalSearchAlgorithmConfiguration conf) { return new HillClimbing(conf); }
+			public LocalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new HillClimbing(conf); }
+		});
+		register(new BuiltInLocal(SteepestHillClimbing.class){
+			public LocalSearchOptimizer create(LocalSearchAlgorithmConfiguration conf) { return new SteepestHillClimbing(conf); }
+			public LocalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new SteepestHillClimbing(conf); }
+		});
+		register(new BuiltInLocal(StochasticHillClimbing.class){
+			public LocalSearchOptimizer create(LocalSearchAlgorithmConfiguration conf) { return new StochasticHillClimbing(conf); }
+			public LocalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new StochasticHillClimbing(conf); }
+		});
+		register(new BuiltInLocal(ChaoticLocalSearch.class){
+			public LocalSearchOptimizer create(LocalSearchAlgorithmConfiguration conf) { return new ChaoticLocalSearch(conf); }
+			public LocalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new ChaoticLocalSearch(conf); }
+		});
+		register(new BuiltInLocal(SimulatedAnnealing.class){
+			public LocalSearchOptimizer create(LocalSearchAlgorithmConfiguration conf) { return new SimulatedAnnealing(conf); }
+			public LocalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new SimulatedAnnealing(conf); }
+		});
+		register(new BuiltInLocal(ParallelTemperingSimulatedAnnealing.class){
+			public LocalSearchOptimizer create(LocalSearchAlgorithmConfiguration conf) { return new ParallelTemperingSimulatedAnnealing(conf); }
+			public LocalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new ParallelTemperingSimulatedAnnealing(conf); }
+		});
+		register(new BuiltInLocal(TabuSearch.class){
+			public LocalSearchOptimizer create(LocalSearchAlgorithmConfiguration conf) { return new TabuSearch(conf); }
+			public LocalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new TabuSearch(conf); }
+		});
+		register(new BuiltInLocal(HookeJeeves.class){
+			public LocalSearchOptimizer create(LocalSearchAlgorithmConfiguration conf) { return new HookeJeeves(conf); }
+			public LocalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new HookeJeeves(conf); }
+		});
+		register(new BuiltInLocal(NelderMead.class){
+			public LocalSearchOptimizer create(LocalSearchAlgorithmConfiguration conf) { return new NelderMead(conf); }
+			public LocalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new NelderMead(conf); }
+		});
+		register(new BuiltInLocal(SolisWets.class){
+			public LocalSearchOptimizer create(LocalSearchAlgorithmConfiguration conf) { return new SolisWets(conf); }
+			public LocalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new SolisWets(conf); }
+		});
+		register(new BuiltInLocal(MTSLS1.class){
+			public LocalSearchOptimizer create(LocalSearchAlgorithmConfiguration conf) { return new MTSLS1(conf); }
+			public LocalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new MTSLS1(conf); }
+		});
+		register(new BuiltInLocal(LBFGS.class){
+			public LocalSearchOptimizer create(LocalSearchAlgorithmConfiguration conf) { return new LBFGS(conf); }
+			public LocalSearchOptimizer create(MemeticAlgorithmConfiguration conf) { return new LBFGS(conf); }
+		});
+
+		//the optimizers of the other jars, each provider failing on its own
+		Iterator<GlobalOptimizerFactory> g=ServiceLoader.load(GlobalOptimizerFactory.class).iterator();
+		while(true){
+			try {
+				if(!g.hasNext())
+					break;
+				register(g.next());
+			} catch (ServiceConfigurationError e) {
+				discoveryFailed(e);
+			} catch (LinkageError e) {
+				discoveryFailed(e);
+			} catch (RuntimeException e) {
+				discoveryFailed(e);
+			}
+		}
+		Iterator<LocalOptimizerFactory> l=ServiceLoader.load(LocalOptimizerFactory.class).iterator();
+		while(true){
+			try {
+				if(!l.hasNext())
+					break;
+				register(l.next());
+			} catch (ServiceConfigurationError e) {
+				discoveryFailed(e);
+			} catch (LinkageError e) {
+				discoveryFailed(e);
+			} catch (RuntimeException e) {
+				discoveryFailed(e);
+			}
+		}
+	}
+
+
+
+	/**
+	 * Allows to register the factory of a global search optimizer
+	 *
+	 * @param factory  the factory
+	 * @throws IllegalArgumentException  if another factory is registered with the same identifier
+	 */
+	public static void register(GlobalOptimizerFactory factory){
+		GlobalOptimizerFactory previous=globals.putIfAbsent(factory.getId(), factory);
+		if(previous!=null && previous!=factory)
+			throw new IllegalArgumentException("A global search optimizer is already registered as " + factory.getId());
+	}
+
+	/**
+	 * Allows to register the factory of a local search optimizer
+	 *
+	 * @param factory  the factory
+	 * @throws IllegalArgumentException  if another factory is registered with the same identifier
+	 */
+	public static void register(LocalOptimizerFactory factory){
+		LocalOptimizerFactory previous=locals.putIfAbsent(factory.getId(), factory);
+		if(previous!=null && previous!=factory)
+			throw new IllegalArgumentException("A local search optimizer is already registered as " + factory.getId());
+	}
+
+
+	/**
+	 * Allows to get the factory of a global search optimizer
+	 *
+	 * @param id  the identifier of the optimizer, i.e. the optimizer name of the global component
+	 * @return  the factory
+	 * @throws IllegalArgumentException  if no optimizer is registered with the identifier and the identifier does not name a global search optimizer class
+	 */
+	public static GlobalOptimizerFactory getGlobalFactory(String id){
+		GlobalOptimizerFactory factory=globals.get(id);
+		if(factory==null){
+			globals.putIfAbsent(id, new ReflectiveGlobal(id, lookup(id, GlobalSearchOptimizer.class, getGlobalIds())));
+			factory=globals.get(id);
+		}
+		return factory;
+	}
+
+	/**
+	 * Allows to get the factory of a local search optimizer
+	 *
+	 * @param id  the identifier of the optimizer, i.e. the optimizer name of the local component
+	 * @return  the factory
+	 * @throws IllegalArgumentException  if no optimizer is registered with the identifier and the identifier does not name a local search optimizer class
+	 */
+	public static LocalOptimizerFactory getLocalFactory(String id){
+		LocalOptimizerFactory factory=locals.get(id);
+		if(factory==null){
+			locals.putIfAbsent(id, new ReflectiveLocal(id, lookup(id, LocalSearchOptimizer.class, getLocalIds())));
+			factory=locals.get(id);
+		}
+		return factory;
+	}
+
+
+	/**
+	 * @return  the failures occurred while discovering the optimizers of the other jars, whose providers have been skipped
+	 */
+	public static List<Throwable> getSkippedProviders(){
+		return Collections.unmodifiableList(discoveryErrors);
+	}
+
+	/**
+	 * @return  the identifiers of the registered global search optimizers
+	 */
+	public static Set<String> getGlobalIds(){
+		return new TreeSet<String>(globals.keySet());
+	}
+
+	/**
+	 * @return  the identifiers of the registered local search optimizers
+	 */
+	public static Set<String> getLocalIds(){
+		return new TreeSet<String>(locals.keySet());
+	}
+
+
+	/**
+	 * Allows to build the global search optimizer of the global component of a configuration
+	 *
+	 * @param conf  the configuration of the global search algorithm
+	 * @return  the optimizer
+	 * @throws IllegalArgumentException  if the optimizer is unknown
+	 */
+	public static GlobalSearchOptimizer createGlobal(GlobalSearchAlgorithmConfiguration conf){
+		return getGlobalFactory(conf.getGlobalComponent().getOptimizerName()).create(conf);
+	}
+
+	/**
+	 * Allows to build the global search optimizer of the global component of a configuration
+	 *
+	 * @param conf  the configuration of the memetic algorithm
+	 * @return  the optimizer
+	 * @throws IllegalArgumentException  if the optimizer is unknown
+	 */
+	public static GlobalSearchOptimizer createGlobal(MemeticAlgorithmConfiguration conf){
+		return getGlobalFactory(conf.getGlobalComponent().getOptimizerName()).create(conf);
+	}
+
+	/**
+	 * Allows to build the local search optimizer of the local component of a configuration
+	 *
+	 * @param conf  the configuration of the local search algorithm
+	 * @return  the optimizer
+	 * @throws IllegalArgumentException  if the optimizer is unknown
+	 */
+	public static LocalSearchOptimizer createLocal(LocalSearchAlgorithmConfiguration conf){
+		return getLocalFactory(conf.getLocalComponent().getOptimizerName()).create(conf);
+	}
+
+	/**
+	 * Allows to build the local search optimizer of the local component of a configuration
+	 *
+	 * @param conf  the configuration of the memetic algorithm
+	 * @return  the optimizer
+	 * @throws IllegalArgumentException  if the optimizer is unknown
+	 */
+	public static LocalSearchOptimizer createLocal(MemeticAlgorithmConfiguration conf){
+		return getLocalFactory(conf.getLocalComponent().getOptimizerName()).create(conf);
+	}
+
+
+
+	/**
+	 * Allows to record the failure of a provider of optimizers, which is skipped
+	 */
+	private static void discoveryFailed(Throwable e){
+		discoveryErrors.add(e);
+	}
+
+	/**
+	 * Allows to look up the class of an optimizer which is not registered
+	 */
+	private static Class<?> lookup(String id, Class<?> kind, Set<String> registered){
+		Class<?> c;
+		try {
+			c=Class.forName(id);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalArgumentException("Unknown optimizer " + id + "; the registered ones are " + registered
+					+ (discoveryErrors.isEmpty() ? "" : ", while " + discoveryErrors.size() + " providers have been skipped: " + discoveryErrors), e);
+		}
+		if(!kind.isAssignableFrom(c))
+			throw new IllegalArgumentException(id + " is not a " + kind.getSimpleName());
+		return c;
+	}
+
+	/**
+	 * Allows to get a constructor of the class of an optimizer which is not registered, null if it does not exist
+	 */
+	private static Constructor<?> constructor(Class<?> c, Class<?> configuration){
+		try {
+			return c.getConstructor(configuration);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Allows to build an optimizer by means of a constructor of its class
+	 */
+	private static Object instantiate(String id, Constructor<?> constructor, Object conf){
+		if(constructor==null)
+			throw new IllegalArgumentException(id + " has no constructor taking a " + conf.getClass().getSimpleName());
+		try {
+			return constructor.newInstance(conf);
+		} catch (InvocationTargetException e) {
+			if(e.getCause() instanceof RuntimeException)
+				throw (RuntimeException)e.getCause();
+			throw new IllegalStateException(id + " cannot be built", e.getCause());
+		} catch (Exception e) {
+			throw new IllegalStateException(id + " cannot be built", e);
+		}
+	}
+
+
+
+	/**
+	 * This class implements the identifier of the factories of the global search optimizers of jMeme
+	 */
+	private static abstract class BuiltInGlobal implements GlobalOptimizerFactory {
+
+		private final String id;
+
+		BuiltInGlobal(Class<? extends GlobalSearchOptimizer> type){
+			id=type.getName();
+		}
+
+		public String getId() {
+			return id;
+		}
+	}
+
+	/**
+	 * This class implements the identifier of the factories of the local search optimizers of jMeme
+	 */
+	private static abstract class BuiltInLocal implements LocalOptimizerFactory {
+
+		private final String id;
+
+		BuiltInLocal(Class<? extends LocalSearchOptimizer> type){
+			id=type.getName();
+		}
+
+		public String getId() {
+			return id;
+		}
+	}
+
+	/**
+	 * This class implements the factory of a global search optimizer which is not registered, by means of the constructors of its class
+	 */
+	private static class ReflectiveGlobal implements GlobalOptimizerFactory {
+
+		private final String id;
+		private final Constructor<?> global;
+		private final Constructor<?> memetic;
+
+		ReflectiveGlobal(String id, Class<?> type){
+			this.id=id;
+			global=constructor(type, GlobalSearchAlgorithmConfiguration.class);
+			memetic=constructor(type, MemeticAlgorithmConfiguration.class);
+			if(global==null && memetic==null)
+				throw new IllegalArgumentException(id + " has no constructor taking the configuration of an algorithm");
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public GlobalSearchOptimizer create(GlobalSearchAlgorithmConfiguration conf) {
+			return (GlobalSearchOptimizer)instantiate(id, global, conf);
+		}
+
+		public GlobalSearchOptimizer create(MemeticAlgorithmConfiguration conf) {
+			return (GlobalSearchOptimizer)instantiate(id, memetic, conf);
+		}
+	}
+
+	/**
+	 * This class implements the factory of a local search optimizer which is not registered, by means of the constructors of its class
+	 */
+	private static class ReflectiveLocal implements LocalOptimizerFactory {
+
+		private final String id;
+		private final Constructor<?> local;
+		private final Constructor<?> memetic;
+
+		ReflectiveLocal(String id, Class<?> type){
+			this.id=id;
+			local=constructor(type, LocalSearchAlgorithmConfiguration.class);
+			memetic=constructor(type, MemeticAlgorithmConfiguration.class);
+			if(local==null && memetic==null)
+				throw new IllegalArgumentException(id + " has no constructor taking the configuration of an algorithm");
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public LocalSearchOptimizer create(LocalSearchAlgorithmConfiguration conf) {
+			return (LocalSearchOptimizer)instantiate(id, local, conf);
+		}
+
+		public LocalSearchOptimizer create(MemeticAlgorithmConfiguration conf) {
+			return (LocalSearchOptimizer)instantiate(id, memetic, conf);
+		}
+	}
+
+}
@@ -27,15 +27,25 @@
 package jMeme.design.competent;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Random;
 import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import jMeme.core.AlgorithmComponent;
-import jMeme.core.JConfiguration;
+import jMeme.core.CancellationToken;
 import jMeme.core.Problem;
 import jMeme.core.configurations.MemeticAlgorithmConfiguration;
 import jMeme.core.fitnessFunction.FitnessFeatures;
+import jMeme.core.listeners.AlgorithmListener;
+import jMeme.core.listeners.ConsoleAlgorithmListener;
 import jMeme.design.finalConditions.AlgorithmFinalConditions;
 import jMeme.design.generationExecutor.GenerationExecutor;
 import jMeme.design.generationExecutor.RandomGenerationExecutor;
@@ -44,9 +54,13 @@ import jMeme.design.localIntegration.LocalIntensity;
 import jMeme.design.localIntegration.LocalOptimizerExecutor;
 import jMeme.design.optimizerParameters.GlobalSearchOptimizerParameters;
 import jMeme.memeticAlgorithms.MemeticOptimizationAlgorithm;
+import jMeme.performances.AlgorithmPerformance;
+import jMeme.performances.metrics.MetricsRegistry;
+import jMeme.performances.metrics.StudyProgress;
+import jMeme.statisticalTests.FriedmanTest;
 import jMeme.statisticalTests.Rank;
-import jMeme.utils.ArrayUtil;
 import jMeme.utils.FileUtil;
+import jMeme.utils.ParallelUtil;
 
 
 /**
@@ -54,6 +68,9 @@ import jMeme.utils.FileUtil;
  * Q. H. Nguyen, Y. S. Ong and N. Krasnogor, "A study on the design issues of Memetic Algorithm," 2007 IEEE Congress on Evolutionary Computation, Singapore, 2007, pp. 2390-2397.
  * doi: 10.1109/CEC.2007.4424770.
  * The class allows to build and save the optimal configuration (among those studied) to a file.
+ * The runs of each step of the study are independent, so they are executed at the same time by a pool of threads dedicated to the study;
+ * every run has its own copy of the configuration and its own seed, derived from the seed of the study, and it executes its local searches
+ * one after the other, so the results of the study depend on its seed and not on its parallelism.
  */
 public class CompetentStudy {
 
@@ -62,6 +79,21 @@ public class CompetentStudy {
 	 */
 	public static int DEFAULT_NUM_RUNS=10;
 	
+	/**
+	 * Constant representing the default seed from which the seeds of the runs of the competent study are derived
+	 */
+	public static final long DEFAULT_SEED=1;
+	
+	/**
+	 * Constant representing the default significance level of the statistical tests of the racing mode
+	 */
+	public static final double DEFAULT_RACE_SIGNIFICANCE=0.05;
+	
+	/**
+	 * Constant representing the default number of runs on the problem instances executed by each configuration before the first statistical test of the racing mode
+	 */
+	public static final int DEFAULT_RACE_FIRST_TEST=5;
+	
 	/**
 	 * Stores the set of problem instances involved in the competent study
 	 */
@@ -141,6 +173,41 @@ public class CompetentStudy {
 	 */
 	private MemeticAlgorithmConfiguration bestConf;
 	
+	/**
+	 * Stores the listener notified of the progress of the study and of the events of the executed algorithms
+	 */
+	private AlgorithmListener listener=ConsoleAlgorithmListener.getDefault();
+	
+	/**
+	 * Stores the maximum number of runs executed at the same time during the competent study
+	 */
+	private int parallelism=ParallelUtil.DEFAULT_PARALLELISM;
+	
+	/**
+	 * Stores the seed from which the seeds of the runs of the competent study are derived
+	 */
+	private long seed=DEFAULT_SEED;
+	
+	/**
+	 * Stores the generator of the seeds of the runs and of the choices among tied configurations, created when the study is executed
+	 */
+	private Random seeds;
+	
+	/**
+	 * Stores true if the configurations of each step are raced, false if all of them execute all the runs
+	 */
+	private boolean racing;
+	
+	/**
+	 * Stores the significance level of the statistical tests of the racing mode
+	 */
+	private double raceSignificance=DEFAULT_RACE_SIGNIFICANCE;
+	
+	/**
+	 * Stores the number of runs on the problem instances to be executed by each configuration before the first statistical test of the racing mode
+	 */
+	private int raceFirstTest=DEFAULT_RACE_FIRST_TEST;
+	
     /**
      * Constructor 
      * 
@@ -234,9 +301,12 @@ public class CompetentStudy {
 	
 	
 	/**
-	 * Allows to execute the competent study and obtain all results written in different files .xls
+	 * Allows to execute the competent study and obtain all results written in different files .xls.
+	 * Each step starts as soon as the ranking of the previous one is available.
 	 */
 	public void execute(){
+		seeds=new Random(seed);
+		
 		executeFirstStep();
 		executeSecondStep();
 		executeThirdStep();
@@ -247,7 +317,6 @@ public class CompetentStudy {
 	
 	private void executeFirstStep(){
 		
-		int numP= problemInstances.length;
 		int numG=globalComponents.length;
 		int numL=localComponents.length;
 		
@@ -264,113 +333,41 @@ public class CompetentStudy {
 		String localSelectionScheme=LocalOptimizerExecutor.BEST_SELECTION_SCHEME;
 		
 		int numConfig=numG*numL;
-		double[][]  fitnessConfiguration=new double[numP][numConfig];
+		MemeticAlgorithmConfiguration[] configurations=new MemeticAlgorithmConfiguration[numConfig];
 		String[] configurationNames=new String[numConfig];
-		int indexConfig;
-	
-		for(int p=0; p<numP; p++){
-		
-		Problem prob=problemInstances[p];
-		String rootNameFile="CompetentStudy\\IPhase"+nameResultFile+prob.getId();
-		String result="Start I phase.....\n";
-		
-		indexConfig=0;
+		String[] fileSuffixes=new String[numConfig];
 		
 		for(int i=0; i<numG; i++){
 			AlgorithmComponent gc=globalComponents[i];
 			((GlobalSearchOptimizerParameters)gc.getParameters()).setPopulationSize(popSize);
 			
-			
 			for(int j=0; j<numL; j++){
-				
 				AlgorithmComponent lc=localComponents[j];
 				
-				JConfiguration.reset();
-				MemeticAlgorithmConfiguration memeConf=
-						new MemeticAlgorithmConfiguration(fitnessFeatures, termination, gc,lc, lmf, frequencyPercentage, localSelectionScheme, new RandomGenerationExecutor());				
-			
-				MemeticOptimizationAlgorithm algorithm =new MemeticOptimizationAlgorithm(prob,memeConf);
-				  
-				String nameFile=rootNameFile+"_"+gc.getId()+"_"+lc.getId();
-				File fileTxt=new File(nameFile + ".txt");
-				Vector results= new Vector();
-				configurationNames[indexConfig]=gc.getId() + "+" + lc.getId();
-				
-				result+="Run configuration " + gc.getId() + "+" + lc.getId()+"\n";
-				
-				double sumfitnessRuns=0;
-				for(int k=1; k<=numRuns;k++){
-		        	 
-		        		
-						
-						algorithm.reset();
-					       
-						
-						algorithm.execute();
-
-					  
-						result+="--------Run number: " + (k) + "---------\n";
-						result+=memeConf.getPerformance().toString();
-						result+="\n\n";
-						
-						/*if(k==1)
-							FileUtil.writeFile(fileTxt,result);
-						else
-							FileUtil.appendFile(fileTxt,result);
-						*/
-						HashMap map=memeConf.getPerformance().toMap();
-						results.add(map);
-						
-
-						 System.out.println("best " + memeConf.getPerformance().getIndividual());
-
-						
-						System.out.println("Runs " + (k)+" executed");
-					   sumfitnessRuns+=memeConf.getPerformance().getFitnessValue();
-			         }
-				
-				
-			         
-			         fitnessConfiguration[p][indexConfig]=sumfitnessRuns/numRuns;
-			         indexConfig++;
-						
-			         FileUtil.writeFile(fileTxt,result);
-			         FileUtil.writeRunsToExcel(results, nameFile);
-			 		
-			 		System.out.println("Test terminated on configuration " + gc.getId() + "+" + lc.getId()+"\n");
-				
-				
-			}	
-	  }
-	  }
-	
-	   double[][] ranks=Rank.computeRanks(fitnessConfiguration, fitnessFeatures.isMaximize());
-		double[] averageRankXConfig=Rank.computeAverageRank(ranks );
-	     
-	    
-	    CompetentStudyUtils.printPhaseResult("CompetentStudy\\IPhase", this.problemInstances, configurationNames, fitnessConfiguration);
-	    CompetentStudyUtils.printPhaseResult("CompetentStudy\\IPhaseRank", this.problemInstances, configurationNames, ranks);
-	    CompetentStudyUtils.printAverageResult("CompetentStudy\\IPhaseAverageRank", configurationNames, averageRankXConfig);
-	    
-	    //cerca miglior configurzione
-	    Vector indexBetter=new Vector();
-	    double best=ArrayUtil.min(averageRankXConfig);
-	    
-	    for(int i=0; i<numConfig; i++)
-	    	if(averageRankXConfig[i]==best)
-	    		indexBetter.add(i);
-	    
-	    int numBest=indexBetter.size();
-	    
-	    if(numBest==1)
-	    	computeBestFirstPhase((Integer)indexBetter.get(0));
-	    else {
-	    	Random rand = new Random();
-	    	int random=rand.nextInt(numBest);
-	    	computeBestFirstPhase(random);
-	    }
+				configurations[i*numL+j]=
+						new MemeticAlgorithmConfiguration(fitnessFeatures, termination, gc,lc, lmf, frequencyPercentage, localSelectionScheme, new RandomGenerationExecutor());
+				configurationNames[i*numL+j]=gc.getId() + "+" + lc.getId();
+				fileSuffixes[i*numL+j]="_"+gc.getId()+"_"+lc.getId();
+			}
+		}
+		
+		boolean[] survivors=new boolean[numConfig];
+		double[][] fitnessConfiguration=executeStep("I", configurations, configurationNames, fileSuffixes, survivors);
+		
+		computeBestFirstPhase(selectBest("I", configurationNames, fitnessConfiguration, survivors));
 	    
-	    System.out.println("End first step...");
+	    listener.message(null, "End first step...");
+	}
+	
+	
+	/**
+	 * @return  the identifiers of the problem instances of the study
+	 */
+	private String[] problemIds(){
+		String[] ids=new String[problemInstances.length];
+		for(int p=0; p<ids.length; p++)
+			ids[p]=problemInstances[p].getId();
+		return ids;
 	}
 	
 	
@@ -383,7 +380,6 @@ public class CompetentStudy {
 	
 	private void executeSecondStep(){
 		
-		int numP= problemInstances.length;
 		int numLF=localFrequencies.length;
 		int numLI=localIntensities.length;
 		
@@ -395,109 +391,29 @@ public class CompetentStudy {
 		String localSelectionScheme=LocalOptimizerExecutor.BEST_SELECTION_SCHEME;
 		
 		int numConfig=numLI*numLF;
-		double[][]  fitnessConfiguration=new double[numP][numConfig];
+		MemeticAlgorithmConfiguration[] configurations=new MemeticAlgorithmConfiguration[numConfig];
 		String[] configurationNames=new String[numConfig];
+		String[] fileSuffixes=new String[numConfig];
 		
-		int indexConfig;
-	for(int p=0; p<numP; p++){
-		
-		Problem prob=problemInstances[p];
-		String rootNameFile="CompetentStudy\\IIPhase"+nameResultFile+prob.getId()+"_"+gc.getId()+"_"+lc.getId();
-		String result="Start II phase.....\n";
-		
-		indexConfig=0;
 		for(int i=0; i<numLI; i++){
-				LocalIntensity li=new LocalIntensity(localIntensities[i]);
+			LocalIntensity li=new LocalIntensity(localIntensities[i]);
 			
 			for(int j=0; j<numLF; j++){
-				
 				LocalFrequency lf=new LocalFrequency(localFrequencies[j]);
-			
-				JConfiguration.reset();
-				MemeticAlgorithmConfiguration memeConf=
-						new MemeticAlgorithmConfiguration(fitnessFeatures, termination, gc, lc, li, lf, localSelectionScheme, new RandomGenerationExecutor());				
-			
-				MemeticOptimizationAlgorithm algorithm =new MemeticOptimizationAlgorithm(prob,memeConf);
-				  
-				String nameFile=rootNameFile+"_"+localIntensities[i]+"_"+localFrequencies[j];
-				File fileTxt=new File(nameFile + ".txt");
-				Vector results= new Vector();
-				configurationNames[indexConfig]=localIntensities[i] + "+" + localFrequencies[j];
 				
-				
-				result+="Run configuration " + localIntensities[i] + "+" + localFrequencies[j]+"\n";
-				
-				double sumfitnessRuns=0;
-				for(int k=1; k<=numRuns;k++){
-		        	 
-		        		
-						
-						algorithm.reset();
-					       
-						
-						algorithm.execute();
-
-					  
-						result+="--------Run number: " + (k) + "---------\n";
-						result+=memeConf.getPerformance().toString();
-						result+="\n\n";
-						
-						/*if(k==1)
-							FileUtil.writeFile(fileTxt,result);
-						else
-							FileUtil.appendFile(fileTxt,result);
-						*/
-						HashMap map=memeConf.getPerformance().toMap();
-						results.add(map);
-						
-
-						 System.out.println("best " + memeConf.getPerformance().getIndividual());
-
-						
-						System.out.println("Runs " + (k)+" executed");
-					   sumfitnessRuns+=memeConf.getPerformance().getFitnessValue();
-			         }
-			         
-			         fitnessConfiguration[p][indexConfig]=sumfitnessRuns/numRuns;
-			         indexConfig++;
-						
-			         FileUtil.writeFile(fileTxt,result);
-			         FileUtil.writeRunsToExcel(results, nameFile);
-			 		
-			 		System.out.println("Test terminated on configuration " + localIntensities[i] + "+" + localFrequencies[j]+"\n");
-				
-				
-			}	
-	  }
-	  }
-	
-	 double[][] ranks=Rank.computeRanks(fitnessConfiguration, fitnessFeatures.isMaximize());
-		double[] averageRankXConfig=Rank.computeAverageRank(ranks );
-	     
-	    
-		CompetentStudyUtils.printPhaseResult("CompetentStudy\\IIPhase", this.problemInstances, configurationNames, fitnessConfiguration);
-	    CompetentStudyUtils.printPhaseResult("CompetentStudy\\IIPhaseRank", this.problemInstances, configurationNames, ranks);
-	    CompetentStudyUtils.printAverageResult("CompetentStudy\\IIPhaseAverageRank", configurationNames, averageRankXConfig);
-	      
-	   
-	    //search the best configuration
-	    Vector indexBetter=new Vector();
-	    double best=ArrayUtil.min(averageRankXConfig);
-	    
-	    for(int i=0; i<numConfig; i++)
-	    	if(averageRankXConfig[i]==best)
-	    		indexBetter.add(i);
-	    
-	    int numBest=indexBetter.size();
-	    
-	    if(numBest==1)
-	    	computeBestSecondPhase((Integer)indexBetter.get(0));
-	    else {
-	    	Random rand = new Random();
-	    	int random=rand.nextInt(numBest);
-	    	computeBestSecondPhase(random);
-	    }
-	    System.out.println("End second step...");
+				configurations[i*numLF+j]=
+						new MemeticAlgorithmConfiguration(fitnessFeatures, termination, gc, lc, li, lf, localSelectionScheme, new RandomGenerationExecutor());
+				configurationNames[i*numLF+j]=localIntensities[i] + "+" + localFrequencies[j];
+				fileSuffixes[i*numLF+j]="_"+gc.getId()+"_"+lc.getId()+"_"+localIntensities[i]+"_"+localFrequencies[j];
+			}
+		}
+		
+		boolean[] survivors=new boolean[numConfig];
+		double[][] fitnessConfiguration=executeStep("II", configurations, configurationNames, fileSuffixes, survivors);
+		
+		computeBestSecondPhase(selectBest("II", configurationNames, fitnessConfiguration, survivors));
+		
+	    listener.message(null, "End second step...");
 	}
 	
 	
@@ -509,9 +425,8 @@ public class CompetentStudy {
 	}
 	
 	
-private void executeThirdStep(){
+	private void executeThirdStep(){
 		
-		int numP= problemInstances.length;
 		int numS=localSchemes.length;
 		
 		AlgorithmComponent gc=globalComponents[indexBestGlobalComp];
@@ -525,108 +440,384 @@ private void executeThirdStep(){
 		LocalFrequency lf=new LocalFrequency(localFrequencies[indexBestFrequency]);
 		
 		int numConfig=numS;
-		double[][]  fitnessConfiguration=new double[numP][numConfig];
+		MemeticAlgorithmConfiguration[] configurations=new MemeticAlgorithmConfiguration[numConfig];
 		String[] configurationNames=new String[numConfig];
+		String[] fileSuffixes=new String[numConfig];
 		
-		int indexConfig;
-	for(int p=0; p<numP; p++){
+		for(int i=0; i<numS; i++){
+			String localSelectionScheme=localSchemes[i];
+			
+			configurations[i]=
+					new MemeticAlgorithmConfiguration(fitnessFeatures, termination, gc,lc, li, lf, localSelectionScheme, new RandomGenerationExecutor());
+			configurationNames[i]=localSelectionScheme;
+			fileSuffixes[i]="_"+gc.getId()+"_"+lc.getId()+"_"+localIntensities[indexBestIntensity]+"_"+localFrequencies[indexBestFrequency]+"_"+localSelectionScheme;
+		}
 		
-		Problem prob=problemInstances[p];
-		String rootNameFile="CompetentStudy\\IIIPhase"+nameResultFile+prob.getId()+"_"+gc.getId()+"_"+lc.getId()+"_"+localIntensities[indexBestIntensity]+"_"+localFrequencies[indexBestFrequency];
-		String result="Start III phase.....\n";
+		boolean[] survivors=new boolean[numConfig];
+		double[][] fitnessConfiguration=executeStep("III", configurations, configurationNames, fileSuffixes, survivors);
 		
-		indexConfig=0;
-		for(int i=0; i<numS; i++){
+		indexBestScheme=selectBest("III", configurationNames, fitnessConfiguration, survivors);
+	}
+	
+	
+	/**
+	 * Allows to execute a step of the competent study, i.e. the runs of the configurations of the step on all the problem instances.
+	 * The runs are executed by a pool of threads created for the step, according to the parallelism of the study, so that they never
+	 * wait for the threads of the pools shared by the algorithms; every run has its own copy of the configuration and its own seed.
+	 * The seed of a run depends only on its problem instance and on its number, so the configurations are compared on the same random numbers
+	 * and the differences among their results are due to the configurations rather than to the seeds.
+	 * The results of a configuration on a problem instance are aggregated and written 
+	 * as soon as its last run finishes. In the racing mode, the configurations are raced and the discarded ones execute fewer runs.
+	 * 
+	 * @param step  the name of the step
+	 * @param configurations  the configurations of the step
+	 * @param configurationNames  the names of the configurations of the step
+	 * @param fileSuffixes  the suffixes of the names of the files where the results of the configurations are written
+	 * @param survivors  the array filled with true for the configurations which are not discarded by the race, i.e. all of them without racing
+	 * @return  the average fitness obtained by each configuration (column) on each problem instance (row) over its runs
+	 */
+	private double[][] executeStep(String step, MemeticAlgorithmConfiguration[] configurations, String[] configurationNames, String[] fileSuffixes, boolean[] survivors){
+		
+		int numP=problemInstances.length;
+		int numConfig=configurations.length;
+		double[][] fitnessConfiguration=new double[numP][numConfig];
+		
+		StudyProgress progress=new StudyProgress("CompetentStudy"+nameResultFile, step, problemIds(), configurationNames, numRuns);
+		MetricsRegistry.registerStudy(progress);
+		
+		Cell[][] cells=new Cell[numP][numConfig];
+		Run[][][] runs=new Run[numP][numConfig][numRuns];
+		CancellationToken token=new CancellationToken();
+		
+		//common random numbers: the k-th runs of all the configurations on a problem instance share the same seed
+		long[][] runSeeds=new long[numP][numRuns];
+		for(int p=0; p<numP; p++)
+			for(int k=1; k<=numRuns;k++)
+				runSeeds[p][k-1]=seeds.nextLong();
+		
+		for(int p=0; p<numP; p++)
+			for(int c=0; c<numConfig; c++){
+				String nameFile="CompetentStudy\\"+step+"Phase"+nameResultFile+problemInstances[p].getId()+fileSuffixes[c];
+				cells[p][c]=new Cell(step, p, c, configurationNames[c], nameFile, fitnessConfiguration);
 				
+				for(int k=1; k<=numRuns;k++)
+					runs[p][c][k-1]=new Run(cells[p][c], k, configurations[c], runSeeds[p][k-1], token, progress);
+			}
+		
+		Arrays.fill(survivors, true);
+		ExecutorService pool=null;
+		if(parallelism!=1)
+			pool=Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism<1 ? ParallelUtil.DEFAULT_PARALLELISM : parallelism, numP*numConfig*numRuns)));
+		try {
+			if(racing)
+				race(pool, token, cells, runs, configurationNames, survivors);
+			else {
+				List<Callable<Object>> tasks=new ArrayList<Callable<Object>>(numP*numConfig*numRuns);
+				for(int p=0; p<numP; p++)
+					for(int c=0; c<numConfig; c++)
+						tasks.addAll(Arrays.asList(runs[p][c]));
+				executeRuns(pool, token, tasks);
+			}
 			
-				String localSelectionScheme=localSchemes[i];
-				
-				JConfiguration.reset();
-				MemeticAlgorithmConfiguration memeConf=
-						new MemeticAlgorithmConfiguration(fitnessFeatures, termination, gc,lc, li, lf, localSelectionScheme, new RandomGenerationExecutor());				
+			for(int p=0; p<numP; p++)
+				for(int c=0; c<numConfig; c++)
+					cells[p][c].finish();
+		} finally {
+			if(pool!=null)
+				pool.shutdown();
+			MetricsRegistry.unregisterStudy(progress);
+		}
+		
+		return fitnessConfiguration;
+	}
+	
+	
+	/**
+	 * Allows to race the configurations of a step, as done by F-Race. The surviving configurations are executed in rounds of one run 
+	 * on each problem instance; after each round, if the Friedman test on all the executed runs rejects the equivalence of the surviving
+	 * configurations, the ones which are significantly worse than the best one according to the post-hoc comparisons of Conover are discarded.
+	 * The race stops when only one configuration survives or when the surviving configurations have executed all their runs;
+	 * a step with a single configuration is not raced, so the configuration executes all its runs.
+	 * 
+	 * @param pool  the pool executing the runs, null to execute them one after the other
+	 * @param token  the cancellation token of the runs
+	 * @param cells  the cells of the step, for each problem instance and configuration
+	 * @param runs  the runs of the cells
+	 * @param configurationNames  the names of the configurations of the step
+	 * @param survivors  the array where the discarded configurations are set to false
+	 */
+	private void race(ExecutorService pool, CancellationToken token, Cell[][] cells, Run[][][] runs, String[] configurationNames, boolean[] survivors){
+		
+		int numP=cells.length;
+		int numConfig=survivors.length;
+		int numSurvivors=numConfig;
+		
+		for(int k=1; k<=numRuns && (numSurvivors>1 || numConfig==1); k++){
 			
-				MemeticOptimizationAlgorithm algorithm =new MemeticOptimizationAlgorithm(prob,memeConf);
-				  
-				String nameFile=rootNameFile+"_"+localSelectionScheme;
-				File fileTxt=new File(nameFile + ".txt");
-				Vector results= new Vector();
-				configurationNames[indexConfig]=localSelectionScheme;
-				
-				result+="Run configuration " + localSelectionScheme+"\n";
-				
-				double sumfitnessRuns=0;
-				for(int k=1; k<=numRuns;k++){
-		        	 
-		        		
-						
-						algorithm.reset();
-					       
-						
-						algorithm.execute();
-
-					  
-						result+="--------Run number: " + (k) + "---------\n";
-						result+=memeConf.getPerformance().toString();
-						result+="\n\n";
-						
-						/*if(k==1)
-							FileUtil.writeFile(fileTxt,result);
-						else
-							FileUtil.appendFile(fileTxt,result);
-						*/
-						HashMap map=memeConf.getPerformance().toMap();
-						results.add(map);
-						
-
-						 System.out.println("best " + memeConf.getPerformance().getIndividual());
-
-						
-						System.out.println("Runs " + (k)+" executed");
-					   sumfitnessRuns+=memeConf.getPerformance().getFitnessValue();
-			         }
-			         
-			         fitnessConfiguration[p][indexConfig]=sumfitnessRuns/numRuns;
-			         indexConfig++;
-						
-			         FileUtil.writeFile(fileTxt,result);
-			         FileUtil.writeRunsToExcel(results, nameFile);
-			 		
-			 		System.out.println("Test terminated on configuration " + localSchemes[i]+"\n");
-				
-				
-			}	
-	  }
-	  
+			List<Callable<Object>> tasks=new ArrayList<Callable<Object>>(numP*numSurvivors);
+			for(int p=0; p<numP; p++)
+				for(int c=0; c<numConfig; c++)
+					if(survivors[c])
+						tasks.add(runs[p][c][k-1]);
+			executeRuns(pool, token, tasks);
+			
+			if(numConfig==1 || k*numP<raceFirstTest)
+				continue;
+			
+			int[] indexes=new int[numSurvivors];
+			for(int c=0, s=0; c<numConfig; c++)
+				if(survivors[c])
+					indexes[s++]=c;
+			
+			double[][] values=new double[k*numP][numSurvivors];
+			for(int r=0; r<k; r++)
+				for(int p=0; p<numP; p++)
+					for(int s=0; s<numSurvivors; s++)
+						values[r*numP+p][s]=cells[p][indexes[s]].getFitness(r+1);
+			
+			FriedmanTest test=new FriedmanTest(values, fitnessFeatures.isMaximize());
+			if(test.getPValue()>=raceSignificance)
+				continue;
+			
+			boolean[] worse=test.worseThanBest(raceSignificance);
+			for(int s=0; s<indexes.length; s++)
+				if(worse[s]){
+					survivors[indexes[s]]=false;
+					numSurvivors--;
+					for(int p=0; p<numP; p++)
+						cells[p][indexes[s]].finish();
+					listener.message(null, "Configuration " + configurationNames[indexes[s]] + " discarded after " + k + " runs");
+				}
+		}
+	}
+	
 	
-	 double[][] ranks=Rank.computeRanks(fitnessConfiguration, fitnessFeatures.isMaximize());
+	/**
+	 * Allows to execute runs of a step and to wait for their completion
+	 * 
+	 * @param pool  the pool executing the runs, null to execute them one after the other
+	 * @param token  the cancellation token of the runs, which is cancelled if the calling thread is interrupted
+	 * @param tasks  the runs
+	 * @throws IllegalStateException  if the calling thread is interrupted or a run fails
+	 */
+	private void executeRuns(ExecutorService pool, CancellationToken token, List<Callable<Object>> tasks){
+		if(pool==null){
+			ParallelUtil.invokeAll(tasks, 1);
+			return;
+		}
+		try {
+			for(Future<Object> future : pool.invokeAll(tasks))
+				future.get();
+		} catch (InterruptedException e) {
+			token.cancel();
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The competent study has been interrupted", e);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException)
+				throw (RuntimeException)e.getCause();
+			throw new IllegalStateException("A run of the competent study failed", e.getCause());
+		}
+	}
+	
+	
+	/**
+	 * Allows to rank the configurations of a step, to write the results of the step and to select the best configuration
+	 * among the ones which survived the race. The ties are broken at random.
+	 * 
+	 * @param step  the name of the step
+	 * @param configurationNames  the names of the configurations of the step
+	 * @param fitnessConfiguration  the average fitness obtained by each configuration (column) on each problem instance (row)
+	 * @param survivors  true for the configurations which can be selected, false otherwise
+	 * @return  the index of the best configuration
+	 */
+	private int selectBest(String step, String[] configurationNames, double[][] fitnessConfiguration, boolean[] survivors){
+		
+		double[][] ranks=Rank.computeRanks(fitnessConfiguration, fitnessFeatures.isMaximize());
 		double[] averageRankXConfig=Rank.computeAverageRank(ranks );
-	     
+		
+		CompetentStudyUtils.printPhaseResult("CompetentStudy\\"+step+"Phase", this.problemInstances, configurationNames, fitnessConfiguration);
+	    CompetentStudyUtils.printPhaseResult("CompetentStudy\\"+step+"PhaseRank", this.problemInstances, configurationNames, ranks);
+	    CompetentStudyUtils.printAverageResult("CompetentStudy\\"+step+"PhaseAverageRank", configurationNames, averageRankXConfig);
 	    
-		CompetentStudyUtils.printPhaseResult("CompetentStudy\\IIIPhase", this.problemInstances, configurationNames, fitnessConfiguration);
-	    CompetentStudyUtils.printPhaseResult("CompetentStudy\\IIIPhaseRank", this.problemInstances, configurationNames, ranks);
-	    CompetentStudyUtils.printAverageResult("CompetentStudy\\IIIPhaseAverageRank", configurationNames, averageRankXConfig);
-	     
-	   
-	    //cerca miglior configurzione
+	    //search the best configuration
 	    Vector indexBetter=new Vector();
-	    double best=ArrayUtil.min(averageRankXConfig);
+	    double best=Double.POSITIVE_INFINITY;
+	    for(int i=0; i<averageRankXConfig.length; i++)
+	    	if(survivors[i] && averageRankXConfig[i]<best)
+	    		best=averageRankXConfig[i];
 	    
-	    for(int i=0; i<numConfig; i++)
-	    	if(averageRankXConfig[i]==best)
+	    for(int i=0; i<averageRankXConfig.length; i++)
+	    	if(survivors[i] && averageRankXConfig[i]==best)
 	    		indexBetter.add(i);
 	    
 	    int numBest=indexBetter.size();
 	    
 	    if(numBest==1)
-	    	indexBestScheme=(Integer)indexBetter.get(0);
-	    else {
-	    	Random rand = new Random();
-	    	int random=rand.nextInt(numBest);
-	    	indexBestScheme=(Integer)indexBetter.get(random);
-	    }
-	    
+	    	return (Integer)indexBetter.get(0);
+	    return (Integer)indexBetter.get(seeds.nextInt(numBest));
+	}
+	
+	
+	/**
+	 * This class represents a cell of a step of the competent study, i.e. the runs of a configuration on a problem instance.
+	 * The results of the runs are collected as they finish, and they are aggregated and written by the last one, 
+	 * or when the configuration is discarded by the race.
+	 */
+	private class Cell {
+		
+		private final String step;
+		private final int problem;
+		private final int configuration;
+		private final String configurationName;
+		private final String nameFile;
+		/**
+		 * Stores the average fitness of the configurations of the step, where the one of the cell is written
+		 */
+		private final double[][] fitnessConfiguration;
+		
+		private final String[] reports;
+		private final HashMap[] maps;
+		private final double[] fitnesses;
+		/**
+		 * Stores the number of finished runs of the cell
+		 */
+		private int completed;
+		/**
+		 * Stores the configuration of the last finished run
+		 */
+		private MemeticAlgorithmConfiguration last;
+		/**
+		 * Stores true if the results of the cell have been aggregated, false otherwise
+		 */
+		private boolean aggregated;
+		
+		
+		Cell(String step, int problem, int configuration, String configurationName, String nameFile, double[][] fitnessConfiguration){
+			this.step=step;
+			this.problem=problem;
+			this.configuration=configuration;
+			this.configurationName=configurationName;
+			this.nameFile=nameFile;
+			this.fitnessConfiguration=fitnessConfiguration;
+			reports=new String[numRuns];
+			maps=new HashMap[numRuns];
+			fitnesses=new double[numRuns];
+		}
+		
+		
+		/**
+		 * Allows to collect the result of a run of the cell and to aggregate the results when all the runs are finished
+		 * 
+		 * @param run  the number of the run, starting from 1
+		 * @param memeConf  the configuration of the run
+		 */
+		synchronized void runCompleted(int run, MemeticAlgorithmConfiguration memeConf){
+			AlgorithmPerformance performance=memeConf.getPerformance();
+			reports[run-1]=performance.toString();
+			maps[run-1]=performance.toMap();
+			fitnesses[run-1]=performance.getFitnessValue();
+			last=memeConf;
+			
+			if(++completed==numRuns)
+				aggregate();
+		}
+		
+		
+		/**
+		 * Allows to aggregate the results of the finished runs, when the cell is not executed any more before all its runs are finished
+		 */
+		synchronized void finish(){
+			if(!aggregated && completed>0)
+				aggregate();
+		}
+		
+		
+		/**
+		 * @param run  the number of a finished run, starting from 1
+		 * @return  the fitness value obtained by the run
+		 */
+		synchronized double getFitness(int run){
+			return fitnesses[run-1];
+		}
+		
+		
+		/**
+		 * Allows to aggregate the results of the runs, which are finished in the order of their numbers when the cell is not fully executed
+		 */
+		private void aggregate(){
+			aggregated=true;
+			StringBuilder result=new StringBuilder("Start "+step+" phase.....\n");
+			result.append("Run configuration " + configurationName+"\n");
+			Vector results= new Vector();
+			
+			double sumfitnessRuns=0;
+			for(int k=1; k<=completed;k++){
+				result.append("--------Run number: " + (k) + "---------\n");
+				result.append(reports[k-1]);
+				result.append("\n\n");
+				
+				results.add(maps[k-1]);
+				sumfitnessRuns+=fitnesses[k-1];
+			}
+			
+			fitnessConfiguration[problem][configuration]=sumfitnessRuns/completed;
+			
+			FileUtil.writeFile(new File(nameFile + ".txt"),result.toString());
+			FileUtil.writeRunsToExcel(results, nameFile);
+			
+			listener.message(last, "Test terminated on configuration " + configurationName+"\n");
+		}
+	}
+	
+	
+	/**
+	 * This class represents a run of a cell of a step of the competent study
+	 */
+	private class Run implements Callable<Object> {
+		
+		private final Cell cell;
+		private final int run;
+		/**
+		 * Stores the configuration of the cell, which is copied by the run, so that the concurrent runs share no element, performance
+		 * or adaptive local component: the portfolio, the budget controller and the archive of each copy start from their initial state
+		 */
+		private final MemeticAlgorithmConfiguration configuration;
+		private final long seed;
+		private final CancellationToken token;
+		private final StudyProgress progress;
+		
+		
+		Run(Cell cell, int run, MemeticAlgorithmConfiguration configuration, long seed, CancellationToken token, StudyProgress progress){
+			this.cell=cell;
+			this.run=run;
+			this.configuration=configuration;
+			this.seed=seed;
+			this.token=token;
+			this.progress=progress;
+		}
+		
+		
+		public Object call() {
+			MemeticAlgorithmConfiguration memeConf=(MemeticAlgorithmConfiguration)configuration.copy();
+			memeConf.setSeed(seed);
+			memeConf.setListener(listener);
+			memeConf.setCancellationToken(token);
+			//the runs are the parallel tasks of the study, so their local searches are not split among other threads
+			memeConf.setLocalParallelism(1);
+			
+			MemeticOptimizationAlgorithm algorithm =new MemeticOptimizationAlgorithm(problemInstances[cell.problem],memeConf);
+			algorithm.execute();
+			
+			listener.message(memeConf, "best " + memeConf.getPerformance().getIndividual());
+			listener.message(memeConf, "Runs " + (run)+" executed");
+			
+			cell.runCompleted(run, memeConf);
+			progress.runCompleted(cell.problem, cell.configuration);
+			return null;
+		}
 	}
 	
+	
     private void printBestConfiguration(){
     	AlgorithmComponent gc=globalComponents[indexBestGlobalComp];
 		((GlobalSearchOptimizerParameters)gc.getParameters()).setPopulationSize(popSize);
@@ -640,17 +831,17 @@ private void executeThirdStep(){
 
 		String localSelectionScheme=localSchemes[indexBestScheme];
 		
-		JConfiguration.reset();
     	bestConf=new MemeticAlgorithmConfiguration(fitnessFeatures, termination, gc,lc, li, lf, localSelectionScheme);				
+    	bestConf.setListener(listener);
 		
     	//print the best configuration    	
-    	System.out.println(bestConf.toString());
+    	listener.message(bestConf, bestConf);
     	
     	
     	FileUtil.writeFile(new File("CompetentStudy\\BestMemeticConfiguration"+problemInstances[0].getId()+".txt"), bestConf.toString());
     	
     	//save the best configuration in a file
-    	bestConf.save("CompetentStudy\\memeticConfiguration"+problemInstances[0].getId()+".ser");
+    	bestConf.save("CompetentStudy\\memeticConfiguration"+problemInstances[0].getId()+".cfg");
     }
 	
 	
@@ -668,4 +859,70 @@ private void executeThirdStep(){
 	
 
 	
+
+	public AlgorithmListener getListener() {
+		return listener;
+	}
+
+
+	public void setListener(AlgorithmListener listener) {
+		this.listener = listener;
+	}
+	
+	
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Allows to set the maximum number of runs executed at the same time; the listener must be thread-safe when it is greater than 1
+	 * 
+	 * @param parallelism  the maximum number of runs executed at the same time, 1 to execute the runs one after the other;
+	 * a value lower than 1 indicates the number of available processors
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+	
+	
+	public long getSeed() {
+		return seed;
+	}
+
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+	
+	
+	public boolean isRacing() {
+		return racing;
+	}
+
+	/**
+	 * Allows to race the configurations of each step (F-Race): the configurations are executed in rounds of one run on each problem instance,
+	 * and the ones which are significantly worse than the best one are discarded after each round, so that they do not execute all the runs.
+	 * The number of runs of the study is the maximum number of rounds.
+	 * 
+	 * @param racing  true to race the configurations, false to execute all the runs of all the configurations
+	 */
+	public void setRacing(boolean racing) {
+		this.racing = racing;
+	}
+	
+	public double getRaceSignificance() {
+		return raceSignificance;
+	}
+
+	public void setRaceSignificance(double raceSignificance) {
+		this.raceSignificance = raceSignificance;
+	}
+	
+	public int getRaceFirstTest() {
+		return raceFirstTest;
+	}
+
+	public void setRaceFirstTest(int raceFirstTest) {
+		this.raceFirstTest = raceFirstTest;
+	}
+	
 }
@@ -43,12 +43,33 @@ public class AlgorithmFinalConditions extends FinalConditions{
 	 */
 	public static final short FINAL_CONDITION_ITERATION = 8;
 	
+	/**
+	 * Constant representing the following termination criterion: stop the algorithm when a wall-clock time is elapsed 
+	 */
+	public static final short FINAL_CONDITION_WALLTIME = 64;
+	
+	/**
+	 * Constant representing the following termination criterion: stop the algorithm when a CPU time is spent by the thread executing it 
+	 * and by its concurrent tasks; it is checked at every iteration
+	 */
+	public static final short FINAL_CONDITION_CPUTIME = 128;
+	
 	
 	/**
 	 * Stores the number of iterations to be reached to stop the algorithm evolution
 	 */
 	protected int numberIterations;
 	
+	/**
+	 * Stores the wall-clock time in ms to be reached to stop the algorithm if FINAL_CONDITION_WALLTIME is set
+	 */
+	protected long wallTime;
+	
+	/**
+	 * Stores the CPU time in ms to be reached to stop the algorithm if FINAL_CONDITION_CPUTIME is set
+	 */
+	protected long cpuTime;
+	
 	
 	/**
 	 * Constructor 
@@ -56,6 +77,8 @@ public class AlgorithmFinalConditions extends FinalConditions{
 	public AlgorithmFinalConditions(){
 		super();
 		numberIterations=100;
+		wallTime=1000;
+		cpuTime=1000;
 		
 	}
 	
@@ -73,6 +96,23 @@ public class AlgorithmFinalConditions extends FinalConditions{
 		numberIterations = numberOfIterations;
 	}
 	
+	/**
+	 * Constructor 
+	 * 
+	 * @param condition  represent the termination criteria specification
+	 * @param numberOfIterations  the number of iterations to be reached to stop the algorithm
+	 * @param numberOfFitnessEvaluations  the number of fitness evaluations to be reached to stop the algorithm
+	 * @param timesConvergence  the number of times that the best fitness value does not change to be reached to stop the algorithm
+	 * @param fitnessValue  the fitness value to be reached to stop the algorithm
+	 * @param wallTime  the wall-clock time in ms to be reached to stop the algorithm
+	 * @param cpuTime  the CPU time in ms to be reached to stop the algorithm
+	 */ 
+	public AlgorithmFinalConditions(short condition, int numberOfIterations, int numberOfFitnessEvaluations, int timesConvergence, double fitnessValue, long wallTime, long cpuTime) {
+		this(condition, numberOfIterations, numberOfFitnessEvaluations,  timesConvergence,  fitnessValue );
+		this.wallTime = wallTime;
+		this.cpuTime = cpuTime;
+	}
+	
 	
 	
 	/**
@@ -82,12 +122,19 @@ public class AlgorithmFinalConditions extends FinalConditions{
 	 * @param value  integer value representing the number of fitness evaluations if the specified condition is FINAL_CONDITION_FITNESSEVALUATIONS
 	 *               or the number of the times that the best fitness value does not change if the specified condition is FINAL_CONDITION_CONVERGENCE
 	 *               or the number of iterations if the specified condition is FINAL_CONDITION_ITERATION
+	 *               or the time in ms if the specified condition is FINAL_CONDITION_WALLTIME or FINAL_CONDITION_CPUTIME
 	 */
 	public AlgorithmFinalConditions(short condition, int value) {
 		super(condition, value);
 		
 		if (this.condition == FINAL_CONDITION_ITERATION)
 			numberIterations = value;
+		
+		if (this.condition == FINAL_CONDITION_WALLTIME)
+			wallTime = value;
+		
+		if (this.condition == FINAL_CONDITION_CPUTIME)
+			cpuTime = value;
 			
 		
 		
@@ -111,6 +158,7 @@ public class AlgorithmFinalConditions extends FinalConditions{
 	 * @param value1  integer value representing the number of fitness evaluations if the specified condition is FINAL_CONDITION_FITNESSEVALUATIONS
 	 *                or the number of the times that the best fitness value does not change if the specified condition is FINAL_CONDITION_CONVERGENCE
 	 *                or the number of iterations if the specified condition is FINAL_CONDITION_ITERATION
+	 *                or the time in ms if the specified condition is FINAL_CONDITION_WALLTIME or FINAL_CONDITION_CPUTIME
 	 * @param value2  double value representing the fitness value to be reached to stop the algorithm if the specified condition is FINAL_CONDITION_FITNESSVALUE
 	 */
 	public AlgorithmFinalConditions(short condition, int value1, double value2){
@@ -120,22 +168,31 @@ public class AlgorithmFinalConditions extends FinalConditions{
 		if ((this.condition & FINAL_CONDITION_ITERATION) == FINAL_CONDITION_ITERATION)
 			numberIterations = value1;
 		
+		if ((this.condition & FINAL_CONDITION_WALLTIME) == FINAL_CONDITION_WALLTIME)
+			wallTime = value1;
+		
+		if ((this.condition & FINAL_CONDITION_CPUTIME) == FINAL_CONDITION_CPUTIME)
+			cpuTime = value1;
+		
 		
 	}
 	
 
 	/**
-	 * Allows to verify if the termination criteria are achieved
+	 * Allows to verify if the termination criteria are achieved. The execution can also be stopped by cancelling the token of the configuration.
 	 * 
 	 * @param conf the configuration of the algorithm to stop
 	 * @return boolean  true if the specified termination criteria are achieved, false, otherwise
 	 */
 	public boolean verify(JConfiguration conf){
+		if(conf.getCancellationToken().isCancelled())
+			return false;
+		
 		AlgorithmPerformance performance = conf.getPerformance();
 		
-		boolean[] aC=new boolean[4];
+		boolean[] aC=new boolean[6];
 		
-		boolean[] aV=new boolean[4];
+		boolean[] aV=new boolean[6];
 		
 
 		if((condition & FINAL_CONDITION_ITERATION) == FINAL_CONDITION_ITERATION){
@@ -175,8 +232,21 @@ public class AlgorithmFinalConditions extends FinalConditions{
 		
 		
 		
+		if((condition & FINAL_CONDITION_WALLTIME) == FINAL_CONDITION_WALLTIME){
+			aC[4]=true;
+			if(performance.getElapsedNanoTime()<wallTime*1000000L)  
+				aV[4]=true;
+		}
+		
+		if((condition & FINAL_CONDITION_CPUTIME) == FINAL_CONDITION_CPUTIME){
+			aC[5]=true;
+			if(performance.getElapsedCpuTime()<cpuTime*1000000L)  
+				aV[5]=true;
+		}
+		
+		
 		boolean finalValue=true;
-		for(int i=0; i<4;i++)
+		for(int i=0; i<6;i++)
 			if(aC[i]==true)
 				finalValue &=aV[i];
 			
@@ -211,6 +281,14 @@ public class AlgorithmFinalConditions extends FinalConditions{
 			s+="Fitness value " + fitnessValue +"\n";
 		}
 		
+		if((condition & FINAL_CONDITION_WALLTIME) == FINAL_CONDITION_WALLTIME){
+			s+="Wall-clock time in ms " + wallTime +"\n";
+		}
+		
+		if((condition & FINAL_CONDITION_CPUTIME) == FINAL_CONDITION_CPUTIME){
+			s+="CPU time in ms " + cpuTime +"\n";
+		}
+		
 		return s;
 		
 	}
@@ -225,4 +303,44 @@ public class AlgorithmFinalConditions extends FinalConditions{
 		return numberIterations;
 	}
 	
+	
+	/**
+	 * Allows to verify if the budget of the algorithm, i.e. the number of fitness evaluations or the wall-clock time, is exhausted.
+	 * The CPU time is not checked here, since reading it before every fitness evaluation would be costly; it is checked at every iteration by <code>verify</code>
+	 * 
+	 * @param conf  the configuration of the algorithm to stop
+	 * @return  true if the budget is exhausted, false, otherwise
+	 */
+	public boolean checkBudget(JConfiguration conf){
+		if(super.checkBudget(conf))
+			return true;
+		
+		AlgorithmPerformance performance = conf.getPerformance();
+		
+		if((condition & FINAL_CONDITION_WALLTIME) == FINAL_CONDITION_WALLTIME && performance.getElapsedNanoTime()>=wallTime*1000000L)
+			return true;
+		
+		return false;
+	}
+	
+	
+	public long getWallTime() {
+		return wallTime;
+	}
+	
+	
+	public void setWallTime(long wallTime) {
+		this.wallTime = wallTime;
+	}
+	
+	
+	public long getCpuTime() {
+		return cpuTime;
+	}
+	
+	
+	public void setCpuTime(long cpuTime) {
+		this.cpuTime = cpuTime;
+	}
+	
 }
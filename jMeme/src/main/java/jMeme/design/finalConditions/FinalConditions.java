@@ -210,6 +210,20 @@ public abstract class FinalConditions implements Serializable{
 	}
 	
 	
+	/**
+	 * Allows to verify if the budget of the algorithm is exhausted or its execution has been cancelled. The method is invoked before every fitness evaluation,
+	 * so that the budget is honoured also inside long local procedures.
+	 * 
+	 * @param conf  the configuration of the algorithm to stop
+	 * @return  true if the budget is exhausted or the execution has been cancelled, false, otherwise
+	 */
+	public boolean checkBudget(JConfiguration conf){
+		if(conf.getCancellationToken().isCancelled())
+			return true;
+		return checkNumberEvaluations(conf);
+	}
+	
+	
 
 	
 	public int getNumberFitnessEvaluations() {
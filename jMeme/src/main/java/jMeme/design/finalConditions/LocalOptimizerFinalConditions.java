@@ -73,6 +73,9 @@ public class LocalOptimizerFinalConditions extends AlgorithmFinalConditions{
 		
 		signFitness=gc.getSignFitness();
 		
+		wallTime=gc.getWallTime();
+		cpuTime=gc.getCpuTime();
+		
 		numberLocalEvaluations=li.getNumberLocalEvaluations();
 		numberLocalIterations=li.getNumberLocalIterations();
 		
@@ -81,6 +84,32 @@ public class LocalOptimizerFinalConditions extends AlgorithmFinalConditions{
 		condition=(short)(condition1 | condition2);
 	}
 	
+	/**
+	 * Constructor
+	 * 
+	 * Creates a copy of the given termination criteria whose local intensity is scaled by the given factor.
+	 * 
+	 * @param lc  the termination criteria to be copied
+	 * @param scale  the factor applied to the number of local iterations and to the number of local fitness evaluations
+	 */
+	public LocalOptimizerFinalConditions(LocalOptimizerFinalConditions lc, double scale){
+		numberIterations=lc.getNumberIterations();
+		numberFitnessEvaluations=lc.getNumberFitnessEvaluations();
+		
+		timesConvergence=lc.getTimesConvergence();
+		fitnessValue=lc.getFitnessValue();
+		
+		signFitness=lc.getSignFitness();
+		
+		wallTime=lc.getWallTime();
+		cpuTime=lc.getCpuTime();
+		
+		numberLocalEvaluations=Math.max(1, (int)Math.round(lc.getNumberLocalEvaluations()*scale));
+		numberLocalIterations=Math.max(1, (int)Math.round(lc.getNumberLocalIterations()*scale));
+		
+		condition=lc.getCondition();
+	}
+	
 	
 	/**
 	 * Allows to verify if the termination criteria specified for both the memetic algorithm and the nested local search procedure are achieved 
@@ -89,11 +118,21 @@ public class LocalOptimizerFinalConditions extends AlgorithmFinalConditions{
 	 * @return boolean  true if the specified termination criteria are achieved, false, otherwise
 	 */
 	public boolean verify(JConfiguration conf) {
+		return verify(conf, (MemeticAlgorithmPerformance)conf.getPerformance());
+	}
+	
+	
+	/**
+	 * Allows to verify if the termination criteria specified for both the memetic algorithm and the nested local search procedure are achieved,
+	 * when the counters of the local search procedure are kept apart from the performance of the configuration
+	 * 
+	 * @param conf the configuration of the algorithm to stop
+	 * @param performance  the performance containing the counters of the local search procedure
+	 * @return boolean  true if the specified termination criteria are achieved, false, otherwise
+	 */
+	public boolean verify(JConfiguration conf, MemeticAlgorithmPerformance performance) {
 		boolean superValue=super.verify(conf);
 		
-		
-        MemeticAlgorithmPerformance performance = (MemeticAlgorithmPerformance)conf.getPerformance();
-		
 		boolean[] aC=new boolean[2];
 		
 		boolean[] aV=new boolean[2];
@@ -146,4 +185,20 @@ public class LocalOptimizerFinalConditions extends AlgorithmFinalConditions{
 		
 	}
 	
+	public int getNumberLocalEvaluations() {
+		return numberLocalEvaluations;
+	}
+
+	public void setNumberLocalEvaluations(int numberLocalEvaluations) {
+		this.numberLocalEvaluations = numberLocalEvaluations;
+	}
+
+	public int getNumberLocalIterations() {
+		return numberLocalIterations;
+	}
+
+	public void setNumberLocalIterations(int numberLocalIterations) {
+		this.numberLocalIterations = numberLocalIterations;
+	}
+	
 }
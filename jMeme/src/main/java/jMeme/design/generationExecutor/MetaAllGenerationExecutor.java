@@ -46,6 +46,13 @@ public class MetaAllGenerationExecutor extends GenerationExecutor{
 	private static final long serialVersionUID = -4659953609584468531L;
 
 	
+	/**
+	 * Constructor used to rebuild the strategy when a stored configuration is read
+	 */
+	protected MetaAllGenerationExecutor(){
+		super();
+	}
+	
 	/**
 	 * Constructor 
 	 * @param localOptimizer  object that performs the local optimization of individuals of the initial random population
@@ -54,6 +54,13 @@ public class MetaFewGenerationExecutor extends GenerationExecutor{
 	protected double rate;
 	
 	
+	/**
+	 * Constructor used to rebuild the strategy when a stored configuration is read
+	 */
+	protected MetaFewGenerationExecutor(){
+		super();
+	}
+	
 	/**
 	 * Constructor 
 	 * @param localOptimizer  object that performs the local optimization of individuals of the initial random population
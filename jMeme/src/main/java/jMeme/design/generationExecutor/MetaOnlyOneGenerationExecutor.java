@@ -46,6 +46,13 @@ public class MetaOnlyOneGenerationExecutor extends GenerationExecutor{
 	private static final long serialVersionUID = -4282525524102060138L;
 
 	
+	/**
+	 * Constructor used to rebuild the strategy when a stored configuration is read
+	 */
+	protected MetaOnlyOneGenerationExecutor(){
+		super();
+	}
+	
 	/**
 	 * Constructor 
 	 * @param localOptimizer  object that performs the local optimization of individuals of the initial random population
@@ -51,6 +51,13 @@ public class RandomGenerationExecutorWithDefaultChromosomes extends GenerationEx
 	
 	
 	
+	/**
+	 * Constructor used to rebuild the strategy when a stored configuration is read
+	 */
+	protected RandomGenerationExecutorWithDefaultChromosomes(){
+		super();
+	}
+	
 	/**
 	 * Constructor 
 	 * @param prob  the specific problem to solve
@@ -26,6 +26,7 @@
 package jMeme.design.localIntegration;
 
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -42,11 +43,6 @@ public class BestLocalOptimizerExecutor extends LocalOptimizerExecutor{
 
 	
 
-	/**
-	 * Stores the percentage of individuals of the population which has to be undergone to the local improvement
-	 */
-	private  double rate;
-	
 	
 	/**
 	 * Constructor
@@ -85,25 +81,16 @@ public class BestLocalOptimizerExecutor extends LocalOptimizerExecutor{
 			numSelectedIndividual=1;
 		
 		List best=p.getFittestIndividuals(numSelectedIndividual);
-		Individual s=null;
+		List<Individual> selected=new ArrayList<Individual>(best.size());
 		
 		Iterator iter = best.iterator();
 		while(iter.hasNext()){
 			Individual mm= (Individual)iter.next();
 			
-			//inizialize solution
-			localOptimizer.inizializeSolution(mm);
-			
-			System.out.println("initial solution " + mm);
-			
-			localOptimizer.startToSolve();
-			
-			s=(Individual)localOptimizer.getBestSolution();
-			
-			this.replacementStrategy.setModifiedIndex(p.indexOfIndividual(mm));
-			this.replacementStrategy.execute(p,s, localOptimizer.isMaximize());
-			
+			selected.add(mm);
 		}
+		
+		this.improve(p, selected);
 	}
 	
 }
@@ -0,0 +1,336 @@
+/*
+ * LocalBudgetController.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.design.localIntegration;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+import jMeme.core.checkpoint.Checkpointable;
+import jMeme.core.configurations.MemeticAlgorithmConfiguration;
+import jMeme.design.finalConditions.LocalOptimizerFinalConditions;
+
+/**
+ * This class implements a controller which adapts, at each generation, the local intensity and the local frequency of a memetic algorithm.
+ * The controller compares the efficiency of the global and the local phases of the last generations, i.e. the improvement of the best
+ * fitness value per fitness evaluation spent, smoothed by an exponential moving average. When the local phase is more efficient than the
+ * global one, the local intensity and the local frequency are increased by the adaptation factor, otherwise they are decreased, within the given bounds.
+ * The local intensity is expressed as a scale applied to the values of the LocalIntensity of the configuration.
+ */
+public class LocalBudgetController implements Serializable, Checkpointable {
+
+
+	private static final long serialVersionUID = -4213358807395536817L;
+
+	/**
+	 * Constant indicating the default value for the factor used to increase or decrease the local budget
+	 */
+	public static final double ADAPTATION_FACTOR_DEFAULT=1.25;
+	/**
+	 * Constant indicating the default value for the weight of the last generation in the moving average of the efficiencies
+	 */
+	public static final double SMOOTHING_DEFAULT=0.3;
+	/**
+	 * Constant indicating the default value for the minimum scale of the local intensity
+	 */
+	public static final double MIN_INTENSITY_SCALE_DEFAULT=0.25;
+	/**
+	 * Constant indicating the default value for the maximum scale of the local intensity
+	 */
+	public static final double MAX_INTENSITY_SCALE_DEFAULT=4;
+	/**
+	 * Constant indicating the default value for the minimum local frequency
+	 */
+	public static final double MIN_FREQUENCY_DEFAULT=0.05;
+	/**
+	 * Constant indicating the default value for the maximum local frequency
+	 */
+	public static final double MAX_FREQUENCY_DEFAULT=1;
+
+
+	/**
+	 * Stores the factor used to increase or decrease the local budget
+	 */
+	private double adaptationFactor;
+	/**
+	 * Stores the weight of the last generation in the moving average of the efficiencies
+	 */
+	private double smoothing;
+	/**
+	 * Stores the minimum scale of the local intensity
+	 */
+	private double minIntensityScale;
+	/**
+	 * Stores the maximum scale of the local intensity
+	 */
+	private double maxIntensityScale;
+	/**
+	 * Stores the minimum local frequency
+	 */
+	private double minFrequency;
+	/**
+	 * Stores the maximum local frequency
+	 */
+	private double maxFrequency;
+
+	/**
+	 * Stores the current scale of the local intensity
+	 */
+	private double intensityScale;
+	/**
+	 * Stores the current local frequency; a negative value indicates that it must be initialized from the configuration
+	 */
+	private double frequency;
+	/**
+	 * Stores the smoothed improvement per fitness evaluation of the global phase
+	 */
+	private double globalEfficiency;
+	/**
+	 * Stores the smoothed improvement per fitness evaluation of the local phase
+	 */
+	private double localEfficiency;
+	/**
+	 * Stores the number of updates performed since the last reset
+	 */
+	private int updates;
+
+
+
+	/**
+	 * Constructor
+	 *
+	 * Creates a controller whose parameters are set to their default values.
+	 */
+	public LocalBudgetController(){
+		this(ADAPTATION_FACTOR_DEFAULT, SMOOTHING_DEFAULT, MIN_INTENSITY_SCALE_DEFAULT, MAX_INTENSITY_SCALE_DEFAULT, MIN_FREQUENCY_DEFAULT, MAX_FREQUENCY_DEFAULT);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param adaptationFactor  the factor used to increase or decrease the local budget
+	 * @param smoothing  the weight of the last generation in the moving average of the efficiencies
+	 * @param minIntensityScale  the minimum scale of the local intensity
+	 * @param maxIntensityScale  the maximum scale of the local intensity
+	 * @param minFrequency  the minimum local frequency
+	 * @param maxFrequency  the maximum local frequency
+	 */
+	public LocalBudgetController(double adaptationFactor, double smoothing, double minIntensityScale, double maxIntensityScale, double minFrequency, double maxFrequency){
+		this.adaptationFactor=adaptationFactor;
+		this.smoothing=smoothing;
+		this.minIntensityScale=minIntensityScale;
+		this.maxIntensityScale=maxIntensityScale;
+		this.minFrequency=minFrequency;
+		this.maxFrequency=maxFrequency;
+		reset();
+	}
+
+
+	/**
+	 * Allows to set the controller to its initial state
+	 */
+	public void reset(){
+		intensityScale=1;
+		frequency=-1;
+		globalEfficiency=0;
+		localEfficiency=0;
+		updates=0;
+	}
+
+
+	/**
+	 * Allows to write the current budget and the smoothed efficiencies
+	 *
+	 * @param out  the output to write the state to
+	 * @throws IOException  if the state cannot be written
+	 */
+	public void writeState(DataOutput out) throws IOException {
+		out.writeDouble(intensityScale);
+		out.writeDouble(frequency);
+		out.writeDouble(globalEfficiency);
+		out.writeDouble(localEfficiency);
+		out.writeInt(updates);
+	}
+
+
+	/**
+	 * Allows to restore the current budget and the smoothed efficiencies; the budget must be applied again to the algorithm
+	 *
+	 * @param in  the input to read the state from
+	 * @throws IOException  if the state cannot be read
+	 */
+	public void readState(DataInput in) throws IOException {
+		intensityScale=in.readDouble();
+		frequency=in.readDouble();
+		globalEfficiency=in.readDouble();
+		localEfficiency=in.readDouble();
+		updates=in.readInt();
+	}
+
+
+	/**
+	 * Allows to adapt the local budget according to the improvements achieved by the last generation
+	 *
+	 * @param globalImprovement  the improvement of the best fitness value achieved by the global phase
+	 * @param globalEvaluations  the number of fitness evaluations spent by the global phase
+	 * @param localImprovement  the improvement of the best fitness value achieved by the local phase
+	 * @param localEvaluations  the number of fitness evaluations spent by the local phase
+	 */
+	public void update(double globalImprovement, int globalEvaluations, double localImprovement, int localEvaluations){
+		double g=efficiency(globalImprovement, globalEvaluations);
+		double l=efficiency(localImprovement, localEvaluations);
+
+		if(updates==0){
+			globalEfficiency=g;
+			localEfficiency=l;
+		}
+		else{
+			globalEfficiency+=smoothing*(g-globalEfficiency);
+			localEfficiency+=smoothing*(l-localEfficiency);
+		}
+		updates++;
+
+		//the budget is not changed while neither phase improves
+		if(localEfficiency>globalEfficiency){
+			intensityScale=Math.min(maxIntensityScale, intensityScale*adaptationFactor);
+			if(frequency>=0)
+				frequency=Math.min(maxFrequency, frequency*adaptationFactor);
+		}
+		else if(localEfficiency<globalEfficiency){
+			intensityScale=Math.max(minIntensityScale, intensityScale/adaptationFactor);
+			if(frequency>=0)
+				frequency=Math.max(minFrequency, frequency/adaptationFactor);
+		}
+
+	}
+
+
+	private double efficiency(double improvement, int evaluations){
+		if(!(improvement>0) || evaluations<1)
+			return 0;
+		return improvement/evaluations;
+	}
+
+
+	/**
+	 * Allows to apply the current local budget to the termination criteria of the local search algorithm and to the local optimizer executor
+	 *
+	 * @param conf  the configuration of the memetic algorithm
+	 * @param executor  the local optimizer executor of the memetic algorithm
+	 */
+	public void apply(MemeticAlgorithmConfiguration conf, LocalOptimizerExecutor executor){
+		if(frequency<0)
+			frequency=conf.getFrequencyPercentage().getFrequency();
+
+		LocalIntensity intensity=conf.getLocalIntensity();
+		LocalOptimizerFinalConditions conditions=conf.getLocalFinalConditions();
+		conditions.setNumberLocalEvaluations(scale(intensity.getNumberLocalEvaluations()));
+		conditions.setNumberLocalIterations(scale(intensity.getNumberLocalIterations()));
+
+		executor.setRate(frequency);
+	}
+
+
+	private int scale(int value){
+		return Math.max(1, (int)Math.round(value*intensityScale));
+	}
+
+
+	/**
+	 * @return string representation of the current local budget
+	 */
+	public String toString(){
+		return "Local intensity scale: " + intensityScale + ", local frequency: " + frequency;
+	}
+
+
+
+	public double getIntensityScale() {
+		return intensityScale;
+	}
+
+	public double getFrequency() {
+		return frequency;
+	}
+
+	public double getGlobalEfficiency() {
+		return globalEfficiency;
+	}
+
+	public double getLocalEfficiency() {
+		return localEfficiency;
+	}
+
+	public double getAdaptationFactor() {
+		return adaptationFactor;
+	}
+
+	public void setAdaptationFactor(double adaptationFactor) {
+		this.adaptationFactor = adaptationFactor;
+	}
+
+	public double getSmoothing() {
+		return smoothing;
+	}
+
+	public void setSmoothing(double smoothing) {
+		this.smoothing = smoothing;
+	}
+
+	public double getMinIntensityScale() {
+		return minIntensityScale;
+	}
+
+	public void setMinIntensityScale(double minIntensityScale) {
+		this.minIntensityScale = minIntensityScale;
+	}
+
+	public double getMaxIntensityScale() {
+		return maxIntensityScale;
+	}
+
+	public void setMaxIntensityScale(double maxIntensityScale) {
+		this.maxIntensityScale = maxIntensityScale;
+	}
+
+	public double getMinFrequency() {
+		return minFrequency;
+	}
+
+	public void setMinFrequency(double minFrequency) {
+		this.minFrequency = minFrequency;
+	}
+
+	public double getMaxFrequency() {
+		return maxFrequency;
+	}
+
+	public void setMaxFrequency(double maxFrequency) {
+		this.maxFrequency = maxFrequency;
+	}
+
+}
@@ -26,10 +26,25 @@
 
 package jMeme.design.localIntegration;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.jgap.RandomGenerator;
+
 import jMeme.core.JPopulation;
+import jMeme.core.checkpoint.CheckpointableRandomGenerator;
+import jMeme.core.configurations.MemeticAlgorithmConfiguration;
+import jMeme.core.individuals.Individual;
+import jMeme.design.finalConditions.LocalOptimizerFinalConditions;
 import jMeme.design.replacementStrategy.ReplacementStrategy;
 import jMeme.design.replacementStrategy.WorstReplacementStrategy;
 import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
+import jMeme.performances.AlgorithmPerformance;
+import jMeme.performances.MemeticAlgorithmPerformance;
+import jMeme.performances.jfr.LocalSearchEvent;
+import jMeme.performances.metrics.AlgorithmMetrics;
+import jMeme.utils.ParallelUtil;
 
 
 /**
@@ -38,6 +53,9 @@ import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
  *  and a replacement strategy aimed at specifying how the improved individuals must be introduced in the population. 
  *  The class declares an abstract method called <code>execute</code>, which 
  *  defines the behavior of the local optimizer executor.
+ *  The selected individuals can be improved concurrently: in this case, every individual is improved by its own instance
+ *  of the local optimizer, whose counters are kept apart and merged at the end, and the improved individuals are introduced
+ *  in the population in the order of selection once all the local procedures are completed.
  */
 public abstract class LocalOptimizerExecutor {
 
@@ -76,6 +94,25 @@ public abstract class LocalOptimizerExecutor {
 	 * to introduce the improved individuals in the population
 	 */
 	protected ReplacementStrategy replacementStrategy;
+	/**
+	 * Stores the number of threads used to improve the selected individuals; 1 indicates that they are improved sequentially
+	 * by the local search optimizer of the executor
+	 */
+	protected int parallelism;
+	/**
+	 * Stores the portfolio choosing the local search optimizer to apply on each individual; null indicates that the
+	 * local search optimizer of the executor is always applied
+	 */
+	protected LocalOptimizerPortfolio portfolio;
+	/**
+	 * Stores the percentage of individuals of the population which has to be undergone to the local improvement
+	 */
+	protected double rate;
+	/**
+	 * Stores the archive of the refined points used to skip, or to refine with a reduced local intensity, the individuals
+	 * close to an already refined point; null indicates that all the selected individuals are fully refined
+	 */
+	protected LocalOptimumArchive archive;
 	
 	
 	/**
@@ -86,6 +123,7 @@ public abstract class LocalOptimizerExecutor {
 	public LocalOptimizerExecutor(LocalSearchOptimizer localOptimizer){
 		this.localOptimizer=localOptimizer;
 		replacementStrategy=new WorstReplacementStrategy();
+		parallelism=1;
 	}
 	
 	/**
@@ -97,6 +135,7 @@ public abstract class LocalOptimizerExecutor {
 	public LocalOptimizerExecutor(LocalSearchOptimizer localOptimizer, ReplacementStrategy strategy){
 		this.localOptimizer=localOptimizer;
 		replacementStrategy=strategy;
+		parallelism=1;
 	}
 	
 	/**
@@ -106,6 +145,205 @@ public abstract class LocalOptimizerExecutor {
 	public abstract void execute(JPopulation p);
 	
 	
+	/**
+	 * Allows to execute the local improvement procedure on the selected individuals and to introduce the improved individuals in the population.
+	 * When the parallelism is greater than 1 and the local optimizer belongs to a memetic algorithm, the individuals are improved concurrently;
+	 * each concurrent refinement draws from its own random generator, seeded by the generator of the configuration in the order of selection.
+	 * When a portfolio is set, the local optimizer applied to each individual is chosen by the portfolio, which is rewarded with
+	 * the improvement of the fitness value per fitness evaluation spent.
+	 * When an archive is set, the individuals close to an already refined point are skipped, or refined with a reduced local intensity,
+	 * and every refinement is stored in the archive.
+	 * 
+	 * @param p  the population containing the selected individuals
+	 * @param selected  the individuals to be improved
+	 */
+	protected void improve(JPopulation p, List<Individual> selected){
+		
+		boolean adaptive=portfolio!=null && localOptimizer.getConfiguration().isMemeticConfig();
+		boolean archived=archive!=null && localOptimizer.getConfiguration().isMemeticConfig();
+		
+		double[] scales=null;
+		if(archived){
+			MemeticAlgorithmPerformance performance=(MemeticAlgorithmPerformance)localOptimizer.getConfiguration().getPerformance();
+			List<Individual> candidates=new ArrayList<Individual>(selected.size());
+			scales=new double[selected.size()];
+			for(Individual mm : selected){
+				double scale=archive.check(mm);
+				performance.updateArchiveStatistics(scale<1, scale==0);
+				if(scale==0)
+					performance.getMetrics().recordCacheHit();
+				if(scale>0){
+					scales[candidates.size()]=scale;
+					candidates.add(mm);
+				}
+			}
+			selected=candidates;
+		}
+		
+		if(!adaptive && (parallelism==1 || selected.size()<2 || !isReplicable())){
+			for(int i=0;i<selected.size();i++){
+				Individual mm=selected.get(i);
+				//initialize solution
+				localOptimizer.inizializeSolution(mm);
+				
+				localOptimizer.setLocalFinalConditions(reducedFinalConditions(scales, i));
+				LocalSearchEvent event=new LocalSearchEvent();
+				event.begin();
+				localOptimizer.startToSolve();
+				localOptimizer.setLocalFinalConditions(null);
+				event.emit(localOptimizer, mm.getFitnessValueDirectly(), localOptimizer.getBestSolution().getFitnessValueDirectly(),
+						localOptimizer.getIterations(), localOptimizer.getNumberOfEvaluations());
+				localOptimizer.notifyRefinement(mm);
+				
+				if(archived)
+					archive.record(mm, localOptimizer.getBestSolution());
+				
+				replace(p, mm, localOptimizer.getBestSolution());
+			}
+			return;
+		}
+		
+		MemeticAlgorithmConfiguration conf=(MemeticAlgorithmConfiguration)localOptimizer.getConfiguration();
+		
+		//the local optimizers and the seeds of the tasks are chosen before starting the tasks, so that they do not depend on their scheduling
+		int[] arms=new int[selected.size()];
+		List<LocalTask> tasks=new ArrayList<LocalTask>(selected.size());
+		for(int i=0;i<selected.size();i++){
+			if(adaptive){
+				arms[i]=portfolio.select(conf.getRandomGenerator());
+				tasks.add(new LocalTask(conf.getLocalMethod(portfolio.getComponent(arms[i])), selected.get(i), conf.getRandomGenerator().nextLong()));
+			}
+			else
+				tasks.add(new LocalTask(conf.getLocalMethod(), selected.get(i), conf.getRandomGenerator().nextLong()));
+			tasks.get(i).optimizer.setLocalFinalConditions(reducedFinalConditions(scales, i));
+		}
+		
+		List<Individual> improved=ParallelUtil.invokeAll(tasks, parallelism);
+		
+		//the improved individuals are introduced in the order of selection; as after a sequential execution,
+		//the running counters are the ones of the last refinement
+		MemeticAlgorithmPerformance performance=(MemeticAlgorithmPerformance)conf.getPerformance();
+		performance.runningReset();
+		if(!tasks.isEmpty())
+			performance.mergeLocalPerformance(tasks.get(tasks.size()-1).optimizer.getLocalPerformance());
+		for(int i=0;i<selected.size();i++){
+			MemeticAlgorithmPerformance local=tasks.get(i).optimizer.getLocalPerformance();
+			
+			if(adaptive){
+				double reward=computeReward(selected.get(i), improved.get(i), local.getNumberLocalEvaluations());
+				portfolio.reward(arms[i], reward);
+				performance.updateLocalOptimizerStatistics(portfolio.getComponent(arms[i]).getId(), reward);
+			}
+			
+			if(archived)
+				archive.record(selected.get(i), improved.get(i));
+			
+			replace(p, selected.get(i), improved.get(i));
+		}
+	}
+	
+	
+	/**
+	 * Allows to compute the reward of a refinement, i.e. the improvement of the fitness value per fitness evaluation spent
+	 * 
+	 * @param original  the individual before the refinement
+	 * @param improved  the individual after the refinement
+	 * @param evaluations  the number of fitness evaluations spent by the refinement
+	 * @return  the reward of the refinement, 0 if the individual has not been improved
+	 */
+	private double computeReward(Individual original, Individual improved, int evaluations){
+		double improvement=improved.getFitnessValue()-original.getFitnessValue();
+		if(!localOptimizer.isMaximize())
+			improvement=-improvement;
+		if(!(improvement>0))
+			return 0;
+		return improvement/Math.max(1, evaluations);
+	}
+	
+	
+	/**
+	 * Allows to get the termination criteria of a refinement whose local intensity is reduced
+	 * 
+	 * @param scales  the factors applied to the local intensity of the refinements, null if no refinement is reduced
+	 * @param i  the index of the refinement
+	 * @return  the reduced termination criteria, or null if the local intensity of the refinement is not reduced
+	 */
+	private LocalOptimizerFinalConditions reducedFinalConditions(double[] scales, int i){
+		if(scales==null || scales[i]>=1)
+			return null;
+		MemeticAlgorithmConfiguration conf=(MemeticAlgorithmConfiguration)localOptimizer.getConfiguration();
+		return new LocalOptimizerFinalConditions(conf.getLocalFinalConditions(), scales[i]);
+	}
+	
+	
+	/**
+	 * Allows to know if the local optimizer can be replicated by means of the configuration of the memetic algorithm
+	 * 
+	 * @return true if the configuration creates local optimizers of the same class of the one of the executor, false otherwise
+	 */
+	private boolean isReplicable(){
+		if(!localOptimizer.getConfiguration().isMemeticConfig())
+			return false;
+		MemeticAlgorithmConfiguration conf=(MemeticAlgorithmConfiguration)localOptimizer.getConfiguration();
+		return localOptimizer.getClass().getName().equals(conf.getLocalComponent().getOptimizerName());
+	}
+	
+	
+	private void replace(JPopulation p, Individual original, Individual improved){
+		long start=System.nanoTime();
+		this.replacementStrategy.setModifiedIndex(p.indexOfIndividual(original));
+		this.replacementStrategy.execute(p, improved, localOptimizer.isMaximize());
+		localOptimizer.getConfiguration().getPerformance().getMetrics().record(AlgorithmMetrics.REPLACEMENT, System.nanoTime()-start);
+	}
+	
+	
+	/**
+	 * This class represents the improvement of an individual by an instance of the local optimizer whose counters are kept apart
+	 */
+	private static class LocalTask implements Callable<Individual> {
+		
+		/**
+		 * Stores the local optimizer owned by the task
+		 */
+		LocalSearchOptimizer optimizer;
+		/**
+		 * Stores the individual to be improved
+		 */
+		Individual individual;
+		/**
+		 * Stores the random generator owned by the task
+		 */
+		RandomGenerator generator;
+		
+		
+		LocalTask(LocalSearchOptimizer optimizer, Individual individual, long seed){
+			this.optimizer=optimizer;
+			this.individual=individual;
+			generator=new CheckpointableRandomGenerator(seed);
+			optimizer.setLocalPerformance(new MemeticAlgorithmPerformance());
+		}
+		
+		
+		public Individual call() {
+			AlgorithmPerformance previous=AlgorithmPerformance.setLocalCounter(optimizer.getLocalPerformance());
+			RandomGenerator previousGenerator=optimizer.getConfiguration().setLocalRandomGenerator(generator);
+			try {
+				optimizer.inizializeSolution(individual);
+				LocalSearchEvent event=new LocalSearchEvent();
+				event.begin();
+				optimizer.startToSolve();
+				event.emit(optimizer, individual.getFitnessValueDirectly(), optimizer.getBestSolution().getFitnessValueDirectly(),
+						optimizer.getIterations(), optimizer.getNumberOfEvaluations());
+				optimizer.notifyRefinement(individual);
+				return optimizer.getBestSolution();
+			} finally {
+				optimizer.getConfiguration().setLocalRandomGenerator(previousGenerator);
+				AlgorithmPerformance.setLocalCounter(previous);
+			}
+		}
+	}
+	
+	
 	public ReplacementStrategy getReplacementStrategy() {
 		return replacementStrategy;
 	}
@@ -124,6 +362,48 @@ public abstract class LocalOptimizerExecutor {
 	public void setLocalOptimizer(LocalSearchOptimizer metaH) {
 		this.localOptimizer = metaH;
 	}
+	
+	
+	public double getRate() {
+		return rate;
+	}
+	
+	
+	public void setRate(double rate) {
+		this.rate = rate;
+	}
+	
+	
+	public LocalOptimizerPortfolio getPortfolio() {
+		return portfolio;
+	}
+	
+	
+	public void setPortfolio(LocalOptimizerPortfolio portfolio) {
+		this.portfolio = portfolio;
+	}
+	
+	
+	public LocalOptimumArchive getArchive() {
+		return archive;
+	}
+	
+	
+	public void setArchive(LocalOptimumArchive archive) {
+		this.archive = archive;
+	}
+	
+	
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	
+	
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
 
 	
 	
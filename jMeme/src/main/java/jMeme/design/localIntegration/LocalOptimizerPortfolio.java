@@ -0,0 +1,387 @@
+/*
+ * LocalOptimizerPortfolio.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.design.localIntegration;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+
+import org.jgap.RandomGenerator;
+
+import jMeme.core.AlgorithmComponent;
+import jMeme.core.checkpoint.Checkpointable;
+
+/**
+ * This class implements a portfolio of local search algorithms among which the local optimizer executors choose, for each refinement,
+ * the algorithm to apply (meta-Lamarckian learning). The choice is performed by a multi-armed bandit whose reward is the improvement of
+ * the fitness value per fitness evaluation spent by the local search algorithm. Two bandits are available:
+ * UCB1, see P. Auer, N. Cesa-Bianchi and P. Fischer, "Finite-time analysis of the multiarmed bandit problem", Machine Learning, Vol. 47, 2002, pp. 235-256;
+ * Adaptive Pursuit, see D. Thierens, "An adaptive pursuit strategy for allocating operator probabilities", GECCO 2005, pp. 1539-1546.
+ * The rewards are normalized with respect to the highest reward received so far, so that they lie in [0,1] whatever the scale of the fitness function.
+ */
+public class LocalOptimizerPortfolio implements Serializable, Checkpointable {
+
+
+	private static final long serialVersionUID = 3405871294472153082L;
+
+	/**
+	 * Constant indicating UCB1 as the strategy to choose the local search algorithm
+	 */
+	public static final String UCB1="UCB1";
+	/**
+	 * Constant indicating Adaptive Pursuit as the strategy to choose the local search algorithm
+	 */
+	public static final String ADAPTIVE_PURSUIT="AdaptivePursuit";
+
+	/**
+	 * Constant indicating the default value for the exploration factor of UCB1
+	 */
+	public static final double EXPLORATION_DEFAULT=Math.sqrt(2);
+	/**
+	 * Constant indicating the default value for the adaptation rate of the reward estimates of Adaptive Pursuit
+	 */
+	public static final double ALPHA_DEFAULT=0.8;
+	/**
+	 * Constant indicating the default value for the learning rate of the probabilities of Adaptive Pursuit
+	 */
+	public static final double BETA_DEFAULT=0.8;
+	/**
+	 * Constant indicating the default value for the minimum probability of choosing an algorithm in Adaptive Pursuit, divided by the number of algorithms
+	 */
+	public static final double MINIMUM_PROBABILITY_DEFAULT=0.2;
+
+
+	/**
+	 * Stores the local search algorithms of the portfolio
+	 */
+	private AlgorithmComponent[] components;
+	/**
+	 * Stores the strategy used to choose the local search algorithm. This can be UCB1 or ADAPTIVE_PURSUIT
+	 */
+	private String strategy;
+	/**
+	 * Stores the exploration factor of UCB1
+	 */
+	private double exploration;
+	/**
+	 * Stores the adaptation rate of the reward estimates of Adaptive Pursuit
+	 */
+	private double alpha;
+	/**
+	 * Stores the learning rate of the probabilities of Adaptive Pursuit
+	 */
+	private double beta;
+	/**
+	 * Stores the minimum probability of choosing an algorithm in Adaptive Pursuit, divided by the number of algorithms
+	 */
+	private double minimumProbability;
+
+	/**
+	 * Stores the number of times each algorithm has been chosen
+	 */
+	private int[] uses;
+	/**
+	 * Stores the number of rewards received by each algorithm
+	 */
+	private int[] rewarded;
+	/**
+	 * Stores the sum of the rewards received by each algorithm
+	 */
+	private double[] rewardSums;
+	/**
+	 * Stores the reward estimates of Adaptive Pursuit
+	 */
+	private double[] estimates;
+	/**
+	 * Stores the probabilities of choosing each algorithm in Adaptive Pursuit
+	 */
+	private double[] probabilities;
+	/**
+	 * Stores the highest reward received so far, used to normalize the rewards
+	 */
+	private double maxReward;
+
+
+
+	/**
+	 * Constructor
+	 *
+	 * Creates a portfolio which chooses the local search algorithm by means of UCB1.
+	 *
+	 * @param components  the local search algorithms of the portfolio
+	 */
+	public LocalOptimizerPortfolio(List<AlgorithmComponent> components){
+		this(components, UCB1);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param components  the local search algorithms of the portfolio
+	 * @param strategy  the strategy used to choose the local search algorithm: UCB1 or ADAPTIVE_PURSUIT
+	 */
+	public LocalOptimizerPortfolio(List<AlgorithmComponent> components, String strategy){
+		this.components=components.toArray(new AlgorithmComponent[components.size()]);
+		this.strategy=strategy;
+		exploration=EXPLORATION_DEFAULT;
+		alpha=ALPHA_DEFAULT;
+		beta=BETA_DEFAULT;
+		minimumProbability=MINIMUM_PROBABILITY_DEFAULT;
+		reset();
+	}
+
+
+	/**
+	 * Allows to forget the choices and the rewards of the previous executions
+	 */
+	public synchronized void reset(){
+		int k=components.length;
+		uses=new int[k];
+		rewarded=new int[k];
+		rewardSums=new double[k];
+		estimates=new double[k];
+		probabilities=new double[k];
+		for(int i=0;i<k;i++)
+			probabilities[i]=1.0/k;
+		maxReward=0;
+	}
+
+
+	/**
+	 * Allows to write the statistics of the bandit
+	 *
+	 * @param out  the output to write the state to
+	 * @throws IOException  if the state cannot be written
+	 */
+	public synchronized void writeState(DataOutput out) throws IOException {
+		out.writeInt(components.length);
+		for(int i=0;i<components.length;i++){
+			out.writeInt(uses[i]);
+			out.writeInt(rewarded[i]);
+			out.writeDouble(rewardSums[i]);
+			out.writeDouble(estimates[i]);
+			out.writeDouble(probabilities[i]);
+		}
+		out.writeDouble(maxReward);
+	}
+
+
+	/**
+	 * Allows to restore the statistics of the bandit
+	 *
+	 * @param in  the input to read the state from
+	 * @throws IOException  if the state cannot be read or it has been saved by a portfolio with a different number of algorithms
+	 */
+	public synchronized void readState(DataInput in) throws IOException {
+		int k=in.readInt();
+		if(k!=components.length)
+			throw new IOException("The checkpoint contains a portfolio of " + k + " algorithms instead of " + components.length);
+		reset();
+		for(int i=0;i<k;i++){
+			uses[i]=in.readInt();
+			rewarded[i]=in.readInt();
+			rewardSums[i]=in.readDouble();
+			estimates[i]=in.readDouble();
+			probabilities[i]=in.readDouble();
+		}
+		maxReward=in.readDouble();
+	}
+
+
+	/**
+	 * Allows to choose the local search algorithm to apply for a refinement. The choice is counted immediately, so that
+	 * several refinements can be chosen before their rewards are known.
+	 *
+	 * @param generator  the generator used by the random choices
+	 * @return  the index of the chosen algorithm
+	 */
+	public synchronized int select(RandomGenerator generator){
+		int arm=ADAPTIVE_PURSUIT.equals(strategy) ? selectByPursuit(generator) : selectByUCB();
+		uses[arm]++;
+		return arm;
+	}
+
+
+	private int selectByUCB(){
+		int total=0;
+		for(int i=0;i<components.length;i++){
+			//every algorithm is tried once before the bounds are used
+			if(uses[i]==0)
+				return i;
+			total+=uses[i];
+		}
+
+		int best=0;
+		double bestBound=-1;
+		for(int i=0;i<components.length;i++){
+			double bound=normalizedMean(i)+exploration*Math.sqrt(Math.log(total)/uses[i]);
+			if(bound>bestBound){
+				bestBound=bound;
+				best=i;
+			}
+		}
+		return best;
+	}
+
+
+	private int selectByPursuit(RandomGenerator generator){
+		double r=generator.nextDouble();
+		double cumulative=0;
+		for(int i=0;i<components.length-1;i++){
+			cumulative+=probabilities[i];
+			if(r<cumulative)
+				return i;
+		}
+		return components.length-1;
+	}
+
+
+	/**
+	 * Allows to assign the reward of a refinement to the algorithm which has performed it
+	 *
+	 * @param arm  the index of the algorithm
+	 * @param reward  the improvement of the fitness value per fitness evaluation spent; negative values are considered as 0
+	 */
+	public synchronized void reward(int arm, double reward){
+		if(!(reward>0))
+			reward=0;
+		if(reward>maxReward)
+			maxReward=reward;
+
+		rewarded[arm]++;
+		rewardSums[arm]+=reward;
+
+		if(ADAPTIVE_PURSUIT.equals(strategy))
+			pursue(arm, reward);
+	}
+
+
+	private void pursue(int arm, double reward){
+		int k=components.length;
+		double normalized=maxReward>0 ? reward/maxReward : 0;
+		estimates[arm]+=alpha*(normalized-estimates[arm]);
+
+		int best=0;
+		for(int i=1;i<k;i++)
+			if(estimates[i]>estimates[best])
+				best=i;
+
+		double pMin=minimumProbability/k;
+		double pMax=1-(k-1)*pMin;
+		for(int i=0;i<k;i++){
+			if(i==best)
+				probabilities[i]+=beta*(pMax-probabilities[i]);
+			else
+				probabilities[i]+=beta*(pMin-probabilities[i]);
+		}
+	}
+
+
+	private double normalizedMean(int arm){
+		if(rewarded[arm]==0 || maxReward==0)
+			return 0;
+		return rewardSums[arm]/rewarded[arm]/maxReward;
+	}
+
+
+	/**
+	 * Allows to get the average reward received by an algorithm
+	 *
+	 * @param arm  the index of the algorithm
+	 * @return  the average of the rewards received by the algorithm, 0 if it has not been rewarded yet
+	 */
+	public synchronized double getAverageReward(int arm){
+		return rewarded[arm]==0 ? 0 : rewardSums[arm]/rewarded[arm];
+	}
+
+
+	/**
+	 * @return string representation of the portfolio
+	 */
+	public String toString(){
+		String s="Local portfolio (" + strategy + "):";
+		for(int i=0;i<components.length;i++)
+			s+=" " + components[i].getId();
+		return s;
+	}
+
+
+
+	public AlgorithmComponent getComponent(int arm) {
+		return components[arm];
+	}
+
+	public int size() {
+		return components.length;
+	}
+
+	public synchronized int getUses(int arm) {
+		return uses[arm];
+	}
+
+	public String getStrategy() {
+		return strategy;
+	}
+
+	public void setStrategy(String strategy) {
+		this.strategy = strategy;
+	}
+
+	public double getExploration() {
+		return exploration;
+	}
+
+	public void setExploration(double exploration) {
+		this.exploration = exploration;
+	}
+
+	public double getAlpha() {
+		return alpha;
+	}
+
+	public void setAlpha(double alpha) {
+		this.alpha = alpha;
+	}
+
+	public double getBeta() {
+		return beta;
+	}
+
+	public void setBeta(double beta) {
+		this.beta = beta;
+	}
+
+	public double getMinimumProbability() {
+		return minimumProbability;
+	}
+
+	public void setMinimumProbability(double minimumProbability) {
+		this.minimumProbability = minimumProbability;
+	}
+
+}
@@ -0,0 +1,284 @@
+/*
+ * LocalOptimumArchive.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.design.localIntegration;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+
+import jMeme.core.checkpoint.Checkpointable;
+import jMeme.core.individuals.Individual;
+import jMeme.core.individuals.IndividualComponent;
+import jMeme.utils.JGapExtension;
+import jMeme.utils.KDTree;
+
+/**
+ * This class implements an archive of the basins already explored by the local search algorithm. For each refinement, the archive stores
+ * the starting point and the achieved local optimum in a k-d tree, so that a new candidate close to an already refined point is recognized
+ * in logarithmic expected time. Such a candidate is not refined again (SKIP mode) or it is refined with a reduced local intensity (REDUCE mode).
+ * The distances are computed in the search space normalized by the bounds of the genes and divided by the square root of the number of genes,
+ * so that the radius is a fraction of the diagonal of the search space. The archive can be used only with real-coded individuals.
+ */
+public class LocalOptimumArchive implements Serializable, Checkpointable {
+
+
+	private static final long serialVersionUID = -1682350479260936287L;
+
+	/**
+	 * Constant indicating that the candidates close to an already refined point are not refined
+	 */
+	public static final String SKIP="Skip";
+	/**
+	 * Constant indicating that the candidates close to an already refined point are refined with a reduced local intensity
+	 */
+	public static final String REDUCE="Reduce";
+
+	/**
+	 * Constant indicating the default value for the radius, as a fraction of the diagonal of the search space
+	 */
+	public static final double RADIUS_DEFAULT=0.001;
+	/**
+	 * Constant indicating the default value for the factor applied to the local intensity in REDUCE mode
+	 */
+	public static final double REDUCTION_DEFAULT=0.25;
+
+
+	/**
+	 * Stores the behavior for the candidates close to an already refined point. This can be SKIP or REDUCE
+	 */
+	private String mode;
+	/**
+	 * Stores the radius, as a fraction of the diagonal of the search space
+	 */
+	private double radius;
+	/**
+	 * Stores the factor applied to the local intensity in REDUCE mode
+	 */
+	private double reduction;
+
+	/**
+	 * Stores the refined points
+	 */
+	private KDTree tree;
+	/**
+	 * Stores the lower bounds of the genes used to normalize the points
+	 */
+	private double[] lower;
+	/**
+	 * Stores the widths of the domains of the genes used to normalize the points
+	 */
+	private double[] width;
+
+
+
+	/**
+	 * Constructor
+	 *
+	 * Creates an archive in SKIP mode with the default radius.
+	 */
+	public LocalOptimumArchive(){
+		this(SKIP, RADIUS_DEFAULT, REDUCTION_DEFAULT);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param mode  the behavior for the candidates close to an already refined point. This can be SKIP or REDUCE
+	 * @param radius  the radius, as a fraction of the diagonal of the search space
+	 * @param reduction  the factor applied to the local intensity in REDUCE mode
+	 */
+	public LocalOptimumArchive(String mode, double radius, double reduction){
+		if(!SKIP.equals(mode) && !REDUCE.equals(mode))
+			throw new IllegalArgumentException("Unknown archive mode " + mode);
+		this.mode=mode;
+		this.radius=radius;
+		this.reduction=reduction;
+		tree=new KDTree();
+	}
+
+
+	/**
+	 * Allows to know the fraction of the local intensity to be spent to refine a candidate
+	 *
+	 * @param candidate  the individual to be refined
+	 * @return  1 if the candidate is not close to any refined point, otherwise 0 in SKIP mode and the reduction factor in REDUCE mode
+	 */
+	public synchronized double check(Individual candidate){
+		double[] point=normalize(candidate);
+		if(point==null || !tree.containsWithin(point, radius*Math.sqrt(point.length)))
+			return 1;
+		return SKIP.equals(mode) ? 0 : reduction;
+	}
+
+
+	/**
+	 * Allows to store a refinement
+	 *
+	 * @param start  the individual from which the refinement started
+	 * @param result  the individual achieved by the refinement
+	 */
+	public synchronized void record(Individual start, Individual result){
+		double[] p1=normalize(start);
+		double[] p2=normalize(result);
+		if(p1!=null)
+			tree.insert(p1);
+		if(p2!=null)
+			tree.insert(p2);
+	}
+
+
+	/**
+	 * Allows to remove all the refined points, e.g. before a new run
+	 */
+	public synchronized void reset(){
+		tree.clear();
+		lower=null;
+		width=null;
+	}
+
+
+	/**
+	 * Allows to write the refined points and the normalization of the search space
+	 *
+	 * @param out  the output where the state is written
+	 * @throws IOException  if the state cannot be written
+	 */
+	public synchronized void writeState(DataOutput out) throws IOException{
+		writeArray(out, lower);
+		writeArray(out, width);
+		List<double[]> points=tree.getPoints();
+		out.writeInt(points.size());
+		for(double[] point: points)
+			writeArray(out, point);
+	}
+
+
+	/**
+	 * Allows to restore the refined points and the normalization of the search space
+	 *
+	 * @param in  the input from which the state is read
+	 * @throws IOException  if the state cannot be read
+	 */
+	public synchronized void readState(DataInput in) throws IOException{
+		reset();
+		lower=readArray(in);
+		width=readArray(in);
+		int size=in.readInt();
+		for(int i=0;i<size;i++)
+			tree.insert(readArray(in));
+	}
+
+
+	private static void writeArray(DataOutput out, double[] array) throws IOException{
+		if(array==null){
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(array.length);
+		for(int i=0;i<array.length;i++)
+			out.writeDouble(array[i]);
+	}
+
+
+	private static double[] readArray(DataInput in) throws IOException{
+		int length=in.readInt();
+		if(length<0)
+			return null;
+		double[] array=new double[length];
+		for(int i=0;i<length;i++)
+			array[i]=in.readDouble();
+		return array;
+	}
+
+
+	/**
+	 * Allows to map an individual in the normalized search space
+	 *
+	 * @param s  the individual
+	 * @return  the normalized point, or null if the individual is not real-coded
+	 */
+	private double[] normalize(Individual s){
+		IndividualComponent[] genes=s.getIndividualComponents();
+		for(int i=0;i<genes.length;i++)
+			if(!(genes[i].getValue() instanceof Double))
+				return null;
+
+		if(lower==null){
+			lower=JGapExtension.doubleLowerBounds(s);
+			double[] upper=JGapExtension.doubleUpperBounds(s);
+			width=new double[genes.length];
+			for(int i=0;i<genes.length;i++){
+				width[i]=upper[i]-lower[i];
+				//the genes without bounds are not normalized
+				if(Double.isInfinite(width[i]) || !(width[i]>0)){
+					lower[i]=0;
+					width[i]=1;
+				}
+			}
+		}
+
+		double[] point=JGapExtension.doubleChromosomeToArray(s);
+		for(int i=0;i<point.length;i++)
+			point[i]=(point[i]-lower[i])/width[i];
+		return point;
+	}
+
+
+	/**
+	 * @return  string representation of the archive
+	 */
+	public String toString(){
+		return "Local optimum archive: mode " + mode + ", radius " + radius + (REDUCE.equals(mode) ? ", reduction " + reduction : "");
+	}
+
+
+	public String getMode() {
+		return mode;
+	}
+
+	public double getRadius() {
+		return radius;
+	}
+
+	public void setRadius(double radius) {
+		this.radius = radius;
+	}
+
+	public double getReduction() {
+		return reduction;
+	}
+
+	public void setReduction(double reduction) {
+		this.reduction = reduction;
+	}
+
+	public synchronized int size() {
+		return tree.size();
+	}
+
+}
@@ -27,8 +27,8 @@
 package jMeme.design.localIntegration;
 
 
-import java.util.Iterator;
-import java.util.Vector;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.jgap.RandomGenerator;
 
@@ -36,6 +36,7 @@ import jMeme.core.JPopulation;
 import jMeme.core.individuals.Individual;
 import jMeme.design.replacementStrategy.ReplacementStrategy;
 import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
+import jMeme.utils.SamplingUtil;
 
 
 /**
@@ -44,10 +45,6 @@ import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
  */
 public class RandomLocalOptimizerExecutor extends LocalOptimizerExecutor{
 
-	/**
-	 * Stores the percentage of individuals of the population which has to be undergone to the local improvement
-	 */
-	private  double rate;
 	
 	
 	/**
@@ -87,45 +84,20 @@ public class RandomLocalOptimizerExecutor extends LocalOptimizerExecutor{
 		
 		 RandomGenerator generator = p.getConfiguration().getRandomGenerator();
 
-		 Individual s=null;
-		 Vector v=new Vector();
-		 
-		int index=0;
         int numSelectedIndividuals=(int)((rate*numC));
 		
         if(numSelectedIndividuals<1)
 			numSelectedIndividuals=1;
 		
-		for(int i=0;i<numSelectedIndividuals;i++){
-			index=generator.nextInt(numC);
-			
-			
-			Individual mm= (Individual)p.getIndividual(index);
-			if(!v.contains(mm))
-			 v.add(mm);
-			//else i--;
-			 
-			
-		}
+		//exactly numSelectedIndividuals distinct individuals are drawn
+		int[] indices=SamplingUtil.sample(numC, numSelectedIndividuals, generator);
 		
-			
-		Iterator iter = v.iterator();
-		while(iter.hasNext()){
-			Individual mm= (Individual)iter.next();
-			//initialize solution
-			localOptimizer.inizializeSolution(mm);
-			
-				
-			localOptimizer.startToSolve();
-			
-			s=(Individual)localOptimizer.getBestSolution();
+		List<Individual> v=new ArrayList<Individual>(indices.length);
+		for(int i=0;i<indices.length;i++)
+			v.add((Individual)p.getIndividual(indices[i]));
 		
-			this.replacementStrategy.setModifiedIndex(p.indexOfIndividual(mm));
 			
-				
-			this.replacementStrategy.execute(p,s, localOptimizer.isMaximize());
-		
-		 }
+		this.improve(p, v);
 		}
 	
 	
@@ -26,9 +26,8 @@
 package jMeme.design.localIntegration;
 
 
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Vector;
 
 import org.jgap.RandomGenerator;
 
@@ -36,6 +35,7 @@ import jMeme.core.JPopulation;
 import jMeme.core.individuals.Individual;
 import jMeme.design.replacementStrategy.ReplacementStrategy;
 import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
+import jMeme.utils.SamplingUtil;
 
 
 /**
@@ -48,11 +48,6 @@ import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
 public class StratifiedLocalOptimizerExecutor extends LocalOptimizerExecutor{
 
 	
-	/**
-	 * Stores the percentage of individuals of the population which has to be undergone to the local improvement
-	 */
-	private  double rate;
-	
 	
 	/**
 	 * Constructor
@@ -95,45 +90,16 @@ public class StratifiedLocalOptimizerExecutor extends LocalOptimizerExecutor{
 		
 		 RandomGenerator generator = p.getConfiguration().getRandomGenerator();
 
-		 Individual s=null;
-		 Vector v=new Vector();
-		 
 		 List populationOrdered=p.getFittestIndividuals(numC);
-		 int range=Math.round(numC/numSelectedIndividuals);
 		 
-		 
-		int index=0;
-		for(int i=0;i<rate;i++){
-			if(i==rate-1){
-				int newrange=numC-(range*(numSelectedIndividuals-1));
-				index=generator.nextInt(newrange);
-				index=index+(i*range);
-			}
-			else{
-			index=generator.nextInt(range);
-		    index=index+(i*range);
-			}
-			
-			Individual mm= (Individual)populationOrdered.get(index);
-			v.add(mm);
-			
-		
-		}
+		//the ranked population is divided in numSelectedIndividuals strata and an individual is drawn from each stratum
+		int[] indices=SamplingUtil.stratifiedSample(numC, numSelectedIndividuals, generator);
 		
-		Iterator iter = v.iterator();
-		while(iter.hasNext()){
-			Individual mm= (Individual)iter.next();
-			//initialize solution
-			localOptimizer.inizializeSolution(mm);
-			
-				
-			localOptimizer.startToSolve();
-			
-			s=(Individual)localOptimizer.getBestSolution();
+		List<Individual> v=new ArrayList<Individual>(indices.length);
+		for(int i=0;i<indices.length;i++)
+			v.add((Individual)populationOrdered.get(indices[i]));
 		
-			this.replacementStrategy.setModifiedIndex(p.indexOfIndividual(mm));
-			this.replacementStrategy.execute(p,s, localOptimizer.isMaximize());
-		 }
+		this.improve(p, v);
 		}
 	
 	
@@ -91,7 +91,7 @@ public class DEParameters extends GlobalSearchOptimizerParameters{
     /**
      * Stores the number of difference vectors considered for perturbation. It can be DEParameters.yType1 or DEParameters.yType2.
      */
-	public static int yType;
+	private int yType;
 	
 	
 	/**
@@ -26,10 +26,11 @@
 
 package jMeme.design.optimizerParameters;
 
+import jMeme.utils.ParallelUtil;
 
 /**
  * This class allows to set the parameters for a Hooke and Jeeves (HJ) algorithm.
- * The parameters are: the epsilon and rho.
+ * The parameters are: the epsilon, rho, the block size and the parallelism of the exploratory moves.
  */
 public class HookeJeevesParameters extends OptimizerParameters {
 	
@@ -43,6 +44,14 @@ public class HookeJeevesParameters extends OptimizerParameters {
 	 * Constant indicating the default value for the rho
 	 */
 	public static double RHO_DEFAULT=0.1;
+	/**
+	 * Constant indicating the default value for the block size, i.e. all the coordinates are probed in one block
+	 */
+	public static int BLOCK_SIZE_DEFAULT=0;
+	/**
+	 * Constant indicating the default value for the parallelism, i.e. the exploratory moves are sequential
+	 */
+	public static int PARALLELISM_DEFAULT=1;
 	
 	/**
 	 * Stores the halting criterion.  Larger values of epsilon give quicker running time, but a	less accurate solution.
@@ -54,6 +63,14 @@ public class HookeJeevesParameters extends OptimizerParameters {
      * cost of more function evaluations.
 	 */
 	private double rho;
+	/**
+	 * Stores the number of coordinates whose probes are evaluated concurrently during the exploratory moves. A value lower than 1 indicates all the coordinates.
+	 */
+	private int blockSize;
+	/**
+	 * Stores the number of threads used to evaluate the probes. A value equal to 1 indicates the original sequential exploratory moves.
+	 */
+	private int parallelism;
 	
 	/**
 	 * Constructor 
@@ -64,6 +81,8 @@ public class HookeJeevesParameters extends OptimizerParameters {
 		super();
 		epsilon=HookeJeevesParameters.EPSILON_DEFAULT;
 		rho=HookeJeevesParameters.RHO_DEFAULT;
+		blockSize=HookeJeevesParameters.BLOCK_SIZE_DEFAULT;
+		parallelism=HookeJeevesParameters.PARALLELISM_DEFAULT;
 	}
 	
 	/**
@@ -75,6 +94,8 @@ public class HookeJeevesParameters extends OptimizerParameters {
 		super();
 		this.epsilon=epsilon;
 		rho=HookeJeevesParameters.RHO_DEFAULT;
+		blockSize=HookeJeevesParameters.BLOCK_SIZE_DEFAULT;
+		parallelism=HookeJeevesParameters.PARALLELISM_DEFAULT;
 	}
 
 
@@ -87,6 +108,27 @@ public class HookeJeevesParameters extends OptimizerParameters {
 		super();
 		this.epsilon=epsilon;
 		this.rho=rho;
+		blockSize=HookeJeevesParameters.BLOCK_SIZE_DEFAULT;
+		parallelism=HookeJeevesParameters.PARALLELISM_DEFAULT;
+	}
+
+
+	/**
+	 * Constructor 
+	 * 
+	 * Creates an instance of the class that sets epsilon, rho, the block size and the parallelism of the exploratory moves to the given values.
+	 * 
+	 * @param epsilon  the halting criterion
+	 * @param rho  the convergence parameter
+	 * @param blockSize  the number of coordinates whose probes are evaluated concurrently; a value lower than 1 indicates all the coordinates
+	 * @param parallelism  the number of threads used to evaluate the probes; a value lower than 1 indicates the number of available processors
+	 */
+	public HookeJeevesParameters(double epsilon, double rho, int blockSize, int parallelism){
+		super();
+		this.epsilon=epsilon;
+		this.rho=rho;
+		this.blockSize=blockSize;
+		this.parallelism=parallelism < 1 ? ParallelUtil.DEFAULT_PARALLELISM : parallelism;
 	}
 
 
@@ -109,6 +151,26 @@ public class HookeJeevesParameters extends OptimizerParameters {
 	public void setRho(double rho) {
 		this.rho = rho;
 	}
+
+
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+
+	public void setBlockSize(int blockSize) {
+		this.blockSize = blockSize;
+	}
+
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
 	
 	/**
 	 * @return string representation of the defined HJ setting
@@ -117,6 +179,8 @@ public class HookeJeevesParameters extends OptimizerParameters {
 		String s="";
 		s="Epsilon: " + this.epsilon+ "\n";
 		s+="Rho: " + this.rho + "\n";
+		s+="Block size: " + this.blockSize + "\n";
+		s+="Parallelism: " + this.parallelism + "\n";
 		
 		return s;
 	}
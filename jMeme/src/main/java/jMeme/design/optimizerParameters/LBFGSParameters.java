@@ -0,0 +1,204 @@
+/*
+ * LBFGSParameters.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.design.optimizerParameters;
+
+import jMeme.utils.ParallelUtil;
+
+
+/**
+ * This class allows to set the parameters for a limited-memory BFGS (L-BFGS) algorithm with bound constraints.
+ * The parameters are: the number of stored corrections, the tolerance on the projected gradient, the finite-difference
+ * step and scheme, the maximum number of steps of the line search and the number of threads used to approximate the gradient.
+ */
+public class LBFGSParameters extends OptimizerParameters {
+
+	private static final long serialVersionUID = 5120962875316204327L;
+
+	/**
+	 * Constant indicating the default value for the number of stored corrections
+	 */
+	public static final int MEMORY_DEFAULT=5;
+	/**
+	 * Constant indicating the default value for the tolerance on the projected gradient
+	 */
+	public static final double TOLERANCE_DEFAULT=1e-8;
+	/**
+	 * Constant indicating the default value for the relative finite-difference step
+	 */
+	public static final double DIFFERENCE_STEP_DEFAULT=1e-6;
+	/**
+	 * Constant indicating the default value for the use of central differences
+	 */
+	public static final boolean CENTRAL_DIFFERENCES_DEFAULT=true;
+	/**
+	 * Constant indicating the default value for the maximum number of steps of the line search
+	 */
+	public static final int MAX_LINE_SEARCH_DEFAULT=20;
+
+	/**
+	 * Stores the number of corrections used to approximate the inverse Hessian matrix
+	 */
+	private int memory;
+	/**
+	 * Stores the tolerance: the procedure stops when the infinity norm of the projected gradient is lower than it
+	 */
+	private double tolerance;
+	/**
+	 * Stores the finite-difference step, relative to the magnitude of each decision variable
+	 */
+	private double differenceStep;
+	/**
+	 * Stores a boolean value indicating if the gradient is approximated by central differences (2n evaluations) or forward differences (n evaluations)
+	 */
+	private boolean centralDifferences;
+	/**
+	 * Stores the maximum number of steps of the backtracking line search
+	 */
+	private int maxLineSearch;
+	/**
+	 * Stores the number of threads used to approximate the gradient
+	 */
+	private int parallelism;
+
+
+	/**
+	 * Constructor 
+	 * 
+	 * Creates an instance of the class that sets the memory to 5, the tolerance to 1e-8, the relative difference step to 1e-6,
+	 * central differences, 20 steps of line search and the number of threads to the number of available processors.
+	 */
+	public LBFGSParameters(){
+		super();
+		memory=LBFGSParameters.MEMORY_DEFAULT;
+		tolerance=LBFGSParameters.TOLERANCE_DEFAULT;
+		differenceStep=LBFGSParameters.DIFFERENCE_STEP_DEFAULT;
+		centralDifferences=LBFGSParameters.CENTRAL_DIFFERENCES_DEFAULT;
+		maxLineSearch=LBFGSParameters.MAX_LINE_SEARCH_DEFAULT;
+		parallelism=ParallelUtil.DEFAULT_PARALLELISM;
+	}
+
+	/**
+	 * Constructor 
+	 * 
+	 * Creates an instance of the class that sets the memory and the use of central differences to the given values and the other parameters to their default values.
+	 * 
+	 * @param memory  the number of stored corrections
+	 * @param centralDifferences  true to approximate the gradient by central differences, false to use forward differences
+	 */
+	public LBFGSParameters(int memory, boolean centralDifferences){
+		this();
+		this.memory=memory;
+		this.centralDifferences=centralDifferences;
+	}
+
+	/**
+	 * Constructor 
+	 * 
+	 * Creates an instance of the class that sets all the parameters to the given values.
+	 * 
+	 * @param memory  the number of stored corrections
+	 * @param tolerance  the tolerance on the infinity norm of the projected gradient
+	 * @param differenceStep  the finite-difference step, relative to the magnitude of each decision variable
+	 * @param centralDifferences  true to approximate the gradient by central differences, false to use forward differences
+	 * @param maxLineSearch  the maximum number of steps of the line search
+	 * @param parallelism  the number of threads used to approximate the gradient; a value lower than 1 indicates the number of available processors
+	 */
+	public LBFGSParameters(int memory, double tolerance, double differenceStep, boolean centralDifferences, int maxLineSearch, int parallelism){
+		super();
+		this.memory=memory;
+		this.tolerance=tolerance;
+		this.differenceStep=differenceStep;
+		this.centralDifferences=centralDifferences;
+		this.maxLineSearch=maxLineSearch;
+		this.parallelism=parallelism < 1 ? ParallelUtil.DEFAULT_PARALLELISM : parallelism;
+	}
+
+
+	/**
+	 * @return string representation of the defined L-BFGS setting
+	 */
+	public String toString(){
+		String s="";
+		s="Memory: " + this.memory + "\n";
+		s+="Tolerance: " + this.tolerance + "\n";
+		s+="Difference step: " + this.differenceStep + "\n";
+		s+="Central differences: " + this.centralDifferences + "\n";
+		s+="Max line search: " + this.maxLineSearch + "\n";
+		s+="Parallelism: " + this.parallelism + "\n";
+
+		return s;
+	}
+
+
+	public int getMemory() {
+		return memory;
+	}
+
+	public void setMemory(int memory) {
+		this.memory = memory;
+	}
+
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	public void setTolerance(double tolerance) {
+		this.tolerance = tolerance;
+	}
+
+	public double getDifferenceStep() {
+		return differenceStep;
+	}
+
+	public void setDifferenceStep(double differenceStep) {
+		this.differenceStep = differenceStep;
+	}
+
+	public boolean isCentralDifferences() {
+		return centralDifferences;
+	}
+
+	public void setCentralDifferences(boolean centralDifferences) {
+		this.centralDifferences = centralDifferences;
+	}
+
+	public int getMaxLineSearch() {
+		return maxLineSearch;
+	}
+
+	public void setMaxLineSearch(int maxLineSearch) {
+		this.maxLineSearch = maxLineSearch;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+}
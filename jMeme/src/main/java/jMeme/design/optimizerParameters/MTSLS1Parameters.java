@@ -0,0 +1,130 @@
+/*
+ * MTSLS1Parameters.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.design.optimizerParameters;
+
+
+/**
+ * This class allows to set the parameters for the first local search of the Multiple Trajectory Search (MTS-LS1).
+ * The parameters are: the initial, minimum and reset search ranges, all expressed as fractions of the range of each decision variable.
+ */
+public class MTSLS1Parameters extends OptimizerParameters {
+
+	private static final long serialVersionUID = 3354782090925178043L;
+
+	/**
+	 * Constant indicating the default value for the initial search range
+	 */
+	public static final double INITIAL_RANGE_DEFAULT=0.5;
+	/**
+	 * Constant indicating the default value for the minimum search range
+	 */
+	public static final double MINIMUM_RANGE_DEFAULT=1e-15;
+	/**
+	 * Constant indicating the default value for the search range used when a range becomes lower than the minimum one
+	 */
+	public static final double RESET_RANGE_DEFAULT=0.4;
+
+	/**
+	 * Stores the initial search range of each decision variable
+	 */
+	private double initialRange;
+	/**
+	 * Stores the minimum search range of each decision variable
+	 */
+	private double minimumRange;
+	/**
+	 * Stores the search range used when a range becomes lower than the minimum one
+	 */
+	private double resetRange;
+
+
+	/**
+	 * Constructor 
+	 * 
+	 * Creates an instance of the class that sets the initial range to 0.5, the minimum range to 1e-15 and the reset range to 0.4.
+	 */
+	public MTSLS1Parameters(){
+		super();
+		initialRange=MTSLS1Parameters.INITIAL_RANGE_DEFAULT;
+		minimumRange=MTSLS1Parameters.MINIMUM_RANGE_DEFAULT;
+		resetRange=MTSLS1Parameters.RESET_RANGE_DEFAULT;
+	}
+
+	/**
+	 * Constructor 
+	 * 
+	 * Creates an instance of the class that sets all the parameters to the given values.
+	 * 
+	 * @param initialRange  the initial search range, as a fraction of the range of each decision variable
+	 * @param minimumRange  the minimum search range, as a fraction of the range of each decision variable
+	 * @param resetRange  the search range used when a range becomes lower than the minimum one, as a fraction of the range of each decision variable
+	 */
+	public MTSLS1Parameters(double initialRange, double minimumRange, double resetRange){
+		super();
+		this.initialRange=initialRange;
+		this.minimumRange=minimumRange;
+		this.resetRange=resetRange;
+	}
+
+
+	/**
+	 * @return string representation of the defined MTS-LS1 setting
+	 */
+	public String toString(){
+		String s="";
+		s="Initial range: " + this.initialRange + "\n";
+		s+="Minimum range: " + this.minimumRange + "\n";
+		s+="Reset range: " + this.resetRange + "\n";
+
+		return s;
+	}
+
+
+	public double getInitialRange() {
+		return initialRange;
+	}
+
+	public void setInitialRange(double initialRange) {
+		this.initialRange = initialRange;
+	}
+
+	public double getMinimumRange() {
+		return minimumRange;
+	}
+
+	public void setMinimumRange(double minimumRange) {
+		this.minimumRange = minimumRange;
+	}
+
+	public double getResetRange() {
+		return resetRange;
+	}
+
+	public void setResetRange(double resetRange) {
+		this.resetRange = resetRange;
+	}
+
+}
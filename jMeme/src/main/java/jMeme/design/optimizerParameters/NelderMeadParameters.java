@@ -0,0 +1,166 @@
+/*
+ * NelderMeadParameters.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.design.optimizerParameters;
+
+import jMeme.utils.ParallelUtil;
+
+
+/**
+ * This class allows to set the parameters for a Nelder-Mead (NM) simplex algorithm.
+ * The parameters are: the initial step, the tolerance, the use of the adaptive coefficients and the parallelism of the shrink step.
+ */
+public class NelderMeadParameters extends OptimizerParameters {
+
+	private static final long serialVersionUID = -3911820461732287513L;
+
+	/**
+	 * Constant indicating the default value for the initial step
+	 */
+	public static final double INITIAL_STEP_DEFAULT=0.05;
+	/**
+	 * Constant indicating the default value for the tolerance
+	 */
+	public static final double TOLERANCE_DEFAULT=1e-8;
+	/**
+	 * Constant indicating the default value for the use of the adaptive coefficients
+	 */
+	public static final boolean ADAPTIVE_DEFAULT=true;
+	/**
+	 * Constant indicating the default value for the parallelism of the shrink step, i.e. the shrink step is sequential
+	 */
+	public static final int PARALLELISM_DEFAULT=1;
+
+	/**
+	 * Stores the size of the edges of the initial simplex, as a fraction of the range of each decision variable
+	 */
+	private double initialStep;
+	/**
+	 * Stores the tolerance: the procedure stops when both the spread of the fitness values and the size of the simplex are lower than it
+	 */
+	private double tolerance;
+	/**
+	 * Stores a boolean value indicating if the coefficients depend on the dimension of the problem (true) or are the standard ones (false)
+	 */
+	private boolean adaptive;
+	/**
+	 * Stores the number of threads used to evaluate the vertices during the shrink step
+	 */
+	private int parallelism;
+
+
+	/**
+	 * Constructor 
+	 * 
+	 * Creates an instance of the class that sets the initial step to 0.05, the tolerance to 1e-8, the adaptive coefficients and a sequential shrink step.
+	 */
+	public NelderMeadParameters(){
+		super();
+		initialStep=NelderMeadParameters.INITIAL_STEP_DEFAULT;
+		tolerance=NelderMeadParameters.TOLERANCE_DEFAULT;
+		adaptive=NelderMeadParameters.ADAPTIVE_DEFAULT;
+		parallelism=NelderMeadParameters.PARALLELISM_DEFAULT;
+	}
+
+	/**
+	 * Constructor 
+	 * 
+	 * Creates an instance of the class that sets the initial step and the tolerance to the given values, the adaptive coefficients and a sequential shrink step.
+	 * 
+	 * @param initialStep  the size of the edges of the initial simplex, as a fraction of the range of each decision variable
+	 * @param tolerance  the tolerance used to stop the procedure
+	 */
+	public NelderMeadParameters(double initialStep, double tolerance){
+		this();
+		this.initialStep=initialStep;
+		this.tolerance=tolerance;
+	}
+
+	/**
+	 * Constructor 
+	 * 
+	 * Creates an instance of the class that sets all the parameters to the given values.
+	 * 
+	 * @param initialStep  the size of the edges of the initial simplex, as a fraction of the range of each decision variable
+	 * @param tolerance  the tolerance used to stop the procedure
+	 * @param adaptive  true to use the coefficients depending on the dimension of the problem, false to use the standard ones
+	 * @param parallelism  the number of threads used during the shrink step; a value lower than 1 indicates the number of available processors
+	 */
+	public NelderMeadParameters(double initialStep, double tolerance, boolean adaptive, int parallelism){
+		super();
+		this.initialStep=initialStep;
+		this.tolerance=tolerance;
+		this.adaptive=adaptive;
+		this.parallelism=parallelism < 1 ? ParallelUtil.DEFAULT_PARALLELISM : parallelism;
+	}
+
+
+	/**
+	 * @return string representation of the defined NM setting
+	 */
+	public String toString(){
+		String s="";
+		s="Initial step: " + this.initialStep + "\n";
+		s+="Tolerance: " + this.tolerance + "\n";
+		s+="Adaptive: " + this.adaptive + "\n";
+		s+="Parallelism: " + this.parallelism + "\n";
+
+		return s;
+	}
+
+
+	public double getInitialStep() {
+		return initialStep;
+	}
+
+	public void setInitialStep(double initialStep) {
+		this.initialStep = initialStep;
+	}
+
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	public void setTolerance(double tolerance) {
+		this.tolerance = tolerance;
+	}
+
+	public boolean isAdaptive() {
+		return adaptive;
+	}
+
+	public void setAdaptive(boolean adaptive) {
+		this.adaptive = adaptive;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+}
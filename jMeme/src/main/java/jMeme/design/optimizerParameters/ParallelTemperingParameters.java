@@ -0,0 +1,168 @@
+/*
+ * ParallelTemperingParameters.java
+ *
+ * This file is part of the jMeme library, the Evolutionary Computational tool
+   for designing Competent Memetic Algorithms (CMAs).
+
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+
+package jMeme.design.optimizerParameters;
+
+import jMeme.localSearchAlgorithms.sa.annealingScheme.AnnealingScheme;
+import jMeme.utils.ParallelUtil;
+
+
+/**
+ * This class allows to set the parameters for a Parallel Tempering (replica-exchange) Simulated Annealing.
+ * The parameters are: the number of replicas, the ratio of the geometric temperature ladder, the number of
+ * steps performed by each replica between two exchange phases, the number of threads and the parameters of
+ * the Simulated Annealing run by every replica.
+ */
+public class ParallelTemperingParameters extends SimulatedAnnealingParameters {
+
+	private static final long serialVersionUID = -2081407353187260436L;
+
+	/**
+	 * Constant indicating the default value for the number of replicas
+	 */
+	public static final int NREPLICAS_DEFAULT=4;
+	/**
+	 * Constant indicating the default value for the ratio between the temperatures of two neighboring replicas
+	 */
+	public static final double TEMPERATURE_RATIO_DEFAULT=2;
+	/**
+	 * Constant indicating the default value for the number of steps performed by each replica between two exchange phases
+	 */
+	public static final int SWAP_INTERVAL_DEFAULT=10;
+
+	/**
+	 * Stores the number of replicas
+	 */
+	private int nReplicas;
+	/**
+	 * Stores the ratio between the temperatures of two neighboring replicas. The replica i runs at the temperature of the coldest replica multiplied by ratio^i.
+	 */
+	private double temperatureRatio;
+	/**
+	 * Stores the number of steps performed by each replica between two exchange phases
+	 */
+	private int swapInterval;
+	/**
+	 * Stores the number of threads used to run the replicas
+	 */
+	private int parallelism;
+
+
+	/**
+	 * Costructor
+	 *
+	 * Creates an instance of the class that sets the number of replicas to 4, the temperature ratio to 2, the swap interval to 10,
+	 * the number of threads to the number of available processors and the Simulated Annealing parameters to their default values.
+	 */
+	public ParallelTemperingParameters(){
+		super();
+		nReplicas=ParallelTemperingParameters.NREPLICAS_DEFAULT;
+		temperatureRatio=ParallelTemperingParameters.TEMPERATURE_RATIO_DEFAULT;
+		swapInterval=ParallelTemperingParameters.SWAP_INTERVAL_DEFAULT;
+		parallelism=ParallelUtil.DEFAULT_PARALLELISM;
+	}
+
+	/**
+	 * Costructor
+	 *
+	 * Creates an instance of the class that sets the number of replicas to the given value, the temperature ratio to 2, the swap interval to 10,
+	 * the number of threads to the number of available processors and the Simulated Annealing parameters to their default values.
+	 *
+	 * @param nReplicas  the number of replicas
+	 */
+	public ParallelTemperingParameters(int nReplicas){
+		this();
+		this.nReplicas=nReplicas;
+	}
+
+	/**
+	 * Costructor
+	 *
+	 * Creates an instance of the class that sets all the parameters to the given values.
+	 *
+	 * @param nReplicas  the number of replicas
+	 * @param temperatureRatio  the ratio between the temperatures of two neighboring replicas
+	 * @param swapInterval  the number of steps performed by each replica between two exchange phases
+	 * @param parallelism  the number of threads used to run the replicas
+	 * @param maxdist  the maximum distance between a solution and one of its neighbors
+	 * @param logV  the logarithmic value to use during the computation of the initial temperature
+	 * @param as  the method which must perform the annealing scheme of every replica
+	 * @param nTrials  the number of trials to perform during the computation of the initial temperature
+	 */
+	public ParallelTemperingParameters(int nReplicas, double temperatureRatio, int swapInterval, int parallelism, int maxdist, double logV, AnnealingScheme as, int nTrials){
+		super(maxdist, logV, as, nTrials);
+		this.nReplicas=nReplicas;
+		this.temperatureRatio=temperatureRatio;
+		this.swapInterval=swapInterval;
+		this.parallelism=parallelism;
+	}
+
+	/**
+	 * @return string representation of the defined PT setting
+	 */
+	public String toString(){
+		String s=super.toString();
+		s+="Number of replicas: " + nReplicas + "\n";
+		s+="Temperature ratio: " + temperatureRatio + "\n";
+		s+="Swap interval: " + swapInterval + "\n";
+		s+="Parallelism: " + parallelism + "\n";
+
+		return s;
+	}
+
+
+	public int getnReplicas() {
+		return nReplicas;
+	}
+
+	public void setnReplicas(int nReplicas) {
+		this.nReplicas = nReplicas;
+	}
+
+	public double getTemperatureRatio() {
+		return temperatureRatio;
+	}
+
+	public void setTemperatureRatio(double temperatureRatio) {
+		this.temperatureRatio = temperatureRatio;
+	}
+
+	public int getSwapInterval() {
+		return swapInterval;
+	}
+
+	public void setSwapInterval(int swapInterval) {
+		this.swapInterval = swapInterval;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * SolisWetsParameters.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.design.optimizerParameters;
+
+
+/**
+ * This class allows to set the parameters for a Solis-Wets algorithm.
+ * The parameters are: the initial step, the numbers of consecutive successes and failures which change the step and
+ * the number of decision variables perturbed at each step.
+ */
+public class SolisWetsParameters extends OptimizerParameters {
+
+	private static final long serialVersionUID = -1797435316540211768L;
+
+	/**
+	 * Constant indicating the default value for the initial step
+	 */
+	public static final double INITIAL_STEP_DEFAULT=0.05;
+	/**
+	 * Constant indicating the default value for the number of consecutive successes which doubles the step
+	 */
+	public static final int MAX_SUCCESSES_DEFAULT=5;
+	/**
+	 * Constant indicating the default value for the number of consecutive failures which halves the step
+	 */
+	public static final int MAX_FAILURES_DEFAULT=3;
+	/**
+	 * Constant indicating the default value for the number of decision variables perturbed at each step, i.e. all of them
+	 */
+	public static final int SUBSPACE_DIMENSION_DEFAULT=0;
+
+	/**
+	 * Stores the initial standard deviation of the Gaussian steps, as a fraction of the range of each decision variable
+	 */
+	private double initialStep;
+	/**
+	 * Stores the number of consecutive successes which doubles the step
+	 */
+	private int maxSuccesses;
+	/**
+	 * Stores the number of consecutive failures which halves the step
+	 */
+	private int maxFailures;
+	/**
+	 * Stores the number of decision variables, randomly chosen, perturbed at each step. A value lower than 1 indicates all of them.
+	 */
+	private int subspaceDimension;
+
+
+	/**
+	 * Constructor 
+	 * 
+	 * Creates an instance of the class that sets the initial step to 0.05, the maximum number of successes to 5, the maximum number of failures to 3
+	 * and perturbs all the decision variables at each step.
+	 */
+	public SolisWetsParameters(){
+		super();
+		initialStep=SolisWetsParameters.INITIAL_STEP_DEFAULT;
+		maxSuccesses=SolisWetsParameters.MAX_SUCCESSES_DEFAULT;
+		maxFailures=SolisWetsParameters.MAX_FAILURES_DEFAULT;
+		subspaceDimension=SolisWetsParameters.SUBSPACE_DIMENSION_DEFAULT;
+	}
+
+	/**
+	 * Constructor 
+	 * 
+	 * Creates an instance of the class that sets the initial step and the subspace dimension to the given values and the other parameters to their default values.
+	 * 
+	 * @param initialStep  the initial standard deviation of the Gaussian steps, as a fraction of the range of each decision variable
+	 * @param subspaceDimension  the number of decision variables perturbed at each step; a value lower than 1 indicates all of them
+	 */
+	public SolisWetsParameters(double initialStep, int subspaceDimension){
+		this();
+		this.initialStep=initialStep;
+		this.subspaceDimension=subspaceDimension;
+	}
+
+	/**
+	 * Constructor 
+	 * 
+	 * Creates an instance of the class that sets all the parameters to the given values.
+	 * 
+	 * @param initialStep  the initial standard deviation of the Gaussian steps, as a fraction of the range of each decision variable
+	 * @param maxSuccesses  the number of consecutive successes which doubles the step
+	 * @param maxFailures  the number of consecutive failures which halves the step
+	 * @param subspaceDimension  the number of decision variables perturbed at each step; a value lower than 1 indicates all of them
+	 */
+	public SolisWetsParameters(double initialStep, int maxSuccesses, int maxFailures, int subspaceDimension){
+		super();
+		this.initialStep=initialStep;
+		this.maxSuccesses=maxSuccesses;
+		this.maxFailures=maxFailures;
+		this.subspaceDimension=subspaceDimension;
+	}
+
+
+	/**
+	 * @return string representation of the defined Solis-Wets setting
+	 */
+	public String toString(){
+		String s="";
+		s="Initial step: " + this.initialStep + "\n";
+		s+="Max successes: " + this.maxSuccesses + "\n";
+		s+="Max failures: " + this.maxFailures + "\n";
+		s+="Subspace dimension: " + this.subspaceDimension + "\n";
+
+		return s;
+	}
+
+
+	public double getInitialStep() {
+		return initialStep;
+	}
+
+	public void setInitialStep(double initialStep) {
+		this.initialStep = initialStep;
+	}
+
+	public int getMaxSuccesses() {
+		return maxSuccesses;
+	}
+
+	public void setMaxSuccesses(int maxSuccesses) {
+		this.maxSuccesses = maxSuccesses;
+	}
+
+	public int getMaxFailures() {
+		return maxFailures;
+	}
+
+	public void setMaxFailures(int maxFailures) {
+		this.maxFailures = maxFailures;
+	}
+
+	public int getSubspaceDimension() {
+		return subspaceDimension;
+	}
+
+	public void setSubspaceDimension(int subspaceDimension) {
+		this.subspaceDimension = subspaceDimension;
+	}
+
+}
@@ -54,7 +54,7 @@ public class IndexReplacementStrategy extends ReplacementStrategy{
 	public void execute(JPopulation p, Individual newSol, boolean maximize){
 		if((newSol.getFitnessValueDirectly()>p.getPopulation().getChromosome(modifiedIndex).getFitnessValueDirectly() && maximize) ||
 				(newSol.getFitnessValueDirectly()<p.getPopulation().getChromosome(modifiedIndex).getFitnessValueDirectly() && !maximize))
-		            p.getPopulation().setChromosome(modifiedIndex, newSol);
+		            p.setIndividual(newSol, modifiedIndex);
 	}
 	
 	
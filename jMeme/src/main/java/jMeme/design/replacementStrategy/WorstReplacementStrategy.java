@@ -28,7 +28,6 @@ package jMeme.design.replacementStrategy;
 
 import jMeme.core.JPopulation;
 import jMeme.core.individuals.Individual;
-import jMeme.utils.JGapExtension;
 
 
 /**
@@ -58,10 +57,10 @@ public class WorstReplacementStrategy extends ReplacementStrategy{
 	 */
 	public  void execute(JPopulation p, Individual newSol, boolean maximize){
 		
-		int index= JGapExtension.getIndexOfWorstIndividual(p.getPopulation());
+		int index= p.getIndexOfWorstIndividual();
 		if((newSol.getFitnessValueDirectly()>p.getPopulation().getChromosome(index).getFitnessValueDirectly() && maximize) ||
 				(newSol.getFitnessValueDirectly()<p.getPopulation().getChromosome(index).getFitnessValueDirectly() && !maximize))
-		            p.getPopulation().setChromosome(index, newSol);
+		            p.setIndividual(newSol, index);
 	
 	}
 }
@@ -25,8 +25,9 @@
 
 package jMeme.globalSearchAlgorithms;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 
 import org.jgap.InvalidConfigurationException;
 
@@ -34,11 +35,18 @@ import jMeme.core.Algorithm;
 import jMeme.core.JConfiguration;
 import jMeme.core.JPopulation;
 import jMeme.core.Problem;
+import jMeme.core.checkpoint.Checkpointer;
 import jMeme.core.configurations.GlobalSearchAlgorithmConfiguration;
 import jMeme.core.individuals.Individual;
+import jMeme.core.listeners.AlgorithmListener;
+import jMeme.core.registry.OptimizerRegistry;
 import jMeme.design.generationExecutor.GenerationExecutor;
 import jMeme.design.optimizerParameters.GlobalSearchOptimizerParameters;
 import jMeme.performances.AlgorithmPerformance;
+import jMeme.performances.jfr.GenerationEvent;
+import jMeme.performances.jfr.RunEvent;
+import jMeme.performances.metrics.AlgorithmMetrics;
+import jMeme.performances.metrics.MetricsRegistry;
 
 
 /**
@@ -86,7 +94,6 @@ public class GlobalOptimizationAlgorithm extends Algorithm {
 		this.problem=p;
 		
 		
-		JConfiguration.reset();
 		configuration = conf;
 		
 		performance = configuration.getPerformance();
@@ -102,7 +109,6 @@ public class GlobalOptimizationAlgorithm extends Algorithm {
 		
 			
 		try {
-			configuration.reset();
 			configuration.setFitnessEvaluator(configuration.getFitnessFeatures().getFitnessEvaluator());
 			configuration.setFitnessFunction(configuration.getFitnessFeatures().getFitnessFunction());
 			
@@ -118,134 +124,170 @@ public class GlobalOptimizationAlgorithm extends Algorithm {
 
 
 	/**
-	 * Allows to execute the generic behavior of a global search algorithm using a specific global search optimizer
+	 * Allows to execute the generic behavior of a global search algorithm using a specific global search optimizer.
+	 * The progress of the execution is notified to the listener of the configuration.
 	 */
 	public Individual execute() {
 		
 		long startTime= System.currentTimeMillis();
+		performance.startClock();
 
-		population = generator.execute(configuration);
+		AlgorithmListener listener=configuration.getListener();
 		
-		System.out.println("random population " +population);
+		AlgorithmMetrics metrics=performance.getMetrics();
 		
+		RunEvent runEvent=new RunEvent();
+		runEvent.begin();
 		
-		//initialize best global
-		globalOptimizer.determineBest(population);
+		MetricsRegistry.register(this, metrics);
+		AlgorithmPerformance previousRunning=AlgorithmPerformance.setRunningPerformance(performance);
+		try {
+			long phaseStart=System.nanoTime();
+		
+			Checkpointer checkpointer=configuration.getCheckpointer();
+		
+			if(checkpointer!=null && checkpointer.exists()){
+				resume(checkpointer);
+				startTime-=performance.getElapsedNanoTime()/1000000L;
+			}
+			else
+				population = generator.execute(configuration);
 		
-		performance.computeProblemPerformance(problem, globalOptimizer.getBestSolution());
+		
+			//initialize best global
+			globalOptimizer.determineBest(population);
+		
+			performance.computeProblemPerformance(problem, globalOptimizer.getBestSolution());
 	
-		performance.setIndividual(globalOptimizer.getBestSolution());
-		performance.setFitnessValue(globalOptimizer.getBestFitness());
+			performance.setIndividual(globalOptimizer.getBestSolution());
+			performance.setFitnessValue(globalOptimizer.getBestFitness());
 		
-		System.out.println("initial best fitness value: "+ performance.getFitnessValue());
+			metrics.record(AlgorithmMetrics.INITIALIZATION, System.nanoTime()-phaseStart);
 		
+			listener.runStarted(configuration, population, performance.getFitnessValue());
 		
-		while (configuration.getFinalConditions().verify(configuration)) {
+		
+			while (configuration.getFinalConditions().verify(configuration)) {
 			
-			System.out.println("Iteration number " + (performance.getNumberOfIterations()+1));
+				GenerationEvent generationEvent=new GenerationEvent();
+				generationEvent.begin();
 			
-			//evaluations.add(performance.getAlignPerformances().getFmeasure());
-			//evaluations.add(performance.getNumberOfFitnessEvaluations());
+				//evaluations.add(performance.getAlignPerformances().getFmeasure());
+				//evaluations.add(performance.getNumberOfFitnessEvaluations());
 			
-			double fitnessPrec=performance.getFitnessValue();
+				double fitnessPrec=performance.getFitnessValue();
 			
-			population.evolve();
+				phaseStart=System.nanoTime();
 			
+				population.evolve();
 			
-			//initialize best global
-			globalOptimizer.determineBest(population);
 			
-			performance.setIndividual(globalOptimizer.getBestSolution());
-			performance.setFitnessValue(globalOptimizer.getBestFitness());
+				//initialize best global
+				globalOptimizer.determineBest(population);
 			
-		
-			System.out.println("best fitness value after evolution: "+ performance.getFitnessValue());
+				performance.setIndividual(globalOptimizer.getBestSolution());
+				performance.setFitnessValue(globalOptimizer.getBestFitness());
 			
-			performance.incrementNumberOfIterations();
-			//System.out.println("number of iterations: "+performance.getNumberOfIterations());
+				metrics.record(AlgorithmMetrics.GLOBAL_STEP, System.nanoTime()-phaseStart);
 			
+				performance.incrementNumberOfIterations();
+				//System.out.println("number of iterations: "+performance.getNumberOfIterations());
 			
-			System.out.println("number of evaluations: "+performance.getNumberOfFitnessEvaluations());
+				//update perfomance
+				double averageFitness=performance.computeAverageFitness(population.getPopulation());
+				performance.updatePerformances(fitnessPrec, averageFitness,problem);
+				metrics.recordGeneration(performance.getNumberOfIterations(), averageFitness);
 			
-			//update perfomance
-			double averageFitness=performance.computeAverageFitness(population.getPopulation());
-			performance.updatePerformances(fitnessPrec, averageFitness,problem);
+				listener.generationCompleted(configuration, performance.getNumberOfIterations(), performance.getFitnessValue(), performance.getFitnessValue(), performance.getNumberOfFitnessEvaluations());
+				generationEvent.emit(configuration, performance.getNumberOfIterations(), performance.getFitnessValue());
 			
-						
-			System.out.println("iteration ended");
+				if(checkpointer!=null && checkpointer.isDue(performance.getNumberOfIterations()))
+					checkpoint(checkpointer);
 			
+				}
+		
+			//the checkpoint of a cancelled execution is kept to resume it, the one of a completed execution is discarded
+			if(checkpointer!=null){
+				try {
+					if(configuration.getCancellationToken().isCancelled())
+						checkpointer.flush();
+					else
+						checkpointer.delete();
+				} catch (IOException e) {
+					listener.message(configuration, "The checkpoint cannot be saved to " + checkpointer.getFile() + ": " + e);
+				}
 			}
 		
 		
-        long endTime=System.currentTimeMillis();
+			long endTime=System.currentTimeMillis();
 		
-		performance.setTime(endTime - startTime);
-		System.out.println("time of executions: "+performance.getTime());
+			performance.setTime(endTime - startTime);
+			performance.setTimeFitnesses(metrics.getEvaluationTime()/1000000L);
 		
-		System.out.println("evaluations: "+performance.getNumberOfFitnessEvaluations());
+			performance.computeProblemPerformance(problem, globalOptimizer.getBestSolution());
 		
-		performance.computeProblemPerformance(problem, globalOptimizer.getBestSolution());
+			performance.setSpeed((globalOptimizer.getBestSolution()).getNumberOfEvaluationsToBeGenerated());
+		} finally {
+			AlgorithmPerformance.setRunningPerformance(previousRunning);
+			MetricsRegistry.unregister(this, metrics);
+		}
 		
-		performance.setSpeed((globalOptimizer.getBestSolution()).getNumberOfEvaluationsToBeGenerated());
+		runEvent.emit(this, configuration);
+		
+		listener.runFinished(configuration, performance);
 		
 		
 		return globalOptimizer.getBestSolution();
 	}
-
 	
-
 	
 	/**
-	 * Allows to initialize the global optimizer starting from the information contained in the configuration object.
+	 * Allows to save a checkpoint of the execution, i.e. the state of the random generator, the performance, the population and the global search optimizer
 	 * 
-	 * @return  the specific global optimizer to run
+	 * @param checkpointer  the object saving the checkpoints
 	 */
-	public GlobalSearchOptimizer initializeGlobalOptimizer(){
-		
-		Class c=null;
+	private void checkpoint(Checkpointer checkpointer){
 		try {
-			c = Class.forName(configuration.getGlobalComponent().getOptimizerName());
-		} catch (ClassNotFoundException e1) {
-			// TODO Auto-generated catch block
-			e1.printStackTrace();
+			DataOutputStream out=checkpointer.begin(this);
+			Checkpointer.writeConfiguration(out, configuration);
+			performance.writeState(out);
+			Checkpointer.writePopulation(out, population);
+			globalOptimizer.writeState(out);
+			checkpointer.commit(out);
+		} catch (IOException e) {
+			configuration.getListener().message(configuration, "The checkpoint cannot be saved to " + checkpointer.getFile() + ": " + e);
 		}
+	}
 	
-		Constructor  costr=null;
-		try {
-			costr=c.getConstructor(GlobalSearchAlgorithmConfiguration.class);
-		} catch (NoSuchMethodException e1) {
-			// TODO Auto-generated catch block
-			e1.printStackTrace();
-		} catch (SecurityException e1) {
-			// TODO Auto-generated catch block
-			e1.printStackTrace();
-		}
-		
-		
-		
-		GlobalSearchOptimizer breeder=null;
+	/**
+	 * Allows to restore the state of the execution from the latest checkpoint
+	 * 
+	 * @param checkpointer  the object saving the checkpoints
+	 * @throws IllegalStateException  if the checkpoint cannot be read or it does not match the configuration of the algorithm
+	 */
+	private void resume(Checkpointer checkpointer){
 		try {
-			 try {
-				breeder= (GlobalSearchOptimizer)costr.newInstance(configuration);
-			} catch (IllegalArgumentException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			} catch (InvocationTargetException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
-		} catch (InstantiationException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} catch (IllegalAccessException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+			DataInputStream in=checkpointer.load(this);
+			Checkpointer.readConfiguration(in, configuration);
+			performance.readState(in);
+			population=Checkpointer.readPopulation(in, configuration);
+			globalOptimizer.readState(in);
+		} catch (IOException e) {
+			throw new IllegalStateException("The execution cannot be resumed from " + checkpointer.getFile(), e);
 		}
-		
-		
+	}
 
-		
-		return breeder;
+	
+
+	
+	/**
+	 * Allows to initialize the global optimizer starting from the information contained in the configuration object.
+	 * 
+	 * @return  the specific global optimizer to run
+	 * @throws IllegalArgumentException  if the optimizer of the global component is unknown
+	 */
+	public GlobalSearchOptimizer initializeGlobalOptimizer(){
+		return OptimizerRegistry.createGlobal(configuration);
 	}
 	
 	
@@ -266,6 +308,11 @@ public class GlobalOptimizationAlgorithm extends Algorithm {
 	public GlobalSearchAlgorithmConfiguration getConfiguration() {
 		return configuration;
 	}
+	
+	@Override
+	public GlobalOptimizationAlgorithm newInstance(JConfiguration conf) {
+		return new GlobalOptimizationAlgorithm(problem, (GlobalSearchAlgorithmConfiguration)conf);
+	}
 
 	
 	public void setConfiguration(GlobalSearchAlgorithmConfiguration configuration) {
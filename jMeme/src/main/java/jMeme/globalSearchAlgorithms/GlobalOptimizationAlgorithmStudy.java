@@ -31,10 +31,11 @@ import java.util.Random;
 import java.util.Vector;
 
 import jMeme.core.AlgorithmComponent;
-import jMeme.core.JConfiguration;
 import jMeme.core.Problem;
 import jMeme.core.configurations.GlobalSearchAlgorithmConfiguration;
 import jMeme.core.fitnessFunction.FitnessFeatures;
+import jMeme.core.listeners.AlgorithmListener;
+import jMeme.core.listeners.ConsoleAlgorithmListener;
 import jMeme.design.competent.CompetentStudyUtils;
 import jMeme.design.finalConditions.AlgorithmFinalConditions;
 import jMeme.design.generationExecutor.GenerationExecutor;
@@ -106,6 +107,11 @@ public class GlobalOptimizationAlgorithmStudy {
 	 * Stores the best configuration for the problem at issue obtained at the end of the study 
 	 */
 	private GlobalSearchAlgorithmConfiguration bestConf;
+	
+	/**
+	 * Stores the listener notified of the progress of the study and of the events of the executed algorithms
+	 */
+	private AlgorithmListener listener=ConsoleAlgorithmListener.getDefault();
 
 	
     /**
@@ -181,10 +187,10 @@ public class GlobalOptimizationAlgorithmStudy {
 			
 			
 			
-				JConfiguration.reset();
 				
 				GlobalSearchAlgorithmConfiguration conf=
 						new GlobalSearchAlgorithmConfiguration(fitnessFeatures, termination, gc, generator);				
+				conf.setListener(listener);
 			
 				GlobalOptimizationAlgorithm algorithm =new GlobalOptimizationAlgorithm(prob,conf);
 				  
@@ -219,10 +225,10 @@ public class GlobalOptimizationAlgorithmStudy {
 						results.add(map);
 						
 
-						 System.out.println("best " + conf.getPerformance().getIndividual());
+						 listener.message(conf, "best " + conf.getPerformance().getIndividual());
 
 						
-						System.out.println("Runs " + (k)+" executed");
+						listener.message(conf, "Runs " + (k)+" executed");
 					   sumfitnessRuns+=conf.getPerformance().getFitnessValue();
 			         }
 				
@@ -234,7 +240,7 @@ public class GlobalOptimizationAlgorithmStudy {
 			         FileUtil.writeFile(fileTxt,result);
 			         FileUtil.writeRunsToExcel(results, nameFile);
 			 		
-			 		System.out.println("Test terminated on configuration " + gc.getId() + "\n");
+			 		listener.message(conf, "Test terminated on configuration " + gc.getId() + "\n");
 				
 				
 			}	
@@ -267,7 +273,7 @@ public class GlobalOptimizationAlgorithmStudy {
 	    	indexBestGlobal=(Integer)indexBetter.get(random);
 	    }
 	    
-	    System.out.println("End global searches...");
+	    listener.message(null, "End global searches...");
 	}
 	
 	
@@ -277,19 +283,29 @@ public class GlobalOptimizationAlgorithmStudy {
 		((GlobalSearchOptimizerParameters)gc.getParameters()).setPopulationSize(popSize);
 	
 			
-		JConfiguration.reset();
     	bestConf=new GlobalSearchAlgorithmConfiguration(fitnessFeatures, termination, gc);				
+    	bestConf.setListener(listener);
 		
     	//print configuration
     	
-    	System.out.println("Global Component: " + gc.getId());
-    	System.out.println("Global Component features:\n " + gc.getParameters());
+    	listener.message(bestConf, "Global Component: " + gc.getId());
+    	listener.message(bestConf, "Global Component features:\n " + gc.getParameters());
     		
    
     	FileUtil.writeFile(new File("BestGlobalConfiguration.txt"), bestConf.toString());
     	
     	//save the best configuration
-    	bestConf.save("globalConfiguration.ser");
+    	bestConf.save("globalConfiguration.cfg");
     }
 	
+
+	public AlgorithmListener getListener() {
+		return listener;
+	}
+
+
+	public void setListener(AlgorithmListener listener) {
+		this.listener = listener;
+	}
+	
 }
@@ -25,9 +25,15 @@
 
 package jMeme.globalSearchAlgorithms;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import jMeme.core.JConfiguration;
 import jMeme.core.JPopulation;
 import jMeme.core.Optimizer;
+import jMeme.core.checkpoint.Checkpointable;
+import jMeme.core.checkpoint.Checkpointer;
 import jMeme.core.individuals.Individual;
 
 
@@ -37,7 +43,7 @@ import jMeme.core.individuals.Individual;
  *  The class declares an abstract method called <code>execute</code>, which 
  *  defines the behavior of the optimizer.
  */
-public abstract class GlobalSearchOptimizer extends Optimizer {
+public abstract class GlobalSearchOptimizer extends Optimizer implements Checkpointable {
 
 	private static final long serialVersionUID = -553008818943098951L;
 	
@@ -130,6 +136,31 @@ public abstract class GlobalSearchOptimizer extends Optimizer {
 		}
 		
 		
+		/**
+		 * Allows to write the best solution found so far and its fitness value. The optimizers having further state across the iterations
+		 * must override this method; the best individual of the current population is not written, since it is determined again on the restored population.
+		 * 
+		 * @param out  the output to write the state to
+		 * @throws IOException  if the state cannot be written
+		 */
+		public void writeState(DataOutput out) throws IOException {
+			out.writeDouble(bestFitness);
+			Checkpointer.writeIndividual(out, bestSolution);
+		}
+		
+		
+		/**
+		 * Allows to restore the best solution found so far and its fitness value
+		 * 
+		 * @param in  the input to read the state from
+		 * @throws IOException  if the state cannot be read
+		 */
+		public void readState(DataInput in) throws IOException {
+			bestFitness=in.readDouble();
+			bestSolution=Checkpointer.readIndividual(in, configuration);
+		}
+		
+		
 	 
 
 }
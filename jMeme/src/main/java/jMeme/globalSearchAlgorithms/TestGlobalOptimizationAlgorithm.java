@@ -27,7 +27,6 @@ package jMeme.globalSearchAlgorithms;
 
 
 import jMeme.core.AlgorithmComponent;
-import jMeme.core.JConfiguration;
 import jMeme.core.configurations.GlobalSearchAlgorithmConfiguration;
 import jMeme.core.fitnessFunction.FitnessFeatures;
 import jMeme.design.finalConditions.AlgorithmFinalConditions;
@@ -81,7 +80,6 @@ public class TestGlobalOptimizationAlgorithm {
         //AlgorithmComponent pso=new AlgorithmComponent("pso", PSO_Optimizer.class.getName(), psoA);
        
           
-        JConfiguration.reset();
 		GlobalSearchAlgorithmConfiguration confga=new GlobalSearchAlgorithmConfiguration(fitness, finC, gc,new RandomGenerationExecutor());
 		//GlobalSearchAlgorithmConfiguration confabc=new GlobalSearchAlgorithmConfiguration(fitness, finC, abc,new RandomGenerationExecutor());
 		//GlobalSearchAlgorithmConfiguration confbbbc=new GlobalSearchAlgorithmConfiguration(fitness, finC, bbbc,new RandomGenerationExecutor());
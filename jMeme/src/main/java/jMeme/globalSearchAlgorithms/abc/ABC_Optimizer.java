@@ -26,9 +26,12 @@
 package jMeme.globalSearchAlgorithms.abc;
 
 
-import java.util.Random;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 import org.jgap.InvalidConfigurationException;
+import org.jgap.RandomGenerator;
 
 import jMeme.core.JConfiguration;
 import jMeme.core.JPopulation;
@@ -180,7 +183,7 @@ public class ABC_Optimizer extends GlobalSearchOptimizer {
     	 int originalPopSize = aPop.getPopulationSize();
     	 
     	// Population neFoodSources=new Population(aPop.getConfiguration(), originalPopSize);
- 		Random r=new Random();
+ 		RandomGenerator r=configuration.getRandomGenerator();
         
         for (int i=0;i<originalPopSize;i++)
 	{
@@ -222,7 +225,7 @@ public class ABC_Optimizer extends GlobalSearchOptimizer {
     	double xij=((Double)ind.getGene(index).getAllele());
     	double kij=((Double)neighbour.getGene(index).getAllele());
     	
-    	Random r=new Random();
+    	RandomGenerator r=configuration.getRandomGenerator();
     	
     	 double d=r.nextDouble()*2 -1;
     	 
@@ -276,7 +279,7 @@ public class ABC_Optimizer extends GlobalSearchOptimizer {
     	double prob[]=this.CalculateProbabilities(aPop);
     	 
     	// Population neFoodSources=new Population(aPop.getConfiguration(), originalPopSize);
- 		Random r=new Random();
+ 		RandomGenerator r=configuration.getRandomGenerator();
         
         int cont=0;
         int i=0;
@@ -340,7 +343,7 @@ public class ABC_Optimizer extends GlobalSearchOptimizer {
 	
 	int originalPopSize=aPop.getPopulationSize();
         
-        Random r = new Random();
+        RandomGenerator r=configuration.getRandomGenerator();
         
 	for (int i=1;i<originalPopSize;i++)
 	{
@@ -383,6 +386,32 @@ public class ABC_Optimizer extends GlobalSearchOptimizer {
 				this.getaCounter()[i]=0;
 	}
 	
+	/**
+	 * Allows to write the best solution found so far and the number of trials of each food source
+	 * 
+	 * @param out  the output to write the state to
+	 * @throws IOException  if the state cannot be written
+	 */
+	public void writeState(DataOutput out) throws IOException {
+		super.writeState(out);
+		out.writeInt(aCounter.length);
+		for(int i=0; i<aCounter.length; i++)
+			out.writeInt(aCounter[i]);
+	}
+	
+	/**
+	 * Allows to restore the best solution found so far and the number of trials of each food source
+	 * 
+	 * @param in  the input to read the state from
+	 * @throws IOException  if the state cannot be read
+	 */
+	public void readState(DataInput in) throws IOException {
+		super.readState(in);
+		aCounter=new int[in.readInt()];
+		for(int i=0; i<aCounter.length; i++)
+			aCounter[i]=in.readInt();
+	}
+	
 	@Override
 	 public Object clone() {
 		 if(configuration.isMemeticConfig())
@@ -26,10 +26,13 @@
 package jMeme.globalSearchAlgorithms.bb_bc;
 
 
-import java.util.Random;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 import org.jgap.Configuration;
 import org.jgap.InvalidConfigurationException;
+import org.jgap.RandomGenerator;
 import org.jgap.impl.DoubleGene;
 
 import jMeme.core.JConfiguration;
@@ -41,6 +44,7 @@ import jMeme.core.individuals.Individual;
 import jMeme.core.individuals.RealIndividualComponent;
 import jMeme.design.optimizerParameters.BB_BCParameters;
 import jMeme.globalSearchAlgorithms.GlobalSearchOptimizer;
+import jMeme.utils.JGapExtension;
 
 /**
  * This class implements the evolution performed during one iteration of Big Bang-Big Crunch (BB-BC). BB-BC is a population-based heuristic search
@@ -169,7 +173,7 @@ public class BBBC_Optimizer extends GlobalSearchOptimizer{
 		 Individual[] p=new Individual[originalPopSize];
 		   
 		 
-		 Random rnd=new Random(System.currentTimeMillis());
+		 RandomGenerator rnd=configuration.getRandomGenerator();
 		 
 		 
 		
@@ -187,7 +191,7 @@ public class BBBC_Optimizer extends GlobalSearchOptimizer{
 				
 				double range=((RealIndividualComponent)(this.currentBest.getIndividualComponents()[j])).getUpperBound()-((RealIndividualComponent)(this.currentBest.getIndividualComponents()[j])).getLowerBound();
 				
-				double r=rnd.nextGaussian();
+				double r=JGapExtension.nextGaussian(rnd);
 				
 				if(computationType.equals(BB_BCParameters.COMPUTATION_TYPE_CAMP))
 				   genes[j]= this.beta*xcom+(1-this.beta)*xbest+((r*this.alfa*range)/numIteration); 
@@ -345,6 +349,28 @@ public class BBBC_Optimizer extends GlobalSearchOptimizer{
 		this.setBestSolution(null);
 		this.resetNumIterations();
 	}
+	
+	/**
+	 * Allows to write the best solution found so far and the number of iterations, which reduces the spread of the new candidates
+	 * 
+	 * @param out  the output to write the state to
+	 * @throws IOException  if the state cannot be written
+	 */
+	public void writeState(DataOutput out) throws IOException {
+		super.writeState(out);
+		out.writeInt(numIteration);
+	}
+	
+	/**
+	 * Allows to restore the best solution found so far and the number of iterations
+	 * 
+	 * @param in  the input to read the state from
+	 * @throws IOException  if the state cannot be read
+	 */
+	public void readState(DataInput in) throws IOException {
+		super.readState(in);
+		numIteration=in.readInt();
+	}
 
 	
 	public Individual getCurrentBest() {
@@ -25,9 +25,8 @@
 
 package jMeme.globalSearchAlgorithms.de;
 
-import java.util.Random;
-
 import org.jgap.InvalidConfigurationException;
+import org.jgap.RandomGenerator;
 
 import jMeme.core.JConfiguration;
 import jMeme.core.JPopulation;
@@ -82,7 +81,7 @@ public class DE_Optimizer extends GlobalSearchOptimizer {
     /**
      * Stores the number of difference vectors considered for perturbation. It can be DEParameters.yType1 or DEParameters.yType2.
      */
-	public static int yType;
+	private int yType;
 	
 
     /**
@@ -308,7 +307,7 @@ newInds[i]=(Individual)a_pop.getIndividual(i);
  
  private Individual mutation(int i, String xtype, int ytype, JPopulation a_pop){
 	 
-	 Random rnd=new Random(System.currentTimeMillis());
+	 RandomGenerator rnd=configuration.getRandomGenerator();
 		
 	 int dim=a_pop.getConfiguration().getChromosomeSize();
 	int dimension=a_pop.getPopulationSize();
@@ -399,7 +398,7 @@ newInds[i]=(Individual)a_pop.getIndividual(i);
 	 
 	 int dimension=a_pop.getConfiguration().getChromosomeSize();
 	 
-	 Random rnd=new Random(System.currentTimeMillis());
+	 RandomGenerator rnd=configuration.getRandomGenerator();
 		
 	 
 	 double[] genes=new double[dimension];
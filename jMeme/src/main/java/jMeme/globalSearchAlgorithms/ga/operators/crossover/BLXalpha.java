@@ -130,12 +130,12 @@ public class BLXalpha extends CrossoverOperator implements Comparable{
 									min = Math.min(mom, dad);
 									max = Math.max(mom, dad);
 									delta = blxAlpha * (max - min);
-									value1 = min - delta + Math.random() * (max - min + 2.0f * delta); 
+									value1 = min - delta + generator.nextDouble() * (max - min + 2.0f * delta); 
 									value1 = Math.max(((DoubleGene)x1[j]).getLowerBound(), Math.min(((DoubleGene)x1[j]).getUpperBound(), value1));
 									//System.out.println(value);
 									((DoubleGene)x1[j]).setAllele(new Double(value1));
 								
-									value2 = min - delta + Math.random() * (max - min + 2.0f * delta); 
+									value2 = min - delta + generator.nextDouble() * (max - min + 2.0f * delta); 
 									value2 = Math.max(((DoubleGene)x2[j]).getLowerBound(), Math.min(((DoubleGene)x2[j]).getUpperBound(), value2));
 									//System.out.println(value);
 									((DoubleGene)x2[j]).setAllele(new Double(value2));
@@ -92,7 +92,6 @@ Gene[] secondGenes = secondMate.getGenes();
 int locus = generator.nextInt(firstGenes.length-1)+1;
 
 
-System.out.println("locus " + locus);
 
 int index1=locus;
 for (int i = 0; i < secondGenes.length; i++)
@@ -25,6 +25,9 @@
 package jMeme.globalSearchAlgorithms.pso;
 
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 
 import org.jgap.Configuration;
@@ -292,7 +295,8 @@ public class Particle extends Individual{
 		}
 		
 		((Particle)copy).setBestFitness(this.getBestFitness());
-		((Particle)copy).setBestPosition(copyPosition(this.getBestPosition()));
+		if(this.getBestPosition()!=null)
+			((Particle)copy).setBestPosition(copyPosition(this.getBestPosition()));
 		
 		return (Particle)copy;
 	}
@@ -408,7 +412,8 @@ public class Particle extends Individual{
 		}
 		
 		((Particle)copy).setBestFitness(this.getBestFitness());
-		((Particle)copy).setBestPosition(copyPosition(this.getBestPosition()));
+		if(this.getBestPosition()!=null)
+			((Particle)copy).setBestPosition(copyPosition(this.getBestPosition()));
 		
 	
 		return (Particle)copy;
@@ -435,6 +440,57 @@ public class Particle extends Individual{
 	
 
 
+	/**
+	 * Allows to write the state of the individual and the velocities, the best fitness value and the best position of the particle
+	 * 
+	 * @param out  the output to write the state to
+	 * @throws IOException  if the state cannot be written
+	 */
+	public void writeState(DataOutput out) throws IOException {
+		super.writeState(out);
+		Gene[] genes=super.getGenes();
+		for(int i=0;i<genes.length;i++)
+			out.writeDouble(((DoubleParticleComponent)genes[i]).getVelocity());
+		out.writeDouble(bestFitness);
+		out.writeBoolean(bestPosition!=null);
+		if(bestPosition!=null)
+			for(int i=0;i<bestPosition.length;i++){
+				out.writeDouble(bestPosition[i].doubleValue());
+				out.writeDouble(bestPosition[i].getVelocity());
+			}
+		out.writeInt(velocity==null ? -1 : velocity.length);
+		if(velocity!=null)
+			for(int i=0;i<velocity.length;i++)
+				out.writeDouble(velocity[i]);
+	}
+	
+	/**
+	 * Allows to restore the state of the individual and the velocities, the best fitness value and the best position of the particle
+	 * 
+	 * @param in  the input to read the state from
+	 * @throws IOException  if the state cannot be read
+	 */
+	public void readState(DataInput in) throws IOException {
+		super.readState(in);
+		Gene[] genes=super.getGenes();
+		for(int i=0;i<genes.length;i++)
+			((DoubleParticleComponent)genes[i]).setVelocity(in.readDouble());
+		bestFitness=in.readDouble();
+		bestPosition=null;
+		if(in.readBoolean()){
+			bestPosition=copyPosition(genes);
+			for(int i=0;i<bestPosition.length;i++){
+				bestPosition[i].setAllele(in.readDouble());
+				bestPosition[i].setVelocity(in.readDouble());
+			}
+		}
+		int size=in.readInt();
+		velocity=size<0 ? null : new double[size];
+		for(int i=0;i<size;i++)
+			velocity[i]=in.readDouble();
+	}
+	
+	
 	/** Copy position[] to bestPosition[] */
 	private DoubleParticleComponent[] copyPosition(Gene[] d) {
 		int size=d.length;
@@ -26,6 +26,8 @@
 
 package jMeme.globalSearchAlgorithms.pso.updatingStrategy;
 
+import org.jgap.RandomGenerator;
+
 import jMeme.globalSearchAlgorithms.pso.DoubleParticleComponent;
 import jMeme.globalSearchAlgorithms.pso.PSO_Optimizer;
 import jMeme.globalSearchAlgorithms.pso.Particle;
@@ -56,6 +58,7 @@ public class ParticleUpdateConstriction extends ParticleUpdate {
 	 * @param particle  the particle which must be undergone to the updating
 	 */
 	public void update(PSO_Optimizer swarm, Particle particle) {
+		RandomGenerator generator=swarm.getConfiguration().getRandomGenerator();
 		
 		int size=particle.size();
 		DoubleParticleComponent globalBestPosition[] = ((Particle)swarm.getBestSolution()).getBestPosition();
@@ -66,8 +69,8 @@ public class ParticleUpdateConstriction extends ParticleUpdate {
 			
 			// Update velocity
 			double velocity = swarm.getConfidence() * ( ((DoubleParticleComponent)particle.getGenes()[i]).getVelocity() 
-					+ Math.random() * swarm.getParticleIncrement() * (particleBestPosition[i].doubleValue() - ((Double)particle.getGene(i).getAllele()).doubleValue()) // Local best
-					+ Math.random() * swarm.getGlobalIncrement() * (globalBestPosition[i].doubleValue() - ((Double)particle.getGene(i).getAllele()).doubleValue())); // Global best
+					+ generator.nextDouble() * swarm.getParticleIncrement() * (particleBestPosition[i].doubleValue() - ((Double)particle.getGene(i).getAllele()).doubleValue()) // Local best
+					+ generator.nextDouble() * swarm.getGlobalIncrement() * (globalBestPosition[i].doubleValue() - ((Double)particle.getGene(i).getAllele()).doubleValue())); // Global best
 		
 			
 			// Update position
@@ -29,6 +29,7 @@ import jMeme.globalSearchAlgorithms.pso.Particle;
 import jMeme.globalSearchAlgorithms.pso.DoubleParticleComponent;
 import jMeme.globalSearchAlgorithms.pso.PSO_Optimizer;
 
+import org.jgap.RandomGenerator;
 import org.jgap.impl.DoubleGene;
 
 /**
@@ -57,6 +58,7 @@ public class ParticleUpdateFullyRandom extends ParticleUpdate {
 	 * @param particle  the particle which must be undergone to the updating
 	 */
 	public void update(PSO_Optimizer swarm, Particle particle) {
+		RandomGenerator generator=swarm.getConfiguration().getRandomGenerator();
 		
 		int size=particle.size();
 		// double velocity[] = particle.getVelocity();
@@ -69,8 +71,8 @@ public class ParticleUpdateFullyRandom extends ParticleUpdate {
 		
 			
 			double velocity = swarm.getConfidence() * ((DoubleParticleComponent)particle.getGenes()[i]).getVelocity() // Inertia
-				+ Math.random() * swarm.getParticleIncrement() * (particleBestPosition[i].doubleValue() - ((Double)particle.getGene(i).getAllele()).doubleValue()) // Local best
-				+ Math.random() * swarm.getGlobalIncrement() * (globalBestPosition[i].doubleValue() - ((Double)particle.getGene(i).getAllele()).doubleValue()); // Global best
+				+ generator.nextDouble() * swarm.getParticleIncrement() * (particleBestPosition[i].doubleValue() - ((Double)particle.getGene(i).getAllele()).doubleValue()) // Local best
+				+ generator.nextDouble() * swarm.getGlobalIncrement() * (globalBestPosition[i].doubleValue() - ((Double)particle.getGene(i).getAllele()).doubleValue()); // Global best
 	
 			
 			
@@ -25,6 +25,8 @@
 
 package jMeme.globalSearchAlgorithms.pso.updatingStrategy;
 
+import org.jgap.RandomGenerator;
+
 import jMeme.globalSearchAlgorithms.pso.DoubleParticleComponent;
 import jMeme.globalSearchAlgorithms.pso.PSO_Optimizer;
 import jMeme.globalSearchAlgorithms.pso.Particle;
@@ -54,13 +56,14 @@ public class ParticleUpdateRandomByParticle extends ParticleUpdate {
 	 * @param particle  the particle which must be undergone to the updating
 	 */
 	public void update(PSO_Optimizer swarm, Particle particle) {
+		RandomGenerator generator=swarm.getConfiguration().getRandomGenerator();
 		
 		int size=particle.size();
 		DoubleParticleComponent globalBestPosition[] = ((Particle)swarm.getBestSolution()).getBestPosition();
 		DoubleParticleComponent particleBestPosition[] = particle.getBestPosition();
 
-		double rlocal = Math.random();
-		double rglobal = Math.random();
+		double rlocal = generator.nextDouble();
+		double rglobal = generator.nextDouble();
 
 		// Update velocity and position
 		for( int i = 0; i < size; i++ ) {
@@ -25,6 +25,8 @@
 
 package jMeme.globalSearchAlgorithms.pso.updatingStrategy;
 
+import org.jgap.RandomGenerator;
+
 import jMeme.globalSearchAlgorithms.pso.DoubleParticleComponent;
 import jMeme.globalSearchAlgorithms.pso.PSO_Optimizer;
 import jMeme.globalSearchAlgorithms.pso.Particle;
@@ -59,11 +61,12 @@ public class ParticleUpdateSimple extends ParticleUpdate {
 	/** 
 	 * Allows to initialize random vectors used for local and global updates (rlocal[] and rglobal[])
 	 */
-	public void begin() {
+	public void begin(PSO_Optimizer swarm) {
+		RandomGenerator generator=swarm.getConfiguration().getRandomGenerator();
 		int i,dim = dimension;
 		for( i=0 ; i < dim ; i++ ) {
-			rlocal[i] = Math.random();
-			rglobal[i] = Math.random();
+			rlocal[i] = generator.nextDouble();
+			rglobal[i] = generator.nextDouble();
 		}
 	}
 	
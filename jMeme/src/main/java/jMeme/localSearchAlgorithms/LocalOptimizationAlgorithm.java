@@ -25,8 +25,6 @@
 
 package jMeme.localSearchAlgorithms;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 
 import org.jgap.InvalidConfigurationException;
 
@@ -35,7 +33,12 @@ import jMeme.core.JConfiguration;
 import jMeme.core.Problem;
 import jMeme.core.configurations.LocalSearchAlgorithmConfiguration;
 import jMeme.core.individuals.Individual;
+import jMeme.core.listeners.AlgorithmListener;
+import jMeme.core.registry.OptimizerRegistry;
 import jMeme.performances.AlgorithmPerformance;
+import jMeme.performances.jfr.RunEvent;
+import jMeme.performances.metrics.AlgorithmMetrics;
+import jMeme.performances.metrics.MetricsRegistry;
 
 
 /**
@@ -79,7 +82,6 @@ public class LocalOptimizationAlgorithm extends Algorithm{
 		
 				
 		try {
-			configuration.reset();
 			configuration.setFitnessEvaluator(configuration.getFitnessFeatures().getFitnessEvaluator());
 			configuration.setFitnessFunction(configuration.getFitnessFeatures().getFitnessFunction());
 			
@@ -95,52 +97,77 @@ public class LocalOptimizationAlgorithm extends Algorithm{
 
 
 	/**
-	 * Allows to execute the generic behavior of a local search algorithm using a specific local search optimizer
+	 * Allows to execute the generic behavior of a local search algorithm using a specific local search optimizer.
+	 * The progress of the execution is notified to the listener of the configuration.
 	 */
 	public Individual execute() {
 		
 		long startTime= System.currentTimeMillis();
-
+		performance.startClock();
+		
+		AlgorithmListener listener=configuration.getListener();
+		
+		AlgorithmMetrics metrics=performance.getMetrics();
+		
+		RunEvent runEvent=new RunEvent();
+		runEvent.begin();
+		
 		Individual solution=null;
+		
+		MetricsRegistry.register(this, metrics);
+		AlgorithmPerformance previousRunning=AlgorithmPerformance.setRunningPerformance(performance);
 		try {
-			solution = (Individual) Individual.randomInitialIndividual(configuration);
-		} catch (InvalidConfigurationException e) {
+			long phaseStart=System.nanoTime();
+
+			try {
+				solution = (Individual) Individual.randomInitialIndividual(configuration);
+			} catch (InvalidConfigurationException e) {
 			
-			e.printStackTrace();
-		}
+				e.printStackTrace();
+			}
 		
 	
-		performance.setIndividual(solution);
+			performance.setIndividual(solution);
+		
+			metrics.record(AlgorithmMetrics.INITIALIZATION, System.nanoTime()-phaseStart);
 		
-		System.out.println("fitness value: "+ performance.getFitnessValue());
+			double initialFitness=performance.getFitnessValue();
+			listener.runStarted(configuration, null, initialFitness);
 	
-		performance.computeProblemPerformance(problem, solution);
+			performance.computeProblemPerformance(problem, solution);
 		
 			
-	    	localOptimizer.inizializeSolution(solution);
-	    	localOptimizer.startToSolve();
-			
-			solution=(Individual)localOptimizer.getBestSolution();
+				phaseStart=System.nanoTime();
 			
-			performance.setIndividual(solution);
-			//added in the version jMeme 1.0.1
-			performance.computeProblemPerformance(problem, solution);
+		    	localOptimizer.inizializeSolution(solution);
+		    	localOptimizer.startToSolve();
+	    	
+		    	metrics.record(AlgorithmMetrics.LOCAL_STEP, System.nanoTime()-phaseStart);
 			
+				solution=(Individual)localOptimizer.getBestSolution();
 			
-			System.out.println("number of iterations: "+performance.getNumberOfIterations());
+				performance.setIndividual(solution);
+				//added in the version jMeme 1.0.1
+				performance.computeProblemPerformance(problem, solution);
 			
-			System.out.println("number of evaluations: "+performance.getNumberOfFitnessEvaluations());
+				listener.localSearchFinished(configuration, initialFitness, performance.getFitnessValue(), performance.getNumberOfIterations(), performance.getNumberOfFitnessEvaluations());
 			
 		
 
-        long endTime=System.currentTimeMillis();
+			long endTime=System.currentTimeMillis();
 		
-		performance.setTime(endTime - startTime);
-		System.out.println("time of executions: "+performance.getTime());
+			performance.setTime(endTime - startTime);
+			performance.setTimeFitnesses(metrics.getEvaluationTime()/1000000L);
 		
-		System.out.println("time fitnesses: "+performance.getTimeFitnesses());
+			performance.setSpeed(solution.getNumberOfEvaluationsToBeGenerated());
+		} finally {
+			AlgorithmPerformance.setRunningPerformance(previousRunning);
+			MetricsRegistry.unregister(this, metrics);
+		}
 		
-		performance.setSpeed(solution.getNumberOfEvaluationsToBeGenerated());
+		runEvent.emit(this, configuration);
+		
+		listener.runFinished(configuration, performance);
 		
 		
 		return solution;
@@ -155,52 +182,10 @@ public class LocalOptimizationAlgorithm extends Algorithm{
 	 * Allows to initialize the local optimizer starting from the information contained in the configuration object.
 	 * 
 	 * @return the specific local optimizer to run
+	 * @throws IllegalArgumentException  if the optimizer of the local component is unknown
 	 */
 	public LocalSearchOptimizer initializeLocalOptimizer(){
-		
-		Class c=null;
-		try {
-			c = Class.forName(configuration.getLocalComponent().getOptimizerName());
-		} catch (ClassNotFoundException e1) {
-			// TODO Auto-generated catch block
-			e1.printStackTrace();
-		}
-	
-		Constructor  costr=null;
-		try {
-			costr=c.getConstructor(LocalSearchAlgorithmConfiguration.class);
-		} catch (NoSuchMethodException e1) {
-			// TODO Auto-generated catch block
-			e1.printStackTrace();
-		} catch (SecurityException e1) {
-			// TODO Auto-generated catch block
-			e1.printStackTrace();
-		}
-		
-		
-		
-		LocalSearchOptimizer localMethod=null;
-		try {
-			 try {
-				localMethod= (LocalSearchOptimizer)costr.newInstance(configuration);
-			} catch (IllegalArgumentException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			} catch (InvocationTargetException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
-		} catch (InstantiationException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} catch (IllegalAccessException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-		
-	
-		
-		return localMethod;
+		return OptimizerRegistry.createLocal(configuration);
 	}
 
 
@@ -210,6 +195,11 @@ public class LocalOptimizationAlgorithm extends Algorithm{
 		return configuration;
 	}
 	
+	@Override
+	public LocalOptimizationAlgorithm newInstance(JConfiguration conf) {
+		return new LocalOptimizationAlgorithm(problem, (LocalSearchAlgorithmConfiguration)conf);
+	}
+	
 	
 	
 
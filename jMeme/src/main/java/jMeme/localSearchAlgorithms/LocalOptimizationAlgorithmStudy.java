@@ -32,10 +32,11 @@ import java.util.Random;
 import java.util.Vector;
 
 import jMeme.core.AlgorithmComponent;
-import jMeme.core.JConfiguration;
 import jMeme.core.Problem;
 import jMeme.core.configurations.LocalSearchAlgorithmConfiguration;
 import jMeme.core.fitnessFunction.FitnessFeatures;
+import jMeme.core.listeners.AlgorithmListener;
+import jMeme.core.listeners.ConsoleAlgorithmListener;
 import jMeme.design.competent.CompetentStudyUtils;
 import jMeme.design.finalConditions.AlgorithmFinalConditions;
 import jMeme.statisticalTests.Rank;
@@ -97,6 +98,11 @@ public class LocalOptimizationAlgorithmStudy {
 	 * Stores the best configuration for the problem at issue obtained at the end of the study 
 	 */
 	private LocalSearchAlgorithmConfiguration bestConf;
+	
+	/**
+	 * Stores the listener notified of the progress of the study and of the events of the executed algorithms
+	 */
+	private AlgorithmListener listener=ConsoleAlgorithmListener.getDefault();
 
 	
 	 /**
@@ -162,9 +168,9 @@ public class LocalOptimizationAlgorithmStudy {
 			
 			
 			
-				JConfiguration.reset();
 				LocalSearchAlgorithmConfiguration conf=
 						new LocalSearchAlgorithmConfiguration(fitnessFeatures, termination, lc);				
+				conf.setListener(listener);
 			
 				LocalOptimizationAlgorithm algorithm =new LocalOptimizationAlgorithm(prob,conf);
 				  
@@ -199,10 +205,10 @@ public class LocalOptimizationAlgorithmStudy {
 						results.add(map);
 						
 
-						 System.out.println("best " + conf.getPerformance().getIndividual());
+						 listener.message(conf, "best " + conf.getPerformance().getIndividual());
 
 						
-						System.out.println("Runs " + (k)+" executed");
+						listener.message(conf, "Runs " + (k)+" executed");
 					   sumfitnessRuns+=conf.getPerformance().getFitnessValue();
 			         }
 				
@@ -214,7 +220,7 @@ public class LocalOptimizationAlgorithmStudy {
 			         FileUtil.writeFile(fileTxt,result);
 			         FileUtil.writeRunsToExcel(results, nameFile);
 			 		
-			 		System.out.println("Test terminated on configuration " + lc.getId() + "\n");
+			 		listener.message(conf, "Test terminated on configuration " + lc.getId() + "\n");
 				
 				
 			}	
@@ -247,7 +253,7 @@ public class LocalOptimizationAlgorithmStudy {
 	    	indexBestLocal=(Integer)indexBetter.get(random);
 	    }
 	    
-	    System.out.println("End local searches...");
+	    listener.message(null, "End local searches...");
 	}
 	
 	
@@ -256,19 +262,29 @@ public class LocalOptimizationAlgorithmStudy {
     	AlgorithmComponent lc=localComponents[indexBestLocal];
 		
 			
-		JConfiguration.reset();
     	bestConf=new LocalSearchAlgorithmConfiguration(fitnessFeatures, termination, lc);				
+    	bestConf.setListener(listener);
 		
     	//print the best configuration
     	
-    	System.out.println("Local Component: " + lc.getId());
-    	System.out.println("Local Component features:\n " + lc.getParameters());
+    	listener.message(bestConf, "Local Component: " + lc.getId());
+    	listener.message(bestConf, "Local Component features:\n " + lc.getParameters());
     		
     	
     	FileUtil.writeFile(new File("BestLocalConfiguration.txt"), bestConf.toString());
     	
     	//save the configuration object
-    	bestConf.save("localConfiguration.ser");
+    	bestConf.save("localConfiguration.cfg");
     }
 	
+
+	public AlgorithmListener getListener() {
+		return listener;
+	}
+
+
+	public void setListener(AlgorithmListener listener) {
+		this.listener = listener;
+	}
+	
 }
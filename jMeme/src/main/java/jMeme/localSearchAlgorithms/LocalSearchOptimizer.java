@@ -29,7 +29,9 @@ import jMeme.core.Optimizer;
 import jMeme.core.configurations.MemeticAlgorithmConfiguration;
 import jMeme.core.individuals.Individual;
 import jMeme.design.finalConditions.FinalConditions;
+import jMeme.design.finalConditions.LocalOptimizerFinalConditions;
 import jMeme.performances.MemeticAlgorithmPerformance;
+import jMeme.utils.JGapExtension;
 
 
 /**
@@ -51,6 +53,16 @@ public abstract class LocalSearchOptimizer extends Optimizer {
 	 * Stores the current number of evaluations
 	 */
 	protected int currentEval;
+	/**
+	 * Stores the performance containing the counters of the local procedure when they must be kept apart from the
+	 * performance of the configuration, e.g. when several local procedures are executed concurrently; null otherwise
+	 */
+	protected MemeticAlgorithmPerformance localPerformance;
+	/**
+	 * Stores the termination criteria of the local procedure when they must differ from the ones of the configuration,
+	 * e.g. when the local intensity is reduced for a single refinement; null otherwise
+	 */
+	protected LocalOptimizerFinalConditions localFinalConditions;
 
 	
 	/**
@@ -75,8 +87,7 @@ public abstract class LocalSearchOptimizer extends Optimizer {
 	 */
 	public void incrementIteration() {
 		if (configuration.isMemeticConfig())
-			((MemeticAlgorithmPerformance) configuration.getPerformance())
-					.incrementNumLocalIterations();
+			getMemeticPerformance().incrementNumLocalIterations();
 		else
 			configuration.getPerformance().incrementNumberOfIterations();
 	}
@@ -86,8 +97,7 @@ public abstract class LocalSearchOptimizer extends Optimizer {
 	 */
 	public void updateLocalEvaluations() {
 		if (configuration.isMemeticConfig())
-			((MemeticAlgorithmPerformance) configuration.getPerformance())
-					.setNumberLocalEvaluations(currentEval-initialEval);
+			getMemeticPerformance().setNumberLocalEvaluations(currentEval-initialEval);
 
 	}
 
@@ -97,13 +107,49 @@ public abstract class LocalSearchOptimizer extends Optimizer {
 	 */
 	public void localReset(){
 		if (configuration.isMemeticConfig()){
-			((MemeticAlgorithmPerformance) configuration.getPerformance()).setNumberLocalEvaluations(0);
+			getMemeticPerformance().setNumberLocalEvaluations(0);
 		
-			((MemeticAlgorithmPerformance) configuration.getPerformance()).setNumberLocalIterations(0);		
+			getMemeticPerformance().setNumberLocalIterations(0);		
 		}
 	}
 	
 	
+	/**
+	 * Allows to get the performance where the counters of the local procedure are stored
+	 * 
+	 * @return  the local performance, if it is set, or the performance of the configuration, otherwise
+	 */
+	protected MemeticAlgorithmPerformance getMemeticPerformance(){
+		if (localPerformance!=null)
+			return localPerformance;
+		return (MemeticAlgorithmPerformance) configuration.getPerformance();
+	}
+	
+	
+	/**
+	 * Allows to read the number of fitness evaluations used to compute the evaluations performed by the local procedure
+	 * 
+	 * @return  the number of evaluations counted by the local performance, if it is set, or the number of evaluations of the configuration, otherwise
+	 */
+	protected int readNumberOfFitnessEvaluations(){
+		if (localPerformance!=null)
+			return localPerformance.getNumberOfFitnessEvaluations();
+		return configuration.getPerformance().getNumberOfFitnessEvaluations();
+	}
+	
+	
+	/**
+	 * Allows to check the termination criteria of the local procedure
+	 * 
+	 * @return  true if the local procedure can continue, false otherwise
+	 */
+	protected boolean verifyFinalConditions(){
+		if (localPerformance!=null)
+			return ((LocalOptimizerFinalConditions) getFinalConditions()).verify(configuration, localPerformance);
+		return getFinalConditions().verify(configuration);
+	}
+	
+	
 	/**
 	 * Allows to compute the best solution between two given solutions
 	 * 
@@ -124,8 +170,85 @@ public abstract class LocalSearchOptimizer extends Optimizer {
 		
 		return false;
 }
+
+
+	/**
+	 * Allows to compare two fitness values
+	 * 
+	 * @param f1  a fitness value to be compared
+	 * @param f2  a fitness value to be compared
+	 * @param isMaximizing  a boolean value indicating if the the problem is to maximize (true) or minimize (false)
+	 * @return true if the first value is better than the second one, false otherwise (also when one of the values is NaN)
+	 */
+	public boolean isFirstBetterThanSecond(double f1, double f2, final boolean isMaximizing){
+		return isMaximizing ? f1 > f2 : f1 < f2;
+	}
+
+
+	/**
+	 * Allows to update the number of evaluations performed during the local procedure and to check its final conditions.
+	 * The method can be invoked by the threads evaluating solutions on behalf of the local procedure.
+	 * 
+	 * @return  true if the local procedure can continue, false otherwise
+	 */
+	protected synchronized boolean canContinue(){
+		currentEval=readNumberOfFitnessEvaluations();
+		this.updateLocalEvaluations();
+		return verifyFinalConditions();
+	}
+
+
+	/**
+	 * Allows to evaluate a point of a real search space by means of an individual used as a probe
+	 * 
+	 * @param probe  the individual whose genes are overwritten with the point
+	 * @param point  the point to be evaluated
+	 * @return  the fitness value of the point
+	 */
+	protected double evaluatePoint(Individual probe, double[] point){
+		JGapExtension.setDoubleChromosome(probe, point);
+		probe.resetFitness();
+		return probe.evaluate();
+	}
+
+
+	/**
+	 * Allows to evaluate an individual obtained by changing some components of an individual whose fitness value is known.
+	 * The fitness value is updated incrementally when the problem supports it and it is also set in the individual.
+	 * 
+	 * @param s  the individual, already containing the new values of the changed components
+	 * @param previousFitness  the fitness value of the individual before the change
+	 * @param indices  the indices of the changed components
+	 * @param previousValues  the values of the changed components before the change
+	 * @return  the fitness value of the individual
+	 */
+	protected double evaluateIncrement(Individual s, double previousFitness, int[] indices, double[] previousValues){
+		return configuration.getFitnessFeatures().getFitnessFunction().evaluateIncrement(s, previousFitness, indices, previousValues);
+	}
+	
+	
+	
+	/**
+	 * Allows to notify the listener of the configuration that an iteration of the local procedure has been completed
+	 */
+	protected void notifyIteration(){
+		if (configuration.isMemeticConfig())
+			configuration.getListener().localSearchIteration(configuration, getMemeticPerformance().getNumberLocalIterations(), getMemeticPerformance().getNumberLocalEvaluations());
+		else
+			configuration.getListener().localSearchIteration(configuration, configuration.getPerformance().getNumberOfIterations(), configuration.getPerformance().getNumberOfFitnessEvaluations());
+	}
 	
 	
+	/**
+	 * Allows to notify the listener of the configuration that the local procedure of a memetic algorithm has refined an individual
+	 * 
+	 * @param initial  the individual before the refinement
+	 */
+	public void notifyRefinement(Individual initial){
+		configuration.getListener().localSearchFinished(configuration, initial.getFitnessValueDirectly(), bestSolution.getFitnessValueDirectly(),
+				getMemeticPerformance().getNumberLocalIterations(), getMemeticPerformance().getNumberLocalEvaluations());
+	}
+	
 	
 	/**
 	 * Allows to print the performance of the local search procedure
@@ -135,8 +258,8 @@ public abstract class LocalSearchOptimizer extends Optimizer {
 	public String printStatistics(){
 		String result="";
 		if (configuration.isMemeticConfig()){
-			result+="Iterations "+((MemeticAlgorithmPerformance) configuration.getPerformance()).getNumberLocalIterations();
-			result+=" Evaluations "+((MemeticAlgorithmPerformance) configuration.getPerformance()).getNumberLocalEvaluations();
+			result+="Iterations "+getMemeticPerformance().getNumberLocalIterations();
+			result+=" Evaluations "+getMemeticPerformance().getNumberLocalEvaluations();
 					
 		}else{
 			result+="Iterations "+ configuration.getPerformance().getNumberOfIterations();
@@ -149,7 +272,7 @@ public abstract class LocalSearchOptimizer extends Optimizer {
 	
 	public int getIterations(){
 		if (configuration.isMemeticConfig())
-			return ((MemeticAlgorithmPerformance) configuration.getPerformance()).getNumberLocalIterations();
+			return getMemeticPerformance().getNumberLocalIterations();
 			
 			
 		return configuration.getPerformance().getNumberOfIterations();
@@ -158,6 +281,8 @@ public abstract class LocalSearchOptimizer extends Optimizer {
 	}
 	
 	public FinalConditions getFinalConditions(){
+		if (localFinalConditions!=null)
+			return localFinalConditions;
 		if (configuration.isMemeticConfig())
 			return ((MemeticAlgorithmConfiguration) configuration).getLocalFinalConditions();
 		
@@ -168,7 +293,7 @@ public abstract class LocalSearchOptimizer extends Optimizer {
 	
 	public int getNumberOfEvaluations(){
 		if (configuration.isMemeticConfig())
-			return ((MemeticAlgorithmPerformance) configuration.getPerformance()).getNumberLocalEvaluations();
+			return getMemeticPerformance().getNumberLocalEvaluations();
 			
 			
 		return configuration.getPerformance().getNumberOfFitnessEvaluations();
@@ -204,6 +329,26 @@ public abstract class LocalSearchOptimizer extends Optimizer {
 	public void setCurrentEval(int currentEval) {
 		this.currentEval = currentEval;
 	}
+
+
+	public MemeticAlgorithmPerformance getLocalPerformance() {
+		return localPerformance;
+	}
+
+	
+	public void setLocalPerformance(MemeticAlgorithmPerformance localPerformance) {
+		this.localPerformance = localPerformance;
+	}
+
+
+	public LocalOptimizerFinalConditions getLocalFinalConditions() {
+		return localFinalConditions;
+	}
+
+	
+	public void setLocalFinalConditions(LocalOptimizerFinalConditions localFinalConditions) {
+		this.localFinalConditions = localFinalConditions;
+	}
 	
 	
 
@@ -27,7 +27,6 @@ package jMeme.localSearchAlgorithms;
 
 
 import jMeme.core.AlgorithmComponent;
-import jMeme.core.JConfiguration;
 import jMeme.core.configurations.LocalSearchAlgorithmConfiguration;
 import jMeme.core.fitnessFunction.FitnessFeatures;
 import jMeme.design.finalConditions.AlgorithmFinalConditions;
@@ -68,7 +67,6 @@ public class TestLocalOptimizationAlgorithm {
       	AlgorithmComponent stoc=new AlgorithmComponent("st1", StochasticHillClimbing.class.getName(), st1);
       	// AlgorithmComponent chaotic=new AlgorithmComponent("ch1", ChaoticLocalSearch.class.getName(), ch1);
           
-        JConfiguration.reset();
 		LocalSearchAlgorithmConfiguration confstoc=new LocalSearchAlgorithmConfiguration(fitness, finC, stoc);
 		//LocalSearchAlgorithmConfiguration confch=new LocalSearchAlgorithmConfiguration(fitness, finC, chaotic);
 		
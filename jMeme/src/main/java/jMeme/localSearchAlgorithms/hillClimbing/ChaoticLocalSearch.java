@@ -26,7 +26,7 @@
 package jMeme.localSearchAlgorithms.hillClimbing;
 
 
-import java.util.Random;
+import org.jgap.RandomGenerator;
 
 import jMeme.core.configurations.LocalSearchAlgorithmConfiguration;
 import jMeme.core.configurations.MemeticAlgorithmConfiguration;
@@ -77,9 +77,9 @@ public class ChaoticLocalSearch extends LocalSearchOptimizer{
 			
             this.localReset();
 			
-            initialEval=configuration.getPerformance().getNumberOfFitnessEvaluations();
+            initialEval=readNumberOfFitnessEvaluations();
 			
-			while (getFinalConditions().verify(configuration)) {
+			while (verifyFinalConditions()) {
 
 				this.incrementIteration();
 					
@@ -91,10 +91,10 @@ public class ChaoticLocalSearch extends LocalSearchOptimizer{
 				if(isFirstBetterThanSecond(bestS, bestSolution, this.isMaximize()))
 					bestSolution=bestS;
 				
-				currentEval=configuration.getPerformance().getNumberOfFitnessEvaluations();
+				currentEval=readNumberOfFitnessEvaluations();
 				this.updateLocalEvaluations();
 				
-				System.out.println(this.printStatistics());
+				this.notifyIteration();
 			
 			}
 			
@@ -128,7 +128,7 @@ public class ChaoticLocalSearch extends LocalSearchOptimizer{
 			
 			Individual[] movs = new Individual[M];
 			
-	        Random rnd=new Random();
+	        RandomGenerator rnd=configuration.getRandomGenerator();
 			
 	        int numG=((Individual)bestSolution).getGenes().length;
 			
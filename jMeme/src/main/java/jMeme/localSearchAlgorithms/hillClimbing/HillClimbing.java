@@ -89,9 +89,9 @@ public class HillClimbing extends LocalSearchOptimizer{
 			
             this.localReset();
 			
-            initialEval=configuration.getPerformance().getNumberOfFitnessEvaluations();
+            initialEval=readNumberOfFitnessEvaluations();
 			
-			while (getFinalConditions().verify(configuration)) {
+			while (verifyFinalConditions()) {
 
 				this.incrementIteration();
 					
@@ -99,10 +99,10 @@ public class HillClimbing extends LocalSearchOptimizer{
 			
 				bestSolution=this.getFirstBestSuccessor(m,bestSolution);
 					
-				currentEval=configuration.getPerformance().getNumberOfFitnessEvaluations();
+				currentEval=readNumberOfFitnessEvaluations();
 				this.updateLocalEvaluations();
 				
-				System.out.println(this.printStatistics());
+				this.notifyIteration();
 			
 			}
 	
@@ -87,9 +87,9 @@ public class SteepestHillClimbing extends LocalSearchOptimizer{
 
 			this.localReset();
 			
-            initialEval=configuration.getPerformance().getNumberOfFitnessEvaluations();
+            initialEval=readNumberOfFitnessEvaluations();
 			
-			while (getFinalConditions().verify(configuration)) {
+			while (verifyFinalConditions()) {
 
 				this.incrementIteration();
 		
@@ -100,10 +100,10 @@ public class SteepestHillClimbing extends LocalSearchOptimizer{
 				if(isFirstBetterThanSecond(bestS, bestSolution, this.isMaximize()))
 					bestSolution=bestS;
 			
-				currentEval=configuration.getPerformance().getNumberOfFitnessEvaluations();
+				currentEval=readNumberOfFitnessEvaluations();
 				this.updateLocalEvaluations();
 				
-				System.out.println(this.printStatistics());
+				this.notifyIteration();
 			
 						
 			}
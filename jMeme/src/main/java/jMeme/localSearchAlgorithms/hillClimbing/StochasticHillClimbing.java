@@ -31,7 +31,6 @@ import jMeme.core.individuals.Individual;
 import jMeme.design.optimizerParameters.StochasticHillClimbingParameters;
 import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
 
-import java.util.Random;
 
 import org.jgap.Gene;
 import org.jgap.RandomGenerator;
@@ -85,9 +84,9 @@ public class StochasticHillClimbing extends LocalSearchOptimizer{
 			
 			this.localReset();
 			
-			initialEval=configuration.getPerformance().getNumberOfFitnessEvaluations();
+			initialEval=readNumberOfFitnessEvaluations();
 			
-			while (getFinalConditions().verify(configuration)) {
+			while (verifyFinalConditions()) {
 
 				this.incrementIteration();
 				
@@ -97,14 +96,13 @@ public class StochasticHillClimbing extends LocalSearchOptimizer{
 				if (isFirstBetterThanSecond(ns, bestSolution, this.isMaximize())) {
 					//iter = 0;
 					bestSolution = ns;
-					System.out.println("local search migliora");
 				}
 				//System.out.println(s.evaluate());	
 					
-				currentEval=configuration.getPerformance().getNumberOfFitnessEvaluations();
+				currentEval=readNumberOfFitnessEvaluations();
 				this.updateLocalEvaluations();
 				
-				System.out.println(this.printStatistics());
+				this.notifyIteration();
 				
 			}
 			
@@ -126,7 +124,6 @@ public class StochasticHillClimbing extends LocalSearchOptimizer{
 			int i=0;	
 			while (i < nd){
 				int rand=generator.nextInt(numG);
-				Random rr=new Random();
 				
 				Gene gene=(Gene)(out.getGenes()[rand]);
 				int iter=this.configuration.getPerformance().getNumberOfIterations()+1;
@@ -29,6 +29,12 @@ import jMeme.core.configurations.MemeticAlgorithmConfiguration;
 import jMeme.core.individuals.Individual;
 import jMeme.design.optimizerParameters.HookeJeevesParameters;
 import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
+import jMeme.utils.JGapExtension;
+import jMeme.utils.ParallelUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * This class implements the Hooke and Jeeves procedure. Hooke and Jeeves (HJ) is a deterministic pattern search algorithm
@@ -36,6 +42,12 @@ import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
  * and does not need function derivatives. Its main operation consists of a search along the coordinate axes of the
  * search space, using a suitable step size. For more information, see the following work:
  * R. Hooke and T. A. Jeeves, "Direct Search Solution of Numerical and Statistical Problems", Journal of the ACM, Vol. 8, April 1961, pp. 212-229. 
+ * <p>
+ * The points, the pattern and the step sizes are handled as arrays of real values and the probes are evaluated
+ * by means of a fixed set of individuals, reused during the whole procedure. When the parallelism is greater than 1,
+ * the exploratory moves evaluate concurrently the probes of a block of coordinates: in each block, the improving
+ * moves are accepted in the order of the coordinates and, when more than one coordinate improves, the point
+ * combining all of them is evaluated and kept only if it is better than the best single move.
  */
 public class HookeJeeves extends LocalSearchOptimizer{
 
@@ -51,6 +63,34 @@ public class HookeJeeves extends LocalSearchOptimizer{
      * cost of more function evaluations.
 	 */
 	private double rho;
+	/**
+	 * Stores the number of coordinates whose probes are evaluated concurrently. A value lower than 1 indicates all the coordinates.
+	 */
+	private int blockSize;
+	/**
+	 * Stores the number of threads used to evaluate the probes
+	 */
+	private int parallelism;
+	/**
+	 * Stores the individuals used to evaluate the probes
+	 */
+	private transient Individual[] probes;
+	/**
+	 * Stores the tasks used to evaluate concurrently the probes of a block
+	 */
+	private transient List<Probe> tasks;
+	/**
+	 * Stores the lower bounds of the decision variables
+	 */
+	private transient double[] lower;
+	/**
+	 * Stores the upper bounds of the decision variables
+	 */
+	private transient double[] upper;
+	/**
+	 * Stores the point combining the improving moves of a block
+	 */
+	private transient double[] trial;
 
 	
 	/**
@@ -60,8 +100,7 @@ public class HookeJeeves extends LocalSearchOptimizer{
 	 */
 	public HookeJeeves(LocalSearchAlgorithmConfiguration conf){
 		this.configuration=conf;
-		epsilon=((HookeJeevesParameters)conf.getLocalComponent().getParameters()).getEpsilon();
-		rho=((HookeJeevesParameters)conf.getLocalComponent().getParameters()).getRho();
+		setParameters((HookeJeevesParameters)conf.getLocalComponent().getParameters());
 	}
 	
 	/**
@@ -71,10 +110,16 @@ public class HookeJeeves extends LocalSearchOptimizer{
 	 */
 	public HookeJeeves(MemeticAlgorithmConfiguration conf){
 		this.configuration=conf;
-		epsilon=((HookeJeevesParameters)conf.getLocalComponent().getParameters()).getEpsilon();
-		rho=((HookeJeevesParameters)conf.getLocalComponent().getParameters()).getRho();
+		setParameters((HookeJeevesParameters)conf.getLocalComponent().getParameters());
+	}
+
+
+	private void setParameters(HookeJeevesParameters par){
+		epsilon=par.getEpsilon();
+		rho=par.getRho();
+		blockSize=par.getBlockSize();
+		parallelism=par.getParallelism();
 	}
-	
 	
 	
 
@@ -82,167 +127,237 @@ public class HookeJeeves extends LocalSearchOptimizer{
 @Override
 public void startToSolve()
 {
-	   double[]  delta=new double[configuration.getIndividualSize()];
-	   double	 steplength;
-	  
-	   int		   i, keep;
-	   
-	   
 	   Individual startpt=bestSolution;
-	   Individual xbefore=startpt.clone();
-	  
-	   Individual newx=null;
-	   
-	   delta=initializeDelta(startpt,rho);
-	   
-	   
-	  
-	   steplength = rho;
-	 
+	   int nvars=configuration.getIndividualSize();
+
+	   double[] xbefore=JGapExtension.doubleChromosomeToArray(startpt);
+	   double[] newx=new double[nvars];
+	   double[] delta=initializeDelta(xbefore,rho);
+	   lower=JGapExtension.doubleLowerBounds(startpt);
+	   upper=JGapExtension.doubleUpperBounds(startpt);
+	   trial=new double[nvars];
+
+	   int block=(blockSize < 1 || blockSize > nvars) ? nvars : blockSize;
+	   initializeProbes(startpt, parallelism == 1 ? 1 : 2*block);
+
+	   double steplength = rho;
+
 	   this.localReset();
 		
-		initialEval=configuration.getPerformance().getNumberOfFitnessEvaluations();
-		
-		while (getFinalConditions().verify(configuration) && (steplength > epsilon)) {
+		initialEval=readNumberOfFitnessEvaluations();
+
+		double fbefore=startpt.evaluate();
+		double newf=fbefore;
+
+		while (canContinue() && (steplength > epsilon)) {
 
 			this.incrementIteration();
-			
-	
+
 		    /* find best new point, one coord at a time */
-		   newx=xbefore.clone();
-		   newx = best_nearby(delta, newx);
-		   bestSolution=newx;
-		   
-			
-			currentEval=configuration.getPerformance().getNumberOfFitnessEvaluations();
+			System.arraycopy(xbefore, 0, newx, 0, nvars);
+			newf = bestNearby(delta, newx, fbefore, block);
+
+			currentEval=readNumberOfFitnessEvaluations();
 			this.updateLocalEvaluations();
-			
-			System.out.println(this.printStatistics());
-		
-			 
+
+			this.notifyIteration();
+
 		   /* if we made some improvements, pursue that direction */
-		   	
-		   keep = 1;
-		   while ((isFirstBetterThanSecond(newx,xbefore, this.isMaximize())) && (keep == 1) && this.getFinalConditions().verify(configuration)) {
-			  
-			
-			   xbefore=updateInHookeJeeves(delta, newx,xbefore);
-			   if(this.getFinalConditions().verify(configuration))
-				   break;
-			   
-			  	 
-			  
-			   newx = best_nearby(delta, newx);
-			   bestSolution=newx;
-			  
-			   currentEval=configuration.getPerformance().getNumberOfFitnessEvaluations();
-				this.updateLocalEvaluations();
-				
-				System.out.println(this.printStatistics());
-			
-			  	
-			    if (isFirstBetterThanSecond(xbefore, newx,this.isMaximize())){
-				   bestSolution=xbefore;
-				   break;
+		   boolean keep = true;
+		   while (isBetter(newf, fbefore) && keep && canContinue()) {
+
+			   for (int i = 0; i < nvars; i++) {
+				   /* firstly, arrange the sign of delta[] */
+				   if (newx[i] <= xbefore[i])
+					   delta[i] = - Math.abs(delta[i]);
+				   else
+					   delta[i] = Math.abs(delta[i]);
+				   /* now, move further in this direction */
+				   double tmp = xbefore[i];
+				   xbefore[i] = newx[i];
+				   newx[i] = bound(i, newx[i] + newx[i] - tmp);
 			   }
+			   fbefore = newf;
+
+			   newf = bestNearby(delta, newx, fbefore, block);
+
+			   currentEval=readNumberOfFitnessEvaluations();
+			   this.updateLocalEvaluations();
+
+			   this.notifyIteration();
+
+			   /* if the further (optimistic) move was bad.... */
+			   if (!isBetter(newf, fbefore))
+				   break;
+
 			   /* make sure that the differences between the new */
 			   /* and the old points are due to actual */
 			   /* displacements; beware of roundoff errors that */
 			   /* might cause newf < fbefore */
-			   keep = check(delta, newx,xbefore);
+			   keep = false;
+			   for (int i = 0; i < nvars; i++) {
+				   if (Math.abs(newx[i] - xbefore[i]) > (0.5 * Math.abs(delta[i]))) {
+					   keep = true;
+					   break;
+				   }
+			   }
 		   }
-		   if ((steplength >= epsilon) && (isFirstBetterThanSecond(xbefore, newx,this.isMaximize()))) {
+		   if ((steplength >= epsilon) && !isBetter(newf, fbefore)) {
 			   steplength = steplength * rho;
-			   for (i = 0; i < configuration.getIndividualSize(); i++) {
+			   for (int i = 0; i < nvars; i++)
 				   delta[i] *= rho;
-			   }
-			   
-			   bestSolution=xbefore;
-			   
-				 
 		   }
-		   
 	   }
-	  
-	  
+
+		Individual best=startpt.clone();
+		if (isBetter(newf, fbefore)) {
+			JGapExtension.setDoubleChromosome(best, newx);
+			best.setFitness(newf);
+		} else {
+			JGapExtension.setDoubleChromosome(best, xbefore);
+			best.setFitness(fbefore);
+		}
+		bestSolution=best;
+
+		probes=null;
+		tasks=null;
+		trial=null;
 }
 
 
-private int check(double[] delta, Individual newx, Individual xbefore){
-	
-	int  keep = 0;
-	
-	Individual next=(Individual)newx;
-	Individual before=(Individual)xbefore;
-	
-	  int size=configuration.getIndividualSize();
-	
-	   for (int i = 0; i < size; i++) {
-		   keep = 1;
-		   double one=((Double)next.getGenes()[i].getAllele()).doubleValue();
-		   double two=((Double)before.getGenes()[i].getAllele()).doubleValue();
-			
-		   if (Math.abs(one - two) > (0.5 * Math.abs(delta[i])))
-			   break;
-		   else
-			   keep = 0;
-	   }
-	   
-	   return keep;
-	
+/**
+ * Allows to explore the coordinate axes around a point by means of the current step sizes
+ * 
+ * @param delta  the step sizes, whose signs are updated according to the successful directions
+ * @param point  the point to explore, which is replaced by the best point found
+ * @param prevbest  the fitness value of the point
+ * @param block  the number of coordinates whose probes are evaluated concurrently
+ * 
+ * @return  the fitness value of the best point found
+ */
+private double bestNearby(double[] delta, double[] point, double prevbest, int block){
+
+	if (parallelism == 1)
+		return sequentialBestNearby(delta, point, prevbest);
+
+	int nvars=point.length;
+	double minf=prevbest;
+
+	for (int j = 0; j < nvars && canContinue(); j += block) {
+
+		int end=Math.min(nvars, j+block);
+
+		for (int i = j; i < end; i++) {
+			tasks.get(2*(i-j)).set(point, i, bound(i, point[i] + delta[i]));
+			tasks.get(2*(i-j)+1).set(point, i, bound(i, point[i] - delta[i]));
+		}
+		List<Double> values=ParallelUtil.invokeAll(tasks.subList(0, 2*(end-j)), parallelism);
+
+		/* the improving moves are accepted in the order of the coordinates */
+		int accepted=0;
+		int bestIndex=-1;
+		double bestValue=0;
+		double bestf=minf;
+		for (int i = j; i < end; i++) {
+			double fplus=values.get(2*(i-j)).doubleValue();
+			double fminus=values.get(2*(i-j)+1).doubleValue();
+			boolean plus=isBetter(fplus, minf);
+			boolean minus=isBetter(fminus, minf) && (!plus || isBetter(fminus, fplus));
+			if (!plus || minus)
+				delta[i] = - delta[i];
+			if (plus || minus) {
+				double f=minus ? fminus : fplus;
+				double value=minus ? tasks.get(2*(i-j)+1).value : tasks.get(2*(i-j)).value;
+				if (accepted == 0)
+					System.arraycopy(point, 0, trial, 0, nvars);
+				trial[i]=value;
+				accepted++;
+				if (isBetter(f, bestf)) {
+					bestf=f;
+					bestIndex=i;
+					bestValue=value;
+				}
+			}
+		}
+
+		if (accepted == 1) {
+			point[bestIndex]=bestValue;
+			minf=bestf;
+		} else if (accepted > 1) {
+			double f=canContinue() ? evaluatePoint(probes[0], trial) : Double.NaN;
+			if (isBetter(f, bestf)) {
+				System.arraycopy(trial, 0, point, 0, nvars);
+				minf=f;
+			} else {
+				point[bestIndex]=bestValue;
+				minf=bestf;
+			}
+		}
+	}
+	return minf;
 }
 
-private Individual updateInHookeJeeves(double[] delta, Individual newx, Individual xbefore){
-	
-	Individual next=(Individual)newx;
-	Individual before=(Individual)xbefore;
-	Individual tmp=next.clone();
-	
-	  int size=configuration.getIndividualSize();
-	  
-	  for (int i = 0; i < size; i++) {
-		  
-		  double one=((Double)next.getGenes()[i].getAllele()).doubleValue();
-		  double two=((Double)before.getGenes()[i].getAllele()).doubleValue();
-		   /* firstly, arrange the sign of delta[] */
-		   if ( (one <= two && !this.isMaximize()) || (one >= two && this.isMaximize()))
-			   delta[i] = - Math.abs(delta[i]);
-		   else
-			   delta[i] = Math.abs(delta[i]);
-		  
-		   /* now, move further in this direction */
-		  // before.getGenes()[i].setAllele(one);
-		    
-		   next.getGenes()[i].setAllele(one + one - two);
-		  
-	   }
-	  
-	  
-	  xbefore=tmp;
-		 
-	  
-	  next.resetFitness();
-	  next.evaluate();
-	  
-	  
-	  return xbefore;
-		 
+
+/**
+ * Allows to explore the coordinate axes around a point one probe at a time, as in the original procedure
+ * 
+ * @param delta  the step sizes, whose signs are updated according to the successful directions
+ * @param point  the point to explore, which is replaced by the best point found
+ * @param prevbest  the fitness value of the point
+ * 
+ * @return  the fitness value of the best point found
+ */
+private double sequentialBestNearby(double[] delta, double[] point, double prevbest){
+
+	double minf=prevbest;
+
+	for (int i = 0; i < point.length && canContinue(); i++) {
+
+		double old=point[i];
+		point[i]=bound(i, old + delta[i]);
+		double ftmp=evaluatePoint(probes[0], point);
+		if (isBetter(ftmp, minf))
+			minf=ftmp;
+		else {
+			delta[i] = - delta[i];
+			point[i]=bound(i, old + delta[i]);
+			ftmp=canContinue() ? evaluatePoint(probes[0], point) : Double.NaN;
+			if (isBetter(ftmp, minf))
+				minf=ftmp;
+			else
+				point[i]=old;
+		}
+	}
+	return minf;
 }
 
 
-private void executeStep(Individual s1, int index, Individual s2, double delta) {
-	Individual initial=(Individual)s2;
-	Individual current=(Individual)s1;
-	current.getGenes()[index].setAllele(((Double)initial.getGenes()[index].getAllele()).doubleValue()+delta);
+private boolean isBetter(double f1, double f2){
+	return isFirstBetterThanSecond(f1, f2, this.isMaximize());
+}
+
+
+private double bound(int index, double value){
+	return Math.max(lower[index], Math.min(upper[index], value));
+}
+
 
+private void initializeProbes(Individual s, int number){
+	probes=new Individual[number];
+	tasks=new ArrayList<Probe>(number);
+	for (int k = 0; k < number; k++) {
+		probes[k]=s.partialClone();
+		tasks.add(new Probe(k));
+	}
 }
 
-private double[] initializeDelta(Individual s,double rho){
-	int size=s.size();
+
+private double[] initializeDelta(double[] x,double rho){
+	int size=x.length;
 	double[] delta=new double[size];
 	
 	for (int i = 0; i <size; i++) {
-		   delta[i] = Math.abs(((Double)((Individual)s).getGenes()[i].getAllele()).doubleValue() * rho);
+		   delta[i] = Math.abs(x[i] * rho);
 		   if (delta[i] == 0.0)
 			   delta[i] = rho;
 	   }
@@ -250,55 +365,84 @@ private double[] initializeDelta(Individual s,double rho){
 	return delta;
 }
 
-private Individual best_nearby(double[] delta, Individual p){
-	 
-    int nvars=configuration.getIndividualSize();
-
-    Individual newP=p.clone();
-    Individual newP2=null;
-	   
-	 
-	   
-	   
-	   for (int i = 0; i < nvars; i++) {
-		   
-		   
-		   newP2=newP.partialClone();
-		   executeStep(newP2,i,p,delta[i]);
-		   newP2.evaluate();
-		   
-		   
-		   
-		   if (isFirstBetterThanSecond(newP2, newP, this.isMaximize())){
-			   newP=newP2;
-			   if(this.getFinalConditions().verify(configuration))
-				   break;
-			   
-		   }
-		   else {
-			   
-			   if(this.getFinalConditions().verify(configuration))
-				   break;
-			   
-			   delta[i] = - delta[i];
-			   newP2=newP.partialClone();
-			   executeStep(newP2,i,p,delta[i]);
-			   newP2.evaluate();
-			   
-			 	
-			   if (isFirstBetterThanSecond(newP2, newP,  this.isMaximize()))
-				   newP=newP2;
-			   
-			   if(this.getFinalConditions().verify(configuration))
-				   break;
-			   
-				  
-		   }
-		   
-		   
-		  
-	   }
-	 return newP;
+
+/**
+ * This class represents the evaluation of a point obtained by moving a single coordinate of a base point
+ */
+private class Probe implements Callable<Double> {
+
+	/**
+	 * Stores the index of the individual used to evaluate the probe
+	 */
+	int index;
+	/**
+	 * Stores the base point
+	 */
+	double[] base;
+	/**
+	 * Stores the moved coordinate
+	 */
+	int coordinate;
+	/**
+	 * Stores the value of the moved coordinate
+	 */
+	double value;
+
+
+	Probe(int index){
+		this.index=index;
+	}
+
+
+	void set(double[] base, int coordinate, double value){
+		this.base=base;
+		this.coordinate=coordinate;
+		this.value=value;
+	}
+
+
+	public Double call() {
+		if (value == base[coordinate] || !canContinue())
+			return Double.NaN;
+		Individual probe=probes[index];
+		JGapExtension.setDoubleChromosome(probe, base);
+		probe.getIndividualComponent(coordinate).setValue(Double.valueOf(value));
+		probe.resetFitness();
+		return probe.evaluate();
+	}
+}
+
+
+public double getEpsilon() {
+	return epsilon;
+}
+
+public void setEpsilon(double epsilon) {
+	this.epsilon = epsilon;
+}
+
+public double getRho() {
+	return rho;
+}
+
+public void setRho(double rho) {
+	this.rho = rho;
+}
+
+public int getBlockSize() {
+	return blockSize;
+}
+
+public void setBlockSize(int blockSize) {
+	this.blockSize = blockSize;
+}
+
+public int getParallelism() {
+	return parallelism;
+}
+
+public void setParallelism(int parallelism) {
+	this.parallelism = parallelism;
 }
 
 
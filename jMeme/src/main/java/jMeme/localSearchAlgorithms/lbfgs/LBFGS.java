@@ -0,0 +1,457 @@
+/*
+ * LBFGS.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+package jMeme.localSearchAlgorithms.lbfgs;
+
+import jMeme.core.JFitnessFunction;
+import jMeme.core.configurations.LocalSearchAlgorithmConfiguration;
+import jMeme.core.configurations.MemeticAlgorithmConfiguration;
+import jMeme.core.individuals.Individual;
+import jMeme.design.optimizerParameters.LBFGSParameters;
+import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
+import jMeme.utils.JGapExtension;
+import jMeme.utils.ParallelUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * This class implements a limited-memory BFGS procedure with bound constraints, in the style of L-BFGS-B.
+ * At each iteration, the search direction is computed by the two-loop recursion over the last stored corrections,
+ * restricted to the decision variables which are not blocked at one of their bounds, and a projected backtracking
+ * line search satisfying the Armijo condition is performed. For more information, see the following work:
+ * R. H. Byrd, P. Lu, J. Nocedal and C. Zhu, "A limited memory algorithm for bound constrained optimization", SIAM Journal on Scientific Computing, Vol. 16, 1995, pp. 1190-1208.
+ * <p>
+ * The gradient is computed by the fitness evaluation method when it provides the analytic gradient; otherwise, it is approximated
+ * by central (2n evaluations) or forward (n evaluations besides the current point) finite differences, evaluated concurrently.
+ * All the evaluations, including the ones of the line search, are counted by the final conditions of the procedure.
+ */
+public class LBFGS extends LocalSearchOptimizer {
+
+
+	private static final long serialVersionUID = -2204335120489624745L;
+	/**
+	 * Constant indicating the sufficient decrease coefficient of the Armijo condition
+	 */
+	private static final double ARMIJO=1e-4;
+	/**
+	 * Stores the number of corrections used to approximate the inverse Hessian matrix
+	 */
+	private int memory;
+	/**
+	 * Stores the tolerance on the infinity norm of the projected gradient
+	 */
+	private double tolerance;
+	/**
+	 * Stores the finite-difference step, relative to the magnitude of each decision variable
+	 */
+	private double differenceStep;
+	/**
+	 * Stores a boolean value indicating if the gradient is approximated by central differences
+	 */
+	private boolean centralDifferences;
+	/**
+	 * Stores the maximum number of steps of the line search
+	 */
+	private int maxLineSearch;
+	/**
+	 * Stores the number of threads used to approximate the gradient
+	 */
+	private int parallelism;
+	/**
+	 * Stores the lower bounds of the decision variables
+	 */
+	private transient double[] lower;
+	/**
+	 * Stores the upper bounds of the decision variables
+	 */
+	private transient double[] upper;
+	/**
+	 * Stores the individuals used to evaluate the points, one for each thread
+	 */
+	private transient Individual[] probes;
+	/**
+	 * Stores the differences between consecutive points
+	 */
+	private transient double[][] s;
+	/**
+	 * Stores the differences between consecutive gradients
+	 */
+	private transient double[][] y;
+	/**
+	 * Stores the reciprocals of the products between the stored corrections
+	 */
+	private transient double[] rho;
+	/**
+	 * Stores the coefficients computed by the first loop of the recursion
+	 */
+	private transient double[] alpha;
+
+
+	/**
+	 * Constructor
+	 * 
+	 * @param conf  the configuration object containing all information to run the L-BFGS procedure
+	 */
+	public LBFGS(LocalSearchAlgorithmConfiguration conf){
+		this.configuration=conf;
+		setParameters((LBFGSParameters)conf.getLocalComponent().getParameters());
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param conf  the configuration object containing all information to run a memetic algorithm where the L-BFGS procedure is the local search optimizer
+	 */
+	public LBFGS(MemeticAlgorithmConfiguration conf){
+		this.configuration=conf;
+		setParameters((LBFGSParameters)conf.getLocalComponent().getParameters());
+	}
+
+
+	private void setParameters(LBFGSParameters par){
+		memory=Math.max(1, par.getMemory());
+		tolerance=par.getTolerance();
+		differenceStep=par.getDifferenceStep();
+		centralDifferences=par.isCentralDifferences();
+		maxLineSearch=par.getMaxLineSearch();
+		parallelism=par.getParallelism();
+	}
+
+
+	@Override
+	public void startToSolve() {
+
+		Individual start=bestSolution;
+		int n=configuration.getIndividualSize();
+
+		/* the procedure always minimizes: the fitness is negated for the maximization problems */
+		double sign=this.isMaximize() ? -1 : 1;
+
+		lower=JGapExtension.doubleLowerBounds(start);
+		upper=JGapExtension.doubleUpperBounds(start);
+		probes=new Individual[parallelism == 1 ? 1 : Math.max(1, Math.min(parallelism, n))];
+		for (int i = 0; i < probes.length; i++)
+			probes[i]=start.partialClone();
+		s=new double[memory][n];
+		y=new double[memory][n];
+		rho=new double[memory];
+		alpha=new double[memory];
+		int stored=0;
+		int newest=-1;
+
+		double[] x=JGapExtension.doubleChromosomeToArray(start);
+		double[] g=new double[n];
+		double[] xNew=new double[n];
+		double[] gNew=new double[n];
+		double[] d=new double[n];
+
+		this.localReset();
+
+		initialEval=readNumberOfFitnessEvaluations();
+
+		double fx=sign*start.evaluate();
+		boolean gradient=canContinue() && computeGradient(x, fx, g, sign);
+
+		while (gradient && canContinue()) {
+
+			this.incrementIteration();
+
+			double norm=0;
+			for (int i = 0; i < n; i++)
+				if (!isBlocked(i, x, g))
+					norm=Math.max(norm, Math.abs(g[i]));
+			if (norm <= tolerance)
+				break;
+
+			computeDirection(x, g, d, stored, newest);
+			double slope=0;
+			for (int i = 0; i < n; i++)
+				slope+=g[i]*d[i];
+			if (slope >= 0) {
+				/* the stored corrections do not give a descent direction: the steepest descent is used */
+				stored=0;
+				computeDirection(x, g, d, 0, newest);
+			}
+
+			/* projected backtracking line search */
+			double t=stored == 0 ? Math.min(1, 1/norm) : 1;
+			double fNew=fx;
+			boolean accepted=false;
+			for (int k = 0; k < maxLineSearch && canContinue(); k++) {
+				double decrease=0;
+				for (int i = 0; i < n; i++) {
+					xNew[i]=bound(i, x[i]+t*d[i]);
+					decrease+=g[i]*(xNew[i]-x[i]);
+				}
+				if (decrease >= 0)
+					break;
+				fNew=sign*evaluatePoint(probes[0], xNew);
+				if (fNew <= fx+ARMIJO*decrease) {
+					accepted=true;
+					break;
+				}
+				t*=0.5;
+			}
+
+			if (!accepted) {
+				if (stored == 0)
+					break;
+				stored=0;
+				continue;
+			}
+
+			gradient=canContinue() && computeGradient(xNew, fNew, gNew, sign);
+
+			if (gradient) {
+				int next=(newest+1)%memory;
+				double sy=0;
+				double yy=0;
+				for (int i = 0; i < n; i++) {
+					s[next][i]=xNew[i]-x[i];
+					y[next][i]=gNew[i]-g[i];
+					sy+=s[next][i]*y[next][i];
+					yy+=y[next][i]*y[next][i];
+				}
+				/* the correction is stored only if the curvature condition holds */
+				if (sy > 1e-10*yy) {
+					rho[next]=1/sy;
+					newest=next;
+					stored=Math.min(stored+1, memory);
+				}
+			}
+
+			double[] tmp=x;
+			x=xNew;
+			xNew=tmp;
+			tmp=g;
+			g=gNew;
+			gNew=tmp;
+			fx=fNew;
+
+			currentEval=readNumberOfFitnessEvaluations();
+			this.updateLocalEvaluations();
+
+			this.notifyIteration();
+		}
+
+		Individual best=start.clone();
+		JGapExtension.setDoubleChromosome(best, x);
+		best.setFitness(sign*fx);
+		bestSolution=best;
+
+		lower=upper=rho=alpha=null;
+		s=y=null;
+		probes=null;
+	}
+
+
+	/**
+	 * Allows to compute the search direction by means of the two-loop recursion. The decision variables blocked
+	 * at one of their bounds do not move.
+	 * 
+	 * @param x  the current point
+	 * @param g  the gradient in the current point
+	 * @param d  the array where the direction is stored
+	 * @param stored  the number of corrections to use
+	 * @param newest  the index of the newest correction
+	 */
+	private void computeDirection(double[] x, double[] g, double[] d, int stored, int newest){
+		int n=d.length;
+
+		for (int i = 0; i < n; i++)
+			d[i]=isBlocked(i, x, g) ? 0 : g[i];
+
+		int index=newest;
+		for (int k = 0; k < stored; k++) {
+			alpha[index]=rho[index]*dot(s[index], d);
+			for (int i = 0; i < n; i++)
+				d[i]-=alpha[index]*y[index][i];
+			index=(index-1+memory)%memory;
+		}
+
+		if (stored > 0) {
+			double gamma=dot(s[newest], y[newest])/dot(y[newest], y[newest]);
+			for (int i = 0; i < n; i++)
+				d[i]*=gamma;
+		}
+
+		index=(newest-stored+1+memory)%memory;
+		for (int k = 0; k < stored; k++) {
+			double beta=rho[index]*dot(y[index], d);
+			for (int i = 0; i < n; i++)
+				d[i]+=s[index][i]*(alpha[index]-beta);
+			index=(index+1)%memory;
+		}
+
+		for (int i = 0; i < n; i++)
+			d[i]=isBlocked(i, x, g) ? 0 : -d[i];
+	}
+
+
+	/**
+	 * Allows to compute the gradient of the minimized function in a point
+	 * 
+	 * @param x  the point
+	 * @param fx  the value of the minimized function in the point
+	 * @param g  the array where the gradient is stored
+	 * @param sign  the sign applied to the fitness values
+	 * 
+	 * @return  true if the gradient has been computed, false if the final conditions have been achieved before
+	 */
+	private boolean computeGradient(final double[] x, final double fx, final double[] g, final double sign){
+
+		JFitnessFunction function=configuration.getFitnessFeatures().getFitnessFunction();
+
+		if (function.hasGradient()) {
+			JGapExtension.setDoubleChromosome(probes[0], x);
+			if (!function.gradient(probes[0], g))
+				return false;
+			for (int i = 0; i < g.length; i++)
+				g[i]*=sign;
+			return true;
+		}
+
+		/* the coordinates are split in contiguous blocks, one for each individual used as probe */
+		int n=x.length;
+		List<Callable<Boolean>> tasks=new ArrayList<Callable<Boolean>>(probes.length);
+		for (int c = 0; c < probes.length; c++) {
+			final Individual probe=probes[c];
+			final int from=c*n/probes.length;
+			final int to=(c+1)*n/probes.length;
+			tasks.add(new Callable<Boolean>() {
+				public Boolean call() {
+					JGapExtension.setDoubleChromosome(probe, x);
+					for (int i = from; i < to; i++) {
+						double h=differenceStep*Math.max(Math.abs(x[i]), 1);
+						if (centralDifferences) {
+							double xp=bound(i, x[i]+h);
+							double xm=bound(i, x[i]-h);
+							if (!canContinue())
+								return Boolean.FALSE;
+							double fp=evaluateCoordinate(probe, i, xp);
+							if (!canContinue())
+								return Boolean.FALSE;
+							double fm=evaluateCoordinate(probe, i, xm);
+							g[i]=xp == xm ? 0 : sign*(fp-fm)/(xp-xm);
+						} else {
+							double xp=x[i]+h <= upper[i] ? x[i]+h : bound(i, x[i]-h);
+							if (!canContinue())
+								return Boolean.FALSE;
+							double fp=evaluateCoordinate(probe, i, xp);
+							g[i]=xp == x[i] ? 0 : (sign*fp-fx)/(xp-x[i]);
+						}
+						probe.getIndividualComponent(i).setValue(Double.valueOf(x[i]));
+					}
+					return Boolean.TRUE;
+				}
+			});
+		}
+
+		for (Boolean done : ParallelUtil.invokeAll(tasks, parallelism))
+			if (!done.booleanValue())
+				return false;
+		return true;
+	}
+
+
+	private double evaluateCoordinate(Individual probe, int index, double value){
+		probe.getIndividualComponent(index).setValue(Double.valueOf(value));
+		probe.resetFitness();
+		return probe.evaluate();
+	}
+
+
+	/**
+	 * Allows to check if a decision variable is blocked at one of its bounds, i.e. if the steepest descent direction points outside the bounds
+	 */
+	private boolean isBlocked(int i, double[] x, double[] g){
+		return (x[i] <= lower[i] && g[i] > 0) || (x[i] >= upper[i] && g[i] < 0);
+	}
+
+
+	private double bound(int index, double value){
+		return Math.max(lower[index], Math.min(upper[index], value));
+	}
+
+
+	private static double dot(double[] a, double[] b){
+		double sum=0;
+		for (int i = 0; i < a.length; i++)
+			sum+=a[i]*b[i];
+		return sum;
+	}
+
+
+
+	public int getMemory() {
+		return memory;
+	}
+
+	public void setMemory(int memory) {
+		this.memory = memory;
+	}
+
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	public void setTolerance(double tolerance) {
+		this.tolerance = tolerance;
+	}
+
+	public double getDifferenceStep() {
+		return differenceStep;
+	}
+
+	public void setDifferenceStep(double differenceStep) {
+		this.differenceStep = differenceStep;
+	}
+
+	public boolean isCentralDifferences() {
+		return centralDifferences;
+	}
+
+	public void setCentralDifferences(boolean centralDifferences) {
+		this.centralDifferences = centralDifferences;
+	}
+
+	public int getMaxLineSearch() {
+		return maxLineSearch;
+	}
+
+	public void setMaxLineSearch(int maxLineSearch) {
+		this.maxLineSearch = maxLineSearch;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+}
@@ -0,0 +1,210 @@
+/*
+ * MTSLS1.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+package jMeme.localSearchAlgorithms.mts;
+
+import jMeme.core.configurations.LocalSearchAlgorithmConfiguration;
+import jMeme.core.configurations.MemeticAlgorithmConfiguration;
+import jMeme.core.individuals.Individual;
+import jMeme.core.individuals.IndividualComponent;
+import jMeme.design.optimizerParameters.MTSLS1Parameters;
+import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
+import jMeme.utils.JGapExtension;
+
+/**
+ * This class implements the first local search of the Multiple Trajectory Search (MTS-LS1). At each iteration, the procedure
+ * sweeps all the decision variables: each variable is first decreased by its search range and, if no improvement is achieved,
+ * it is increased by half of its search range. The search range of a variable is halved when both the moves fail and it is reset
+ * when it becomes too small. For more information, see the following work:
+ * L.-Y. Tseng and C. Chen, "Multiple trajectory search for large scale global optimization", IEEE Congress on Evolutionary Computation, 2008, pp. 3052-3059.
+ * <p>
+ * Since every move changes only one decision variable, the solutions are evaluated incrementally when the problem supports it.
+ * In this case, the fitness value is computed from scratch at the end of every sweep to avoid the accumulation of roundoff errors.
+ */
+public class MTSLS1 extends LocalSearchOptimizer {
+
+
+	private static final long serialVersionUID = 1826549027318442561L;
+	/**
+	 * Stores the initial search range, as a fraction of the range of each decision variable
+	 */
+	private double initialRange;
+	/**
+	 * Stores the minimum search range, as a fraction of the range of each decision variable
+	 */
+	private double minimumRange;
+	/**
+	 * Stores the search range used when a range becomes lower than the minimum one
+	 */
+	private double resetRange;
+
+
+	/**
+	 * Constructor
+	 * 
+	 * @param conf  the configuration object containing all information to run the MTS-LS1 procedure
+	 */
+	public MTSLS1(LocalSearchAlgorithmConfiguration conf){
+		this.configuration=conf;
+		setParameters((MTSLS1Parameters)conf.getLocalComponent().getParameters());
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param conf  the configuration object containing all information to run a memetic algorithm where the MTS-LS1 procedure is the local search optimizer
+	 */
+	public MTSLS1(MemeticAlgorithmConfiguration conf){
+		this.configuration=conf;
+		setParameters((MTSLS1Parameters)conf.getLocalComponent().getParameters());
+	}
+
+
+	private void setParameters(MTSLS1Parameters par){
+		initialRange=par.getInitialRange();
+		minimumRange=par.getMinimumRange();
+		resetRange=par.getResetRange();
+	}
+
+
+	@Override
+	public void startToSolve() {
+
+		Individual current=bestSolution.clone();
+		int n=configuration.getIndividualSize();
+
+		double[] lower=JGapExtension.doubleLowerBounds(current);
+		double[] upper=JGapExtension.doubleUpperBounds(current);
+		double[] x=JGapExtension.doubleChromosomeToArray(current);
+		double[] width=new double[n];
+		double[] sr=new double[n];
+		for (int i = 0; i < n; i++) {
+			double range=upper[i]-lower[i];
+			width[i]=(range > 0 && range < Double.MAX_VALUE) ? range : Math.max(Math.abs(x[i]), 1);
+			sr[i]=initialRange*width[i];
+		}
+
+		boolean incremental=configuration.getFitnessFeatures().getFitnessFunction().isIncremental();
+		int[] index=new int[1];
+		double[] previous=new double[1];
+
+		this.localReset();
+
+		initialEval=readNumberOfFitnessEvaluations();
+
+		double fx=current.evaluate();
+
+		while (canContinue()) {
+
+			this.incrementIteration();
+
+			for (int i = 0; i < n && canContinue(); i++) {
+
+				IndividualComponent gene=current.getIndividualComponent(i);
+				double old=x[i];
+				boolean improved=false;
+
+				index[0]=i;
+				previous[0]=old;
+
+				double value=Math.max(lower[i], old-sr[i]);
+				if (value != old) {
+					gene.setValue(Double.valueOf(value));
+					double f=evaluateIncrement(current, fx, index, previous);
+					if (isFirstBetterThanSecond(f, fx, this.isMaximize())) {
+						fx=f;
+						x[i]=value;
+						improved=true;
+					} else
+						restore(current, gene, old, fx);
+				}
+
+				if (!improved && canContinue()) {
+					value=Math.min(upper[i], old+0.5*sr[i]);
+					if (value != old) {
+						gene.setValue(Double.valueOf(value));
+						double f=evaluateIncrement(current, fx, index, previous);
+						if (isFirstBetterThanSecond(f, fx, this.isMaximize())) {
+							fx=f;
+							x[i]=value;
+							improved=true;
+						} else
+							restore(current, gene, old, fx);
+					}
+				}
+
+				if (!improved) {
+					sr[i]*=0.5;
+					if (sr[i] < minimumRange*width[i])
+						sr[i]=resetRange*width[i];
+				}
+			}
+
+			if (incremental && canContinue()) {
+				current.resetFitness();
+				fx=current.evaluate();
+			}
+
+			currentEval=readNumberOfFitnessEvaluations();
+			this.updateLocalEvaluations();
+
+			this.notifyIteration();
+		}
+
+		bestSolution=current;
+	}
+
+
+	private void restore(Individual current, IndividualComponent gene, double value, double fitness){
+		gene.setValue(Double.valueOf(value));
+		current.setFitness(fitness);
+	}
+
+
+
+	public double getInitialRange() {
+		return initialRange;
+	}
+
+	public void setInitialRange(double initialRange) {
+		this.initialRange = initialRange;
+	}
+
+	public double getMinimumRange() {
+		return minimumRange;
+	}
+
+	public void setMinimumRange(double minimumRange) {
+		this.minimumRange = minimumRange;
+	}
+
+	public double getResetRange() {
+		return resetRange;
+	}
+
+	public void setResetRange(double resetRange) {
+		this.resetRange = resetRange;
+	}
+
+}
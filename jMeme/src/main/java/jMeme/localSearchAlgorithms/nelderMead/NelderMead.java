@@ -0,0 +1,448 @@
+/*
+ * NelderMead.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+package jMeme.localSearchAlgorithms.nelderMead;
+
+import jMeme.core.configurations.LocalSearchAlgorithmConfiguration;
+import jMeme.core.configurations.MemeticAlgorithmConfiguration;
+import jMeme.core.individuals.Individual;
+import jMeme.design.optimizerParameters.NelderMeadParameters;
+import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
+import jMeme.utils.JGapExtension;
+import jMeme.utils.ParallelUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * This class implements the Nelder-Mead simplex procedure. Nelder-Mead (NM) is a direct search algorithm which
+ * maintains a simplex of n+1 points in a n-dimensional space and replaces its worst vertex by means of reflection,
+ * expansion and contraction steps, or shrinks the whole simplex towards its best vertex. For more information, see the following works:
+ * J. A. Nelder and R. Mead, "A simplex method for function minimization", The Computer Journal, Vol. 7, 1965, pp. 308-313;
+ * F. Gao and L. Han, "Implementing the Nelder-Mead simplex algorithm with adaptive parameters", Computational Optimization and Applications, Vol. 51, 2012, pp. 259-277.
+ * <p>
+ * The simplex is stored as a matrix of real values, sorted from the best to the worst vertex, and it is updated in place.
+ * When the adaptive coefficients are used, the expansion, contraction and shrink coefficients depend on the dimension of the problem.
+ */
+public class NelderMead extends LocalSearchOptimizer {
+
+
+	private static final long serialVersionUID = 6427009181514618386L;
+	/**
+	 * Stores the size of the edges of the initial simplex, as a fraction of the range of each decision variable
+	 */
+	private double initialStep;
+	/**
+	 * Stores the tolerance used to stop the procedure
+	 */
+	private double tolerance;
+	/**
+	 * Stores a boolean value indicating if the adaptive coefficients are used
+	 */
+	private boolean adaptive;
+	/**
+	 * Stores the number of threads used to evaluate the vertices during the shrink step
+	 */
+	private int parallelism;
+	/**
+	 * Stores the reflection coefficient
+	 */
+	private double alpha;
+	/**
+	 * Stores the expansion coefficient
+	 */
+	private double gamma;
+	/**
+	 * Stores the contraction coefficient
+	 */
+	private double rho;
+	/**
+	 * Stores the shrink coefficient
+	 */
+	private double sigma;
+	/**
+	 * Stores the vertices of the simplex, sorted from the best to the worst one
+	 */
+	private transient double[][] simplex;
+	/**
+	 * Stores the fitness values of the vertices
+	 */
+	private transient double[] values;
+	/**
+	 * Stores the sum of the vertices, used to compute the centroid
+	 */
+	private transient double[] sum;
+	/**
+	 * Stores the centroid of all the vertices except the worst one
+	 */
+	private transient double[] centroid;
+	/**
+	 * Stores the reflected point
+	 */
+	private transient double[] reflected;
+	/**
+	 * Stores the expanded or contracted point
+	 */
+	private transient double[] trial;
+	/**
+	 * Stores the lower bounds of the decision variables
+	 */
+	private transient double[] lower;
+	/**
+	 * Stores the upper bounds of the decision variables
+	 */
+	private transient double[] upper;
+	/**
+	 * Stores the individuals used to evaluate the points
+	 */
+	private transient Individual[] probes;
+
+
+	/**
+	 * Constructor
+	 * 
+	 * @param conf  the configuration object containing all information to run the Nelder-Mead procedure
+	 */
+	public NelderMead(LocalSearchAlgorithmConfiguration conf){
+		this.configuration=conf;
+		setParameters((NelderMeadParameters)conf.getLocalComponent().getParameters());
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param conf  the configuration object containing all information to run a memetic algorithm where the Nelder-Mead procedure is the local search optimizer
+	 */
+	public NelderMead(MemeticAlgorithmConfiguration conf){
+		this.configuration=conf;
+		setParameters((NelderMeadParameters)conf.getLocalComponent().getParameters());
+	}
+
+
+	private void setParameters(NelderMeadParameters par){
+		initialStep=par.getInitialStep();
+		tolerance=par.getTolerance();
+		adaptive=par.isAdaptive();
+		parallelism=par.getParallelism();
+	}
+
+
+	@Override
+	public void startToSolve() {
+
+		Individual start=bestSolution;
+		int n=configuration.getIndividualSize();
+
+		alpha=1;
+		if (adaptive && n > 1) {
+			gamma=1+2.0/n;
+			rho=0.75-1/(2.0*n);
+			sigma=1-1.0/n;
+		} else {
+			gamma=2;
+			rho=0.5;
+			sigma=0.5;
+		}
+
+		lower=JGapExtension.doubleLowerBounds(start);
+		upper=JGapExtension.doubleUpperBounds(start);
+		sum=new double[n];
+		centroid=new double[n];
+		reflected=new double[n];
+		trial=new double[n];
+		probes=new Individual[parallelism == 1 ? 1 : n];
+		for (int i = 0; i < probes.length; i++)
+			probes[i]=start.partialClone();
+
+		this.localReset();
+
+		initialEval=readNumberOfFitnessEvaluations();
+
+		if (initializeSimplex(start)) {
+
+			while (canContinue() && !isConverged()) {
+
+				this.incrementIteration();
+
+				iterate();
+
+				currentEval=readNumberOfFitnessEvaluations();
+				this.updateLocalEvaluations();
+
+				this.notifyIteration();
+			}
+		}
+
+		Individual best=start.clone();
+		JGapExtension.setDoubleChromosome(best, simplex[0]);
+		best.setFitness(values[0]);
+		bestSolution=best;
+
+		sum=centroid=reflected=trial=lower=upper=null;
+		simplex=null;
+		values=null;
+		probes=null;
+	}
+
+
+	/**
+	 * Allows to build the initial simplex around the starting solution
+	 * 
+	 * @param start  the starting solution
+	 * 
+	 * @return  true if all the vertices have been evaluated, false if the final conditions have been achieved before
+	 */
+	private boolean initializeSimplex(Individual start){
+		int n=configuration.getIndividualSize();
+
+		simplex=new double[n+1][];
+		values=new double[n+1];
+		simplex[0]=JGapExtension.doubleChromosomeToArray(start);
+		values[0]=start.evaluate();
+
+		for (int i = 0; i < n; i++) {
+			if (!canContinue())
+				return false;
+			double[] vertex=simplex[0].clone();
+			double range=upper[i]-lower[i];
+			double step=initialStep*((range > 0 && range < Double.MAX_VALUE) ? range : Math.max(Math.abs(vertex[i]), 1));
+			vertex[i]=bound(i, simplex[0][i]+step);
+			if (vertex[i] == simplex[0][i])
+				vertex[i]=bound(i, simplex[0][i]-step);
+			simplex[i+1]=vertex;
+			values[i+1]=evaluatePoint(probes[0], vertex);
+		}
+
+		sortSimplex();
+		computeSum();
+		return true;
+	}
+
+
+	/**
+	 * Allows to perform an iteration of the procedure, replacing the worst vertex or shrinking the simplex
+	 */
+	private void iterate(){
+		int n=centroid.length;
+		double[] worst=simplex[n];
+
+		for (int j = 0; j < n; j++)
+			centroid[j]=(sum[j]-worst[j])/n;
+
+		/* reflection */
+		movePoint(reflected, worst, -alpha);
+		double fr=evaluatePoint(probes[0], reflected);
+
+		if (isBetter(fr, values[0])) {
+			/* expansion */
+			if (!canContinue()) {
+				replaceWorst(reflected, fr);
+				return;
+			}
+			movePoint(trial, reflected, gamma);
+			double fe=evaluatePoint(probes[0], trial);
+			if (isBetter(fe, fr))
+				replaceWorst(trial, fe);
+			else
+				replaceWorst(reflected, fr);
+		} else if (isBetter(fr, values[n-1])) {
+			replaceWorst(reflected, fr);
+		} else {
+			/* outside or inside contraction */
+			boolean outside=isBetter(fr, values[n]);
+			if (!canContinue())
+				return;
+			movePoint(trial, outside ? reflected : worst, rho);
+			double fc=evaluatePoint(probes[0], trial);
+			if (outside ? !isBetter(fr, fc) : isBetter(fc, values[n]))
+				replaceWorst(trial, fc);
+			else
+				shrink();
+		}
+
+		/* the running sum is recomputed periodically to avoid the accumulation of roundoff errors */
+		if (this.getIterations() % (n+1) == 0)
+			computeSum();
+	}
+
+
+	/**
+	 * Allows to shrink the simplex towards its best vertex and to evaluate the moved vertices
+	 */
+	private void shrink(){
+		int n=centroid.length;
+		final double[] best=simplex[0];
+
+		for (int i = 1; i <= n; i++)
+			for (int j = 0; j < n; j++)
+				simplex[i][j]=bound(j, best[j]+sigma*(simplex[i][j]-best[j]));
+
+		final double worstValue=this.isMaximize() ? -Double.MAX_VALUE : Double.MAX_VALUE;
+
+		if (parallelism == 1) {
+			for (int i = 1; i <= n; i++)
+				values[i]=canContinue() ? evaluatePoint(probes[0], simplex[i]) : worstValue;
+		} else {
+			List<Callable<Double>> tasks=new ArrayList<Callable<Double>>(n);
+			for (int i = 1; i <= n; i++) {
+				final int index=i;
+				tasks.add(new Callable<Double>() {
+					public Double call() {
+						return canContinue() ? evaluatePoint(probes[index-1], simplex[index]) : worstValue;
+					}
+				});
+			}
+			List<Double> results=ParallelUtil.invokeAll(tasks, parallelism);
+			for (int i = 1; i <= n; i++)
+				values[i]=results.get(i-1).doubleValue();
+		}
+
+		sortSimplex();
+		computeSum();
+	}
+
+
+	/**
+	 * Allows to compute a point along the line passing through the centroid and a given point
+	 * 
+	 * @param out  the array where the point is stored
+	 * @param p  the given point
+	 * @param coefficient  the coefficient of the move from the centroid towards the given point
+	 */
+	private void movePoint(double[] out, double[] p, double coefficient){
+		for (int j = 0; j < out.length; j++)
+			out[j]=bound(j, centroid[j]+coefficient*(p[j]-centroid[j]));
+	}
+
+
+	/**
+	 * Allows to replace the worst vertex with a given point, keeping the vertices sorted
+	 * 
+	 * @param p  the new vertex
+	 * @param value  the fitness value of the new vertex
+	 */
+	private void replaceWorst(double[] p, double value){
+		int i=values.length-1;
+		double[] worst=simplex[i];
+		for (int j = 0; j < p.length; j++) {
+			sum[j]+=p[j]-worst[j];
+			worst[j]=p[j];
+		}
+		values[i]=value;
+
+		/* a new vertex is placed after the vertices having the same fitness value */
+		while (i > 0 && isBetter(values[i], values[i-1])) {
+			swap(i, i-1);
+			i--;
+		}
+	}
+
+
+	private void sortSimplex(){
+		for (int i = 1; i < values.length; i++)
+			for (int k = i; k > 0 && isBetter(values[k], values[k-1]); k--)
+				swap(k, k-1);
+	}
+
+
+	private void swap(int i, int k){
+		double[] v=simplex[i];
+		simplex[i]=simplex[k];
+		simplex[k]=v;
+		double f=values[i];
+		values[i]=values[k];
+		values[k]=f;
+	}
+
+
+	private void computeSum(){
+		for (int j = 0; j < sum.length; j++) {
+			sum[j]=0;
+			for (int i = 0; i < simplex.length; i++)
+				sum[j]+=simplex[i][j];
+		}
+	}
+
+
+	/**
+	 * Allows to check if both the spread of the fitness values and the size of the simplex are lower than the tolerance
+	 * 
+	 * @return  true if the simplex is converged, false otherwise
+	 */
+	private boolean isConverged(){
+		if (Math.abs(values[values.length-1]-values[0]) > tolerance)
+			return false;
+		for (int i = 1; i < simplex.length; i++)
+			for (int j = 0; j < sum.length; j++)
+				if (Math.abs(simplex[i][j]-simplex[0][j]) > tolerance)
+					return false;
+		return true;
+	}
+
+
+	private boolean isBetter(double f1, double f2){
+		return isFirstBetterThanSecond(f1, f2, this.isMaximize());
+	}
+
+
+	private double bound(int index, double value){
+		return Math.max(lower[index], Math.min(upper[index], value));
+	}
+
+
+
+	public double getInitialStep() {
+		return initialStep;
+	}
+
+	public void setInitialStep(double initialStep) {
+		this.initialStep = initialStep;
+	}
+
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	public void setTolerance(double tolerance) {
+		this.tolerance = tolerance;
+	}
+
+	public boolean isAdaptive() {
+		return adaptive;
+	}
+
+	public void setAdaptive(boolean adaptive) {
+		this.adaptive = adaptive;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+}
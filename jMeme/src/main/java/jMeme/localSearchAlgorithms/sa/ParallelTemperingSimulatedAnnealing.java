@@ -0,0 +1,384 @@
+/*
+ * ParallelTemperingSimulatedAnnealing.java
+ *
+ * This file is part of the jMeme library, the Evolutionary Computational tool
+   for designing Competent Memetic Algorithms (CMAs).
+
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package jMeme.localSearchAlgorithms.sa;
+
+import jMeme.core.configurations.LocalSearchAlgorithmConfiguration;
+import jMeme.core.configurations.MemeticAlgorithmConfiguration;
+import jMeme.core.individuals.Individual;
+import jMeme.core.individuals.IndividualComponent;
+import jMeme.design.optimizerParameters.ParallelTemperingParameters;
+import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
+import jMeme.localSearchAlgorithms.sa.annealingScheme.AnnealingScheme;
+import jMeme.utils.ParallelUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.jgap.RandomGenerator;
+import org.jgap.impl.StockRandomGenerator;
+
+
+/**
+ * This class implements the Parallel Tempering (replica-exchange) Simulated Annealing. A set of replicas
+ * runs a Simulated Annealing chain each, at the temperatures of a geometric ladder: the replica i runs at the
+ * temperature of the coldest replica multiplied by ratio^i. The replicas are executed concurrently and, after a
+ * given number of steps, the states of neighboring replicas are exchanged according to the Metropolis criterion.
+ * The temperature of the coldest replica is decreased by the annealing scheme, so that the whole ladder is cooled.
+ * At the end, it returns the best solution achieved by any replica.
+ */
+public class ParallelTemperingSimulatedAnnealing extends LocalSearchOptimizer {
+
+
+	private static final long serialVersionUID = -5476317262924834216L;
+	/**
+	 * Stores the logarithmic value to use during the computation of the initial temperature
+	 */
+	private double logValue;
+	/**
+	 * Stores the maximum distance between a solution and one of its neighbors
+	 */
+	private int maxDist;
+	/**
+	 * Stores the method which performs the annealing scheme
+	 */
+	private AnnealingScheme as;
+	/**
+	 * Stores the number of trials to perform during the computation of the initial temperature
+	 */
+	private int nTrials;
+	/**
+	 * Stores the number of replicas
+	 */
+	private int nReplicas;
+	/**
+	 * Stores the ratio between the temperatures of two neighboring replicas
+	 */
+	private double temperatureRatio;
+	/**
+	 * Stores the number of steps performed by each replica between two exchange phases
+	 */
+	private int swapInterval;
+	/**
+	 * Stores the number of threads used to run the replicas
+	 */
+	private int parallelism;
+	/**
+	 * Stores the number of exchanges accepted during the last execution
+	 */
+	private int acceptedSwaps;
+	/**
+	 * Stores the number of exchanges attempted during the last execution
+	 */
+	private int attemptedSwaps;
+
+
+
+	/**
+	 * Constructor
+	 *
+	 * @param conf  the configuration object containing all information to run the Parallel Tempering procedure
+	 */
+	public ParallelTemperingSimulatedAnnealing(LocalSearchAlgorithmConfiguration conf){
+		this.configuration=conf;
+		setParameters((ParallelTemperingParameters)conf.getLocalComponent().getParameters());
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param conf  the configuration object containing all information to run a memetic algorithm where the Parallel Tempering procedure is the local search optimizer
+	 */
+	public ParallelTemperingSimulatedAnnealing(MemeticAlgorithmConfiguration conf){
+		this.configuration=conf;
+		setParameters((ParallelTemperingParameters)conf.getLocalComponent().getParameters());
+	}
+
+
+	private void setParameters(ParallelTemperingParameters par){
+		maxDist=par.getMaxDist();
+		logValue=par.getLogValue();
+		as=par.getAnnealingScheme();
+		nTrials=par.getnTrials();
+		nReplicas=par.getnReplicas();
+		temperatureRatio=par.getTemperatureRatio();
+		swapInterval=par.getSwapInterval();
+		parallelism=par.getParallelism();
+	}
+
+
+	@Override
+	public void startToSolve() {
+		Individual s=bestSolution.clone();
+
+		Individual bs = s;
+
+		this.localReset();
+
+		initialEval=readNumberOfFitnessEvaluations();
+
+		RandomGenerator generator = this.configuration.getRandomGenerator();
+
+		double  temperature = setInitialTemperature(s);
+
+		//every replica starts from the given solution and owns a generator seeded by the one of the configuration
+		Replica[] replicas=new Replica[nReplicas];
+		for(int i=0;i<nReplicas;i++){
+			StockRandomGenerator rng=new StockRandomGenerator();
+			rng.setSeed(generator.nextLong());
+			replicas[i]=new Replica(s.clone(), rng, Math.pow(temperatureRatio, i));
+		}
+
+		acceptedSwaps=0;
+		attemptedSwaps=0;
+
+		do {
+
+			this.incrementIteration();
+
+			List<Callable<Object>> tasks=new ArrayList<Callable<Object>>(nReplicas);
+			for(int i=0;i<nReplicas;i++)
+				tasks.add(replicas[i].sweep(temperature));
+			ParallelUtil.invokeAll(tasks, parallelism);
+
+			//the best solutions are merged in the order of the ladder so that ties are broken deterministically
+			for(int i=0;i<nReplicas;i++)
+				if (isFirstBetterThanSecond(replicas[i].best, bs, this.isMaximize()))
+					bs=replicas[i].best;
+
+			//even and odd pairs of neighboring replicas are alternated at each exchange phase
+			for(int i=this.getIterations()%2;i+1<nReplicas;i+=2)
+				exchange(replicas[i], replicas[i+1], temperature, generator);
+
+			temperature = updateTemperature(temperature, this.getIterations());
+
+			currentEval=readNumberOfFitnessEvaluations();
+			this.updateLocalEvaluations();
+
+			this.notifyIteration();
+
+		} while (!isCooled(temperature) && verifyFinalConditions());
+
+
+		bestSolution=bs;
+
+	}
+
+
+	/**
+	 * Allows to exchange the states of two neighboring replicas according to the Metropolis criterion
+	 *
+	 * @param r1  the colder replica
+	 * @param r2  the hotter replica
+	 * @param temperature  the temperature of the coldest replica
+	 * @param generator  the generator used to accept the exchange
+	 */
+	private void exchange(Replica r1, Replica r2, double temperature, RandomGenerator generator){
+		attemptedSwaps++;
+		double beta1=1/(temperature*r1.factor);
+		double beta2=1/(temperature*r2.factor);
+		double delta=(beta1-beta2)*(energy(r1.current)-energy(r2.current));
+		if (delta>=0 || generator.nextDouble() < Math.exp(delta)) {
+			Individual tmp=r1.current;
+			r1.current=r2.current;
+			r2.current=tmp;
+			acceptedSwaps++;
+		}
+	}
+
+
+	private double energy(Individual s){
+		return this.isMaximize() ? -s.evaluate() : s.evaluate();
+	}
+
+
+	private double setInitialTemperature(Individual s) {
+		double sum = 0d;
+		Individual sol = s.generateRandomSolution();
+		for (int i = 0; i < nTrials; i++){
+			Individual st=generateNeighborSolution(sol,this.configuration.getRandomGenerator());
+			sum += Math.abs(st.evaluate()- sol.evaluate());}
+
+		return -(sum / nTrials) / Math.log(logValue);
+	}
+
+
+	private double updateTemperature(double temperature, int iterations) {
+		return as.updateTemperature(temperature, iterations);
+	}
+
+
+	private boolean isCooled(double temperature) {
+		return as.isCooled(temperature);
+	}
+
+	private Individual generateNeighborSolution(Individual s, RandomGenerator generator){
+
+		Individual out = s.partialClone();
+
+		IndividualComponent[] components=out.getIndividualComponents();
+		int numG=components.length;
+
+		int nd = 1 + generator.nextInt(maxDist);
+
+		for(int i=0;i<nd;i++){
+			components[generator.nextInt(numG)].setToRandomValue(generator);
+		}
+
+		return out;
+	}
+
+
+	/**
+	 * This class represents a single chain of the Parallel Tempering procedure
+	 */
+	private class Replica {
+
+		/**
+		 * Stores the current state of the chain
+		 */
+		Individual current;
+		/**
+		 * Stores the best solution found by the chain
+		 */
+		Individual best;
+		/**
+		 * Stores the generator owned by the chain
+		 */
+		RandomGenerator rng;
+		/**
+		 * Stores the factor applied to the temperature of the coldest replica
+		 */
+		double factor;
+
+
+		Replica(Individual s, RandomGenerator rng, double factor){
+			this.current=s;
+			this.best=s;
+			this.rng=rng;
+			this.factor=factor;
+		}
+
+
+		/**
+		 * Allows to create the task which performs the steps of the chain between two exchange phases
+		 *
+		 * @param temperature  the temperature of the coldest replica
+		 * @return  the task to be executed
+		 */
+		Callable<Object> sweep(final double temperature){
+			return new Callable<Object>() {
+				public Object call() {
+					double t=temperature*factor;
+					for(int k=0;k<swapInterval && canContinue();k++){
+						Individual tmp = generateNeighborSolution(current, rng);
+						double delta=energy(tmp)-energy(current);
+						if (delta<0 || rng.nextDouble() < Math.exp(-delta/ t)) {
+							current = tmp;
+							if (isFirstBetterThanSecond(current, best, isMaximize()))
+								best= current;
+						}
+					}
+					return null;
+				}
+			};
+		}
+	}
+
+
+
+	public double getLogValue() {
+		return logValue;
+	}
+
+	public void setLogValue(double logValue) {
+		this.logValue = logValue;
+	}
+
+	public int getMaxDist() {
+		return maxDist;
+	}
+
+	public void setMaxDist(int maxDist) {
+		this.maxDist = maxDist;
+	}
+
+	public AnnealingScheme getAnnealingScheme() {
+		return as;
+	}
+
+	public void setAnnealingScheme(AnnealingScheme as) {
+		this.as = as;
+	}
+
+	public int getnTrials() {
+		return nTrials;
+	}
+
+	public void setnTrials(int nTrials) {
+		this.nTrials = nTrials;
+	}
+
+	public int getnReplicas() {
+		return nReplicas;
+	}
+
+	public void setnReplicas(int nReplicas) {
+		this.nReplicas = nReplicas;
+	}
+
+	public double getTemperatureRatio() {
+		return temperatureRatio;
+	}
+
+	public void setTemperatureRatio(double temperatureRatio) {
+		this.temperatureRatio = temperatureRatio;
+	}
+
+	public int getSwapInterval() {
+		return swapInterval;
+	}
+
+	public void setSwapInterval(int swapInterval) {
+		this.swapInterval = swapInterval;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	public int getAcceptedSwaps() {
+		return acceptedSwaps;
+	}
+
+	public int getAttemptedSwaps() {
+		return attemptedSwaps;
+	}
+
+}
@@ -34,7 +34,6 @@ import jMeme.design.optimizerParameters.SimulatedAnnealingParameters;
 import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
 import jMeme.localSearchAlgorithms.sa.annealingScheme.AnnealingScheme;
 
-import java.util.Random;
 
 import org.jgap.Gene;
 import org.jgap.RandomGenerator;
@@ -105,7 +104,7 @@ public class SimulatedAnnealing extends LocalSearchOptimizer {
 		
 		this.localReset();
 		
-		initialEval=configuration.getPerformance().getNumberOfFitnessEvaluations();
+		initialEval=readNumberOfFitnessEvaluations();
 		
 	        
 		double  temperature = setInitialTemperature(s);
@@ -128,7 +127,7 @@ public class SimulatedAnnealing extends LocalSearchOptimizer {
 				double delta=-improvement;
 				if(this.isMaximize())
 					delta=improvement;
-				if (Math.random() < Math.exp(delta/ temperature)) {
+				if (this.configuration.getRandomGenerator().nextDouble() < Math.exp(delta/ temperature)) {
 					s = tmp;
 				}
 			}
@@ -137,12 +136,12 @@ public class SimulatedAnnealing extends LocalSearchOptimizer {
 			
 			temperature = updateTemperature(temperature, this.getIterations());
 			
-			currentEval=configuration.getPerformance().getNumberOfFitnessEvaluations();
+			currentEval=readNumberOfFitnessEvaluations();
 			this.updateLocalEvaluations();
 			
-			System.out.println(this.printStatistics());
+			this.notifyIteration();
 			  
-		} while (!isCooled(temperature) && getFinalConditions().verify(configuration));
+		} while (!isCooled(temperature) && verifyFinalConditions());
 		
 		
 		
@@ -189,7 +188,6 @@ public class SimulatedAnnealing extends LocalSearchOptimizer {
 		int i=0;	
 		while (i < nd){
 			int rand=generator.nextInt(numG);
-			Random rr=new Random();
 			
 			Gene gene=(Gene)(out.getGenes()[rand]);
 			int iter=this.configuration.getPerformance().getNumberOfIterations()+1;
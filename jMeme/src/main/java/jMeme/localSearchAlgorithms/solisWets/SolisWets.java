@@ -0,0 +1,281 @@
+/*
+ * SolisWets.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+package jMeme.localSearchAlgorithms.solisWets;
+
+import jMeme.core.configurations.LocalSearchAlgorithmConfiguration;
+import jMeme.core.configurations.MemeticAlgorithmConfiguration;
+import jMeme.core.individuals.Individual;
+import jMeme.design.optimizerParameters.SolisWetsParameters;
+import jMeme.localSearchAlgorithms.LocalSearchOptimizer;
+import jMeme.utils.JGapExtension;
+
+import java.util.Random;
+
+/**
+ * This class implements the Solis-Wets procedure. At each iteration, a Gaussian step biased towards the last successful
+ * directions is tried forwards and, if it fails, backwards. The bias is updated according to the outcome and the standard
+ * deviation of the steps is doubled after some consecutive successes and halved after some consecutive failures.
+ * For more information, see the following work:
+ * F. J. Solis and R. J.-B. Wets, "Minimization by random search techniques", Mathematics of Operations Research, Vol. 6, 1981, pp. 19-30.
+ * <p>
+ * When only a subset of the decision variables is perturbed at each step, the solutions are evaluated incrementally
+ * if the problem supports it.
+ */
+public class SolisWets extends LocalSearchOptimizer {
+
+
+	private static final long serialVersionUID = -8463180720716312806L;
+	/**
+	 * Constant indicating the minimum standard deviation, below which the procedure is restarted from the initial step
+	 */
+	private static final double MINIMUM_STEP=1e-15;
+	/**
+	 * Stores the initial standard deviation of the Gaussian steps, as a fraction of the range of each decision variable
+	 */
+	private double initialStep;
+	/**
+	 * Stores the number of consecutive successes which doubles the step
+	 */
+	private int maxSuccesses;
+	/**
+	 * Stores the number of consecutive failures which halves the step
+	 */
+	private int maxFailures;
+	/**
+	 * Stores the number of decision variables perturbed at each step
+	 */
+	private int subspaceDimension;
+
+
+	/**
+	 * Constructor
+	 * 
+	 * @param conf  the configuration object containing all information to run the Solis-Wets procedure
+	 */
+	public SolisWets(LocalSearchAlgorithmConfiguration conf){
+		this.configuration=conf;
+		setParameters((SolisWetsParameters)conf.getLocalComponent().getParameters());
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param conf  the configuration object containing all information to run a memetic algorithm where the Solis-Wets procedure is the local search optimizer
+	 */
+	public SolisWets(MemeticAlgorithmConfiguration conf){
+		this.configuration=conf;
+		setParameters((SolisWetsParameters)conf.getLocalComponent().getParameters());
+	}
+
+
+	private void setParameters(SolisWetsParameters par){
+		initialStep=par.getInitialStep();
+		maxSuccesses=par.getMaxSuccesses();
+		maxFailures=par.getMaxFailures();
+		subspaceDimension=par.getSubspaceDimension();
+	}
+
+
+	@Override
+	public void startToSolve() {
+
+		Individual current=bestSolution.clone();
+		int n=configuration.getIndividualSize();
+		int k=(subspaceDimension < 1 || subspaceDimension > n) ? n : subspaceDimension;
+
+		double[] lower=JGapExtension.doubleLowerBounds(current);
+		double[] upper=JGapExtension.doubleUpperBounds(current);
+		double[] x=JGapExtension.doubleChromosomeToArray(current);
+		double[] width=new double[n];
+		for (int i = 0; i < n; i++) {
+			double range=upper[i]-lower[i];
+			width[i]=(range > 0 && range < Double.MAX_VALUE) ? range : Math.max(Math.abs(x[i]), 1);
+		}
+
+		/* the generator is seeded by the one of the configuration to make the procedure repeatable */
+		Random random=new Random(configuration.getRandomGenerator().nextLong());
+
+		double[] bias=new double[n];
+		double[] dif=new double[k];
+		double[] previous=new double[k];
+		int[] indices=new int[k];
+		int[] permutation=new int[n];
+		for (int i = 0; i < n; i++)
+			permutation[i]=i;
+		for (int j = 0; j < k; j++)
+			indices[j]=j;
+
+		double rho=initialStep;
+		int successes=0;
+		int failures=0;
+
+		this.localReset();
+
+		initialEval=readNumberOfFitnessEvaluations();
+
+		double fx=current.evaluate();
+
+		while (canContinue()) {
+
+			this.incrementIteration();
+
+			/* the perturbed decision variables are chosen by a partial Fisher-Yates shuffle */
+			if (k < n) {
+				for (int j = 0; j < k; j++) {
+					int r=j+random.nextInt(n-j);
+					int tmp=permutation[j];
+					permutation[j]=permutation[r];
+					permutation[r]=tmp;
+					indices[j]=permutation[j];
+				}
+			}
+
+			for (int j = 0; j < k; j++)
+				dif[j]=bias[indices[j]]+random.nextGaussian()*rho*width[indices[j]];
+
+			double f=move(current, x, fx, indices, dif, previous, 1, lower, upper);
+			if (isFirstBetterThanSecond(f, fx, this.isMaximize())) {
+				fx=f;
+				for (int j = 0; j < k; j++)
+					bias[indices[j]]=0.2*bias[indices[j]]+0.4*dif[j];
+				successes++;
+				failures=0;
+			} else {
+				restore(current, x, fx, indices, previous);
+				boolean backward=canContinue();
+				f=backward ? move(current, x, fx, indices, dif, previous, -1, lower, upper) : fx;
+				if (backward && isFirstBetterThanSecond(f, fx, this.isMaximize())) {
+					fx=f;
+					for (int j = 0; j < k; j++)
+						bias[indices[j]]=bias[indices[j]]-0.4*dif[j];
+					successes++;
+					failures=0;
+				} else {
+					if (backward)
+						restore(current, x, fx, indices, previous);
+					for (int j = 0; j < k; j++)
+						bias[indices[j]]=0.5*bias[indices[j]];
+					failures++;
+					successes=0;
+				}
+			}
+
+			if (successes >= maxSuccesses) {
+				rho*=2;
+				successes=0;
+			} else if (failures >= maxFailures) {
+				rho*=0.5;
+				failures=0;
+			}
+
+			if (rho < MINIMUM_STEP) {
+				rho=initialStep;
+				for (int i = 0; i < n; i++)
+					bias[i]=0;
+			}
+
+			currentEval=readNumberOfFitnessEvaluations();
+			this.updateLocalEvaluations();
+
+			this.notifyIteration();
+		}
+
+		bestSolution=current;
+	}
+
+
+	/**
+	 * Allows to apply a step to the perturbed decision variables and to evaluate the resulting solution
+	 * 
+	 * @param current  the current solution, which is modified by the step
+	 * @param x  the values of the decision variables of the current solution
+	 * @param fx  the fitness value of the current solution
+	 * @param indices  the indices of the perturbed decision variables
+	 * @param dif  the step
+	 * @param previous  the array where the values before the step are stored
+	 * @param direction  1 to apply the step forwards, -1 to apply it backwards
+	 * @param lower  the lower bounds of the decision variables
+	 * @param upper  the upper bounds of the decision variables
+	 * 
+	 * @return  the fitness value of the new solution
+	 */
+	private double move(Individual current, double[] x, double fx, int[] indices, double[] dif, double[] previous, int direction, double[] lower, double[] upper){
+		for (int j = 0; j < indices.length; j++) {
+			int i=indices[j];
+			previous[j]=x[i];
+			x[i]=Math.max(lower[i], Math.min(upper[i], x[i]+direction*dif[j]));
+			current.getIndividualComponent(i).setValue(Double.valueOf(x[i]));
+		}
+		if (indices.length < x.length)
+			return evaluateIncrement(current, fx, indices, previous);
+		current.resetFitness();
+		return current.evaluate();
+	}
+
+
+	private void restore(Individual current, double[] x, double fx, int[] indices, double[] previous){
+		for (int j = 0; j < indices.length; j++) {
+			int i=indices[j];
+			x[i]=previous[j];
+			current.getIndividualComponent(i).setValue(Double.valueOf(x[i]));
+		}
+		current.setFitness(fx);
+	}
+
+
+
+	public double getInitialStep() {
+		return initialStep;
+	}
+
+	public void setInitialStep(double initialStep) {
+		this.initialStep = initialStep;
+	}
+
+	public int getMaxSuccesses() {
+		return maxSuccesses;
+	}
+
+	public void setMaxSuccesses(int maxSuccesses) {
+		this.maxSuccesses = maxSuccesses;
+	}
+
+	public int getMaxFailures() {
+		return maxFailures;
+	}
+
+	public void setMaxFailures(int maxFailures) {
+		this.maxFailures = maxFailures;
+	}
+
+	public int getSubspaceDimension() {
+		return subspaceDimension;
+	}
+
+	public void setSubspaceDimension(int subspaceDimension) {
+		this.subspaceDimension = subspaceDimension;
+	}
+
+}
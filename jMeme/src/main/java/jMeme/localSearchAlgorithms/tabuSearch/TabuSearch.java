@@ -114,10 +114,10 @@ public class TabuSearch extends LocalSearchOptimizer{
 		
 		 this.localReset();
 			
-         initialEval=configuration.getPerformance().getNumberOfFitnessEvaluations();
+         initialEval=readNumberOfFitnessEvaluations();
 			
 		
-         while (getFinalConditions().verify(configuration)) {
+         while (verifyFinalConditions()) {
 
 		
                      this.incrementIteration();
@@ -125,10 +125,10 @@ public class TabuSearch extends LocalSearchOptimizer{
 		             performTabuIteration();
 					
 				
-					currentEval=configuration.getPerformance().getNumberOfFitnessEvaluations();
+					currentEval=readNumberOfFitnessEvaluations();
 					this.updateLocalEvaluations();
 					
-					System.out.println(this.printStatistics());
+					this.notifyIteration();
 				
 				}
 				
@@ -25,8 +25,9 @@
 
 package jMeme.memeticAlgorithms;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 
 import org.jgap.InvalidConfigurationException;
 
@@ -34,16 +35,25 @@ import jMeme.core.Algorithm;
 import jMeme.core.JConfiguration;
 import jMeme.core.JPopulation;
 import jMeme.core.Problem;
+import jMeme.core.checkpoint.Checkpointer;
 import jMeme.core.configurations.MemeticAlgorithmConfiguration;
 import jMeme.core.individuals.Individual;
+import jMeme.core.listeners.AlgorithmListener;
+import jMeme.core.registry.OptimizerRegistry;
 import jMeme.design.generationExecutor.GenerationExecutor;
 import jMeme.design.localIntegration.BestLocalOptimizerExecutor;
+import jMeme.design.localIntegration.LocalBudgetController;
 import jMeme.design.localIntegration.LocalOptimizerExecutor;
 import jMeme.design.localIntegration.RandomLocalOptimizerExecutor;
 import jMeme.design.localIntegration.StratifiedLocalOptimizerExecutor;
 import jMeme.design.optimizerParameters.GlobalSearchOptimizerParameters;
 import jMeme.globalSearchAlgorithms.GlobalSearchOptimizer;
+import jMeme.performances.AlgorithmPerformance;
 import jMeme.performances.MemeticAlgorithmPerformance;
+import jMeme.performances.jfr.GenerationEvent;
+import jMeme.performances.jfr.RunEvent;
+import jMeme.performances.metrics.AlgorithmMetrics;
+import jMeme.performances.metrics.MetricsRegistry;
 
 
 
@@ -98,7 +108,6 @@ public class MemeticOptimizationAlgorithm extends Algorithm{
 		this.problem=p;
 		
 		
-		JConfiguration.reset();
 		configuration = conf;
 		
 		performance = (MemeticAlgorithmPerformance)configuration.getPerformance();
@@ -115,7 +124,6 @@ public class MemeticOptimizationAlgorithm extends Algorithm{
 		this.localOptimizerExecutor = this.initializeLocalSearchProcess();
 		
 		try {
-			configuration.reset();
 			configuration.setFitnessEvaluator(configuration.getFitnessFeatures().getFitnessEvaluator());
 			configuration.setFitnessFunction(configuration.getFitnessFeatures().getFitnessFunction());
 			
@@ -130,123 +138,250 @@ public class MemeticOptimizationAlgorithm extends Algorithm{
 
 
 	/**
-	 * Allows to execute the generic behavior of a memetic algorithm using a specific global search optimizer and local search executor
+	 * Allows to execute the generic behavior of a memetic algorithm using a specific global search optimizer and local search executor.
+	 * The progress of the execution is notified to the listener of the configuration.
 	 */
 	public Individual execute() {
 		
 		long startTime= System.currentTimeMillis();
+		performance.startClock();
 
-		population = generator.execute(configuration);
+		AlgorithmListener listener=configuration.getListener();
 		
-		System.out.println("random population " +population);
+		AlgorithmMetrics metrics=performance.getMetrics();
 		
+		RunEvent runEvent=new RunEvent();
+		runEvent.begin();
 		
-		//initialize best global
-		globalOptimizer.determineBest(population);
+		MetricsRegistry.register(this, metrics);
+		AlgorithmPerformance previousRunning=AlgorithmPerformance.setRunningPerformance(performance);
+		try {
+			long phaseStart=System.nanoTime();
+		
+			LocalBudgetController controller=configuration.getLocalBudgetController();
+		
+			Checkpointer checkpointer=configuration.getCheckpointer();
+		
+			if(checkpointer!=null && checkpointer.exists()){
+				resume(checkpointer);
+				startTime-=performance.getElapsedNanoTime()/1000000L;
+			}
+			else {
+				population = generator.execute(configuration);
+			
+				if(controller!=null)
+					controller.reset();
+			}
+		
+		
+			//initialize best global
+			globalOptimizer.determineBest(population);
 		
-		performance.computeProblemPerformance(problem, globalOptimizer.getBestSolution());
+			performance.computeProblemPerformance(problem, globalOptimizer.getBestSolution());
 	
-		performance.setIndividual(globalOptimizer.getBestSolution());
-		performance.setFitnessValue(globalOptimizer.getBestFitness());
+			performance.setIndividual(globalOptimizer.getBestSolution());
+			performance.setFitnessValue(globalOptimizer.getBestFitness());
+		
+			metrics.record(AlgorithmMetrics.INITIALIZATION, System.nanoTime()-phaseStart);
 		
-		System.out.println("initial best fitness value: "+ performance.getFitnessValue());
+			listener.runStarted(configuration, population, performance.getFitnessValue());
 		
+			if(controller!=null)
+				controller.apply(configuration, localOptimizerExecutor);
 		
-		while (configuration.getFinalConditions().verify(configuration)) {
+			while (configuration.getFinalConditions().verify(configuration)) {
 			
-			System.out.println("Iteration number " + (performance.getNumberOfIterations()+1));
+				GenerationEvent generationEvent=new GenerationEvent();
+				generationEvent.begin();
 			
-			//evaluations.add(performance.getAlignPerformances().getFmeasure());
-			//evaluations.add(performance.getNumberOfFitnessEvaluations());
+				//evaluations.add(performance.getAlignPerformances().getFmeasure());
+				//evaluations.add(performance.getNumberOfFitnessEvaluations());
 			
-			double fitnessPrec=performance.getFitnessValue();
+				double fitnessPrec=performance.getFitnessValue();
 			
-			population.evolve();
+				int evaluationsPrec=performance.getNumberOfFitnessEvaluations();
 			
+				phaseStart=System.nanoTime();
 			
-			//initialize best global
-			globalOptimizer.determineBest(population);
+				population.evolve();
 			
-			performance.setIndividual(globalOptimizer.getBestSolution());
-			performance.setFitnessValue(globalOptimizer.getBestFitness());
 			
-			double fitness1=performance.getFitnessValue();
+				//initialize best global
+				globalOptimizer.determineBest(population);
+			
+				performance.setIndividual(globalOptimizer.getBestSolution());
+				performance.setFitnessValue(globalOptimizer.getBestFitness());
+			
+				double fitness1=performance.getFitnessValue();
+			
+				metrics.record(AlgorithmMetrics.GLOBAL_STEP, System.nanoTime()-phaseStart);
 			
-		
-			System.out.println("best fitness value after evolution: "+ performance.getFitnessValue());
 			
 			
+				//update perfomance (se non si usano alcuni tipi di condizioni finali puo' essere omesso)
+				double averageFitness=performance.computeAverageFitness(population.getPopulation());
+				performance.updatePerformances(fitnessPrec, averageFitness,problem);
 			
-			//update perfomance (se non si usano alcuni tipi di condizioni finali puo' essere omesso)
-			double averageFitness=performance.computeAverageFitness(population.getPopulation());
-			performance.updatePerformances(fitnessPrec, averageFitness,problem);
 			
+				int evaluations1=performance.getNumberOfFitnessEvaluations();
 			
-			localOptimizerExecutor.execute(population);
+				phaseStart=System.nanoTime();
+			
+				localOptimizerExecutor.execute(population);
 				
-			//update best global
-			globalOptimizer.determineBest(population);
+				//update best global
+				globalOptimizer.determineBest(population);
 
-			performance.setIndividual(globalOptimizer.getBestSolution());
-			performance.setFitnessValue(globalOptimizer.getBestFitness());
+				performance.setIndividual(globalOptimizer.getBestSolution());
+				performance.setFitnessValue(globalOptimizer.getBestFitness());
+			
+				metrics.record(AlgorithmMetrics.LOCAL_STEP, System.nanoTime()-phaseStart);
 			
-				
-			System.out.println("best fitness value after local search: " + performance.getFitnessValue());
-					
 			
-			double fitness2=performance.getFitnessValue();
+				double fitness2=performance.getFitnessValue();
 				
-				//System.out.println("fitness1 " + fitness1);
-				//System.out.println("fitness2 " + fitness2);
+					//System.out.println("fitness1 " + fitness1);
+					//System.out.println("fitness2 " + fitness2);
 				
 				
-			if(globalOptimizer.compareFitness(fitness2, fitness1))
-				   performance.incrementNumImprovements();
+				if(globalOptimizer.compareFitness(fitness2, fitness1))
+					   performance.incrementNumImprovements();
 		
 			
-				performance.setLocalImprovement(fitness1, fitness2);
+					performance.setLocalImprovement(fitness1, fitness2);
+				
+				if(controller!=null){
+					int evaluations2=performance.getNumberOfFitnessEvaluations();
+					controller.update(improvement(fitnessPrec, fitness1), evaluations1-evaluationsPrec, improvement(fitness1, fitness2), evaluations2-evaluations1);
+					controller.apply(configuration, localOptimizerExecutor);
+					listener.localParametersAdapted(configuration, controller.getIntensityScale(), controller.getFrequency());
+				}
 				
 			
 			
 			
 			
-			performance.incrementNumberOfIterations();
-			//System.out.println("number of iterations: "+performance.getNumberOfIterations());
+				performance.incrementNumberOfIterations();
+				//System.out.println("number of iterations: "+performance.getNumberOfIterations());
 			
 			
-			System.out.println("number of evaluations: "+performance.getNumberOfFitnessEvaluations());
+				//update perfomance (se non si usano alcuni tipi di condizioni finali puo' essere omesso)
+				averageFitness=performance.computeAverageFitness(population.getPopulation());
+				performance.updatePerformances(fitnessPrec, averageFitness,problem);
+				metrics.recordGeneration(performance.getNumberOfIterations(), averageFitness);
 			
-			//update perfomance (se non si usano alcuni tipi di condizioni finali puo' essere omesso)
-			averageFitness=performance.computeAverageFitness(population.getPopulation());
-			performance.updatePerformances(fitnessPrec, averageFitness,problem);
+				listener.generationCompleted(configuration, performance.getNumberOfIterations(), fitness1, fitness2, performance.getNumberOfFitnessEvaluations());
+				generationEvent.emit(configuration, performance.getNumberOfIterations(), fitness1);
 			
-						
-			System.out.println("iteration ended");
+				if(checkpointer!=null && checkpointer.isDue(performance.getNumberOfIterations()))
+					checkpoint(checkpointer);
 			
+				}
+		
+			//the checkpoint of a cancelled execution is kept to resume it, the one of a completed execution is discarded
+			if(checkpointer!=null){
+				try {
+					if(configuration.getCancellationToken().isCancelled())
+						checkpointer.flush();
+					else
+						checkpointer.delete();
+				} catch (IOException e) {
+					listener.message(configuration, "The checkpoint cannot be saved to " + checkpointer.getFile() + ": " + e);
+				}
 			}
 		
 		
-        long endTime=System.currentTimeMillis();
+			long endTime=System.currentTimeMillis();
 		
-		performance.setTime(endTime - startTime);
-		System.out.println("time of executions: "+performance.getTime());
+			performance.setTime(endTime - startTime);
+			performance.setTimeFitnesses(metrics.getEvaluationTime()/1000000L);
 		
-		System.out.println("evaluations: "+performance.getNumberOfFitnessEvaluations());
+			performance.computeProblemPerformance(problem, globalOptimizer.getBestSolution());
 		
-		performance.computeProblemPerformance(problem, globalOptimizer.getBestSolution());
+			performance.setSpeed((globalOptimizer.getBestSolution()).getNumberOfEvaluationsToBeGenerated());
+		} finally {
+			AlgorithmPerformance.setRunningPerformance(previousRunning);
+			MetricsRegistry.unregister(this, metrics);
+		}
 		
-		performance.setSpeed((globalOptimizer.getBestSolution()).getNumberOfEvaluationsToBeGenerated());
+		runEvent.emit(this, configuration);
 		
+		listener.runFinished(configuration, performance);
 		
 		return globalOptimizer.getBestSolution();
 	}
 
+	/**
+	 * Allows to save a checkpoint of the execution, i.e. the state of the random generator, the performance, the population,
+	 * the global search optimizer and the components integrating the local search
+	 * 
+	 * @param checkpointer  the object saving the checkpoints
+	 */
+	private void checkpoint(Checkpointer checkpointer){
+		try {
+			DataOutputStream out=checkpointer.begin(this);
+			Checkpointer.writeConfiguration(out, configuration);
+			performance.writeState(out);
+			Checkpointer.writePopulation(out, population);
+			globalOptimizer.writeState(out);
+			Checkpointer.writeOptional(out, configuration.getLocalPortfolio());
+			Checkpointer.writeOptional(out, configuration.getLocalBudgetController());
+			Checkpointer.writeOptional(out, configuration.getLocalArchive());
+			checkpointer.commit(out);
+		} catch (IOException e) {
+			configuration.getListener().message(configuration, "The checkpoint cannot be saved to " + checkpointer.getFile() + ": " + e);
+		}
+	}
+	
+	/**
+	 * Allows to restore the state of the execution from the latest checkpoint
+	 * 
+	 * @param checkpointer  the object saving the checkpoints
+	 * @throws IllegalStateException  if the checkpoint cannot be read or it does not match the configuration of the algorithm
+	 */
+	private void resume(Checkpointer checkpointer){
+		try {
+			DataInputStream in=checkpointer.load(this);
+			Checkpointer.readConfiguration(in, configuration);
+			performance.readState(in);
+			population=Checkpointer.readPopulation(in, configuration);
+			globalOptimizer.readState(in);
+			Checkpointer.readOptional(in, configuration.getLocalPortfolio());
+			Checkpointer.readOptional(in, configuration.getLocalBudgetController());
+			Checkpointer.readOptional(in, configuration.getLocalArchive());
+		} catch (IOException e) {
+			throw new IllegalStateException("The execution cannot be resumed from " + checkpointer.getFile(), e);
+		}
+	}
+	
+	
+	/**
+	 * Allows to compute the improvement between two fitness values
+	 * 
+	 * @param before  the fitness value before a phase of the algorithm
+	 * @param after  the fitness value after a phase of the algorithm
+	 * @return  the absolute difference between the values if the second one is better, 0 otherwise
+	 */
+	private double improvement(double before, double after){
+		if(globalOptimizer.compareFitness(after, before))
+			return Math.abs(after-before);
+		return 0;
+	}
+	
+	
 	/**
 	 * Allows to set variables of the algorithm to the initial values
 	 */
+
 	public void reset(){
 		globalOptimizer.reset();
 		performance.reset();
+		
+		if(configuration.getLocalPortfolio()!=null)
+			configuration.getLocalPortfolio().reset();
+		if(configuration.getLocalArchive()!=null)
+			configuration.getLocalArchive().reset();
+
 	}
 	
 
@@ -258,69 +393,42 @@ public class MemeticOptimizationAlgorithm extends Algorithm{
 	 */
 	public LocalOptimizerExecutor initializeLocalSearchProcess(){
 		
+		LocalOptimizerExecutor executor=null;
+		
 		if(configuration.getLocalSelectionScheme().equals(LocalOptimizerExecutor.BEST_SELECTION_SCHEME))
-			return new BestLocalOptimizerExecutor(configuration.getLocalMethod(), configuration.getFrequencyPercentage().getFrequency());
+			executor=new BestLocalOptimizerExecutor(configuration.getLocalMethod(), configuration.getFrequencyPercentage().getFrequency());
 		
 		if(configuration.getLocalSelectionScheme().equals(LocalOptimizerExecutor.RANDOM_SELECTION_SCHEME))
-			return new RandomLocalOptimizerExecutor(configuration.getLocalMethod(), configuration.getFrequencyPercentage().getFrequency());
+			executor=new RandomLocalOptimizerExecutor(configuration.getLocalMethod(), configuration.getFrequencyPercentage().getFrequency());
 	
 		if(configuration.getLocalSelectionScheme().equals(LocalOptimizerExecutor.STRATIFIED_SELECTION_SCHEME))
-			return new StratifiedLocalOptimizerExecutor(configuration.getLocalMethod(), configuration.getFrequencyPercentage().getFrequency());
+			executor=new StratifiedLocalOptimizerExecutor(configuration.getLocalMethod(), configuration.getFrequencyPercentage().getFrequency());
 	
-		return null;
+		if(executor!=null){
+			executor.setParallelism(configuration.getLocalParallelism());
+			
+			if(configuration.getLocalPortfolio()!=null)
+				configuration.getLocalPortfolio().reset();
+			executor.setPortfolio(configuration.getLocalPortfolio());
+			
+			if(configuration.getLocalArchive()!=null)
+				configuration.getLocalArchive().reset();
+			executor.setArchive(configuration.getLocalArchive());
+		}
+		
+		return executor;
 	}
+
 	
 
 	/**
 	 * Allows to initialize the global optimizer starting from the information contained in the configuration object.
 	 * 
 	 * @return  the specific global optimizer to run
+	 * @throws IllegalArgumentException  if the optimizer of the global component is unknown
 	 */
 	public GlobalSearchOptimizer initializeGlobalOptimizer(){
-		
-		Class c=null;
-		try {
-			c = Class.forName(configuration.getGlobalComponent().getOptimizerName());
-		} catch (ClassNotFoundException e1) {
-			// TODO Auto-generated catch block
-			e1.printStackTrace();
-		}
-	
-		Constructor  costr=null;
-		try {
-			costr=c.getConstructor(MemeticAlgorithmConfiguration.class);
-		} catch (NoSuchMethodException e1) {
-			// TODO Auto-generated catch block
-			e1.printStackTrace();
-		} catch (SecurityException e1) {
-			// TODO Auto-generated catch block
-			e1.printStackTrace();
-		}
-		
-		
-		
-		GlobalSearchOptimizer breeder=null;
-		try {
-			 try {
-				breeder= (GlobalSearchOptimizer)costr.newInstance(configuration);
-			} catch (IllegalArgumentException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			} catch (InvocationTargetException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
-		} catch (InstantiationException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} catch (IllegalAccessException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-		
-	
-		
-		return breeder;
+		return OptimizerRegistry.createGlobal(configuration);
 	}
 	
 	public JPopulation getPopulation() {
@@ -354,6 +462,12 @@ public class MemeticOptimizationAlgorithm extends Algorithm{
 	public MemeticAlgorithmConfiguration getConfiguration() {
 		return configuration;
 	}
+	
+	
+	@Override
+	public MemeticOptimizationAlgorithm newInstance(JConfiguration conf) {
+		return new MemeticOptimizationAlgorithm(problem, (MemeticAlgorithmConfiguration)conf);
+	}
 
 
 
@@ -27,7 +27,6 @@ package jMeme.memeticAlgorithms;
 
 
 import jMeme.core.AlgorithmComponent;
-import jMeme.core.JConfiguration;
 import jMeme.core.configurations.MemeticAlgorithmConfiguration;
 import jMeme.core.fitnessFunction.FitnessFeatures;
 import jMeme.design.finalConditions.AlgorithmFinalConditions;
@@ -96,7 +95,6 @@ public class TestMemeticOptimizationAlgorithm {
        	
        	
           
-        JConfiguration.reset();
 		MemeticAlgorithmConfiguration confm=new MemeticAlgorithmConfiguration(fitness, finC, gc,lc);
 		
 		
@@ -26,16 +26,26 @@
 
 package jMeme.performances;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.jgap.IChromosome;
 import org.jgap.Population;
 
 import jMeme.core.Problem;
+import jMeme.core.checkpoint.Checkpointable;
+import jMeme.core.checkpoint.Checkpointer;
 import jMeme.core.individuals.Individual;
+import jMeme.performances.metrics.AlgorithmMetrics;
 
 
 /**
@@ -43,7 +53,7 @@ import jMeme.core.individuals.Individual;
  * Stored information is: number of the fitness evaluations, number of iterations, the fitness value, the average fitness value of the population,
  * the number of times that the the best fitness value does not change, the time necessary to perform the algorithm, the time necessary to perform the fitness function, the performance specific for the problem defined by the user.
  */
-public class AlgorithmPerformance implements Serializable {
+public class AlgorithmPerformance implements Serializable, Checkpointable {
 	
 
 	/**
@@ -53,9 +63,21 @@ public class AlgorithmPerformance implements Serializable {
 	
 	/**
 	 * Stores the number of executed evaluations. This information is useful during the checking of the termination criteria.
+	 * It is volatile since the evaluations can be performed by several threads at the same time.
 	 */
-	protected int numberOfFitnessEvaluations;
+	protected volatile int numberOfFitnessEvaluations;
 	
+	/**
+	 * Stores, for each thread, the performance which must count apart the fitness evaluations performed by the thread
+	 */
+	private static final ThreadLocal<AlgorithmPerformance> localCounter=new ThreadLocal<AlgorithmPerformance>();
+	
+	/**
+	 * Stores, for each thread, the performance of the algorithm on whose behalf the thread is working, which is charged with the CPU time of its concurrent tasks
+	 */
+	private static final ThreadLocal<AlgorithmPerformance> runningPerformance=new ThreadLocal<AlgorithmPerformance>();
+	
+
 	/**
 	 * Stores the fitness value of the best individual
 	 */
@@ -87,7 +109,7 @@ public class AlgorithmPerformance implements Serializable {
 	
     
 	/**
-	 * Stores the time in ms necessary to perform a fitness function
+	 * Stores the time in ms spent by all the fitness evaluations of the execution, set at the end of the execution
 	 */
 	protected long timeFitnesses;
 
@@ -103,6 +125,40 @@ public class AlgorithmPerformance implements Serializable {
 	 * Stores the best individual
 	 */
 	protected Individual individual;
+	
+	/**
+	 * Stores true if the clocks measuring the time spent by the execution of the algorithm have been started, false otherwise
+	 */
+	protected boolean clockStarted;
+	/**
+	 * Stores the value in ns of the monotonic clock when the execution of the algorithm started
+	 */
+	protected long startNanoTime;
+	/**
+	 * Stores the identifier of the thread executing the algorithm, whose CPU time is measured
+	 */
+	protected long startThreadId;
+	/**
+	 * Stores the CPU time in ns of the thread executing the algorithm when its execution started, -1 if the CPU time cannot be measured
+	 */
+	protected long startCpuTime;
+	/**
+	 * Stores the CPU time in ns spent on behalf of the algorithm by the threads executing its concurrent tasks, 
+	 * together with the CPU time restored from a checkpoint
+	 */
+	protected AtomicLong taskCpuTime;
+	
+	/**
+	 * Stores the snapshot of the best individual evaluated so far, published atomically so that it can be read by any thread;
+	 * it contains null before the first evaluation
+	 */
+	protected AtomicReference<Incumbent> incumbent;
+	
+	/**
+	 * Stores the metrics of the execution, i.e. the time spent by its phases and the histogram of the durations of the fitness evaluations;
+	 * they are replaced by new ones when the performance is reset
+	 */
+	protected transient AlgorithmMetrics metrics;
 
 
 	/**
@@ -127,6 +183,11 @@ public class AlgorithmPerformance implements Serializable {
 		
 		problemPerformances=new HashMap();
 		
+		incumbent=new AtomicReference<Incumbent>();
+		
+		taskCpuTime=new AtomicLong();
+		
+		metrics=new AlgorithmMetrics();
 	}
 	
 	
@@ -192,9 +253,164 @@ public class AlgorithmPerformance implements Serializable {
 		individual=null;
 		
 		speed=0;
+		
+		clockStarted=false;
+		incumbent.set(null);
+		metrics=new AlgorithmMetrics();
+	}
+	
+	
+	/**
+	 * Allows to start the clocks measuring the wall-clock time and the CPU time spent by the execution of the algorithm.
+	 * The CPU time is the one of the calling thread, i.e. the thread executing the algorithm, plus the one of the concurrent tasks
+	 * executed by other threads on behalf of the algorithm.
+	 */
+	public void startClock(){
+		ThreadMXBean bean=ManagementFactory.getThreadMXBean();
+		startThreadId=Thread.currentThread().getId();
+		startCpuTime=bean.isCurrentThreadCpuTimeSupported() ? bean.getCurrentThreadCpuTime() : -1;
+		taskCpuTime.set(0);
+		startNanoTime=System.nanoTime();
+		clockStarted=true;
+	}
+	
+	
+	/**
+	 * Allows to get the wall-clock time spent by the execution of the algorithm, measured by a monotonic clock
+	 * 
+	 * @return  the time in ns elapsed since the clocks have been started, 0 if they have not been started
+	 */
+	public long getElapsedNanoTime(){
+		if(!clockStarted)
+			return 0;
+		return System.nanoTime()-startNanoTime;
+	}
+	
+	
+	/**
+	 * Allows to get the CPU time spent by the thread executing the algorithm and by the concurrent tasks completed on its behalf.
+	 * The method can be invoked by any thread; since reading the CPU time of a thread is costly, it should be invoked once per iteration.
+	 * When the CPU time cannot be measured, the wall-clock time is returned.
+	 * 
+	 * @return  the CPU time in ns spent since the clocks have been started, 0 if they have not been started
+	 */
+	public long getElapsedCpuTime(){
+		if(!clockStarted)
+			return 0;
+		long cpuTime=startCpuTime<0 ? -1 : ManagementFactory.getThreadMXBean().getThreadCpuTime(startThreadId);
+		if(cpuTime<0)
+			return getElapsedNanoTime();
+		return cpuTime-startCpuTime+taskCpuTime.get();
+	}
+	
+	
+	/**
+	 * Allows to add the CPU time spent by a concurrent task executed on behalf of the algorithm. The time is ignored when the task 
+	 * has been executed by the thread executing the algorithm, since the CPU time of that thread is already measured.
+	 * 
+	 * @param cpuTime  the CPU time in ns spent by the task
+	 */
+	public void addTaskCpuTime(long cpuTime){
+		if(Thread.currentThread().getId()!=startThreadId)
+			taskCpuTime.addAndGet(cpuTime);
+	}
+	
+	
+	/**
+	 * Allows to set the performance of the algorithm on whose behalf the current thread is working. The concurrent tasks submitted
+	 * by the thread charge their CPU time to it.
+	 * 
+	 * @param performance  the performance of the algorithm executed by the current thread, or null to remove it
+	 * @return  the performance previously set for the current thread, or null
+	 */
+	public static AlgorithmPerformance setRunningPerformance(AlgorithmPerformance performance) {
+		AlgorithmPerformance previous=runningPerformance.get();
+		if(performance==null)
+			runningPerformance.remove();
+		else
+			runningPerformance.set(performance);
+		return previous;
+	}
+	
+	/**
+	 * Allows to get the performance of the algorithm on whose behalf the current thread is working
+	 * 
+	 * @return  the performance of the algorithm executed by the current thread, or null if it is not set
+	 */
+	public static AlgorithmPerformance getRunningPerformance() {
+		return runningPerformance.get();
 	}
 
 	
+	/**
+	 * Allows to write the counters, the fitness values, the elapsed times and the incumbent of the execution.
+	 * The best individual is not written, since it is restored by the algorithm from its optimizer.
+	 * 
+	 * @param out  the output to write the state to
+	 * @throws IOException  if the state cannot be written
+	 */
+	public void writeState(DataOutput out) throws IOException {
+		out.writeInt(numberOfFitnessEvaluations);
+		out.writeInt(numberOfIterations);
+		out.writeInt(timesConvergence);
+		out.writeDouble(fitnessValue);
+		out.writeDouble(averageFitness);
+		out.writeInt(speed);
+		out.writeLong(getElapsedNanoTime());
+		out.writeLong(getElapsedCpuTime());
+		
+		Incumbent current=incumbent.get();
+		Object[] genome=current==null ? null : current.getGenome();
+		boolean saved=genome!=null;
+		for(int i=0; saved && i<genome.length; i++)
+			saved=Checkpointer.isValue(genome[i]);
+		out.writeBoolean(saved);
+		if(saved){
+			out.writeDouble(current.getFitnessValue());
+			out.writeInt(current.getNumberOfFitnessEvaluations());
+			out.writeLong(current.getElapsedNanoTime());
+			out.writeInt(genome.length);
+			for(int i=0; i<genome.length; i++)
+				Checkpointer.writeValue(out, genome[i]);
+		}
+	}
+	
+	/**
+	 * Allows to restore the counters, the fitness values, the elapsed times and the incumbent of the execution.
+	 * The clocks are moved back by the elapsed times, so that the termination criteria based on time take the restored time into account.
+	 * 
+	 * @param in  the input to read the state from
+	 * @throws IOException  if the state cannot be read
+	 */
+	public void readState(DataInput in) throws IOException {
+		numberOfFitnessEvaluations=in.readInt();
+		numberOfIterations=in.readInt();
+		timesConvergence=in.readInt();
+		fitnessValue=in.readDouble();
+		averageFitness=in.readDouble();
+		speed=in.readInt();
+		long elapsedNanoTime=in.readLong();
+		long elapsedCpuTime=in.readLong();
+		
+		if(!clockStarted)
+			startClock();
+		startNanoTime-=elapsedNanoTime;
+		taskCpuTime.addAndGet(elapsedCpuTime);
+		
+		Incumbent restored=null;
+		if(in.readBoolean()){
+			double fitness=in.readDouble();
+			int evaluations=in.readInt();
+			long elapsed=in.readLong();
+			Object[] genome=new Object[in.readInt()];
+			for(int i=0; i<genome.length; i++)
+				genome[i]=Checkpointer.readValue(in);
+			restored=new Incumbent(genome, fitness, evaluations, elapsed);
+		}
+		incumbent.set(restored);
+	}
+	
+	
 	/**
 	 * @return  string representation of the performance of the executed algorithm
 	 */
@@ -207,6 +423,8 @@ public class AlgorithmPerformance implements Serializable {
 		+ "The fitness time is: " +  this.timeFitnesses + "\n"
 		+ "The fitness value is: " +  this.fitnessValue + "\n";
 		
+		s+=getMetrics().toString();
+		
 		if(this.averageFitness!=-1)
 		s+= "The average fitness value is: " +  this.averageFitness + "\n";
 		
@@ -235,14 +453,18 @@ public class AlgorithmPerformance implements Serializable {
 	/**
 	 * @return  a map of the performance of the executed algorithm
 	 */
-	public HashMap toMap(){
-		HashMap v=new HashMap();
+	public HashMap<String, Object> toMap(){
+		HashMap<String, Object> v=new HashMap<String, Object>();
 		
 		v.put("Number of iterations",this.getNumberOfIterations());
 		v.put("Number of fitness evaluations",this.getNumberOfFitnessEvaluations());
 		v.put("Speed", this.getSpeed());
 		v.put("Time in ms",this.getTime());
 		v.put("Approximate Fitness Time in ms",this.getTimeFitnesses());
+		v.put("Global step time in ms",this.getMetrics().getGlobalStepTime()/1000000L);
+		v.put("Local step time in ms",this.getMetrics().getLocalStepTime()/1000000L);
+		v.put("Cache hits",this.getMetrics().getCacheHits());
+		v.put("Improvements",this.getMetrics().getImprovements());
 		v.put("Fitness value",this.getFitnessValue());
 		v.put("Average fitness",this.getAverageFitness());
 			
@@ -286,12 +508,44 @@ public class AlgorithmPerformance implements Serializable {
 		this.numberOfFitnessEvaluations = numberOfFitnessEvaluations;
 	}
 	
-	public void incrementNumberOfFitnessEvaluations() {
+	public synchronized void incrementNumberOfFitnessEvaluations() {
 		this.numberOfFitnessEvaluations++;
+		AlgorithmPerformance counter=localCounter.get();
+		if(counter!=null && counter!=this)
+			counter.incrementNumberOfFitnessEvaluations();
 	}
-	
-	public void decrementNumberOfFitnessEvaluations() {
+
+	public synchronized void decrementNumberOfFitnessEvaluations() {
 		this.numberOfFitnessEvaluations--;
+		AlgorithmPerformance counter=localCounter.get();
+		if(counter!=null && counter!=this)
+			counter.decrementNumberOfFitnessEvaluations();
+	}
+	
+	
+	/**
+	 * Allows to set the performance which, besides this one, must count the fitness evaluations performed by the current thread.
+	 * It is used to count apart the evaluations of a task executed concurrently with other ones.
+	 * 
+	 * @param counter  the performance counting the evaluations of the current thread, or null to remove it
+	 * @return  the performance previously set for the current thread, or null
+	 */
+	public static AlgorithmPerformance setLocalCounter(AlgorithmPerformance counter) {
+		AlgorithmPerformance previous=localCounter.get();
+		if(counter==null)
+			localCounter.remove();
+		else
+			localCounter.set(counter);
+		return previous;
+	}
+	
+	/**
+	 * Allows to get the performance which counts the fitness evaluations performed by the current thread
+	 * 
+	 * @return  the performance counting the evaluations of the current thread, or null if it is not set
+	 */
+	public static AlgorithmPerformance getLocalCounter() {
+		return localCounter.get();
 	}
 	
 	public void computeProblemPerformance(Problem p, Individual chromosome) {
@@ -346,6 +600,52 @@ public class AlgorithmPerformance implements Serializable {
 		this.individual=ind;
 		this.fitnessValue = ind.getFitnessValue();
 	}
+	
+	/**
+	 * Allows to publish the snapshot of an evaluated individual if it is better than the best individual evaluated so far.
+	 * The snapshot is taken only in case of improvement and it is published by a compare-and-set, so that the method
+	 * can be invoked by several threads evaluating individuals at the same time.
+	 * 
+	 * @param ind  the evaluated individual
+	 * @param fitness  the fitness value of the individual
+	 * @param maximize  true if the problem is to maximize, false otherwise
+	 * @return  the published snapshot, or null if the individual is not better than the best individual evaluated so far
+	 */
+	public Incumbent offerIncumbent(Individual ind, double fitness, boolean maximize) {
+		if(Double.isNaN(fitness))
+			return null;
+		Incumbent current=incumbent.get();
+		if(current!=null && !(maximize ? fitness>current.getFitnessValue() : fitness<current.getFitnessValue()))
+			return null;
+		
+		Incumbent candidate=new Incumbent(ind, fitness, numberOfFitnessEvaluations, getElapsedNanoTime());
+		while(!incumbent.compareAndSet(current, candidate)){
+			current=incumbent.get();
+			if(current!=null && !(maximize ? fitness>current.getFitnessValue() : fitness<current.getFitnessValue()))
+				return null;
+		}
+		return candidate;
+	}
+	
+	/**
+	 * Allows to get the metrics of the execution
+	 * 
+	 * @return  the metrics of the execution; new metrics are created if the performance has been deserialized
+	 */
+	public AlgorithmMetrics getMetrics() {
+		if(metrics==null)
+			metrics=new AlgorithmMetrics();
+		return metrics;
+	}
+	
+	/**
+	 * Allows to get the snapshot of the best individual evaluated so far. The method can be invoked by any thread at any moment.
+	 * 
+	 * @return  the snapshot of the best individual, or null if no individual has been evaluated
+	 */
+	public Incumbent getIncumbent() {
+		return incumbent.get();
+	}
 
 	public void incrementNumberOfIterations(){
 		this.numberOfIterations++;
@@ -0,0 +1,130 @@
+/*
+ * Incumbent.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.performances;
+
+import java.io.Serializable;
+
+import jMeme.core.individuals.Individual;
+import jMeme.utils.JGapExtension;
+
+
+/**
+ * This class represents an immutable snapshot of the best individual evaluated during the execution of an algorithm.
+ * The snapshot is published atomically, so that a thread different from the one executing the algorithm can read
+ * a consistent fitness value, genome and number of fitness evaluations at any moment.
+ */
+public final class Incumbent implements Serializable {
+
+
+	private static final long serialVersionUID = -3311987474216435580L;
+
+	/**
+	 * Stores the fitness value of the individual
+	 */
+	private final double fitnessValue;
+	/**
+	 * Stores the values of the genes of the individual
+	 */
+	private final Object[] genome;
+	/**
+	 * Stores the number of fitness evaluations performed when the snapshot was taken
+	 */
+	private final int numberOfFitnessEvaluations;
+	/**
+	 * Stores the time in ns elapsed since the start of the execution when the snapshot was taken
+	 */
+	private final long elapsedNanoTime;
+
+
+
+	/**
+	 * Constructor
+	 *
+	 * @param ind  the individual whose snapshot must be taken
+	 * @param fitnessValue  the fitness value of the individual
+	 * @param numberOfFitnessEvaluations  the number of fitness evaluations performed so far
+	 * @param elapsedNanoTime  the time in ns elapsed since the start of the execution
+	 */
+	public Incumbent(Individual ind, double fitnessValue, int numberOfFitnessEvaluations, long elapsedNanoTime){
+		this.fitnessValue=fitnessValue;
+		this.genome=JGapExtension.chromosomeToArray(ind);
+		this.numberOfFitnessEvaluations=numberOfFitnessEvaluations;
+		this.elapsedNanoTime=elapsedNanoTime;
+	}
+
+
+	/**
+	 * Constructor
+	 *
+	 * @param genome  the values of the genes of the individual
+	 * @param fitnessValue  the fitness value of the individual
+	 * @param numberOfFitnessEvaluations  the number of fitness evaluations performed when the snapshot was taken
+	 * @param elapsedNanoTime  the time in ns elapsed since the start of the execution when the snapshot was taken
+	 */
+	public Incumbent(Object[] genome, double fitnessValue, int numberOfFitnessEvaluations, long elapsedNanoTime){
+		this.fitnessValue=fitnessValue;
+		this.genome=genome.clone();
+		this.numberOfFitnessEvaluations=numberOfFitnessEvaluations;
+		this.elapsedNanoTime=elapsedNanoTime;
+	}
+
+
+	public double getFitnessValue() {
+		return fitnessValue;
+	}
+
+
+	/**
+	 * Allows to get the values of the genes of the individual
+	 *
+	 * @return  a copy of the values of the genes
+	 */
+	public Object[] getGenome() {
+		return genome.clone();
+	}
+
+
+	public int getNumberOfFitnessEvaluations() {
+		return numberOfFitnessEvaluations;
+	}
+
+
+	public long getElapsedNanoTime() {
+		return elapsedNanoTime;
+	}
+
+
+	/**
+	 * @return  string representation of the snapshot
+	 */
+	public String toString(){
+		String s="Incumbent fitness value " + fitnessValue + " after " + numberOfFitnessEvaluations + " evaluations:";
+		for(int i=0;i<genome.length;i++)
+			s+=" " + genome[i];
+		return s;
+	}
+
+}
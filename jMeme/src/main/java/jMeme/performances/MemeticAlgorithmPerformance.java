@@ -25,8 +25,15 @@
 
 package jMeme.performances;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jMeme.performances.metrics.AlgorithmMetrics;
 
 
 
@@ -75,6 +82,28 @@ public class MemeticAlgorithmPerformance extends AlgorithmPerformance{
 	 */
 	protected int numImprovements;
 	
+	/**
+	 * Stores, for each local search algorithm chosen adaptively, the number of times it has been applied
+	 */
+	protected HashMap<String, Integer> localOptimizerUses;
+	/**
+	 * Stores, for each local search algorithm chosen adaptively, the sum of its rewards, i.e. the improvements of the fitness value per fitness evaluation spent
+	 */
+	protected HashMap<String, Double> localOptimizerRewards;
+	
+	/**
+	 * Stores the number of candidates checked against the archive of the refined points
+	 */
+	protected int archiveQueries;
+	/**
+	 * Stores the number of candidates found close to a refined point
+	 */
+	protected int archiveHits;
+	/**
+	 * Stores the number of candidates not refined since close to a refined point
+	 */
+	protected int archiveSkips;
+	
 
 	
 	/**
@@ -94,6 +123,12 @@ public class MemeticAlgorithmPerformance extends AlgorithmPerformance{
 		numberLocalIterations=0;
 		numberLocalEvaluations=0;
 		
+		localOptimizerUses=new LinkedHashMap<String, Integer>();
+		localOptimizerRewards=new LinkedHashMap<String, Double>();
+		
+		archiveQueries=0;
+		archiveHits=0;
+		archiveSkips=0;
 	}
 	
 	/**
@@ -119,6 +154,10 @@ public class MemeticAlgorithmPerformance extends AlgorithmPerformance{
 		
 		speed=0;
 		
+		clockStarted=false;
+		incumbent.set(null);
+		metrics=new AlgorithmMetrics();
+		
 		minLocalImprovement= Double.MAX_VALUE;
 		maxLocalImprovement= Double.MIN_VALUE;
 		sumLocalImprovement=0;
@@ -127,6 +166,74 @@ public class MemeticAlgorithmPerformance extends AlgorithmPerformance{
 		numImprovements=0;
 		numberLocalIterations=0;
 		numberLocalEvaluations=0;
+		
+		localOptimizerUses=new LinkedHashMap<String, Integer>();
+		localOptimizerRewards=new LinkedHashMap<String, Double>();
+		
+		archiveQueries=0;
+		archiveHits=0;
+		archiveSkips=0;
+	}
+	
+	
+	/**
+	 * Allows to write the state of the execution and the statistics of the local procedures
+	 * 
+	 * @param out  the output to write the state to
+	 * @throws IOException  if the state cannot be written
+	 */
+	public void writeState(DataOutput out) throws IOException {
+		super.writeState(out);
+		out.writeInt(numberLocalIterations);
+		out.writeInt(numberLocalEvaluations);
+		out.writeDouble(minLocalImprovement);
+		out.writeDouble(maxLocalImprovement);
+		out.writeDouble(sumLocalImprovement);
+		out.writeDouble(averageLocalImprovement);
+		out.writeInt(numImprovements);
+		synchronized(this){
+			out.writeInt(archiveQueries);
+			out.writeInt(archiveHits);
+			out.writeInt(archiveSkips);
+			out.writeInt(localOptimizerUses.size());
+			for(Map.Entry<String, Integer> e : localOptimizerUses.entrySet()){
+				out.writeUTF(e.getKey());
+				out.writeInt(e.getValue());
+			}
+			out.writeInt(localOptimizerRewards.size());
+			for(Map.Entry<String, Double> e : localOptimizerRewards.entrySet()){
+				out.writeUTF(e.getKey());
+				out.writeDouble(e.getValue());
+			}
+		}
+	}
+	
+	/**
+	 * Allows to restore the state of the execution and the statistics of the local procedures
+	 * 
+	 * @param in  the input to read the state from
+	 * @throws IOException  if the state cannot be read
+	 */
+	public void readState(DataInput in) throws IOException {
+		super.readState(in);
+		numberLocalIterations=in.readInt();
+		numberLocalEvaluations=in.readInt();
+		minLocalImprovement=in.readDouble();
+		maxLocalImprovement=in.readDouble();
+		sumLocalImprovement=in.readDouble();
+		averageLocalImprovement=in.readDouble();
+		numImprovements=in.readInt();
+		synchronized(this){
+			archiveQueries=in.readInt();
+			archiveHits=in.readInt();
+			archiveSkips=in.readInt();
+			localOptimizerUses=new LinkedHashMap<String, Integer>();
+			for(int i=in.readInt(); i>0; i--)
+				localOptimizerUses.put(in.readUTF(), in.readInt());
+			localOptimizerRewards=new LinkedHashMap<String, Double>();
+			for(int i=in.readInt(); i>0; i--)
+				localOptimizerRewards.put(in.readUTF(), in.readDouble());
+		}
 	}
 	
 	
@@ -137,6 +244,80 @@ public class MemeticAlgorithmPerformance extends AlgorithmPerformance{
 		numberLocalIterations=0;
 		numberLocalEvaluations=0;
 	}
+	
+	/**
+	 * Allows to add the number of iterations and the number of evaluations of a local procedure whose counters have been kept apart,
+	 * e.g. because it has been executed concurrently with other local procedures
+	 * 
+	 * @param local  the performance containing the counters of the local procedure
+	 */
+	public void mergeLocalPerformance(MemeticAlgorithmPerformance local){
+		numberLocalIterations+=local.getNumberLocalIterations();
+		numberLocalEvaluations+=local.getNumberLocalEvaluations();
+	}
+	
+	/**
+	 * Allows to record an application of a local search algorithm chosen adaptively
+	 * 
+	 * @param id  the identifier of the local search algorithm
+	 * @param reward  the improvement of the fitness value per fitness evaluation spent by the local search algorithm
+	 */
+	public synchronized void updateLocalOptimizerStatistics(String id, double reward){
+		Integer uses=localOptimizerUses.get(id);
+		localOptimizerUses.put(id, uses==null ? 1 : uses+1);
+		Double sum=localOptimizerRewards.get(id);
+		localOptimizerRewards.put(id, sum==null ? reward : sum+reward);
+	}
+	
+	/**
+	 * Allows to get the average reward of a local search algorithm chosen adaptively
+	 * 
+	 * @param id  the identifier of the local search algorithm
+	 * @return  the average of the rewards of the local search algorithm, 0 if it has never been applied
+	 */
+	public synchronized double getAverageLocalOptimizerReward(String id){
+		Integer uses=localOptimizerUses.get(id);
+		if(uses==null)
+			return 0;
+		return localOptimizerRewards.get(id)/uses;
+	}
+	
+	/**
+	 * Allows to record a check of a candidate against the archive of the refined points
+	 * 
+	 * @param hit  true if the candidate is close to a refined point, false otherwise
+	 * @param skipped  true if the candidate has not been refined, false otherwise
+	 */
+	public synchronized void updateArchiveStatistics(boolean hit, boolean skipped){
+		archiveQueries++;
+		if(hit)
+			archiveHits++;
+		if(skipped)
+			archiveSkips++;
+	}
+	
+	/**
+	 * Allows to get the fraction of the candidates found close to a refined point
+	 * 
+	 * @return  the hit rate of the archive, 0 if no candidate has been checked
+	 */
+	public double getArchiveHitRate(){
+		if(archiveQueries==0)
+			return 0;
+		return (double)archiveHits/archiveQueries;
+	}
+	
+	/**
+	 * Allows to get the fraction of the candidates not refined since close to a refined point
+	 * 
+	 * @return  the skip rate of the archive, 0 if no candidate has been checked
+	 */
+	public double getArchiveSkipRate(){
+		if(archiveQueries==0)
+			return 0;
+		return (double)archiveSkips/archiveQueries;
+	}
+
 
 	/**
 	 * @return  string representation of the performance of the executed algorithm
@@ -150,6 +331,8 @@ public class MemeticAlgorithmPerformance extends AlgorithmPerformance{
 				+ "The fitness time is: " +  this.timeFitnesses + "\n"
 				+ "The fitness value is: " +  this.fitnessValue + "\n";
 				
+				s+=getMetrics().toString();
+				
 				if(this.averageFitness!=-1)
 				s+= "The average fitness value is: " +  this.averageFitness + "\n";
 				
@@ -177,6 +360,17 @@ public class MemeticAlgorithmPerformance extends AlgorithmPerformance{
 		
 		s+="The number of local improvements is: " + this.getNumImprovements();
 		
+		Iterator<String> ids=localOptimizerUses.keySet().iterator();
+		while(ids.hasNext()){
+			String id=ids.next();
+			s+="\nLocal optimizer " + id + " applied " + localOptimizerUses.get(id) + " times, average reward " + this.getAverageLocalOptimizerReward(id);
+		}
+		
+		if(archiveQueries>0){
+			s+="\nThe archive hit rate is: " + this.getArchiveHitRate();
+			s+="\nThe archive skip rate is: " + this.getArchiveSkipRate();
+		}
+		
 		
 		
 		s+="\n Individual \n" +individual.toString();
@@ -191,14 +385,19 @@ public class MemeticAlgorithmPerformance extends AlgorithmPerformance{
 	/**
 	 * @return  a map of the performance of the executed algorithm
 	 */
-	public HashMap toMap(){
-HashMap v=new HashMap();
+	public HashMap<String, Object> toMap(){
+HashMap<String, Object> v=new HashMap<String, Object>();
 		
 		v.put("Number of iterations",this.getNumberOfIterations());
 		v.put("Number of fitness evaluations",this.getNumberOfFitnessEvaluations());
 		v.put("Speed", this.getSpeed());
 		v.put("Time in ms",this.getTime());
-		v.put("Fitness Time in ms",this.getTime());
+		v.put("Fitness Time in ms",this.getTimeFitnesses());
+		v.put("Global step time in ms",this.getMetrics().getGlobalStepTime()/1000000L);
+		v.put("Local step time in ms",this.getMetrics().getLocalStepTime()/1000000L);
+		v.put("Replacement time in ms",this.getMetrics().getReplacementTime()/1000000L);
+		v.put("Cache hits",this.getMetrics().getCacheHits());
+		v.put("Improvements",this.getMetrics().getImprovements());
 		v.put("Fitness value",this.getFitnessValue());
 		v.put("Average fitness",this.getAverageFitness());
 			
@@ -223,6 +422,11 @@ HashMap v=new HashMap();
 	
 		v.put("Num improv.",this.getNumImprovements());
 		
+		if(archiveQueries>0){
+			v.put("Archive hit rate",this.getArchiveHitRate());
+			v.put("Archive skip rate",this.getArchiveSkipRate());
+		}
+		
 		return v;
 		
 	}
@@ -303,6 +507,26 @@ HashMap v=new HashMap();
 	public int getNumberLocalEvaluations() {
 		return numberLocalEvaluations;
 	}
+	
+	public HashMap<String, Integer> getLocalOptimizerUses() {
+		return localOptimizerUses;
+	}
+	
+	public HashMap<String, Double> getLocalOptimizerRewards() {
+		return localOptimizerRewards;
+	}
+	
+	public int getArchiveQueries() {
+		return archiveQueries;
+	}
+	
+	public int getArchiveHits() {
+		return archiveHits;
+	}
+	
+	public int getArchiveSkips() {
+		return archiveSkips;
+	}
 
 	public void setNumberLocalEvaluations(int numberLocalEvaluations) {
 		this.numberLocalEvaluations = numberLocalEvaluations;
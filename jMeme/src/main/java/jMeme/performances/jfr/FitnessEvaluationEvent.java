@@ -0,0 +1,101 @@
+/*
+ * FitnessEvaluationEvent.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.performances.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * This class represents the JFR event recording a fitness evaluation. Only one evaluation every <code>samplingPeriod</code>
+ * is recorded, so that the recording does not slow down the fitness functions which are fast to compute;
+ * the period can be set by the system property <code>jMeme.jfr.evaluationSampling</code>.
+ */
+@Name("jMeme.FitnessEvaluation")
+@Label("Fitness Evaluation")
+@Category("jMeme")
+@Description("Sampled fitness evaluation")
+@StackTrace(false)
+public class FitnessEvaluationEvent extends jdk.jfr.Event {
+
+	
+	/**
+	 * Constant indicating the default value for the number of evaluations among which one is recorded
+	 */
+	public static final int SAMPLING_PERIOD_DEFAULT=1000;
+	
+	/**
+	 * Stores the number of evaluations among which one is recorded
+	 */
+	private static volatile int samplingPeriod=Math.max(1, Integer.getInteger("jMeme.jfr.evaluationSampling", SAMPLING_PERIOD_DEFAULT));
+	
+	
+	@Label("Evaluation")
+	@Description("Number of the evaluation since the start of the execution")
+	int evaluation;
+	
+	@Label("Fitness")
+	double fitness;
+	
+	
+	/**
+	 * Allows to know if an evaluation must be recorded
+	 * 
+	 * @param evaluation  the number of the evaluation
+	 * @return  true if the evaluation belongs to the sample, false otherwise
+	 */
+	public static boolean isSampled(int evaluation){
+		return evaluation % samplingPeriod == 0;
+	}
+	
+	
+	/**
+	 * Allows to end and commit the event, if it is enabled
+	 * 
+	 * @param evaluation  the number of the evaluation
+	 * @param fitness  the computed fitness value
+	 */
+	public void emit(int evaluation, double fitness){
+		if(!shouldCommit())
+			return;
+		this.evaluation=evaluation;
+		this.fitness=fitness;
+		commit();
+	}
+	
+	
+	public static int getSamplingPeriod() {
+		return samplingPeriod;
+	}
+	
+	public static void setSamplingPeriod(int samplingPeriod) {
+		FitnessEvaluationEvent.samplingPeriod = Math.max(1, samplingPeriod);
+	}
+	
+}
@@ -0,0 +1,81 @@
+/*
+ * GenerationEvent.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.performances.jfr;
+
+import jMeme.core.JConfiguration;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * This class represents the JFR event recording a generation of a global search or memetic algorithm
+ */
+@Name("jMeme.Generation")
+@Label("Generation")
+@Category("jMeme")
+@Description("Generation of a jMeme algorithm, including the local search of memetic algorithms")
+@StackTrace(false)
+public class GenerationEvent extends jdk.jfr.Event {
+
+	@Label("Optimizer Id")
+	String optimizerId;
+	
+	@Label("Generation")
+	int generation;
+	
+	@Label("Best Fitness after Evolution")
+	double evolutionFitness;
+	
+	@Label("Best Fitness")
+	double bestFitness;
+	
+	@Label("Evaluations")
+	@Description("Fitness evaluations performed since the start of the execution")
+	int evaluations;
+	
+	
+	/**
+	 * Allows to end and commit the event, if it is enabled
+	 * 
+	 * @param conf  the configuration of the algorithm
+	 * @param generation  the number of the generation, starting from 1
+	 * @param evolutionFitness  the best fitness value after the evolution of the population
+	 */
+	public void emit(JConfiguration conf, int generation, double evolutionFitness){
+		if(!shouldCommit())
+			return;
+		this.optimizerId=RunEvent.optimizerId(conf);
+		this.generation=generation;
+		this.evolutionFitness=evolutionFitness;
+		this.bestFitness=conf.getPerformance().getFitnessValue();
+		this.evaluations=conf.getPerformance().getNumberOfFitnessEvaluations();
+		commit();
+	}
+	
+}
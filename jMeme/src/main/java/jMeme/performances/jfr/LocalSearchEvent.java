@@ -0,0 +1,83 @@
+/*
+ * LocalSearchEvent.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.performances.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * This class represents the JFR event recording the refinement of an individual by a local search procedure
+ */
+@Name("jMeme.LocalSearch")
+@Label("Local Search")
+@Category("jMeme")
+@Description("Refinement of an individual by a local search procedure")
+@StackTrace(false)
+public class LocalSearchEvent extends jdk.jfr.Event {
+
+	@Label("Optimizer Id")
+	@Description("Class of the local search procedure")
+	String optimizerId;
+	
+	@Label("Initial Fitness")
+	double initialFitness;
+	
+	@Label("Fitness")
+	double fitness;
+	
+	@Label("Iterations")
+	int iterations;
+	
+	@Label("Evaluations")
+	@Description("Fitness evaluations performed by the local search procedure")
+	int evaluations;
+	
+	
+	/**
+	 * Allows to end and commit the event, if it is enabled
+	 * 
+	 * @param optimizer  the local search procedure
+	 * @param initialFitness  the fitness value of the individual before the refinement
+	 * @param fitness  the fitness value of the refined individual
+	 * @param iterations  the number of iterations performed by the local search procedure
+	 * @param evaluations  the number of fitness evaluations performed by the local search procedure
+	 */
+	public void emit(Object optimizer, double initialFitness, double fitness, int iterations, int evaluations){
+		if(!shouldCommit())
+			return;
+		this.optimizerId=optimizer.getClass().getName();
+		this.initialFitness=initialFitness;
+		this.fitness=fitness;
+		this.iterations=iterations;
+		this.evaluations=evaluations;
+		commit();
+	}
+	
+}
@@ -0,0 +1,104 @@
+/*
+ * RunEvent.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.performances.jfr;
+
+import jMeme.core.JConfiguration;
+import jMeme.core.configurations.GlobalSearchAlgorithmConfiguration;
+import jMeme.core.configurations.LocalSearchAlgorithmConfiguration;
+import jMeme.core.configurations.MemeticAlgorithmConfiguration;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * This class represents the JFR event recording an execution of an algorithm, from its start to its end.
+ * The event, as the other jMeme events, is committed only if it is enabled in the running recording, so that
+ * it costs almost nothing when no recording is running.
+ */
+@Name("jMeme.Run")
+@Label("Algorithm Run")
+@Category("jMeme")
+@Description("Execution of a jMeme algorithm")
+@StackTrace(false)
+public class RunEvent extends jdk.jfr.Event {
+
+	@Label("Algorithm")
+	String algorithm;
+	
+	@Label("Optimizer Id")
+	@Description("Identifiers of the global and local components of the configuration")
+	String optimizerId;
+	
+	@Label("Best Fitness")
+	double bestFitness;
+	
+	@Label("Evaluations")
+	int evaluations;
+	
+	@Label("Iterations")
+	int iterations;
+	
+	
+	/**
+	 * Allows to end and commit the event, if it is enabled
+	 * 
+	 * @param algorithm  the executed algorithm
+	 * @param conf  the configuration of the algorithm
+	 */
+	public void emit(Object algorithm, JConfiguration conf){
+		if(!shouldCommit())
+			return;
+		this.algorithm=algorithm.getClass().getName();
+		this.optimizerId=optimizerId(conf);
+		this.bestFitness=conf.getPerformance().getFitnessValue();
+		this.evaluations=conf.getPerformance().getNumberOfFitnessEvaluations();
+		this.iterations=conf.getPerformance().getNumberOfIterations();
+		commit();
+	}
+	
+	
+	/**
+	 * Allows to get the identifiers of the components of a configuration
+	 * 
+	 * @param conf  the configuration of an algorithm
+	 * @return  the identifier of the global component and/or of the local component of the configuration
+	 */
+	static String optimizerId(JConfiguration conf){
+		if(conf instanceof MemeticAlgorithmConfiguration){
+			MemeticAlgorithmConfiguration c=(MemeticAlgorithmConfiguration)conf;
+			return c.getGlobalComponent().getId() + "+" + c.getLocalComponent().getId();
+		}
+		if(conf instanceof GlobalSearchAlgorithmConfiguration)
+			return ((GlobalSearchAlgorithmConfiguration)conf).getGlobalComponent().getId();
+		if(conf instanceof LocalSearchAlgorithmConfiguration)
+			return ((LocalSearchAlgorithmConfiguration)conf).getLocalComponent().getId();
+		return null;
+	}
+	
+}
@@ -0,0 +1,332 @@
+/*
+ * AlgorithmMetrics.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.performances.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import jMeme.performances.Incumbent;
+
+
+/**
+ * This class stores the metrics of an execution of an algorithm: the time spent by its phases, the number of fitness evaluations,
+ * of local refinements skipped thanks to the archive of the local optima (cache hits) and of improvements of the best individual,
+ * and the histogram of the durations of the fitness evaluations. The metrics can be updated by several threads without locks
+ * and are published as a JMX MBean by the <code>MetricsRegistry</code> while the algorithm is running.
+ * The time of the evaluations is also included in the time of the phase in which they are performed.
+ * The state of the search, i.e. the best individual, the last generation and the average fitness of the population,
+ * is published in volatile fields, so that it can be read by other threads without synchronizing with the algorithm.
+ */
+public class AlgorithmMetrics implements AlgorithmMetricsMBean {
+
+	
+	/**
+	 * Constant representing the initialization of the algorithm, e.g. the generation and the evaluation of the initial population
+	 */
+	public static final int INITIALIZATION=0;
+	/**
+	 * Constant representing a step of the global search, i.e. the evolution of the population
+	 */
+	public static final int GLOBAL_STEP=1;
+	/**
+	 * Constant representing a step of the local search, i.e. the refinement of the selected individuals
+	 */
+	public static final int LOCAL_STEP=2;
+	/**
+	 * Constant representing a fitness evaluation
+	 */
+	public static final int EVALUATION=3;
+	/**
+	 * Constant representing the replacement of an individual by its refinement
+	 */
+	public static final int REPLACEMENT=4;
+	
+	
+	/**
+	 * Stores the name of the algorithm whose metrics are stored
+	 */
+	private volatile String algorithm="";
+	/**
+	 * Stores the number of the execution among the ones registered in the <code>MetricsRegistry</code>
+	 */
+	private volatile long run;
+	/**
+	 * Stores the value in ns of the monotonic clock when the execution started
+	 */
+	private volatile long startNanoTime=System.nanoTime();
+	/**
+	 * Stores the snapshot of the best individual evaluated so far, null before the first evaluation
+	 */
+	private volatile Incumbent best;
+	/**
+	 * Stores the number of the last completed generation
+	 */
+	private volatile int generation;
+	/**
+	 * Stores the average fitness value of the population at the end of the last completed generation, NaN if it is not known
+	 */
+	private volatile double averageFitness=Double.NaN;
+	/**
+	 * Stores the number of executions of each phase
+	 */
+	private final LongAdder[] counts=new LongAdder[5];
+	/**
+	 * Stores the time in ns spent by each phase
+	 */
+	private final LongAdder[] times=new LongAdder[5];
+	/**
+	 * Stores the number of local refinements skipped because the archive already contains the optimum of a close point
+	 */
+	private final LongAdder cacheHits=new LongAdder();
+	/**
+	 * Stores the number of improvements of the best individual evaluated so far
+	 */
+	private final LongAdder improvements=new LongAdder();
+	/**
+	 * Stores the histogram of the durations of the fitness evaluations
+	 */
+	private final LatencyHistogram evaluationLatency=new LatencyHistogram();
+	
+	
+	
+	/**
+	 * Constructor
+	 */
+	public AlgorithmMetrics(){
+		for(int i=0;i<counts.length;i++){
+			counts[i]=new LongAdder();
+			times[i]=new LongAdder();
+		}
+	}
+	
+	
+	/**
+	 * Allows to record an execution of a phase
+	 * 
+	 * @param phase  the phase: INITIALIZATION, GLOBAL_STEP, LOCAL_STEP, EVALUATION or REPLACEMENT
+	 * @param nanos  the time in ns spent by the phase
+	 */
+	public void record(int phase, long nanos){
+		counts[phase].increment();
+		times[phase].add(nanos);
+		if(phase==EVALUATION)
+			evaluationLatency.record(nanos);
+	}
+	
+	/**
+	 * Allows to record that a local refinement has been skipped because the archive already contains the optimum of a close point
+	 */
+	public void recordCacheHit(){
+		cacheHits.increment();
+	}
+	
+	/**
+	 * Allows to record an improvement of the best individual evaluated so far
+	 * 
+	 * @param incumbent  the snapshot of the new best individual
+	 */
+	public void recordImprovement(Incumbent incumbent){
+		improvements.increment();
+		best=incumbent;
+	}
+	
+	/**
+	 * Allows to record the end of a generation
+	 * 
+	 * @param generation  the number of the generation, starting from 1
+	 * @param averageFitness  the average fitness value of the population at the end of the generation
+	 */
+	public void recordGeneration(int generation, double averageFitness){
+		this.averageFitness=averageFitness;
+		this.generation=generation;
+	}
+	
+	/**
+	 * Allows to record the start of the execution
+	 * 
+	 * @param run  the number of the execution among the ones registered
+	 */
+	void start(long run){
+		this.run=run;
+		startNanoTime=System.nanoTime();
+	}
+	
+	
+	/**
+	 * @param phase  the phase: INITIALIZATION, GLOBAL_STEP, LOCAL_STEP, EVALUATION or REPLACEMENT
+	 * @return  the number of executions of the phase
+	 */
+	public long getCount(int phase){
+		return counts[phase].sum();
+	}
+	
+	/**
+	 * @param phase  the phase: INITIALIZATION, GLOBAL_STEP, LOCAL_STEP, EVALUATION or REPLACEMENT
+	 * @return  the time in ns spent by the phase
+	 */
+	public long getTime(int phase){
+		return times[phase].sum();
+	}
+	
+	
+	/**
+	 * @return string representation of the metrics
+	 */
+	public String toString(){
+		String s="Metrics of " + algorithm + " run " + run + "\n";
+		s+="Initialization time in ns " + getInitializationTime() + "\n";
+		s+="Global step time in ns " + getGlobalStepTime() + " (" + getGlobalSteps() + " steps)\n";
+		s+="Local step time in ns " + getLocalStepTime() + " (" + getLocalSteps() + " steps)\n";
+		s+="Evaluation time in ns " + getEvaluationTime() + " (" + getEvaluations() + " evaluations)\n";
+		s+="Replacement time in ns " + getReplacementTime() + " (" + getReplacements() + " replacements)\n";
+		s+="Cache hits " + getCacheHits() + "\n";
+		s+="Improvements " + getImprovements() + "\n";
+		s+="Evaluation latency in ns: mean " + getEvaluationLatencyMean() + " p50 " + getEvaluationLatencyP50()
+		 + " p90 " + getEvaluationLatencyP90() + " p99 " + getEvaluationLatencyP99() + " max " + getEvaluationLatencyMax() + "\n";
+		return s;
+	}
+	
+	
+	
+	public String getAlgorithm() {
+		return algorithm;
+	}
+
+	public void setAlgorithm(String algorithm) {
+		this.algorithm = algorithm;
+	}
+
+	public long getRun() {
+		return run;
+	}
+
+	/**
+	 * @return  the time in ns elapsed since the start of the execution
+	 */
+	public long getElapsedTime() {
+		return System.nanoTime()-startNanoTime;
+	}
+
+	/**
+	 * @return  the fitness value of the best individual evaluated so far, NaN if no individual has been evaluated
+	 */
+	public double getBestFitness() {
+		Incumbent b=best;
+		return b==null ? Double.NaN : b.getFitnessValue();
+	}
+
+	public int getGeneration() {
+		return generation;
+	}
+
+	public double getAverageFitness() {
+		return averageFitness;
+	}
+
+	/**
+	 * @return  the average number of fitness evaluations per second since the start of the execution
+	 */
+	public double getEvaluationsPerSecond() {
+		long elapsed=getElapsedTime();
+		return elapsed<=0 ? 0 : getEvaluations()*1e9/elapsed;
+	}
+
+	/**
+	 * @return  the fraction of the elapsed time spent by the local search steps
+	 */
+	public double getLocalSearchTimeRatio() {
+		long elapsed=getElapsedTime();
+		return elapsed<=0 ? 0 : Math.min(1.0, (double)getLocalStepTime()/elapsed);
+	}
+
+	public long getInitializationTime() {
+		return getTime(INITIALIZATION);
+	}
+
+	public long getGlobalStepTime() {
+		return getTime(GLOBAL_STEP);
+	}
+
+	public long getGlobalSteps() {
+		return getCount(GLOBAL_STEP);
+	}
+
+	public long getLocalStepTime() {
+		return getTime(LOCAL_STEP);
+	}
+
+	public long getLocalSteps() {
+		return getCount(LOCAL_STEP);
+	}
+
+	public long getEvaluationTime() {
+		return getTime(EVALUATION);
+	}
+
+	public long getReplacementTime() {
+		return getTime(REPLACEMENT);
+	}
+
+	public long getReplacements() {
+		return getCount(REPLACEMENT);
+	}
+
+	public long getEvaluations() {
+		return getCount(EVALUATION);
+	}
+
+	public long getCacheHits() {
+		return cacheHits.sum();
+	}
+
+	public long getImprovements() {
+		return improvements.sum();
+	}
+
+	public LatencyHistogram getEvaluationLatency() {
+		return evaluationLatency;
+	}
+
+	public double getEvaluationLatencyMean() {
+		return evaluationLatency.getMean();
+	}
+
+	public long getEvaluationLatencyP50() {
+		return evaluationLatency.getPercentile(0.5);
+	}
+
+	public long getEvaluationLatencyP90() {
+		return evaluationLatency.getPercentile(0.9);
+	}
+
+	public long getEvaluationLatencyP99() {
+		return evaluationLatency.getPercentile(0.99);
+	}
+
+	public long getEvaluationLatencyMax() {
+		return evaluationLatency.getMax();
+	}
+
+}
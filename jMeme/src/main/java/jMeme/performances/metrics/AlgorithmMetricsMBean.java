@@ -0,0 +1,83 @@
+/*
+ * AlgorithmMetricsMBean.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.performances.metrics;
+
+
+/**
+ * This interface defines the attributes of the metrics of an algorithm which are published as a JMX MBean.
+ * The times are expressed in ns.
+ */
+public interface AlgorithmMetricsMBean {
+
+	public String getAlgorithm();
+	
+	public long getRun();
+	
+	public long getElapsedTime();
+	
+	public double getBestFitness();
+	
+	public int getGeneration();
+	
+	public double getAverageFitness();
+	
+	public double getEvaluationsPerSecond();
+	
+	public double getLocalSearchTimeRatio();
+	
+	public long getInitializationTime();
+	
+	public long getGlobalStepTime();
+	
+	public long getGlobalSteps();
+	
+	public long getLocalStepTime();
+	
+	public long getLocalSteps();
+	
+	public long getEvaluationTime();
+	
+	public long getReplacementTime();
+	
+	public long getReplacements();
+	
+	public long getEvaluations();
+	
+	public long getCacheHits();
+	
+	public long getImprovements();
+	
+	public double getEvaluationLatencyMean();
+	
+	public long getEvaluationLatencyP50();
+	
+	public long getEvaluationLatencyP90();
+	
+	public long getEvaluationLatencyP99();
+	
+	public long getEvaluationLatencyMax();
+	
+}
@@ -0,0 +1,173 @@
+/*
+ * LatencyHistogram.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.performances.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * This class implements a histogram of durations in ns which can be updated by several threads without locks.
+ * The durations are counted in buckets whose width grows with the duration: each power of 2 is divided into 4 buckets,
+ * so that the percentiles are computed with a relative error of at most 25% using a fixed amount of memory.
+ */
+public class LatencyHistogram {
+
+	
+	/**
+	 * Constant indicating the number of buckets, enough to count any non-negative long value
+	 */
+	public static final int NUMBER_OF_BUCKETS=248;
+	
+	
+	/**
+	 * Stores the number of durations counted in each bucket
+	 */
+	private final AtomicLongArray buckets=new AtomicLongArray(NUMBER_OF_BUCKETS);
+	/**
+	 * Stores the number of counted durations
+	 */
+	private final LongAdder count=new LongAdder();
+	/**
+	 * Stores the sum of the counted durations
+	 */
+	private final LongAdder sum=new LongAdder();
+	/**
+	 * Stores the longest counted duration
+	 */
+	private final AtomicLong max=new AtomicLong();
+	
+	
+	
+	/**
+	 * Allows to count a duration
+	 * 
+	 * @param nanos  the duration in ns; negative values are counted as 0
+	 */
+	public void record(long nanos){
+		if(nanos<0)
+			nanos=0;
+		buckets.incrementAndGet(bucketOf(nanos));
+		count.increment();
+		sum.add(nanos);
+		
+		long current=max.get();
+		while(nanos>current && !max.compareAndSet(current, nanos))
+			current=max.get();
+	}
+	
+	
+	/**
+	 * Allows to compute a percentile of the counted durations
+	 * 
+	 * @param q  the quantile, in [0,1]
+	 * @return  the upper bound of the bucket containing the percentile, 0 if no duration has been counted
+	 */
+	public long getPercentile(double q){
+		long[] counts=getBucketCounts();
+		long total=0;
+		for(int i=0;i<counts.length;i++)
+			total+=counts[i];
+		if(total==0)
+			return 0;
+		
+		long target=Math.max(1, (long)Math.ceil(q*total));
+		long cumulative=0;
+		for(int i=0;i<counts.length;i++){
+			cumulative+=counts[i];
+			if(cumulative>=target)
+				return Math.min(upperBound(i), max.get());
+		}
+		return max.get();
+	}
+	
+	
+	/**
+	 * @return  the number of durations counted in each bucket
+	 */
+	public long[] getBucketCounts(){
+		long[] counts=new long[NUMBER_OF_BUCKETS];
+		for(int i=0;i<counts.length;i++)
+			counts[i]=buckets.get(i);
+		return counts;
+	}
+	
+	
+	/**
+	 * Allows to get the index of the bucket counting a duration
+	 * 
+	 * @param nanos  a non-negative duration
+	 * @return  the index of the bucket
+	 */
+	public static int bucketOf(long nanos){
+		if(nanos<8)
+			return (int)nanos;
+		int exponent=63-Long.numberOfLeadingZeros(nanos);
+		int sub=(int)(nanos>>>(exponent-2)) & 3;
+		return 4*(exponent-1)+sub;
+	}
+	
+	
+	/**
+	 * Allows to get the largest duration counted by a bucket
+	 * 
+	 * @param bucket  the index of the bucket
+	 * @return  the largest duration of the bucket
+	 */
+	public static long upperBound(int bucket){
+		if(bucket<8)
+			return bucket;
+		int exponent=bucket/4+1;
+		int sub=bucket%4;
+		if(exponent==62 && sub==3)
+			return Long.MAX_VALUE;
+		return ((5L+sub)<<(exponent-2))-1;
+	}
+	
+	
+	
+	public long getCount() {
+		return count.sum();
+	}
+	
+	public long getSum() {
+		return sum.sum();
+	}
+	
+	public long getMax() {
+		return max.get();
+	}
+	
+	/**
+	 * @return  the average of the counted durations, 0 if no duration has been counted
+	 */
+	public double getMean() {
+		long n=count.sum();
+		return n==0 ? 0 : (double)sum.sum()/n;
+	}
+
+}
@@ -0,0 +1,180 @@
+/*
+ * MetricsRegistry.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.performances.metrics;
+
+import jMeme.core.Algorithm;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+
+/**
+ * This class keeps the metrics of the algorithms which are running and publishes them as JMX MBeans of the platform MBean server,
+ * named <code>jMeme:type=&lt;algorithm class&gt;,run=&lt;number&gt;</code>. The algorithms register their metrics when an execution starts
+ * and unregister them when it ends. The studies register in the same way the progress of their steps.
+ * The registry is only locked when an execution or a step starts or ends, so reading it does not slow down the algorithms.
+ */
+public class MetricsRegistry {
+
+	
+	/**
+	 * Constant indicating the JMX domain of the MBeans
+	 */
+	public static final String DOMAIN="jMeme";
+	
+	
+	/**
+	 * Stores the metrics of the running algorithms with the names of their MBeans, or null if they are not published
+	 */
+	private static final Map<AlgorithmMetrics, ObjectName> active=new LinkedHashMap<AlgorithmMetrics, ObjectName>();
+	/**
+	 * Stores the progress of the steps of the studies which are running
+	 */
+	private static final List<StudyProgress> studies=new ArrayList<StudyProgress>();
+	/**
+	 * Stores the number of registered executions, used to name the MBeans
+	 */
+	private static long runs;
+	/**
+	 * Stores true if the metrics are published as MBeans, false otherwise
+	 */
+	private static boolean jmxEnabled=true;
+	
+	
+	
+	/**
+	 * Allows to register the metrics of an execution which is starting. If the metrics cannot be published as an MBean,
+	 * the failure is reported to the listener of the algorithm and the execution continues.
+	 * 
+	 * @param algorithm  the algorithm to be executed
+	 * @param metrics  the metrics of the execution
+	 */
+	public static synchronized void register(Algorithm algorithm, AlgorithmMetrics metrics){
+		if(active.containsKey(metrics))
+			return;
+		
+		runs++;
+		String type=algorithm.getClass().getSimpleName();
+		metrics.setAlgorithm(type);
+		metrics.start(runs);
+		
+		ObjectName name=null;
+		if(jmxEnabled){
+			String mbean=DOMAIN + ":type=" + type + ",run=" + runs;
+			try {
+				name=new ObjectName(mbean);
+				ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, name);
+			} catch (JMException e) {
+				algorithm.getConfiguration().getListener().message(algorithm.getConfiguration(), "The metrics cannot be published as the MBean " + mbean + ": " + e);
+				name=null;
+			}
+		}
+		active.put(metrics, name);
+	}
+	
+	
+	/**
+	 * Allows to unregister the metrics of an execution which has ended. If the MBean cannot be removed, the failure is reported
+	 * to the listener of the algorithm.
+	 * 
+	 * @param algorithm  the algorithm which has been executed
+	 * @param metrics  the metrics of the execution
+	 */
+	public static synchronized void unregister(Algorithm algorithm, AlgorithmMetrics metrics){
+		if(!active.containsKey(metrics))
+			return;
+		
+		ObjectName name=active.remove(metrics);
+		if(name!=null){
+			MBeanServer server=ManagementFactory.getPlatformMBeanServer();
+			try {
+				if(server.isRegistered(name))
+					server.unregisterMBean(name);
+			} catch (JMException e) {
+				algorithm.getConfiguration().getListener().message(algorithm.getConfiguration(), "The MBean " + name + " cannot be removed: " + e);
+			}
+		}
+	}
+	
+	
+	/**
+	 * @return  the metrics of the algorithms which are running
+	 */
+	public static synchronized List<AlgorithmMetrics> getActiveMetrics(){
+		return new ArrayList<AlgorithmMetrics>(active.keySet());
+	}
+	
+	
+	/**
+	 * Allows to register the progress of a step of a study which is starting
+	 * 
+	 * @param progress  the progress of the step
+	 */
+	public static synchronized void registerStudy(StudyProgress progress){
+		if(!studies.contains(progress))
+			studies.add(progress);
+	}
+	
+	
+	/**
+	 * Allows to unregister the progress of a step of a study which has ended
+	 * 
+	 * @param progress  the progress of the step
+	 */
+	public static synchronized void unregisterStudy(StudyProgress progress){
+		studies.remove(progress);
+	}
+	
+	
+	/**
+	 * @return  the progress of the steps of the studies which are running
+	 */
+	public static synchronized List<StudyProgress> getActiveStudies(){
+		return new ArrayList<StudyProgress>(studies);
+	}
+	
+	
+	public static synchronized boolean isJmxEnabled() {
+		return jmxEnabled;
+	}
+	
+	/**
+	 * Allows to choose if the metrics of the executions starting afterwards are published as MBeans
+	 * 
+	 * @param jmxEnabled  true to publish the metrics, false otherwise
+	 */
+	public static synchronized void setJmxEnabled(boolean jmxEnabled) {
+		MetricsRegistry.jmxEnabled = jmxEnabled;
+	}
+	
+}
@@ -0,0 +1,317 @@
+/*
+ * PrometheusEndpoint.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.performances.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+
+/**
+ * This class implements a lightweight HTTP endpoint, based on the HTTP server of the JDK, which serves in the Prometheus text format
+ * the metrics of the algorithms which are running and the progress of the studies registered in the <code>MetricsRegistry</code>.
+ * The requests are served by a daemon thread which only reads the values published by the algorithms, so the endpoint does not
+ * add contention to the threads executing them. By default the endpoint is only reachable from the local host; an address must be
+ * given explicitly to expose it on other network interfaces.
+ */
+public class PrometheusEndpoint {
+
+	
+	/**
+	 * Constant indicating the default port of the endpoint
+	 */
+	public static final int PORT_DEFAULT=9404;
+	
+	/**
+	 * Constant indicating the path of the metrics
+	 */
+	public static final String PATH="/metrics";
+	
+	/**
+	 * Constant indicating the content type of the Prometheus text format
+	 */
+	public static final String CONTENT_TYPE="text/plain; version=0.0.4; charset=utf-8";
+	
+	
+	/**
+	 * Stores the HTTP server
+	 */
+	private final HttpServer server;
+	/**
+	 * Stores the executor serving the requests
+	 */
+	private final ExecutorService executor;
+	
+	
+	/**
+	 * Constructor
+	 * 
+	 * @throws IOException  if the server cannot be bound to the default port of the loopback address
+	 */
+	public PrometheusEndpoint() throws IOException{
+		this(PORT_DEFAULT);
+	}
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param port  the port of the endpoint on the loopback address, 0 to use an ephemeral port
+	 * @throws IOException  if the server cannot be bound to the port
+	 */
+	public PrometheusEndpoint(int port) throws IOException{
+		this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+	}
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param host  the host name or the IP address of the interface the endpoint is bound to, e.g. "0.0.0.0" for all the interfaces
+	 * @param port  the port of the endpoint, 0 to use an ephemeral port
+	 * @throws IOException  if the server cannot be bound to the address
+	 */
+	public PrometheusEndpoint(String host, int port) throws IOException{
+		this(new InetSocketAddress(host, port));
+	}
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param address  the socket address the endpoint is bound to
+	 * @throws IOException  if the server cannot be bound to the address
+	 */
+	public PrometheusEndpoint(InetSocketAddress address) throws IOException{
+		if(address.isUnresolved())
+			throw new IOException("Unresolved address of the endpoint: " + address.getHostString());
+		server=HttpServer.create(address, 0);
+		executor=Executors.newSingleThreadExecutor(new ThreadFactory(){
+			public Thread newThread(Runnable r) {
+				Thread t=new Thread(r, "jMeme-prometheus-endpoint");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+		server.setExecutor(executor);
+		server.createContext(PATH, new HttpHandler(){
+			public void handle(HttpExchange exchange) throws IOException {
+				byte[] body=scrape().getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+				if("HEAD".equals(exchange.getRequestMethod())){
+					exchange.sendResponseHeaders(200, -1);
+					exchange.close();
+					return;
+				}
+				exchange.sendResponseHeaders(200, body.length);
+				OutputStream out=exchange.getResponseBody();
+				try {
+					out.write(body);
+				} finally {
+					out.close();
+				}
+			}
+		});
+	}
+	
+	
+	/**
+	 * Allows to start serving the metrics
+	 */
+	public void start(){
+		server.start();
+	}
+	
+	/**
+	 * Allows to stop serving the metrics
+	 */
+	public void stop(){
+		server.stop(0);
+		executor.shutdown();
+	}
+	
+	/**
+	 * @return  the port of the endpoint
+	 */
+	public int getPort(){
+		return server.getAddress().getPort();
+	}
+	
+	/**
+	 * @return  the socket address the endpoint is bound to
+	 */
+	public InetSocketAddress getAddress(){
+		return server.getAddress();
+	}
+	
+	
+	/**
+	 * Allows to build the metrics of the running algorithms and of the studies in the Prometheus text format
+	 * 
+	 * @return  the metrics in the Prometheus text format
+	 */
+	public static String scrape(){
+		List<AlgorithmMetrics> runs=MetricsRegistry.getActiveMetrics();
+		List<StudyProgress> studies=MetricsRegistry.getActiveStudies();
+		StringBuilder s=new StringBuilder();
+		
+		header(s, "jmeme_run_elapsed_seconds", "gauge", "Wall-clock time elapsed since the start of the run");
+		for(AlgorithmMetrics m : runs)
+			sample(s, "jmeme_run_elapsed_seconds", labels(m), m.getElapsedTime()/1e9);
+		
+		header(s, "jmeme_evaluations_total", "counter", "Fitness evaluations performed by the run");
+		for(AlgorithmMetrics m : runs)
+			sample(s, "jmeme_evaluations_total", labels(m), m.getEvaluations());
+		
+		header(s, "jmeme_evaluations_per_second", "gauge", "Average fitness evaluations per second since the start of the run");
+		for(AlgorithmMetrics m : runs)
+			sample(s, "jmeme_evaluations_per_second", labels(m), m.getEvaluationsPerSecond());
+		
+		header(s, "jmeme_best_fitness", "gauge", "Fitness value of the best individual evaluated so far");
+		for(AlgorithmMetrics m : runs)
+			sample(s, "jmeme_best_fitness", labels(m), m.getBestFitness());
+		
+		header(s, "jmeme_population_average_fitness", "gauge", "Average fitness value of the population at the end of the last generation");
+		for(AlgorithmMetrics m : runs)
+			sample(s, "jmeme_population_average_fitness", labels(m), m.getAverageFitness());
+		
+		header(s, "jmeme_generation", "gauge", "Last completed generation");
+		for(AlgorithmMetrics m : runs)
+			sample(s, "jmeme_generation", labels(m), m.getGeneration());
+		
+		header(s, "jmeme_local_search_time_ratio", "gauge", "Fraction of the elapsed time spent by the local search steps");
+		for(AlgorithmMetrics m : runs)
+			sample(s, "jmeme_local_search_time_ratio", labels(m), m.getLocalSearchTimeRatio());
+		
+		header(s, "jmeme_phase_seconds_total", "counter", "Time spent by each phase of the run");
+		for(AlgorithmMetrics m : runs){
+			sample(s, "jmeme_phase_seconds_total", labels(m) + ",phase=\"initialization\"", m.getInitializationTime()/1e9);
+			sample(s, "jmeme_phase_seconds_total", labels(m) + ",phase=\"global_step\"", m.getGlobalStepTime()/1e9);
+			sample(s, "jmeme_phase_seconds_total", labels(m) + ",phase=\"local_step\"", m.getLocalStepTime()/1e9);
+			sample(s, "jmeme_phase_seconds_total", labels(m) + ",phase=\"evaluation\"", m.getEvaluationTime()/1e9);
+			sample(s, "jmeme_phase_seconds_total", labels(m) + ",phase=\"replacement\"", m.getReplacementTime()/1e9);
+		}
+		
+		header(s, "jmeme_cache_hits_total", "counter", "Local refinements skipped because the archive already contains a close optimum");
+		for(AlgorithmMetrics m : runs)
+			sample(s, "jmeme_cache_hits_total", labels(m), m.getCacheHits());
+		
+		header(s, "jmeme_improvements_total", "counter", "Improvements of the best individual");
+		for(AlgorithmMetrics m : runs)
+			sample(s, "jmeme_improvements_total", labels(m), m.getImprovements());
+		
+		header(s, "jmeme_evaluation_latency_seconds", "summary", "Duration of the fitness evaluations");
+		for(AlgorithmMetrics m : runs){
+			LatencyHistogram h=m.getEvaluationLatency();
+			sample(s, "jmeme_evaluation_latency_seconds", labels(m) + ",quantile=\"0.5\"", h.getPercentile(0.5)/1e9);
+			sample(s, "jmeme_evaluation_latency_seconds", labels(m) + ",quantile=\"0.9\"", h.getPercentile(0.9)/1e9);
+			sample(s, "jmeme_evaluation_latency_seconds", labels(m) + ",quantile=\"0.99\"", h.getPercentile(0.99)/1e9);
+			sample(s, "jmeme_evaluation_latency_seconds_sum", labels(m), h.getSum()/1e9);
+			sample(s, "jmeme_evaluation_latency_seconds_count", labels(m), h.getCount());
+		}
+		
+		header(s, "jmeme_study_runs_completed", "gauge", "Completed runs of each problem instance and configuration of the step of the study");
+		for(StudyProgress p : studies)
+			for(int i=0; i<p.getNumberOfProblems(); i++)
+				for(int j=0; j<p.getNumberOfConfigurations(); j++)
+					sample(s, "jmeme_study_runs_completed", labels(p, i, j), p.getCompletedRuns(i, j));
+		
+		header(s, "jmeme_study_runs_planned", "gauge", "Planned runs of each problem instance and configuration of the step of the study");
+		for(StudyProgress p : studies)
+			for(int i=0; i<p.getNumberOfProblems(); i++)
+				for(int j=0; j<p.getNumberOfConfigurations(); j++)
+					sample(s, "jmeme_study_runs_planned", labels(p, i, j), p.getRuns());
+		
+		return s.toString();
+	}
+	
+	
+	private static void header(StringBuilder s, String name, String type, String help){
+		s.append("# HELP ").append(name).append(' ').append(help).append('\n');
+		s.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+	}
+	
+	private static void sample(StringBuilder s, String name, String labels, double value){
+		s.append(name).append('{').append(labels).append("} ").append(format(value)).append('\n');
+	}
+	
+	private static String labels(AlgorithmMetrics m){
+		return "algorithm=\"" + escape(m.getAlgorithm()) + "\",run=\"" + m.getRun() + "\"";
+	}
+	
+	private static String labels(StudyProgress p, int problem, int configuration){
+		return "study=\"" + escape(p.getStudy()) + "\",step=\"" + escape(p.getStep()) + "\",problem=\"" + escape(p.getProblem(problem))
+			+ "\",configuration=\"" + escape(p.getConfiguration(configuration)) + "\"";
+	}
+	
+	/**
+	 * Allows to escape a label value as required by the Prometheus text format
+	 * 
+	 * @param value  the label value
+	 * @return  the escaped label value
+	 */
+	static String escape(String value){
+		if(value==null)
+			return "";
+		StringBuilder s=new StringBuilder(value.length());
+		for(int i=0; i<value.length(); i++){
+			char c=value.charAt(i);
+			if(c=='\\')
+				s.append("\\\\");
+			else if(c=='"')
+				s.append("\\\"");
+			else if(c=='\n')
+				s.append("\\n");
+			else
+				s.append(c);
+		}
+		return s.toString();
+	}
+	
+	/**
+	 * Allows to format a sample value as required by the Prometheus text format
+	 * 
+	 * @param value  the sample value
+	 * @return  the formatted sample value
+	 */
+	static String format(double value){
+		if(Double.isNaN(value))
+			return "NaN";
+		if(Double.isInfinite(value))
+			return value>0 ? "+Inf" : "-Inf";
+		if(value==Math.rint(value) && Math.abs(value)<1e15)
+			return Long.toString((long)value);
+		return Double.toString(value);
+	}
+	
+}
@@ -0,0 +1,160 @@
+/*
+ * StudyProgress.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.performances.metrics;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+
+/**
+ * This class stores the progress of a step of a study, i.e. the number of completed runs for each pair of problem instance and configuration.
+ * The names of the problems and of the configurations are fixed when the step starts, while the counters of the completed runs
+ * can be updated and read by several threads without locks.
+ */
+public class StudyProgress {
+
+	
+	/**
+	 * Stores the name of the study
+	 */
+	private final String study;
+	/**
+	 * Stores the name of the step of the study
+	 */
+	private final String step;
+	/**
+	 * Stores the identifiers of the problem instances
+	 */
+	private final String[] problems;
+	/**
+	 * Stores the names of the configurations
+	 */
+	private final String[] configurations;
+	/**
+	 * Stores the number of runs to be executed for each pair of problem instance and configuration
+	 */
+	private final int runs;
+	/**
+	 * Stores the number of completed runs for each pair of problem instance and configuration, in row-major order by problem
+	 */
+	private final AtomicIntegerArray completed;
+	
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param study  the name of the study
+	 * @param step  the name of the step of the study
+	 * @param problems  the identifiers of the problem instances
+	 * @param configurations  the names of the configurations
+	 * @param runs  the number of runs to be executed for each pair of problem instance and configuration
+	 */
+	public StudyProgress(String study, String step, String[] problems, String[] configurations, int runs){
+		this.study=study;
+		this.step=step;
+		this.problems=problems.clone();
+		this.configurations=configurations.clone();
+		this.runs=runs;
+		this.completed=new AtomicIntegerArray(problems.length*configurations.length);
+	}
+	
+	
+	/**
+	 * Allows to record the end of a run
+	 * 
+	 * @param problem  the index of the problem instance
+	 * @param configuration  the index of the configuration
+	 */
+	public void runCompleted(int problem, int configuration){
+		completed.incrementAndGet(problem*configurations.length+configuration);
+	}
+	
+	
+	/**
+	 * @param problem  the index of the problem instance
+	 * @param configuration  the index of the configuration
+	 * @return  the number of completed runs for the specified problem instance and configuration
+	 */
+	public int getCompletedRuns(int problem, int configuration){
+		return completed.get(problem*configurations.length+configuration);
+	}
+	
+	
+	/**
+	 * @return  the number of completed runs of the step
+	 */
+	public int getCompletedRuns(){
+		int sum=0;
+		for(int i=0; i<completed.length(); i++)
+			sum+=completed.get(i);
+		return sum;
+	}
+	
+	
+	/**
+	 * @return  the number of runs of the step
+	 */
+	public int getPlannedRuns(){
+		return completed.length()*runs;
+	}
+	
+
+	public String getStudy() {
+		return study;
+	}
+
+	public String getStep() {
+		return step;
+	}
+
+	public int getNumberOfProblems() {
+		return problems.length;
+	}
+
+	public String getProblem(int problem) {
+		return problems[problem];
+	}
+
+	public int getNumberOfConfigurations() {
+		return configurations.length;
+	}
+
+	public String getConfiguration(int configuration) {
+		return configurations[configuration];
+	}
+
+	public int getRuns() {
+		return runs;
+	}
+	
+	
+	/**
+	 * @return  string representation of the progress
+	 */
+	public String toString(){
+		return study + " " + step + ": " + getCompletedRuns() + "/" + getPlannedRuns() + " runs completed";
+	}
+	
+}
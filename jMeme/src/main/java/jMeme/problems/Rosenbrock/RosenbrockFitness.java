@@ -57,6 +57,86 @@ public class RosenbrockFitness extends FitnessEvaluationMethod {
 		    return tmp;
 	}
 
+
+	@Override
+	public boolean isIncremental() {
+		return true;
+	}
+
+
+	@Override
+	public double evaluateIncrement(Individual a, double previousFitness, int[] indices, double[] previousValues) {
+
+		 IndividualComponent[] decisionVariables  = a.getIndividualComponents();
+
+		 int num=decisionVariables.length;
+
+		 //the term var depends on the components var and var+1: each term affected by the change is updated once
+		 double tmp = previousFitness;
+		 for (int k = 0; k < indices.length; k++) {
+			 for (int var = indices[k]-1; var <= indices[k]; var++) {
+				 if (var < 0 || var >= num-1 || isChanged(indices, k, var) || isChanged(indices, k, var+1))
+					 continue;
+				 double one = (Double)decisionVariables[var].getAllele();
+				 double two = (Double)decisionVariables[var+1].getAllele();
+				 double oldOne = previousValue(indices, previousValues, var, one);
+				 double oldTwo = previousValue(indices, previousValues, var+1, two);
+				 tmp += term(one, two) - term(oldOne, oldTwo);
+			 }
+		 }
+
+		 //the roundoff errors cannot make the fitness value negative
+		 return Math.max(0.0, tmp);
+	}
+
+
+	private double term(double one, double two) {
+		return (100 * (two - one * one) * (two - one * one)) + ((one - 1.0) * (one - 1.0));
+	}
+
+
+	//checks if a component is changed before the k-th one, so that the terms depending on it have been already updated
+	private boolean isChanged(int[] indices, int k, int var) {
+		for (int j = 0; j < k; j++)
+			if (indices[j] == var)
+				return true;
+		return false;
+	}
+
+
+	private double previousValue(int[] indices, double[] previousValues, int var, double current) {
+		for (int j = 0; j < indices.length; j++)
+			if (indices[j] == var)
+				return previousValues[j];
+		return current;
+	}
+
+
+	@Override
+	public boolean hasGradient() {
+		return true;
+	}
+
+
+	@Override
+	public void gradient(Individual a, double[] gradient) {
+
+		 IndividualComponent[] decisionVariables  = a.getIndividualComponents();
+
+		 int num=decisionVariables.length;
+
+		 for (int var = 0; var < num; var++)
+			 gradient[var] = 0.0;
+
+		 for (int var = 0; var < num-1; var++) {
+			 double one = (Double)decisionVariables[var].getAllele();
+			 double two = (Double)decisionVariables[var+1].getAllele();
+
+			 gradient[var] += (-400 * one * (two - one * one)) + (2 * (one - 1.0));
+			 gradient[var+1] += 200 * (two - one * one);
+		 }
+	}
+
 	
 
 	
@@ -57,6 +57,47 @@ public class RastriginFitness extends FitnessEvaluationMethod {
 			}
 			return (10.0 * num) + sum;
 	}
+
+
+	@Override
+	public boolean isIncremental() {
+		return true;
+	}
+
+
+	@Override
+	public double evaluateIncrement(Individual a, double previousFitness, int[] indices, double[] previousValues) {
+
+		 IndividualComponent[] decisionVariables  = a.getIndividualComponents();
+
+		 double sum = previousFitness;
+		 for (int k = 0; k < indices.length; k++) {
+			 double xi = (Double)decisionVariables[indices[k]].getValue();
+			 double oi = previousValues[k];
+			 sum += (xi * xi) - (10.0 * Math.cos(2.0 * Math.PI * xi)) - (oi * oi) + (10.0 * Math.cos(2.0 * Math.PI * oi));
+		 }
+
+		 //the roundoff errors cannot make the fitness value negative
+		 return Math.max(0.0, sum);
+	}
+
+
+	@Override
+	public boolean hasGradient() {
+		return true;
+	}
+
+
+	@Override
+	public void gradient(Individual a, double[] gradient) {
+
+		 IndividualComponent[] decisionVariables  = a.getIndividualComponents();
+
+		 for (int i = 0; i < decisionVariables.length; i++) {
+			 double xi = (Double)decisionVariables[i].getValue();
+			 gradient[i] = (2.0 * xi) + (20.0 * Math.PI * Math.sin(2.0 * Math.PI * xi));
+		 }
+	}
 	
 
 	
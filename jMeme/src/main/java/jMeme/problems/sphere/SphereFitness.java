@@ -54,6 +54,44 @@ public class SphereFitness extends FitnessEvaluationMethod {
 		    return sum;
 	}
 
+
+	@Override
+	public boolean isIncremental() {
+		return true;
+	}
+
+
+	@Override
+	public double evaluateIncrement(Individual a, double previousFitness, int[] indices, double[] previousValues) {
+
+		 IndividualComponent[] decisionVariables  = a.getIndividualComponents();
+
+		 double sum = previousFitness;
+		 for (int k = 0; k < indices.length; k++) {
+			 double xi = (Double)decisionVariables[indices[k]].getAllele();
+			 sum += (xi * xi) - (previousValues[k] * previousValues[k]);
+		 }
+
+		 //the roundoff errors cannot make the fitness value negative
+		 return Math.max(0.0, sum);
+	}
+
+
+	@Override
+	public boolean hasGradient() {
+		return true;
+	}
+
+
+	@Override
+	public void gradient(Individual a, double[] gradient) {
+
+		 IndividualComponent[] decisionVariables  = a.getIndividualComponents();
+
+		 for (int var = 0; var < decisionVariables.length; var++)
+			 gradient[var] = 2.0 * (Double)decisionVariables[var].getAllele();
+	}
+
 	
 
 	
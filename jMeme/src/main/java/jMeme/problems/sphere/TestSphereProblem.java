@@ -27,7 +27,6 @@ package jMeme.problems.sphere;
 
 
 import jMeme.core.AlgorithmComponent;
-import jMeme.core.JConfiguration;
 import jMeme.core.configurations.GlobalSearchAlgorithmConfiguration;
 import jMeme.core.configurations.LocalSearchAlgorithmConfiguration;
 import jMeme.core.configurations.MemeticAlgorithmConfiguration;
@@ -119,7 +118,6 @@ bb1.setCenterType(BB_BCParameters.CENTER_TYPE_EQUATION2);
 		MemeticOptimizationAlgorithm algorithm =new MemeticOptimizationAlgorithm(p,conf);
 		
 		 
-		 JConfiguration.reset();
 		  GlobalSearchAlgorithmConfiguration confbb=new GlobalSearchAlgorithmConfiguration(fitness, finC, degc,new RandomGenerationExecutor());
 			
 		   GlobalOptimizationAlgorithm algorithmbb= new GlobalOptimizationAlgorithm(p,confbb);
@@ -128,7 +126,6 @@ bb1.setCenterType(BB_BCParameters.CENTER_TYPE_EQUATION2);
 		   OptimizerParameters tabuP=new TabuSearchParameters();
 		AlgorithmComponent lcT=new AlgorithmComponent("tabu", TabuSearch.class.getName(), tabuP);
 		   
-		   JConfiguration.reset();
 		   LocalSearchAlgorithmConfiguration confl=new LocalSearchAlgorithmConfiguration(fitness, finC, lcT);
 		    LocalOptimizationAlgorithm algorithml = new LocalOptimizationAlgorithm(p, confl);
 		  
@@ -0,0 +1,213 @@
+/*
+ * Distributions.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.statisticalTests;
+
+
+/**
+ * This class implements the cumulative distribution functions used by the statistical tests as static methods.
+ * The incomplete gamma and beta functions are computed by means of their series and continued fraction expansions.
+ */
+public final class Distributions {
+
+	/**
+	 * Constant indicating the maximum number of iterations of the expansions
+	 */
+	private static final int MAX_ITERATIONS=1000;
+	
+	/**
+	 * Constant indicating the relative accuracy of the expansions
+	 */
+	private static final double EPSILON=1e-15;
+	
+	/**
+	 * Constant indicating the smallest value allowed in the denominators of the continued fractions
+	 */
+	private static final double MIN_VALUE=1e-300;
+	
+	/**
+	 * Constant indicating the coefficients of the Lanczos approximation of the gamma function
+	 */
+	private static final double[] LANCZOS={76.18009172947146, -86.50532032941677, 24.01409824083091,
+		-1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5};
+
+
+	private Distributions(){
+	}
+
+
+	/**
+	 * Allows to compute the cumulative distribution function of the chi-square distribution
+	 * 
+	 * @param x  the value
+	 * @param degreesOfFreedom  the degrees of freedom of the distribution
+	 * @return  the probability that a chi-square variable is lower than or equal to x
+	 */
+	public static double chiSquareCdf(double x, int degreesOfFreedom){
+		if(x<=0)
+			return 0;
+		return regularizedGamma(degreesOfFreedom/2.0, x/2.0);
+	}
+	
+	
+	/**
+	 * Allows to compute the cumulative distribution function of the Student t distribution
+	 * 
+	 * @param t  the value
+	 * @param degreesOfFreedom  the degrees of freedom of the distribution
+	 * @return  the probability that a Student t variable is lower than or equal to t
+	 */
+	public static double studentTCdf(double t, int degreesOfFreedom){
+		double tail=0.5*regularizedBeta(degreesOfFreedom/(degreesOfFreedom+t*t), degreesOfFreedom/2.0, 0.5);
+		return t>0 ? 1-tail : tail;
+	}
+	
+	
+	/**
+	 * Allows to compute the natural logarithm of the gamma function
+	 * 
+	 * @param x  the value, greater than 0
+	 * @return  the logarithm of the gamma function in x
+	 */
+	public static double logGamma(double x){
+		double y=x;
+		double tmp=x+5.5;
+		tmp-=(x+0.5)*Math.log(tmp);
+		double series=1.000000000190015;
+		for(int j=0; j<LANCZOS.length; j++)
+			series+=LANCZOS[j]/++y;
+		return -tmp+Math.log(2.5066282746310005*series/x);
+	}
+	
+	
+	/**
+	 * Allows to compute the regularized lower incomplete gamma function P(a,x)
+	 * 
+	 * @param a  the parameter, greater than 0
+	 * @param x  the value, greater than or equal to 0
+	 * @return  the value of the function
+	 */
+	public static double regularizedGamma(double a, double x){
+		if(x<=0)
+			return 0;
+		double factor=Math.exp(-x+a*Math.log(x)-logGamma(a));
+		
+		if(x<a+1){
+			double ap=a;
+			double term=1/a;
+			double sum=term;
+			for(int n=0; n<MAX_ITERATIONS; n++){
+				ap++;
+				term*=x/ap;
+				sum+=term;
+				if(Math.abs(term)<Math.abs(sum)*EPSILON)
+					break;
+			}
+			return sum*factor;
+		}
+		
+		double b=x+1-a;
+		double c=1/MIN_VALUE;
+		double d=1/b;
+		double h=d;
+		for(int i=1; i<=MAX_ITERATIONS; i++){
+			double an=-i*(i-a);
+			b+=2;
+			d=an*d+b;
+			if(Math.abs(d)<MIN_VALUE)
+				d=MIN_VALUE;
+			c=b+an/c;
+			if(Math.abs(c)<MIN_VALUE)
+				c=MIN_VALUE;
+			d=1/d;
+			double delta=d*c;
+			h*=delta;
+			if(Math.abs(delta-1)<EPSILON)
+				break;
+		}
+		return 1-factor*h;
+	}
+	
+	
+	/**
+	 * Allows to compute the regularized incomplete beta function I_x(a,b)
+	 * 
+	 * @param x  the value, between 0 and 1
+	 * @param a  the first parameter, greater than 0
+	 * @param b  the second parameter, greater than 0
+	 * @return  the value of the function
+	 */
+	public static double regularizedBeta(double x, double a, double b){
+		if(x<=0)
+			return 0;
+		if(x>=1)
+			return 1;
+		double factor=Math.exp(logGamma(a+b)-logGamma(a)-logGamma(b)+a*Math.log(x)+b*Math.log(1-x));
+		if(x<(a+1)/(a+b+2))
+			return factor*betaFraction(x, a, b)/a;
+		return 1-factor*betaFraction(1-x, b, a)/b;
+	}
+	
+	
+	/**
+	 * Allows to evaluate the continued fraction of the incomplete beta function
+	 */
+	private static double betaFraction(double x, double a, double b){
+		double qab=a+b;
+		double qap=a+1;
+		double qam=a-1;
+		double c=1;
+		double d=1-qab*x/qap;
+		if(Math.abs(d)<MIN_VALUE)
+			d=MIN_VALUE;
+		d=1/d;
+		double h=d;
+		for(int m=1; m<=MAX_ITERATIONS; m++){
+			int m2=2*m;
+			double aa=m*(b-m)*x/((qam+m2)*(a+m2));
+			d=1+aa*d;
+			if(Math.abs(d)<MIN_VALUE)
+				d=MIN_VALUE;
+			c=1+aa/c;
+			if(Math.abs(c)<MIN_VALUE)
+				c=MIN_VALUE;
+			d=1/d;
+			h*=d*c;
+			aa=-(a+m)*(qab+m)*x/((a+m2)*(qap+m2));
+			d=1+aa*d;
+			if(Math.abs(d)<MIN_VALUE)
+				d=MIN_VALUE;
+			c=1+aa/c;
+			if(Math.abs(c)<MIN_VALUE)
+				c=MIN_VALUE;
+			d=1/d;
+			double delta=d*c;
+			h*=delta;
+			if(Math.abs(delta-1)<EPSILON)
+				break;
+		}
+		return h;
+	}
+}
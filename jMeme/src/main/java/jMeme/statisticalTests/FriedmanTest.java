@@ -0,0 +1,166 @@
+/*
+ * FriedmanTest.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.statisticalTests;
+
+
+/**
+ * This class implements the Friedman test on the values obtained by a set of treatments (e.g. configurations of an algorithm)
+ * on a set of blocks (e.g. runs on problem instances), together with the post-hoc comparisons of Conover between the best 
+ * treatment and the other ones, as done by the racing procedure F-Race described in the work:
+ * M. Birattari, T. Stutzle, L. Paquete and K. Varrentrapp, "A Racing Algorithm for Configuring Metaheuristics", 
+ * Proceedings of the Genetic and Evolutionary Computation Conference (GECCO 2002), pp. 11-18.
+ * The values are ranked within each block by means of the fractional ranking, so that the ties are taken into account.
+ */
+public class FriedmanTest {
+
+	/**
+	 * Stores the number of blocks
+	 */
+	private final int blocks;
+	
+	/**
+	 * Stores the number of treatments
+	 */
+	private final int treatments;
+	
+	/**
+	 * Stores, for each treatment, the sum of its ranks over the blocks
+	 */
+	private final double[] rankSums;
+	
+	/**
+	 * Stores the difference between the sum of the squared ranks and its value in case of no tie
+	 */
+	private final double dispersion;
+	
+	/**
+	 * Stores the statistic of the test
+	 */
+	private final double statistic;
+	
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param values  the values obtained by each treatment (column) on each block (row)
+	 * @param maximize  true if the greatest values are the best ones, false otherwise
+	 */
+	public FriedmanTest(double[][] values, boolean maximize){
+		blocks=values.length;
+		treatments=values[0].length;
+		
+		double[][] ranks=Rank.computeRanks(values, maximize);
+		rankSums=new double[treatments];
+		double squares=0;
+		for(int i=0; i<blocks; i++)
+			for(int j=0; j<treatments; j++){
+				rankSums[j]+=ranks[i][j];
+				squares+=ranks[i][j]*ranks[i][j];
+			}
+		
+		dispersion=squares-blocks*treatments*(treatments+1)*(treatments+1)/4.0;
+		
+		double deviations=0;
+		for(int j=0; j<treatments; j++){
+			double deviation=rankSums[j]-blocks*(treatments+1)/2.0;
+			deviations+=deviation*deviation;
+		}
+		
+		statistic=dispersion>0 ? (treatments-1)*deviations/dispersion : 0;
+	}
+	
+	
+	/**
+	 * Allows to obtain the p-value of the test, by means of the chi-square approximation of the distribution of the statistic
+	 * 
+	 * @return  the probability of a statistic at least as great as the observed one when all the treatments are equivalent
+	 */
+	public double getPValue(){
+		if(treatments<2)
+			return 1;
+		return 1-Distributions.chiSquareCdf(statistic, treatments-1);
+	}
+	
+	
+	/**
+	 * Allows to obtain the best treatment, i.e. the one with the lowest sum of ranks
+	 * 
+	 * @return  the index of the best treatment; in case of ties, the first one
+	 */
+	public int getBest(){
+		int best=0;
+		for(int j=1; j<treatments; j++)
+			if(rankSums[j]<rankSums[best])
+				best=j;
+		return best;
+	}
+	
+	
+	/**
+	 * Allows to compare the best treatment with each other one by means of the post-hoc test of Conover. 
+	 * The comparisons are meaningful only if the test rejects the hypothesis that all the treatments are equivalent.
+	 * 
+	 * @param significance  the significance level of the comparisons
+	 * @return  for each treatment, true if it is significantly worse than the best one, false otherwise
+	 */
+	public boolean[] worseThanBest(double significance){
+		boolean[] worse=new boolean[treatments];
+		if(blocks<2 || treatments<2)
+			return worse;
+		
+		int best=getBest();
+		int degreesOfFreedom=(blocks-1)*(treatments-1);
+		double variance=2*blocks*(1-statistic/(blocks*(treatments-1)))*dispersion/degreesOfFreedom;
+		
+		for(int j=0; j<treatments; j++){
+			double difference=rankSums[j]-rankSums[best];
+			if(difference<=0)
+				continue;
+			if(variance<=0)
+				worse[j]=true;
+			else
+				worse[j]=2*(1-Distributions.studentTCdf(difference/Math.sqrt(variance), degreesOfFreedom))<significance;
+		}
+		return worse;
+	}
+	
+	
+	public int getBlocks() {
+		return blocks;
+	}
+	
+	public int getTreatments() {
+		return treatments;
+	}
+	
+	public double[] getRankSums() {
+		return rankSums;
+	}
+	
+	public double getStatistic() {
+		return statistic;
+	}
+}
@@ -47,7 +47,7 @@ public class ExecuteCMA {
 		
  //RosenbrockProblem pRosenbrock=new RosenbrockProblem("Rosenbrock",2);
 		
-	String nameConf="CompetentStudy\\memeticConfigurationRastrigin.ser";
+	String nameConf="CompetentStudy\\memeticConfigurationRastrigin.cfg";
 	Problem problem=pRastrigin;
 		
 	MemeticOptimizationAlgorithm algorithm =new MemeticOptimizationAlgorithm(problem,MemeticAlgorithmConfiguration.read(nameConf));
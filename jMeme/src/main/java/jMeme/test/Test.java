@@ -26,15 +26,29 @@
 package jMeme.test;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
 import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import jMeme.core.Algorithm;
+import jMeme.core.CancellationToken;
+import jMeme.core.JConfiguration;
+import jMeme.performances.AlgorithmPerformance;
 import jMeme.utils.FileUtil;
+import jMeme.utils.ParallelUtil;
 
 
 /**
  * This class implements a typical test for an algorithm. At the end, it writes a report file of the executed test.
+ * The runs of the test can be executed one after the other by the same instance of the algorithm, or at the same time
+ * by independent instances of the algorithm.
  */
 public class Test {
 
@@ -42,7 +56,8 @@ public class Test {
 	public static void execute(String nameResultFile, int numRuns, Algorithm algorithm ){
 		
 		File test=new File(nameResultFile + ".txt");
-		Vector results= new Vector();
+		Vector<HashMap<String, Object>> results= new Vector<HashMap<String, Object>>();
+		JConfiguration conf=algorithm.getConfiguration();
 		
 		
          for(int i=1; i<=numRuns;i++){
@@ -64,21 +79,115 @@ public class Test {
 			else
 				FileUtil.appendFile(test,result);
 			
-			HashMap map=algorithm.getConfiguration().getPerformance().toMap();
+			HashMap<String, Object> map=algorithm.getConfiguration().getPerformance().toMap();
 			results.add(map);
 			
 
-			 System.out.println("best " + algorithm.getConfiguration().getPerformance().getIndividual());
+			 conf.getListener().message(conf, "best " + algorithm.getConfiguration().getPerformance().getIndividual());
 
 			
-			System.out.println("Runs " + (i)+" executed");
+			conf.getListener().message(conf, "Runs " + (i)+" executed");
 		
          }
          
          
          FileUtil.writeRunsToExcel(results, nameResultFile);
  		
- 		System.out.println("Test terminated");
+ 		conf.getListener().message(conf, "Test terminated");
  		
 	}
+	
+	
+	/**
+	 * Allows to execute the runs of a test at the same time and to write the report files of the test.
+	 * The results of the runs are reported in the order of the runs, as done by the sequential test.
+	 * 
+	 * @param nameResultFile  name of the report files, without extension
+	 * @param numRuns  number of runs
+	 * @param algorithm  the algorithm to be tested; it is used as a template and it is not executed itself
+	 * @param seed  the master seed from which the seeds of the runs are derived
+	 * @param parallelism  the maximum number of runs executed at the same time; a value lower than 1 indicates the number of available processors
+	 */
+	public static void execute(String nameResultFile, int numRuns, Algorithm algorithm, long seed, int parallelism){
+		
+		List<Algorithm> runs=executeRuns(numRuns, algorithm, seed, parallelism);
+		
+		StringBuilder report=new StringBuilder();
+		Vector<HashMap<String, Object>> results= new Vector<HashMap<String, Object>>();
+		JConfiguration conf=algorithm.getConfiguration();
+		
+		for(int i=1; i<=runs.size();i++){
+			AlgorithmPerformance performance=runs.get(i-1).getConfiguration().getPerformance();
+			
+			report.append("--------Run number: " + (i) + "---------\n");
+			report.append(performance.toString());
+			report.append("\n\n");
+			
+			HashMap<String, Object> map=performance.toMap();
+			results.add(map);
+			
+			conf.getListener().message(runs.get(i-1).getConfiguration(), "best " + performance.getIndividual());
+		}
+		
+		FileUtil.writeFile(new File(nameResultFile + ".txt"), report.toString());
+		FileUtil.writeRunsToExcel(results, nameResultFile);
+		
+		conf.getListener().message(conf, "Test terminated");
+	}
+	
+	
+	/**
+	 * Allows to execute independent runs of an algorithm at the same time, by means of a pool of bounded size.
+	 * Every run is executed by a new instance of the algorithm with a copy of its configuration, whose random generator is
+	 * seeded with the seed of the run. The seeds of the runs are derived from the master seed, so the runs are repeatable
+	 * whatever the number of threads is. The runs share a cancellation token which is a child of the one of the algorithm,
+	 * so they are stopped when the algorithm is cancelled, while stopping them does not prevent the algorithm from being tested again.
+	 * 
+	 * @param numRuns  number of runs
+	 * @param algorithm  the algorithm to be tested; it is used as a template and it is not executed itself
+	 * @param seed  the master seed from which the seeds of the runs are derived
+	 * @param parallelism  the maximum number of runs executed at the same time; a value lower than 1 indicates the number of available processors
+	 * @return  the executed instances of the algorithm, in the order of the runs
+	 * @throws IllegalStateException  if a run fails or the calling thread is interrupted; in the latter case the running runs are cancelled
+	 */
+	public static List<Algorithm> executeRuns(int numRuns, final Algorithm algorithm, long seed, int parallelism){
+		
+		Random seeds=new Random(seed);
+		List<Callable<Algorithm>> tasks=new ArrayList<Callable<Algorithm>>(numRuns);
+		CancellationToken token=new CancellationToken(algorithm.getConfiguration().getCancellationToken());
+		
+		for(int i=1; i<=numRuns;i++){
+			final JConfiguration conf=algorithm.getConfiguration().copy();
+			conf.setSeed(seeds.nextLong());
+			conf.setCancellationToken(token);
+			final int run=i;
+			
+			tasks.add(new Callable<Algorithm>() {
+				public Algorithm call() {
+					Algorithm instance=algorithm.newInstance(conf);
+					instance.execute();
+					conf.getListener().message(conf, "Runs " + (run)+" executed");
+					return instance;
+				}
+			});
+		}
+		
+		if(parallelism<1)
+			parallelism=ParallelUtil.DEFAULT_PARALLELISM;
+		ExecutorService pool=Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, numRuns)));
+		try {
+			List<Algorithm> runs=new ArrayList<Algorithm>(numRuns);
+			for(Future<Algorithm> future : pool.invokeAll(tasks))
+				runs.add(future.get());
+			return runs;
+		} catch (InterruptedException e) {
+			token.cancel();
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The test has been interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A run of the test failed", e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+	}
 }
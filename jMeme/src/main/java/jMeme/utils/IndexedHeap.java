@@ -0,0 +1,171 @@
+/*
+ * IndexedHeap.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.utils;
+
+import java.io.Serializable;
+
+
+/**
+ * This class implements a binary heap over the slots of an array of keys, e.g. the fitness values of the individuals of a population.
+ * The heap keeps the position of every slot, so that the key of a slot can be changed in O(log n) and the top slot is read in O(1).
+ * The top slot is the one with the lowest or the highest key; NaN keys are placed at the top and ties are broken in favour of the highest slot.
+ */
+public class IndexedHeap implements Serializable {
+
+
+	private static final long serialVersionUID = 5318893526002581914L;
+
+	/**
+	 * Stores the key of each slot
+	 */
+	private double[] keys;
+	/**
+	 * Stores the slots in heap order
+	 */
+	private int[] heap;
+	/**
+	 * Stores the position in the heap of each slot
+	 */
+	private int[] position;
+	/**
+	 * Stores true if the top slot is the one with the lowest key, false if it is the one with the highest key
+	 */
+	private boolean lowestFirst;
+
+
+
+	/**
+	 * Constructor
+	 *
+	 * Builds the heap in O(n).
+	 *
+	 * @param keys  the key of each slot; the array is copied
+	 * @param lowestFirst  true if the top slot must be the one with the lowest key, false if it must be the one with the highest key
+	 */
+	public IndexedHeap(double[] keys, boolean lowestFirst){
+		int n=keys.length;
+		this.keys=keys.clone();
+		this.lowestFirst=lowestFirst;
+		heap=new int[n];
+		position=new int[n];
+		for(int i=0;i<n;i++){
+			heap[i]=i;
+			position[i]=i;
+		}
+		for(int i=n/2-1;i>=0;i--)
+			siftDown(i);
+	}
+
+
+	/**
+	 * Allows to get the top slot
+	 *
+	 * @return  the slot with the lowest key, or the highest key, or -1 if the heap is empty
+	 */
+	public int top(){
+		return heap.length==0 ? -1 : heap[0];
+	}
+
+
+	/**
+	 * Allows to change the key of a slot
+	 *
+	 * @param slot  the slot
+	 * @param key  the new key
+	 */
+	public void update(int slot, double key){
+		keys[slot]=key;
+		int i=position[slot];
+		if(i>0 && precedes(slot, heap[(i-1)/2]))
+			siftUp(i);
+		else
+			siftDown(i);
+	}
+
+
+	public double getKey(int slot){
+		return keys[slot];
+	}
+
+
+	public int size(){
+		return heap.length;
+	}
+
+
+	private void siftUp(int i){
+		int slot=heap[i];
+		while(i>0){
+			int parent=(i-1)/2;
+			if(!precedes(slot, heap[parent]))
+				break;
+			move(heap[parent], i);
+			i=parent;
+		}
+		move(slot, i);
+	}
+
+
+	private void siftDown(int i){
+		int n=heap.length;
+		int slot=heap[i];
+		while(true){
+			int child=2*i+1;
+			if(child>=n)
+				break;
+			if(child+1<n && precedes(heap[child+1], heap[child]))
+				child++;
+			if(!precedes(heap[child], slot))
+				break;
+			move(heap[child], i);
+			i=child;
+		}
+		move(slot, i);
+	}
+
+
+	private void move(int slot, int i){
+		heap[i]=slot;
+		position[slot]=i;
+	}
+
+
+	/**
+	 * Allows to know if a slot must be nearer to the top than another one
+	 */
+	private boolean precedes(int i, int j){
+		double ki=keys[i];
+		double kj=keys[j];
+		boolean nanI=Double.isNaN(ki);
+		if(nanI!=Double.isNaN(kj))
+			return nanI;
+		int comparison=lowestFirst ? Double.compare(ki, kj) : Double.compare(kj, ki);
+		if(comparison!=0)
+			return comparison<0;
+		return i>j;
+	}
+
+}
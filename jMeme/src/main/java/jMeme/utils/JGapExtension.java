@@ -27,13 +27,17 @@ package jMeme.utils;
 
 
 import java.util.Iterator;
+import java.util.Random;
 
 import org.jgap.FitnessEvaluator;
 import org.jgap.Gene;
 import org.jgap.Genotype;
 import org.jgap.IChromosome;
 import org.jgap.Population;
+import org.jgap.RandomGenerator;
+import org.jgap.impl.DoubleGene;
 
+import jMeme.core.JPopulation;
 import jMeme.core.individuals.Individual;
 
 /**
@@ -86,6 +90,13 @@ public class JGapExtension {
  */
 public static void replaceWorstIndividual(Genotype p, Individual s){
 	
+	//the indices of a population of jMeme allow to find the worst individual without scanning the population
+	if(p instanceof JPopulation){
+		JPopulation pop=(JPopulation)p;
+		pop.setIndividual(s, pop.getIndexOfWorstIndividual());
+		return;
+	}
+	
 	int index= JGapExtension.getIndexOfWorstIndividual(p.getPopulation());
 	p.getPopulation().setChromosome(index, s);
 
@@ -117,10 +128,85 @@ public static double[] doubleChromosomeToArray(IChromosome s){
 	
 	for(int i=0; i<num;i++)
 		array[i]= ((Double)genes[i].getAllele()).doubleValue();
-		
-	
+
+
+	return array;
+}
+
+
+/**
+ * Allows to copy an array of real values into the genes of a chromosome. The fitness value of the chromosome is not modified.
+ *
+ * @param s  the chromosome whose genes must be set
+ * @param values  the values to copy
+ */
+public static void setDoubleChromosome(IChromosome s, double[] values){
+
+	Gene[] genes= s.getGenes();
+
+	for(int i=0; i<values.length;i++)
+		genes[i].setAllele(Double.valueOf(values[i]));
+}
+
+
+/**
+ * Allows to get the lower bounds of the real genes of a chromosome
+ *
+ * @param s  the chromosome
+ *
+ * @return  an array containing the lower bound of each gene, or the lowest double value for the genes without bounds
+ */
+public static double[] doubleLowerBounds(IChromosome s){
+
+	Gene[] genes= s.getGenes();
+
+	double[] array=new double[genes.length];
+
+	for(int i=0; i<genes.length;i++)
+		array[i]= genes[i] instanceof DoubleGene ? ((DoubleGene)genes[i]).getLowerBound() : -Double.MAX_VALUE;
+
 	return array;
 }
 
 
+/**
+ * Allows to get the upper bounds of the real genes of a chromosome
+ *
+ * @param s  the chromosome
+ *
+ * @return  an array containing the upper bound of each gene, or the highest double value for the genes without bounds
+ */
+public static double[] doubleUpperBounds(IChromosome s){
+
+	Gene[] genes= s.getGenes();
+
+	double[] array=new double[genes.length];
+
+	for(int i=0; i<genes.length;i++)
+		array[i]= genes[i] instanceof DoubleGene ? ((DoubleGene)genes[i]).getUpperBound() : Double.MAX_VALUE;
+
+	return array;
+}
+
+
+/**
+ * Allows to draw a number from the standard normal distribution by means of the random generator of a configuration
+ * 
+ * @param generator  the random generator
+ * @return  a normally distributed number with mean 0 and standard deviation 1
+ */
+public static double nextGaussian(RandomGenerator generator){
+	if(generator instanceof Random)
+		return ((Random)generator).nextGaussian();
+	
+	double v1, v2, s;
+	do {
+		v1=2*generator.nextDouble()-1;
+		v2=2*generator.nextDouble()-1;
+		s=v1*v1+v2*v2;
+	} while (s>=1 || s==0);
+	return v1*Math.sqrt(-2*Math.log(s)/s);
+}
+
+
 }
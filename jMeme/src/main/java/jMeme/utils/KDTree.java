@@ -0,0 +1,182 @@
+/*
+ * KDTree.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.utils;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * This class implements a k-d tree storing points of a real space, which allows to know in logarithmic expected time
+ * whether a stored point lies within a given distance from a query point.
+ * The tree is not rebalanced: since the points are inserted in the order in which they are produced by a stochastic search,
+ * its expected depth is logarithmic in the number of points.
+ */
+public class KDTree implements Serializable {
+
+
+	private static final long serialVersionUID = -7264135085731046021L;
+
+	/**
+	 * Stores the root of the tree
+	 */
+	private Node root;
+	/**
+	 * Stores the number of points of the tree
+	 */
+	private int size;
+
+
+
+	/**
+	 * Allows to insert a point in the tree
+	 *
+	 * @param point  the point to be inserted; it is not copied, so it must not be modified afterwards
+	 */
+	public void insert(double[] point){
+		size++;
+		if(root==null){
+			root=new Node(point, 0);
+			return;
+		}
+		Node node=root;
+		while(true){
+			int axis=node.axis;
+			int next=(axis+1)%point.length;
+			if(point[axis]<node.point[axis]){
+				if(node.left==null){
+					node.left=new Node(point, next);
+					return;
+				}
+				node=node.left;
+			}
+			else {
+				if(node.right==null){
+					node.right=new Node(point, next);
+					return;
+				}
+				node=node.right;
+			}
+		}
+	}
+
+
+	/**
+	 * Allows to know if a stored point lies within a given Euclidean distance from a point
+	 *
+	 * @param point  the query point
+	 * @param radius  the distance
+	 * @return  true if a stored point is at a distance not greater than the radius, false otherwise
+	 */
+	public boolean containsWithin(double[] point, double radius){
+		return containsWithin(root, point, radius*radius);
+	}
+
+
+	private boolean containsWithin(Node node, double[] point, double squaredRadius){
+		while(node!=null){
+			if(squaredDistance(node.point, point)<=squaredRadius)
+				return true;
+			double diff=point[node.axis]-node.point[node.axis];
+			Node near=diff<0 ? node.left : node.right;
+			Node far=diff<0 ? node.right : node.left;
+			//the far subtree is visited only if the splitting plane is within the radius
+			if(diff*diff<=squaredRadius && containsWithin(far, point, squaredRadius))
+				return true;
+			node=near;
+		}
+		return false;
+	}
+
+
+	private static double squaredDistance(double[] p1, double[] p2){
+		double sum=0;
+		for(int i=0;i<p1.length;i++){
+			double d=p1[i]-p2[i];
+			sum+=d*d;
+		}
+		return sum;
+	}
+
+
+	/**
+	 * Allows to remove all the points of the tree
+	 */
+	public void clear(){
+		root=null;
+		size=0;
+	}
+
+
+	public int size() {
+		return size;
+	}
+
+
+	/**
+	 * Allows to get the points of the tree in pre-order, so that inserting them in this order in an empty tree builds the same tree
+	 *
+	 * @return  the points of the tree; they are not copied
+	 */
+	public List<double[]> getPoints(){
+		List<double[]> points=new ArrayList<double[]>(size);
+		ArrayDeque<Node> stack=new ArrayDeque<Node>();
+		if(root!=null)
+			stack.push(root);
+		while(!stack.isEmpty()){
+			Node node=stack.pop();
+			points.add(node.point);
+			if(node.right!=null)
+				stack.push(node.right);
+			if(node.left!=null)
+				stack.push(node.left);
+		}
+		return points;
+	}
+
+
+	/**
+	 * This class represents a node of the tree, splitting the space along one of its axes
+	 */
+	private static class Node implements Serializable {
+
+		private static final long serialVersionUID = 2385921178560224918L;
+
+		double[] point;
+		int axis;
+		Node left;
+		Node right;
+
+
+		Node(double[] point, int axis){
+			this.point=point;
+			this.axis=axis;
+		}
+	}
+
+}
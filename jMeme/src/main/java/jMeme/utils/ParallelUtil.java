@@ -0,0 +1,206 @@
+/*
+ * ParallelUtil.java
+ *
+ * This file is part of the jMeme library, the Evolutionary Computational tool
+   for designing Competent Memetic Algorithms (CMAs).
+
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+
+package jMeme.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import jMeme.performances.AlgorithmPerformance;
+
+
+/** This class implements some utilities to execute tasks concurrently as static methods.
+ * The tasks are executed by work-stealing pools shared by the whole library, so that
+ * a task can safely wait for other tasks submitted to the same pool. The performance counting
+ * apart the fitness evaluations of the calling thread is also used by the threads executing the tasks,
+ * and the CPU time of the tasks is charged to the algorithm on whose behalf the calling thread is working.
+ */
+public final class ParallelUtil {
+
+	/**
+	 * Constant indicating the default number of threads, i.e. the number of available processors
+	 */
+	public static final int DEFAULT_PARALLELISM=Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Stores the shared pools, one for each level of parallelism
+	 */
+	private static final ConcurrentHashMap<Integer, ForkJoinPool> pools=new ConcurrentHashMap<Integer, ForkJoinPool>();
+
+	/**
+	 * Stores, for each thread, the CPU time in ns spent by the tasks it has executed, so that a task executed while
+	 * the thread waits inside another task is not charged twice
+	 */
+	private static final ThreadLocal<long[]> nestedCpuTime=new ThreadLocal<long[]>(){
+		protected long[] initialValue(){
+			return new long[1];
+		}
+	};
+
+
+	private ParallelUtil(){
+	}
+
+
+	/**
+	 * Allows to obtain the shared pool having the given level of parallelism
+	 *
+	 * @param parallelism  the number of threads of the pool; a value lower than 1 indicates the default one
+	 *
+	 * @return  the shared pool having the given level of parallelism
+	 */
+	public static ForkJoinPool getPool(int parallelism){
+		if(parallelism<1)
+			parallelism=DEFAULT_PARALLELISM;
+
+		ForkJoinPool pool=pools.get(parallelism);
+		if(pool==null){
+			ForkJoinPool created=new ForkJoinPool(parallelism);
+			pool=pools.putIfAbsent(parallelism, created);
+			if(pool==null)
+				pool=created;
+			else
+				created.shutdown();
+		}
+		return pool;
+	}
+
+
+	/**
+	 * Allows to execute a list of tasks and to wait for their completion. When the parallelism is 1
+	 * the tasks are executed sequentially by the calling thread.
+	 *
+	 * @param tasks  the tasks to be executed
+	 * @param parallelism  the number of threads to be used; a value lower than 1 indicates the default one
+	 *
+	 * @return  the results of the tasks, in the same order of the given list
+	 */
+	public static <T> List<T> invokeAll(List<? extends Callable<T>> tasks, int parallelism){
+
+		List<T> results=new ArrayList<T>(tasks.size());
+
+		if(parallelism==1 || tasks.size()<2){
+			for(Callable<T> task : tasks)
+				results.add(call(task));
+			return results;
+		}
+
+		// the pools are shared by all the running algorithms and a waiting worker can execute the tasks of another one,
+		// so every task sets its own counter, even when it is null
+		AlgorithmPerformance counter=AlgorithmPerformance.getLocalCounter();
+		AlgorithmPerformance running=AlgorithmPerformance.getRunningPerformance();
+		List<Callable<T>> counted=new ArrayList<Callable<T>>(tasks.size());
+		for(Callable<T> task : tasks)
+			counted.add(new CountedTask<T>(task, counter, running));
+
+		List<Future<T>> futures=getPool(parallelism).invokeAll(counted);
+		for(Future<T> future : futures)
+			results.add(get(future));
+
+		return results;
+	}
+
+
+	private static <T> T call(Callable<T> task){
+		try {
+			return task.call();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+
+	/**
+	 * This class represents a task whose fitness evaluations are counted by a given performance, if any,
+	 * and whose CPU time is charged to the performance of the algorithm which submitted it, if any
+	 */
+	private static class CountedTask<T> implements Callable<T> {
+
+		private final Callable<T> task;
+		private final AlgorithmPerformance counter;
+		private final AlgorithmPerformance running;
+
+
+		CountedTask(Callable<T> task, AlgorithmPerformance counter, AlgorithmPerformance running){
+			this.task=task;
+			this.counter=counter;
+			this.running=running;
+		}
+
+
+		public T call() throws Exception {
+			AlgorithmPerformance previous=AlgorithmPerformance.setLocalCounter(counter);
+			AlgorithmPerformance previousRunning=AlgorithmPerformance.setRunningPerformance(running);
+			long[] nested=nestedCpuTime.get();
+			long nestedStart=nested[0];
+			long start=running==null ? -1 : currentCpuTime();
+			try {
+				return task.call();
+			} finally {
+				if(start>=0){
+					//the tasks executed by this thread while this one was waiting have already been charged
+					long spent=currentCpuTime()-start;
+					running.addTaskCpuTime(spent-(nested[0]-nestedStart));
+					nested[0]=nestedStart+spent;
+				}
+				AlgorithmPerformance.setRunningPerformance(previousRunning);
+				AlgorithmPerformance.setLocalCounter(previous);
+			}
+		}
+	}
+
+
+	private static long currentCpuTime(){
+		ThreadMXBean bean=ManagementFactory.getThreadMXBean();
+		return bean.isCurrentThreadCpuTimeSupported() ? bean.getCurrentThreadCpuTime() : -1;
+	}
+
+
+	private static <T> T get(Future<T> future){
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			Throwable cause=e.getCause();
+			if(cause instanceof RuntimeException)
+				throw (RuntimeException)cause;
+			if(cause instanceof Error)
+				throw (Error)cause;
+			throw new RuntimeException(cause);
+		}
+	}
+
+}
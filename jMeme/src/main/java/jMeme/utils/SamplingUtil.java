@@ -0,0 +1,92 @@
+/*
+ * SamplingUtil.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.utils;
+
+import org.jgap.RandomGenerator;
+
+
+/** This class implements some utilities to sample indices without replacement as static methods.
+ * Every method draws exactly the requested number of distinct indices, using the given generator
+ * so that the samples are reproducible.
+ */
+public final class SamplingUtil {
+
+
+
+	/**
+	 * Allows to draw k distinct indices uniformly at random among n ones by means of a partial Fisher-Yates shuffle, in O(n) time
+	 *
+	 * @param n  the number of indices
+	 * @param k  the number of indices to be drawn
+	 * @param generator  the generator of random numbers
+	 *
+	 * @return  an array of min(k, n) distinct indices, in the order in which they have been drawn
+	 */
+	public static int[] sample(int n, int k, RandomGenerator generator){
+		k=Math.max(0, Math.min(k, n));
+
+		int[] indices=new int[n];
+		for(int i=0;i<n;i++)
+			indices[i]=i;
+
+		for(int i=0;i<k;i++){
+			int j=i+generator.nextInt(n-i);
+			int tmp=indices[i];
+			indices[i]=indices[j];
+			indices[j]=tmp;
+		}
+
+		if(k==n)
+			return indices;
+		int[] result=new int[k];
+		System.arraycopy(indices, 0, result, 0, k);
+		return result;
+	}
+
+
+	/**
+	 * Allows to draw k distinct indices among n ones by means of stratified sampling: the indices are divided in k consecutive strata,
+	 * whose sizes differ at most by one, and an index is drawn uniformly at random from each stratum
+	 *
+	 * @param n  the number of indices
+	 * @param k  the number of indices to be drawn
+	 * @param generator  the generator of random numbers
+	 *
+	 * @return  an array of min(k, n) distinct indices, one for each stratum, in increasing order
+	 */
+	public static int[] stratifiedSample(int n, int k, RandomGenerator generator){
+		k=Math.max(0, Math.min(k, n));
+
+		int[] result=new int[k];
+		for(int i=0;i<k;i++){
+			int start=(int)((long)i*n/k);
+			int end=(int)((long)(i+1)*n/k);
+			result[i]=start+generator.nextInt(end-start);
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,172 @@
+/*
+ * SelectionUtil.java 
+ * 
+ * This file is part of the jMeme library, the Evolutionary Computational tool 
+   for designing Competent Memetic Algorithms (CMAs).
+   
+   Author:  Autilia Vitiello <avitiello@unisa.it>
+
+   Copyright (c) 2016  Autilia Vitiello
+	
+   This program is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   This program is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+ 
+   You should have received a copy of the GNU Lesser General Public License
+   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+   
+ */
+
+package jMeme.utils;
+
+
+/** This class implements some utilities to select the best values of an array as static methods.
+ * The values are never moved: the utilities work on arrays of indices, so that no object is created
+ * apart from the returned array. Ties are broken by the index of the values and NaN values are
+ * considered worse than any other value, so that the selection is deterministic.
+ */
+public final class SelectionUtil {
+
+
+	/**
+	 * Stores the length under which a range is sorted by insertion
+	 */
+	private static final int INSERTION_THRESHOLD=16;
+
+
+
+	/**
+	 * Allows to get the indices of the best values of an array, in order, by means of quickselect followed by the sorting
+	 * of the selected indices, in O(n + k log k) expected time
+	 *
+	 * @param values  the values to be selected
+	 * @param k  the number of values to be selected
+	 * @param maximize  true if the best values are the highest ones, false if they are the lowest ones
+	 *
+	 * @return  an array of min(k, values.length) indices, from the index of the best value
+	 */
+	public static int[] topK(double[] values, int k, boolean maximize){
+		int n=values.length;
+		k=Math.max(0, Math.min(k, n));
+
+		int[] indices=new int[n];
+		for(int i=0;i<n;i++)
+			indices[i]=i;
+
+		if(k>0 && k<n)
+			select(indices, values, maximize, 0, n-1, k-1);
+		sort(indices, values, maximize, 0, k-1);
+
+		if(k==n)
+			return indices;
+		int[] result=new int[k];
+		System.arraycopy(indices, 0, result, 0, k);
+		return result;
+	}
+
+
+	/**
+	 * Allows to get the indices of all the values of an array, from the index of the best value
+	 *
+	 * @param values  the values to be ranked
+	 * @param maximize  true if the best values are the highest ones, false if they are the lowest ones
+	 *
+	 * @return  the indices of the values, from the index of the best value
+	 */
+	public static int[] rank(double[] values, boolean maximize){
+		return topK(values, values.length, maximize);
+	}
+
+
+	/**
+	 * Allows to rearrange a range of indices so that the one in position k is the one it would have in the sorted range,
+	 * the better ones precede it and the worse ones follow it
+	 */
+	private static void select(int[] indices, double[] values, boolean maximize, int low, int high, int k){
+		while(high>low){
+			int p=partition(indices, values, maximize, low, high);
+			if(p==k)
+				return;
+			if(p<k)
+				low=p+1;
+			else
+				high=p-1;
+		}
+	}
+
+
+	private static void sort(int[] indices, double[] values, boolean maximize, int low, int high){
+		while(high-low>=INSERTION_THRESHOLD){
+			int p=partition(indices, values, maximize, low, high);
+			//the smaller part is sorted recursively, so that the depth of the recursion is logarithmic
+			if(p-low<high-p){
+				sort(indices, values, maximize, low, p-1);
+				low=p+1;
+			}
+			else {
+				sort(indices, values, maximize, p+1, high);
+				high=p-1;
+			}
+		}
+		for(int i=low+1;i<=high;i++){
+			int index=indices[i];
+			int j=i-1;
+			while(j>=low && precedes(index, indices[j], values, maximize)){
+				indices[j+1]=indices[j];
+				j--;
+			}
+			indices[j+1]=index;
+		}
+	}
+
+
+	/**
+	 * Allows to partition a range of indices around the median of its first, middle and last elements
+	 *
+	 * @return  the final position of the pivot
+	 */
+	private static int partition(int[] indices, double[] values, boolean maximize, int low, int high){
+		int middle=(low+high)>>>1;
+		if(precedes(indices[middle], indices[low], values, maximize))
+			swap(indices, low, middle);
+		if(precedes(indices[high], indices[low], values, maximize))
+			swap(indices, low, high);
+		if(precedes(indices[middle], indices[high], values, maximize))
+			swap(indices, middle, high);
+
+		int pivot=indices[high];
+		int store=low;
+		for(int i=low;i<high;i++)
+			if(precedes(indices[i], pivot, values, maximize))
+				swap(indices, i, store++);
+		swap(indices, store, high);
+		return store;
+	}
+
+
+	/**
+	 * Allows to know if a value precedes another one in the selection order
+	 *
+	 * @return  true if the value of the first index is better than the one of the second index, or if they are equal and the first index is lower
+	 */
+	private static boolean precedes(int i, int j, double[] values, boolean maximize){
+		int comparison=maximize ? Double.compare(-values[i], -values[j]) : Double.compare(values[i], values[j]);
+		if(comparison!=0)
+			return comparison<0;
+		return i<j;
+	}
+
+
+	private static void swap(int[] indices, int i, int j){
+		int tmp=indices[i];
+		indices[i]=indices[j];
+		indices[j]=tmp;
+	}
+
+}